@@ -1,15 +1,31 @@
 package Arkanoid;
 
+import Arkanoid.audio.SoundManager;
 import Arkanoid.level.LevelSelectionView;
+import Arkanoid.manager.AssetBundle;
+import Arkanoid.manager.FramePacer;
+import Arkanoid.manager.FrameProfiler;
 import Arkanoid.manager.GameManager;
 import Arkanoid.manager.HighScoreManager;
+import Arkanoid.manager.HitchWatchdog;
+import Arkanoid.manager.StartupProfiler;
 import Arkanoid.model.GameState;
+import Arkanoid.renderer.Renderer;
+import Arkanoid.util.Constants;
 import Arkanoid.view.GameView;
 import Arkanoid.view.StartMenuView;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
 
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * JavaFX application entry point. Wires together manager, views, and main loop.
  * Applies proper resource management between state transitions.
@@ -19,59 +35,128 @@ public class Main extends Application {
     private GameView gameView;
     private LevelSelectionView levelSelectionView;
     private StartMenuView startMenuView;
-    private AnimationTimer gameLoop;
+    private FramePacer gameLoop;
+    private HitchWatchdog watchdog;
     private Stage primaryStage;
     private HighScoreManager highScoreManager;
     private GameState lastState = null;
+    private StartupProfiler startup;
+    // Game, sounds and high scores are ready; menu actions that need them wait for this
+    private CompletableFuture<Void> ready;
 
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
+        startup = new StartupProfiler();
 
-        // Initialize game manager
-        gameManager = new GameManager();
-        highScoreManager = new HighScoreManager();
-
-        // Initialize game view
-        gameView = new GameView(gameManager);
+        // Off the FX thread and in parallel: levels and game state, sounds, core sprites, high scores
+        CompletableFuture<GameManager> game = startup.background("game", GameManager::new);
+        CompletableFuture<Void> sounds = startup.background("sounds", () -> {
+            SoundManager.getInstance().loadDefaultSounds();
+            return null;
+        });
+        startup.background("sprites", () -> Renderer.preloadCoreImages().join());
+        CompletableFuture<HighScoreManager> scores = startup.background("high scores", HighScoreManager::new);
 
-        // Initialize level selection view
-        levelSelectionView = new LevelSelectionView(primaryStage, gameManager.getLevelManager());
-        levelSelectionView.setCallback(new LevelSelectionView.LevelSelectionCallback() {
-            @Override
-            public void onLevelSelected(int levelNumber) {
-                gameManager.selectLevel(levelNumber);
-                showGameView();
-            }
+        // The menu needs none of them, so it is shown right away
+        startup.run("menu", this::showFirstMenu);
 
-            @Override
-            public void onBack() {
-                gameManager.setCurrentState(GameState.MENU);
-                showStartMenu();
-            }
+        ready = CompletableFuture.allOf(game, sounds, scores).thenRunAsync(() -> {
+            gameManager = game.join();
+            highScoreManager = scores.join();
+            startup.run("game loop", this::startGameLoop);
+            // In the summary line too, so logged runs with and without the bundle can be told apart
+            startup.mark(AssetBundle.getDefault() != null ? "asset bundle on" : "asset bundle off");
+            startup.finish(Paths.get(Constants.STARTUP_LOG_FILE));
+        }, Platform::runLater);
+        ready.exceptionally(e -> {
+            System.err.println("Start-up failed: " + e);
+            e.printStackTrace();
+            return null;
         });
+    }
 
-        // ESC returns to Start Menu
-        gameView.getInputHandler().setOnShowStartMenu(this::showStartMenu);
-
-        // Start menu (mouse-friendly)
+    // Dựng và hiện menu chính ngay (không phụ thuộc dữ liệu game); cảnh game và chọn màn dựng sau
+    private void showFirstMenu() {
         startMenuView = new StartMenuView(primaryStage);
-        startMenuView.setOnStart(this::showLevelSelection);
+        startMenuView.setOnStart(() -> whenReady(this::showLevelSelection));
         startMenuView.setOnSettings(startMenuView::showSettingsInline);
-        startMenuView.setOnHighscores(() -> startMenuView.showLeaderboardInline(highScoreManager.getTopScores()));
+        startMenuView.setOnHighscores(() -> whenReady(
+                () -> startMenuView.showLeaderboardInline(highScoreManager.getTopScores())));
 
         // Set up stage
         primaryStage.setTitle("Arkanoid Game");
         startMenuView.show();
-        primaryStage.setResizable(false);
+        // Any size or fullscreen: the game is drawn at its internal resolution and scaled once
+        primaryStage.setResizable(true);
+        primaryStage.setMinWidth(Constants.WINDOW_WIDTH / 2);
+        primaryStage.setMinHeight(Constants.WINDOW_HEIGHT / 2);
+        primaryStage.setFullScreenExitKeyCombination(KeyCombination.NO_MATCH); // ESC belongs to the game
+        primaryStage.setFullScreenExitHint("F11 leaves full screen");
+        primaryStage.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F11 || (e.getCode() == KeyCode.ENTER && e.isAltDown())) {
+                primaryStage.setFullScreen(!primaryStage.isFullScreen());
+                e.consume();
+            }
+        });
         primaryStage.show();
 
-        // Start game loop
-        startGameLoop();
+        // The first pulse after show() puts the menu on screen
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                startup.mark("first frame");
+                stop();
+            }
+        }.start();
+    }
+
+    // Chạy ngay nếu game đã sẵn sàng, nếu không thì chạy trên luồng FX khi các pha nền xong
+    private void whenReady(Runnable action) {
+        if (ready.isDone()) {
+            action.run();
+        } else {
+            ready.thenRunAsync(action, Platform::runLater);
+        }
+    }
+
+    // Cảnh game chỉ được dựng (kèm Renderer) khi lần đầu vào chơi
+    private GameView gameView() {
+        if (gameView == null) {
+            startup.run("game view", () -> gameView = new GameView(gameManager));
+        }
+        return gameView;
+    }
+
+    private LevelSelectionView levelSelectionView() {
+        if (levelSelectionView == null) {
+            startup.run("level select", () -> {
+                levelSelectionView = new LevelSelectionView(primaryStage, gameManager.getLevelManager());
+                levelSelectionView.setCallback(new LevelSelectionView.LevelSelectionCallback() {
+                    @Override
+                    public void onLevelSelected(int levelNumber) {
+                        gameManager.selectLevel(levelNumber);
+                        showGameView();
+                    }
+
+                    @Override
+                    public void onBack() {
+                        gameManager.setCurrentState(GameState.MENU);
+                        showStartMenu();
+                    }
+
+                    @Override
+                    public void onLevelFocused(int levelNumber) {
+                        gameManager.preloadLevel(levelNumber);
+                    }
+                });
+            });
+        }
+        return levelSelectionView;
     }
 
     private void showGameView() {
-        primaryStage.setScene(gameView.getScene());
+        primaryStage.setScene(gameView().getScene());
         primaryStage.setTitle("Arkanoid Game");
 
         // Re-bind ESC -> Start Menu
@@ -83,8 +168,10 @@ public class Main extends Application {
 
         // Enter MENU state and play title music when opening level selection
         gameManager.showLevelSelection();
-        levelSelectionView.refresh();
+        levelSelectionView().refresh();
         levelSelectionView.show();
+        // The highlighted (current) level is the most likely pick until the pointer says otherwise
+        gameManager.preloadLevel(gameManager.getLevelManager().getCurrentLevelNumber());
         primaryStage.setTitle("Arkanoid - Level Selection");
     }
 
@@ -97,30 +184,46 @@ public class Main extends Application {
     }
 
     private void startGameLoop() {
-        final long[] lastUpdate = {System.nanoTime()};
+        watchdog = new HitchWatchdog(Paths.get(Constants.HITCH_LOG_FILE),
+                Constants.HITCH_TICK_BUDGET_NANOS, Constants.HITCH_UPDATE_BUDGET_NANOS);
+        watchdog.start();
 
-        gameLoop = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                double deltaTime = (now - lastUpdate[0]) / 1_000_000_000.0;
-                lastUpdate[0] = now;
+        gameLoop = FramePacer.fromSystemProperty(now -> {
+            watchdog.beginTick(gameManager);
+            // 0 on the first frame after a start or an idle pause, so the game never jumps ahead
+            double deltaTime = gameLoop.getLastIntervalNanos() / 1_000_000_000.0;
+            gameManager.getProfiler().record(FrameProfiler.Phase.FRAME_INTERVAL, gameLoop.getLastIntervalNanos());
 
-                deltaTime = Math.min(deltaTime, 0.05);
+            deltaTime = Math.min(deltaTime, 0.05);
 
-                // Detect state transitions for dialogs like GAME_OVER
-                GameState current = gameManager.getCurrentState();
-                if (current != lastState) {
-                    onStateChanged(current);
-                    lastState = current;
-                }
+            // ⚠️ CRITICAL: Chỉ update khi ở GameView VÀ đang PLAYING
+            boolean inGame = gameView != null && primaryStage.getScene() == gameView.getScene();
+            if (inGame) {
+                watchdog.beginUpdate();
+                gameManager.update(deltaTime);
+                watchdog.endUpdate();
+                gameView.render(gameManager);
+            }
+            watchdog.endTick();
 
-                // ⚠️ CRITICAL: Chỉ update khi ở GameView VÀ đang PLAYING
-                if (primaryStage.getScene() == gameView.getScene()) {
-                    gameManager.update(deltaTime);
-                    gameView.render(gameManager);
-                }
+            // Detect state transitions for dialogs like GAME_OVER (after update, before idling)
+            GameState current = gameManager.getCurrentState();
+            if (current != lastState) {
+                onStateChanged(current);
+                lastState = current;
             }
-        };
+
+            // Khung hình tĩnh (menu, tạm dừng, qua màn, thua): giữ ảnh cuối, chờ input mới vẽ lại
+            if (!inGame || gameManager.getCurrentState() != GameState.PLAYING) {
+                gameLoop.pause();
+            }
+        });
+
+        // Anything that can change what is shown wakes the loop for at least one frame
+        primaryStage.addEventFilter(KeyEvent.ANY, e -> gameLoop.resume());
+        primaryStage.addEventFilter(MouseEvent.MOUSE_PRESSED, e -> gameLoop.resume());
+        primaryStage.addEventFilter(MouseEvent.MOUSE_RELEASED, e -> gameLoop.resume());
+        primaryStage.sceneProperty().addListener((obs, old, scene) -> gameLoop.resume());
 
         gameLoop.start();
     }
@@ -158,6 +261,13 @@ public class Main extends Application {
     public void stop() {
         if (gameLoop != null) {
             gameLoop.stop();
+            System.out.println("Frame pacing: " + gameLoop.describe());
+        }
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+        if (gameView != null) {
+            gameView.stopRecording().join(); // flush frames still queued for the writers
         }
 
         if (gameManager != null) {
@@ -167,6 +277,7 @@ public class Main extends Application {
     }
 
     public static void main(String[] args) {
+        FramePacer.configureToolkit(); // before the toolkit reads its pulse settings
         launch(args);
     }
 }
\ No newline at end of file
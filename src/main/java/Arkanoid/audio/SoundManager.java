@@ -23,10 +23,20 @@ public class SoundManager {
     private java.util.Timer duckTimer;
     private java.util.TimerTask duckTask;
 
+    // Effect polyphony limit: at most maxEffectsPerWindow effect triggers per window (load shedding)
+    private static final long EFFECT_WINDOW_NANOS = 100_000_000L;
+    private int maxEffectsPerWindow = Integer.MAX_VALUE;
+    private long effectWindowStart = 0;
+    private int effectsInWindow = 0;
+    private long droppedEffects = 0;
+
+    // Muted: playSound is a no-op (headless simulation runs)
+    private boolean muted = false;
+
     private SoundManager() { }
 
     /** @return singleton instance. */
-    public static SoundManager getInstance() {
+    public static synchronized SoundManager getInstance() {
         if (instance == null) instance = new SoundManager();
         return instance;
     }
@@ -37,6 +47,7 @@ public class SoundManager {
 
     /** Play a sound by name; applies short ducking for effects. */
     public void playSound(String name) {
+        if (muted) return;
         SoundInterface sound = sounds.get(name);
         if (sound == null) {
             System.err.println("Sound not found: " + name);
@@ -44,11 +55,43 @@ public class SoundManager {
         }
         // Simple ducking when an effect plays
         if (name.startsWith("effect_")) {
+            if (!admitEffect()) return;
             duckBackgroundForMillis(250);
         }
         sound.play();
     }
 
+    // Counts effect triggers in the current window; drops the rest when a limit is set
+    private boolean admitEffect() {
+        if (maxEffectsPerWindow == Integer.MAX_VALUE) return true;
+        long now = System.nanoTime();
+        if (now - effectWindowStart > EFFECT_WINDOW_NANOS) {
+            effectWindowStart = now;
+            effectsInWindow = 0;
+        }
+        if (effectsInWindow >= maxEffectsPerWindow) {
+            droppedEffects++;
+            return false;
+        }
+        effectsInWindow++;
+        return true;
+    }
+
+    /** Limits effect triggers per 100ms window; Integer.MAX_VALUE removes the limit. */
+    public void setMaxEffectsPerWindow(int max) {
+        this.maxEffectsPerWindow = Math.max(1, max);
+        this.effectsInWindow = 0;
+    }
+
+    /** Mutes/unmutes all playback requests. */
+    public void setMuted(boolean muted) { this.muted = muted; }
+
+    /** @return true if playback requests are ignored. */
+    public boolean isMuted() { return muted; }
+
+    /** @return number of effect triggers dropped by the polyphony limit. */
+    public long getDroppedEffects() { return droppedEffects; }
+
     /** Stop a sound by name. */
     public void stopSound(String name) {
         SoundInterface sound = sounds.get(name);
@@ -140,10 +183,19 @@ public class SoundManager {
         } catch (Exception ignored) {}
     }
 
+    // Media calls belong on the FX thread; headless runs (tests, determinism checks) have no toolkit
+    private static void runOnFxThread(Runnable task) {
+        try {
+            Platform.runLater(task);
+        } catch (IllegalStateException e) {
+            task.run();
+        }
+    }
+
     /** Start alternating playback (track1 -> track2 -> track1 …). */
     public void startBackgroundAlternating() {
         if (bgPlayer1 == null || bgPlayer2 == null) return;
-        Platform.runLater(() -> {
+        runOnFxThread(() -> {
             try {
                 bgPlayer1.stop();
                 bgPlayer2.stop();
@@ -156,7 +208,7 @@ public class SoundManager {
 
     /** Stop alternating playback. */
     public void stopBackgroundAlternating() {
-        Platform.runLater(() -> {
+        runOnFxThread(() -> {
             try { if (bgPlayer1 != null) bgPlayer1.stop(); } catch (Exception ignored) {}
             try { if (bgPlayer2 != null) bgPlayer2.stop(); } catch (Exception ignored) {}
         });
@@ -165,7 +217,7 @@ public class SoundManager {
     /** Set background volume (0.0-1.0). */
     public void setBackgroundVolume(float volume) {
         bgVolume = Math.max(0f, Math.min(1f, volume));
-        Platform.runLater(() -> {
+        runOnFxThread(() -> {
             try { if (bgPlayer1 != null) bgPlayer1.setVolume(bgVolume); } catch (Exception ignored) {}
             try { if (bgPlayer2 != null) bgPlayer2.setVolume(bgVolume); } catch (Exception ignored) {}
         });
@@ -3,9 +3,14 @@ package Arkanoid.level;
 import Arkanoid.model.Brick;
 import Arkanoid.model.BrickType;
 import Arkanoid.model.MovingBrick;
+import Arkanoid.model.PolygonBrick;
 import Arkanoid.util.Constants;
 import javafx.scene.paint.Color;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Concrete Level implementation built from {@link LevelData}.
  * Converts {@code LevelData.BrickData} instances into concrete bricks using layout constants
@@ -13,6 +18,8 @@ import javafx.scene.paint.Color;
  */
 public class Level extends AbstractLevel {
     private LevelData levelData;
+    // Bricks built ahead of time by prepare(), taken over by the next reset()
+    private final AtomicReference<List<Brick>> prepared = new AtomicReference<>();
 
     public Level(LevelData levelData) {
         super(levelData.getLevelNumber(), levelData.getName());
@@ -22,26 +29,51 @@ public class Level extends AbstractLevel {
     @Override
     public void initialize() {
         bricks.clear();
+        bricks.addAll(buildBricks());
+
+        // Backup initial state for later resets
+        backupInitialState();
+    }
+
+    @Override
+    public void reset() {
+        List<Brick> ready = prepared.getAndSet(null);
+        if (ready == null) {
+            // Re-initialize level from levelData
+            initialize();
+            return;
+        }
+        bricks.clear();
+        bricks.addAll(ready);
+        backupInitialState();
+    }
+
+    /**
+     * Builds a fresh set of bricks for the next {@link #reset()} without touching the current ones,
+     * so that reset only swaps the list in. Safe to call from a background thread.
+     */
+    public void prepare() {
+        prepared.set(buildBricks());
+    }
+
+    /** @return true if bricks built by {@link #prepare()} are waiting for the next reset. */
+    public boolean isPrepared() {
+        return prepared.get() != null;
+    }
 
+    // Dựng danh sách gạch mới từ levelData (không đụng tới danh sách đang chơi)
+    private List<Brick> buildBricks() {
+        List<Brick> built = new ArrayList<>();
         if (levelData.getBricks() != null) {
             // Load from LevelData
             for (LevelData.BrickData brickData : levelData.getBricks()) {
-                Brick brick = createBrickFromData(brickData);
-                bricks.add(brick);
+                built.add(createBrickFromData(brickData));
             }
         } else {
             // Fallback: create default layout when no data exists
-            createDefaultLevel();
+            createDefaultLevel(built);
         }
-
-        // Backup initial state for later resets
-        backupInitialState();
-    }
-
-    @Override
-    public void reset() {
-        // Re-initialize level from levelData
-        initialize();
+        return built;
     }
 
     /** Creates a brick from BrickData. */
@@ -58,18 +90,50 @@ public class Level extends AbstractLevel {
 
         // Moving brick support
         boolean moving = Boolean.TRUE.equals(data.getMoving());
+        MovingBrick.Axis axis = null;
+        double speed = 0;
+        double range = 0;
         if (moving) {
             String dir = data.getDirection() == null ? "HORIZONTAL" : data.getDirection().toUpperCase();
-            double speed = data.getSpeed() != null ? data.getSpeed() : 40.0; // px/s default
-            double range = data.getRange() != null ? data.getRange() : 60.0; // px default
+            speed = data.getSpeed() != null ? data.getSpeed() : 40.0; // px/s default
+            range = data.getRange() != null ? data.getRange() : 60.0; // px default
+            axis = "VERTICAL".equals(dir) ? MovingBrick.Axis.VERTICAL : MovingBrick.Axis.HORIZONTAL;
+        }
 
-            MovingBrick.Axis axis = "VERTICAL".equals(dir) ? MovingBrick.Axis.VERTICAL : MovingBrick.Axis.HORIZONTAL;
+        if (data.isFreeform()) {
+            return createPolygonBrick(data, x, y, type, color, axis, speed, range);
+        }
+
+        if (moving) {
             return new MovingBrick(x, y, Constants.BRICK_WIDTH, Constants.BRICK_HEIGHT, type, color, axis, speed, range);
         }
 
         return new Brick(x, y, Constants.BRICK_WIDTH, Constants.BRICK_HEIGHT, type, color);
     }
 
+    /** Creates a free-form (rotated rectangle or convex polygon) brick; lattice cell is the default anchor. */
+    private Brick createPolygonBrick(LevelData.BrickData data, double cellX, double cellY, BrickType type,
+                                     Color color, MovingBrick.Axis axis, double speed, double range) {
+        double cx = data.getX() != null ? data.getX() : cellX + Constants.BRICK_WIDTH / 2.0;
+        double cy = data.getY() != null ? data.getY() : cellY + Constants.BRICK_HEIGHT / 2.0;
+        double rotation = data.getRotation() != null ? data.getRotation() : 0;
+
+        List<double[]> outline = data.getPolygon();
+        if (outline != null && outline.size() >= 3) {
+            double[] xs = new double[outline.size()];
+            double[] ys = new double[outline.size()];
+            for (int i = 0; i < outline.size(); i++) {
+                xs[i] = outline.get(i)[0];
+                ys[i] = outline.get(i)[1];
+            }
+            return new PolygonBrick(cx, cy, xs, ys, rotation, type, color, axis, speed, range);
+        }
+
+        double w = data.getWidth() != null ? data.getWidth() : Constants.BRICK_WIDTH;
+        double h = data.getHeight() != null ? data.getHeight() : Constants.BRICK_HEIGHT;
+        return PolygonBrick.rectangle(cx, cy, w, h, rotation, type, color, axis, speed, range);
+    }
+
     /** Parses string to BrickType enum. */
     private BrickType parseBrickType(String typeStr) {
         if (typeStr == null) return BrickType.NORMAL;
@@ -98,7 +162,7 @@ public class Level extends AbstractLevel {
     }
 
     /** Creates a default full grid when no data exists. */
-    private void createDefaultLevel() {
+    private void createDefaultLevel(List<Brick> out) {
         for (int row = 0; row < Constants.BRICK_ROWS; row++) {
             for (int col = 0; col < Constants.BRICK_COLS; col++) {
                 double x = Constants.BRICK_OFFSET_X + col * (Constants.BRICK_WIDTH + Constants.BRICK_PADDING);
@@ -107,7 +171,7 @@ public class Level extends AbstractLevel {
                 Color color = Constants.BRICK_COLORS[row % Constants.BRICK_COLORS.length];
                 BrickType type = BrickType.NORMAL;
 
-                bricks.add(new Brick(x, y, Constants.BRICK_WIDTH, Constants.BRICK_HEIGHT, type, color));
+                out.add(new Brick(x, y, Constants.BRICK_WIDTH, Constants.BRICK_HEIGHT, type, color));
             }
         }
     }
@@ -0,0 +1,164 @@
+package Arkanoid.level;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of {@link LevelData} and of the {@link LevelIndex}, used by the baked asset
+ * bundle so that levels are read field by field instead of being parsed from JSON through
+ * reflection. Optional brick fields are written behind a presence mask, so a plain lattice brick
+ * costs a few bytes.
+ */
+public final class LevelCodec {
+    /** Bumped whenever the layout below changes; a bundle with another version is ignored. */
+    public static final int VERSION = 1;
+
+    private static final int HAS_TYPE = 1;
+    private static final int HAS_COLOR = 1 << 1;
+    private static final int HAS_MOVING = 1 << 2;
+    private static final int HAS_DIRECTION = 1 << 3;
+    private static final int HAS_SPEED = 1 << 4;
+    private static final int HAS_RANGE = 1 << 5;
+    private static final int HAS_X = 1 << 6;
+    private static final int HAS_Y = 1 << 7;
+    private static final int HAS_WIDTH = 1 << 8;
+    private static final int HAS_HEIGHT = 1 << 9;
+    private static final int HAS_ROTATION = 1 << 10;
+    private static final int HAS_POLYGON = 1 << 11;
+
+    private LevelCodec() { }
+
+    /** Writes a level; {@link #read} gives back an equal {@link LevelData}. */
+    public static void write(LevelData level, DataOutput out) throws IOException {
+        out.writeInt(level.getLevelNumber());
+        writeString(out, level.getName());
+        out.writeDouble(level.getBallSpeed());
+        out.writeInt(level.getLives());
+        writeString(out, level.getBackgroundImage());
+
+        List<LevelData.BrickData> bricks = level.getBricks();
+        out.writeInt(bricks == null ? -1 : bricks.size());
+        if (bricks == null) return;
+        for (LevelData.BrickData brick : bricks) {
+            writeBrick(brick, out);
+        }
+    }
+
+    /** Reads a level written by {@link #write}. */
+    public static LevelData read(DataInput in) throws IOException {
+        LevelData level = new LevelData();
+        level.setLevelNumber(in.readInt());
+        level.setName(readString(in));
+        level.setBallSpeed(in.readDouble());
+        level.setLives(in.readInt());
+        level.setBackgroundImage(readString(in));
+
+        int count = in.readInt();
+        if (count < 0) return level; // no brick list: Level falls back to its default layout
+        List<LevelData.BrickData> bricks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bricks.add(readBrick(in));
+        }
+        level.setBricks(bricks);
+        return level;
+    }
+
+    /** Writes a level index; {@link #readIndex} gives it back. */
+    public static void writeIndex(LevelIndex index, DataOutput out) throws IOException {
+        out.writeInt(index.size());
+        for (LevelIndex.Entry entry : index.getEntries()) {
+            out.writeInt(entry.getNumber());
+            writeString(out, entry.getName());
+            out.writeInt(entry.getBrickCount());
+            writeString(out, entry.getBackgroundImage());
+        }
+    }
+
+    /** Reads an index written by {@link #writeIndex}. */
+    public static LevelIndex readIndex(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<LevelIndex.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new LevelIndex.Entry(in.readInt(), readString(in), in.readInt(), readString(in)));
+        }
+        return new LevelIndex(entries);
+    }
+
+    // Ghi một viên gạch: hàng, cột, mặt nạ trường có mặt rồi tới các trường tùy chọn
+    private static void writeBrick(LevelData.BrickData brick, DataOutput out) throws IOException {
+        int mask = 0;
+        if (brick.getType() != null) mask |= HAS_TYPE;
+        if (brick.getColor() != null) mask |= HAS_COLOR;
+        if (brick.getMoving() != null) mask |= HAS_MOVING;
+        if (brick.getDirection() != null) mask |= HAS_DIRECTION;
+        if (brick.getSpeed() != null) mask |= HAS_SPEED;
+        if (brick.getRange() != null) mask |= HAS_RANGE;
+        if (brick.getX() != null) mask |= HAS_X;
+        if (brick.getY() != null) mask |= HAS_Y;
+        if (brick.getWidth() != null) mask |= HAS_WIDTH;
+        if (brick.getHeight() != null) mask |= HAS_HEIGHT;
+        if (brick.getRotation() != null) mask |= HAS_ROTATION;
+        if (brick.getPolygon() != null) mask |= HAS_POLYGON;
+
+        out.writeInt(brick.getRow());
+        out.writeInt(brick.getCol());
+        out.writeShort(mask);
+        if ((mask & HAS_TYPE) != 0) out.writeUTF(brick.getType());
+        if ((mask & HAS_COLOR) != 0) out.writeUTF(brick.getColor());
+        if ((mask & HAS_MOVING) != 0) out.writeBoolean(brick.getMoving());
+        if ((mask & HAS_DIRECTION) != 0) out.writeUTF(brick.getDirection());
+        if ((mask & HAS_SPEED) != 0) out.writeDouble(brick.getSpeed());
+        if ((mask & HAS_RANGE) != 0) out.writeDouble(brick.getRange());
+        if ((mask & HAS_X) != 0) out.writeDouble(brick.getX());
+        if ((mask & HAS_Y) != 0) out.writeDouble(brick.getY());
+        if ((mask & HAS_WIDTH) != 0) out.writeDouble(brick.getWidth());
+        if ((mask & HAS_HEIGHT) != 0) out.writeDouble(brick.getHeight());
+        if ((mask & HAS_ROTATION) != 0) out.writeDouble(brick.getRotation());
+        if ((mask & HAS_POLYGON) != 0) {
+            out.writeInt(brick.getPolygon().size());
+            for (double[] point : brick.getPolygon()) {
+                out.writeDouble(point[0]);
+                out.writeDouble(point[1]);
+            }
+        }
+    }
+
+    private static LevelData.BrickData readBrick(DataInput in) throws IOException {
+        LevelData.BrickData brick = new LevelData.BrickData();
+        brick.setRow(in.readInt());
+        brick.setCol(in.readInt());
+        int mask = in.readUnsignedShort();
+        if ((mask & HAS_TYPE) != 0) brick.setType(in.readUTF());
+        if ((mask & HAS_COLOR) != 0) brick.setColor(in.readUTF());
+        if ((mask & HAS_MOVING) != 0) brick.setMoving(in.readBoolean());
+        if ((mask & HAS_DIRECTION) != 0) brick.setDirection(in.readUTF());
+        if ((mask & HAS_SPEED) != 0) brick.setSpeed(in.readDouble());
+        if ((mask & HAS_RANGE) != 0) brick.setRange(in.readDouble());
+        if ((mask & HAS_X) != 0) brick.setX(in.readDouble());
+        if ((mask & HAS_Y) != 0) brick.setY(in.readDouble());
+        if ((mask & HAS_WIDTH) != 0) brick.setWidth(in.readDouble());
+        if ((mask & HAS_HEIGHT) != 0) brick.setHeight(in.readDouble());
+        if ((mask & HAS_ROTATION) != 0) brick.setRotation(in.readDouble());
+        if ((mask & HAS_POLYGON) != 0) {
+            int points = in.readInt();
+            List<double[]> polygon = new ArrayList<>(points);
+            for (int i = 0; i < points; i++) {
+                polygon.add(new double[]{in.readDouble(), in.readDouble()});
+            }
+            brick.setPolygon(polygon);
+        }
+        return brick;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -105,6 +105,14 @@ public class LevelData {
         private Double speed;           // pixels per second
         private Double range;           // max offset from origin in pixels
 
+        // Optional free-form shape (bricks with any of these leave the row/col lattice)
+        private Double x;               // centre x in pixels (default: lattice cell centre)
+        private Double y;               // centre y in pixels (default: lattice cell centre)
+        private Double width;           // rectangle width (default BRICK_WIDTH)
+        private Double height;          // rectangle height (default BRICK_HEIGHT)
+        private Double rotation;        // degrees, clockwise on screen
+        private List<double[]> polygon; // convex outline as [x, y] offsets from the centre
+
         // Constructor
         public BrickData() {}
 
@@ -161,5 +169,25 @@ public class LevelData {
         public void setSpeed(Double speed) { this.speed = speed; }
         public Double getRange() { return range; }
         public void setRange(Double range) { this.range = range; }
+
+        // Shape getters/setters
+        public Double getX() { return x; }
+        public void setX(Double x) { this.x = x; }
+        public Double getY() { return y; }
+        public void setY(Double y) { this.y = y; }
+        public Double getWidth() { return width; }
+        public void setWidth(Double width) { this.width = width; }
+        public Double getHeight() { return height; }
+        public void setHeight(Double height) { this.height = height; }
+        public Double getRotation() { return rotation; }
+        public void setRotation(Double rotation) { this.rotation = rotation; }
+        public List<double[]> getPolygon() { return polygon; }
+        public void setPolygon(List<double[]> polygon) { this.polygon = polygon; }
+
+        /** @return true if this brick is placed/shaped freely instead of on the lattice. */
+        public boolean isFreeform() {
+            return x != null || y != null || width != null || height != null
+                    || rotation != null || polygon != null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package Arkanoid.level;
+
+import Arkanoid.manager.AssetBundle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Manifest of the available levels: number, name, brick count and background of each, without
+ * their bricks. Baked into the asset bundle at build time, so finding the levels costs one lookup
+ * however many there are; full {@link LevelData} is only read when a level is played
+ * (see {@link LevelManager}).
+ *
+ * Without a bundle, or with one baked before the level files last changed (e.g. running from an
+ * IDE without the Maven build), the index is built by reading the level files in order up to the
+ * first gap, which is what every start used to do (then capped at 50 levels; there is no cap now).
+ */
+public class LevelIndex {
+    /** What the index knows about one level. */
+    public static final class Entry {
+        private final int number;
+        private final String name;
+        private final int brickCount;
+        private final String backgroundImage;
+
+        public Entry(int number, String name, int brickCount, String backgroundImage) {
+            this.number = number;
+            this.name = name;
+            this.brickCount = brickCount;
+            this.backgroundImage = backgroundImage;
+        }
+
+        /** @return 1-based position in the level list. */
+        public int getNumber() { return number; }
+        public String getName() { return name; }
+        /** @return bricks in the layout, including unbreakable ones. */
+        public int getBrickCount() { return brickCount; }
+        /** @return background image path, or null for the default one. */
+        public String getBackgroundImage() { return backgroundImage; }
+    }
+
+    private final List<Entry> entries;
+
+    public LevelIndex(List<Entry> entries) {
+        this.entries = new ArrayList<>(entries);
+    }
+
+    /**
+     * @return the baked index if there is one and it still matches the level files (none changed,
+     *         none added after the last one), else one built by {@link #scan}
+     */
+    public static LevelIndex load() {
+        AssetBundle bundle = AssetBundle.getDefault();
+        LevelIndex baked = bundle != null ? bundle.levelIndex() : null;
+        if (baked != null && !LevelLoader.levelExists(baked.size() + 1)) return baked;
+        return scan();
+    }
+
+    /**
+     * Indexes the level files that exist ({@link LevelLoader#listLevelNumbers()}), reading levels
+     * 1, 2, ... up to the first missing one. Used at run time only without an up-to-date bundle.
+     */
+    public static LevelIndex scan() {
+        return scan(LevelLoader.listLevelNumbers(), LevelLoader::loadLevel);
+    }
+
+    /** Indexes the given level numbers from 1 up to the first gap or unreadable level. */
+    // Đọc lần lượt từng level có trong danh sách tới chỗ thiếu đầu tiên để dựng chỉ mục
+    public static LevelIndex scan(Set<Integer> numbers, IntFunction<LevelData> loader) {
+        List<Entry> entries = new ArrayList<>();
+        for (int n = 1; numbers.contains(n); n++) {
+            LevelData data = loader.apply(n);
+            if (data == null) break;
+            entries.add(entryFor(n, data));
+        }
+        return new LevelIndex(entries);
+    }
+
+    /** @return the index entry describing a level's data at the given position. */
+    public static Entry entryFor(int number, LevelData data) {
+        String name = data.getName() != null ? data.getName() : "Level " + number;
+        int bricks = data.getBricks() != null ? data.getBricks().size() : 0;
+        return new Entry(number, name, bricks, data.getBackgroundImage());
+    }
+
+    /** @return number of levels. */
+    public int size() { return entries.size(); }
+
+    /** @return the entry of a 1-based level, or null if out of range. */
+    public Entry get(int number) {
+        return number >= 1 && number <= entries.size() ? entries.get(number - 1) : null;
+    }
+
+    /** @return all entries, in level order. */
+    public List<Entry> getEntries() { return Collections.unmodifiableList(entries); }
+
+    /** Appends a level built at run time (not backed by a level file). */
+    void add(Entry entry) { entries.add(entry); }
+}
@@ -1,23 +1,60 @@
 package Arkanoid.level;
 
+import Arkanoid.manager.AssetBundle;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Loads and saves level configurations from JSON files.
  * <p>
  * Prefers classpath resources under "/levels" packaged from src/main/resources.
  * Falls back to a development filesystem path (resources/levels) when running from IDE.
- * Also provides helpers to check existence and count available sequential levels.
+ * Also provides helpers to check existence and list the available level files.
  */
 public class LevelLoader {
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private static final String LEVELS_PATH = "resources/levels/"; // fallback when running from IDE
+    private static final Pattern LEVEL_FILE = Pattern.compile("level([1-9][0-9]{0,8})\\.json");
+
+    // Gson is only set up when JSON is actually read; levels from the asset bundle don't need it
+    private static final class Json {
+        static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    }
+
+    /**
+     * Loads a level by number from the baked asset bundle, else (not baked, or its JSON changed
+     * since the bundle was baked) its JSON from classpath or the filesystem fallback.
+     * @param levelNumber 1-based level index (level1.json, level2.json, ...)
+     * @return parsed {@link LevelData} or null on error/missing file
+     */
+    // Ưu tiên level đã nướng sẵn trong bundle (đọc nhị phân, không cần Gson)
+    public static LevelData loadLevel(int levelNumber) {
+        AssetBundle bundle = AssetBundle.getDefault();
+        if (bundle != null && bundle.hasLevel(levelNumber)) {
+            try {
+                return bundle.level(levelNumber);
+            } catch (IOException e) {
+                System.err.println("Bad baked level " + levelNumber + ", reading its JSON: " + e.getMessage());
+            }
+        }
+        return loadLevelJson(levelNumber);
+    }
 
     /**
      * Loads a level JSON by number from classpath (preferred) or filesystem fallback.
@@ -25,14 +62,14 @@ public class LevelLoader {
      * @return parsed {@link LevelData} or null on error/missing file
      */
     // Tải dữ liệu level theo số thứ tự từ resources hoặc fallback filesystem
-    public static LevelData loadLevel(int levelNumber) {
+    public static LevelData loadLevelJson(int levelNumber) {
     String filename = "/levels/level" + levelNumber + ".json"; // in resources
 
         try (InputStream is = LevelLoader.class.getResourceAsStream(filename)) {
             if (is != null) {
                 // Load from classpath (resources)
                 try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
-                    LevelData data = gson.fromJson(reader, LevelData.class);
+                    LevelData data = Json.GSON.fromJson(reader, LevelData.class);
                     return data;
                 }
             } else {
@@ -40,7 +77,7 @@ public class LevelLoader {
                 String fallback = LEVELS_PATH + "level" + levelNumber + ".json";
                 if (Files.exists(Paths.get(fallback))) {
                     String json = new String(Files.readAllBytes(Paths.get(fallback)), StandardCharsets.UTF_8);
-                    LevelData data = gson.fromJson(json, LevelData.class);
+                    LevelData data = Json.GSON.fromJson(json, LevelData.class);
                     return data;
                 } else {
                     System.err.println("Missing level file: " + fallback);
@@ -67,10 +104,53 @@ public class LevelLoader {
     }
 
     /**
-     * Returns true if a level JSON exists either in classpath or filesystem fallback.
+     * Lists the numbers of all level files (levelN.json) on the classpath, in a directory or a jar,
+     * and in the filesystem fallback, however many there are. Gaps are kept: callers decide.
+     */
+    // Liệt kê số thứ tự của mọi file level thực có (không dò từng số, không giới hạn)
+    public static SortedSet<Integer> listLevelNumbers() {
+        SortedSet<Integer> numbers = new TreeSet<>();
+        URL folder = LevelLoader.class.getResource("/levels");
+        try {
+            if (folder != null && "file".equals(folder.getProtocol())) {
+                addLevelNumbers(Paths.get(folder.toURI()), numbers);
+            } else if (folder != null && folder.openConnection() instanceof JarURLConnection jar) {
+                String prefix = jar.getEntryName() + "/";
+                Enumeration<JarEntry> entries = jar.getJarFile().entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (name.startsWith(prefix)) addLevelNumber(name.substring(prefix.length()), numbers);
+                }
+            }
+            addLevelNumbers(Paths.get(LEVELS_PATH), numbers);
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Could not list level files: " + e.getMessage());
+        }
+        return numbers;
+    }
+
+    /** Adds the numbers of the levelN.json files in a directory (nothing if it does not exist). */
+    static void addLevelNumbers(Path dir, Set<Integer> numbers) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> addLevelNumber(file.getFileName().toString(), numbers));
+        }
+    }
+
+    private static void addLevelNumber(String fileName, Set<Integer> numbers) {
+        Matcher m = LEVEL_FILE.matcher(fileName);
+        if (m.matches()) numbers.add(Integer.parseInt(m.group(1)));
+    }
+
+    /**
+     * Returns true if a level exists in the asset bundle, or its JSON in classpath or filesystem fallback.
      */
     // Kiểm tra level có tồn tại (resources hoặc filesystem)
     public static boolean levelExists(int levelNumber) {
+        AssetBundle bundle = AssetBundle.getDefault();
+        if (bundle != null && bundle.hasLevel(levelNumber))
+            return true;
+
         String pathInResources = "/levels/level" + levelNumber + ".json";
         if (LevelLoader.class.getResource(pathInResources) != null)
             return true;
@@ -78,19 +158,6 @@ public class LevelLoader {
         return Files.exists(Paths.get(LEVELS_PATH + "level" + levelNumber + ".json"));
     }
 
-    /**
-     * Counts sequential level files starting from 1 up to the first gap or maxScan.
-     */
-    // Đếm số lượng level liên tiếp từ 1 đến khi gặp thiếu hoặc đạt maxScan
-    public static int countAvailableLevels(int maxScan) {
-        int count = 0;
-        for (int i = 1; i <= maxScan; i++) {
-            if (levelExists(i)) count++;
-            else break; // stop at first missing sequence gap
-        }
-        return count;
-    }
-
     /**
      * Saves the given level configuration to the filesystem fallback directory.
      * @return true on success, false on I/O error
@@ -105,7 +172,7 @@ public class LevelLoader {
 
             // Write JSON file
             try (Writer writer = new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8)) {
-                gson.toJson(levelData, writer);
+                Json.GSON.toJson(levelData, writer);
             }
 
             return true;
@@ -137,6 +204,29 @@ public class LevelLoader {
         return levelData;
     }
 
+    /**
+     * Creates a full rows x cols lattice, e.g. 200x200 for a level far larger than the window.
+     * Every seventh brick (diagonally) is HARD; colors follow the row like the sample level.
+     */
+    // Tạo level lưới kích thước tùy ý (lớn hơn cửa sổ), dùng cho màn chơi cuộn và benchmark
+    public static LevelData createGridLevel(int levelNumber, String name, int rows, int cols) {
+        LevelData levelData = new LevelData();
+        levelData.setLevelNumber(levelNumber);
+        levelData.setName(name);
+        levelData.setBallSpeed(4.5);
+        levelData.setLives(3);
+
+        java.util.List<LevelData.BrickData> bricks = new java.util.ArrayList<>(rows * cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                String type = (row + col) % 7 == 0 ? "HARD" : "NORMAL";
+                bricks.add(new LevelData.BrickData(row, col, type, getColorForRow(row)));
+            }
+        }
+        levelData.setBricks(bricks);
+        return levelData;
+    }
+
     /**
      * Picks a color by row index for sample level creation.
      */
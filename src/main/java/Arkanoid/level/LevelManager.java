@@ -1,63 +1,164 @@
 package Arkanoid.level;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages level progression and selection.
- * Holds a list of loaded Level instances, tracks the current index,
+ * Knows the available levels from a {@link LevelIndex}, tracks the current index,
  * and provides navigation (next/previous/select) as well as unlock logic.
+ *
+ * Levels are only read when first needed and kept in a small cache (the current level is never
+ * dropped), so the number of levels does not change start-up time or memory.
  */
 public class LevelManager {
-    private List<Level> levels;
+    /** Levels kept loaded at once. */
+    public static final int CACHE_SIZE = 8;
+
+    private final int cacheSize;
+    private LevelIndex index;
+    private final Map<Integer, Level> cache; // level number -> level, least recently used first
+    private final Map<Integer, Level> addedLevels; // built at run time: never reloaded, never dropped
     private int currentLevelIndex;
     private int totalLevels;
     private int highestUnlockedLevel;
+    private int loads;
+    private Level pinned; // the level the game is playing, see pin()
 
     public LevelManager() {
-        this.levels = new ArrayList<>();
+        this(CACHE_SIZE);
+    }
+
+    /** @param cacheSize levels kept loaded at once (tests) */
+    LevelManager(int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.index = new LevelIndex(new ArrayList<>());
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+        this.addedLevels = new HashMap<>();
         this.currentLevelIndex = 0;
         this.highestUnlockedLevel = Integer.MAX_VALUE; // Unlock all levels by default
     }
 
     /**
-     * Loads up to maxLevels from LevelLoader and initializes each level.
+     * Uses the given index as the level list; levels are read from it on demand.
+     * An empty index falls back to {@code fallbackLevels} sample levels.
      */
-    // Tải danh sách level từ dữ liệu (resources hoặc filesystem)
-    public void loadLevels(int maxLevels) {
-        levels.clear();
-        this.totalLevels = maxLevels;
-
-        for (int i = 1; i <= maxLevels; i++) {
-            LevelData levelData = LevelLoader.loadLevel(i);
-
-            if (levelData != null) {
-                Level level = new Level(levelData);
-                level.initialize();
-                levels.add(level);
-            } else {
-                // If loading fails, create a default sample level
-                LevelData defaultData = LevelLoader.createSampleLevel(i, "Level " + i);
-                Level level = new Level(defaultData);
-                level.initialize();
-                levels.add(level);
+    // Dùng chỉ mục làm danh sách level; chỉ đọc dữ liệu level khi cần tới
+    public synchronized void loadIndex(LevelIndex levelIndex, int fallbackLevels) {
+        if (levelIndex.size() == 0) {
+            List<LevelIndex.Entry> samples = new ArrayList<>();
+            for (int i = 1; i <= fallbackLevels; i++) {
+                samples.add(new LevelIndex.Entry(i, "Level " + i, 0, null));
             }
+            levelIndex = new LevelIndex(samples);
+        }
+        this.index = new LevelIndex(levelIndex.getEntries());
+        this.totalLevels = index.size();
+        this.currentLevelIndex = 0;
+        cache.clear();
+        addedLevels.clear();
+        pinned = null;
+    }
+
+    /**
+     * Appends a level built outside the level files (e.g. a generated one) and unlocks it.
+     * @return its 1-based number, for {@link #selectLevel(int)}
+     */
+    public synchronized int addLevel(Level level) {
+        level.initialize();
+        int number = index.size() + 1;
+        index.add(new LevelIndex.Entry(number, level.getLevelName(), level.getBricks().size(),
+                level.getBackgroundImage()));
+        addedLevels.put(number, level);
+        totalLevels = index.size();
+        highestUnlockedLevel = Math.max(highestUnlockedLevel, number);
+        return number;
+    }
+
+    /**
+     * @param levelNumber 1-based
+     * @return the level, read and initialized on first use, or null if out of range
+     */
+    public synchronized Level getLevel(int levelNumber) {
+        if (index.get(levelNumber) == null) return null;
+        Level added = addedLevels.get(levelNumber);
+        if (added != null) return added;
+        Level level = cache.get(levelNumber);
+        if (level == null) {
+            level = load(levelNumber);
+            cache.put(levelNumber, level);
+            evict();
+        }
+        return level;
+    }
+
+    /** @return the level if it is already loaded, else null (never reads it). */
+    public synchronized Level getLoadedLevel(int levelNumber) {
+        Level added = addedLevels.get(levelNumber);
+        return added != null ? added : cache.get(levelNumber);
+    }
+
+    // Đọc một level từ dữ liệu (bundle, resources hoặc filesystem), hoặc tạo level mẫu nếu lỗi
+    private Level load(int levelNumber) {
+        loads++;
+        LevelData levelData = LevelLoader.loadLevel(levelNumber);
+        if (levelData == null) {
+            // If loading fails, create a default sample level
+            levelData = LevelLoader.createSampleLevel(levelNumber, "Level " + levelNumber);
+        }
+        Level level = new Level(levelData);
+        level.initialize();
+        return level;
+    }
+
+    // Bỏ các level lâu không dùng khi cache vượt giới hạn, trừ level đang chọn và level game đang giữ
+    private void evict() {
+        Iterator<Map.Entry<Integer, Level>> it = cache.entrySet().iterator();
+        while (cache.size() > cacheSize && it.hasNext()) {
+            Map.Entry<Integer, Level> entry = it.next();
+            if (entry.getKey() != currentLevelIndex + 1 && entry.getValue() != pinned) it.remove();
         }
     }
 
+    /**
+     * Keeps the level the game is playing loaded, even once the selection has moved on (e.g. a
+     * preload on another thread between {@link #selectLevel} and the game switching levels).
+     */
+    public synchronized void pin(Level level) {
+        pinned = level;
+    }
+
+    /** @return what the index knows about a 1-based level, without loading it; null if out of range. */
+    public synchronized LevelIndex.Entry getLevelInfo(int levelNumber) {
+        return index.get(levelNumber);
+    }
+
+    /** @return number of levels currently loaded (cached or added). */
+    public synchronized int getLoadedLevelCount() {
+        return cache.size() + addedLevels.size();
+    }
+
+    /** @return how many times a level has been read from its data (tests, diagnostics). */
+    public synchronized int getLoadCount() {
+        return loads;
+    }
+
     /** Returns the currently selected Level or null if none. */
     // Lấy level hiện tại (theo chỉ số đang chọn)
-    public Level getCurrentLevel() {
-        if (levels.isEmpty()) return null;
-        return levels.get(currentLevelIndex);
+    public synchronized Level getCurrentLevel() {
+        return getLevel(currentLevelIndex + 1);
     }
 
     /** Advances to next level if available.
      * @return true if moved to next level
      */
     // Chuyển sang level tiếp theo nếu còn
-    public boolean nextLevel() {
-        if (currentLevelIndex < levels.size() - 1) {
+    public synchronized boolean nextLevel() {
+        if (currentLevelIndex < totalLevels - 1) {
             currentLevelIndex++;
 
             // Unlock newly reached level if needed
@@ -74,7 +175,7 @@ public class LevelManager {
      * @return true if moved to previous level
      */
     // Quay về level trước nếu có
-    public boolean previousLevel() {
+    public synchronized boolean previousLevel() {
         if (currentLevelIndex > 0) {
             currentLevelIndex--;
             return true;
@@ -87,10 +188,10 @@ public class LevelManager {
      * @return true if selection succeeded
      */
     // Chọn level theo số (1-based) nếu hợp lệ và được mở khóa
-    public boolean selectLevel(int levelNumber) {
+    public synchronized boolean selectLevel(int levelNumber) {
         int index = levelNumber - 1;
 
-        if (index >= 0 && index < levels.size() && levelNumber <= highestUnlockedLevel) {
+        if (index >= 0 && index < totalLevels && levelNumber <= highestUnlockedLevel) {
             currentLevelIndex = index;
             return true;
         }
@@ -105,30 +206,33 @@ public class LevelManager {
         }
     }
 
-    /** Resets progression to level 1 and resets all levels. */
-    // Bắt đầu lại từ level 1 và reset tất cả level
-    public void restartGame() {
+    /** Resets progression to level 1 and resets all loaded levels (the others load fresh). */
+    // Bắt đầu lại từ level 1 và reset các level đã tải
+    public synchronized void restartGame() {
         currentLevelIndex = 0;
-        for (Level level : levels) {
+        for (Level level : cache.values()) {
+            level.reset();
+        }
+        for (Level level : addedLevels.values()) {
             level.reset();
         }
     }
 
     /** @return true if the last level is selected and completed. */
-    public boolean isGameComplete() {
-        return currentLevelIndex >= levels.size() - 1 &&
+    public synchronized boolean isGameComplete() {
+        return currentLevelIndex >= totalLevels - 1 &&
                 getCurrentLevel() != null &&
                 getCurrentLevel().isCompleted();
     }
 
     /** @return current level number (1-based). */
-    public int getCurrentLevelNumber() {
+    public synchronized int getCurrentLevelNumber() {
         return currentLevelIndex + 1;
     }
 
-    /** @return total number of loaded levels. */
+    /** @return total number of levels in the index. */
     public int getTotalLevels() {
-        return levels.size();
+        return totalLevels;
     }
 
     /** @return highest unlocked level number. */
@@ -151,13 +255,26 @@ public class LevelManager {
         highestUnlockedLevel = totalLevels;
     }
 
-    /** @return a copy of the internal level list. */
+    /**
+     * Loads every level; prefer {@link #getLevel} or {@link #getLevelInfo}. With more levels than
+     * {@link #CACHE_SIZE}, later calls may return new instances of the dropped ones.
+     * @return all levels in order
+     */
     public List<Level> getAllLevels() {
-        return new ArrayList<>(levels);
+        List<Level> all = new ArrayList<>(totalLevels);
+        for (int i = 1; i <= totalLevels; i++) {
+            all.add(getLevel(i));
+        }
+        return all;
+    }
+
+    /** @return the index the levels are read from. */
+    public LevelIndex getIndex() {
+        return index;
     }
 
     /** @return overall progress percentage across levels. */
-    public double getProgress() {
+    public synchronized double getProgress() {
         if (totalLevels == 0) return 0.0;
         return (double) (currentLevelIndex + 1) / totalLevels * 100.0;
     }
@@ -6,6 +6,8 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -34,6 +36,9 @@ public class LevelSelectionView {
     public interface LevelSelectionCallback {
         void onLevelSelected(int levelNumber);
         void onBack();
+
+        /** The pointer or keyboard focus is on an unlocked level, so it is likely to be chosen next. */
+        default void onLevelFocused(int levelNumber) { }
     }
 
     public LevelSelectionView(Stage stage, LevelManager levelManager) {
@@ -117,11 +122,21 @@ public class LevelSelectionView {
 
         if (isUnlocked) {
             styleButton(button, "#3498db");
+            // Name and size come from the level index: the level itself is not loaded for this
+            LevelIndex.Entry info = levelManager.getLevelInfo(levelNumber);
+            if (info != null) {
+                button.setTooltip(new Tooltip(info.getName() + "\n" + info.getBrickCount() + " bricks"));
+            }
             button.setOnAction(e -> {
                 if (callback != null) {
                     callback.onLevelSelected(levelNumber);
                 }
             });
+            // Hover/focus hints the likely choice so the host can prepare it before the click
+            button.addEventHandler(MouseEvent.MOUSE_ENTERED, e -> notifyFocused(levelNumber));
+            button.focusedProperty().addListener((obs, was, focused) -> {
+                if (focused) notifyFocused(levelNumber);
+            });
 
             if (levelNumber == levelManager.getCurrentLevelNumber()) {
                 styleButton(button, "#2ecc71");
@@ -135,6 +150,12 @@ public class LevelSelectionView {
     return button;
     }
 
+    private void notifyFocused(int levelNumber) {
+        if (callback != null) {
+            callback.onLevelFocused(levelNumber);
+        }
+    }
+
     private void styleButton(Button button, String color) {
         button.setStyle(
                 "-fx-background-color: " + color + ";" +
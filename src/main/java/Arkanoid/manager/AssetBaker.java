@@ -0,0 +1,147 @@
+package Arkanoid.manager;
+
+import Arkanoid.level.LevelCodec;
+import Arkanoid.level.LevelData;
+import Arkanoid.level.LevelIndex;
+import Arkanoid.level.LevelLoader;
+import Arkanoid.renderer.Renderer;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Build step that writes the {@link AssetBundle}: every core sprite and level background decoded
+ * at the size it is drawn at, every level converted to {@link LevelCodec} form and the
+ * {@link LevelIndex} of them all. Run by Maven in its own JVM (it exits when done)
+ * after the classes are compiled, with the resources on the classpath:
+ *
+ * <pre>
+ * java Arkanoid.manager.AssetBaker target/classes/assets.bundle
+ * </pre>
+ * Images go through the same decoder as at run time, so a baked image matches a decoded one pixel
+ * for pixel.
+ */
+public final class AssetBaker {
+    private AssetBaker() { }
+
+    public static void main(String[] args) {
+        Path output = Paths.get(args.length > 0 ? args[0] : "target/classes" + AssetBundle.RESOURCE);
+        long start = System.nanoTime();
+        int status = 1;
+        try {
+            long bytes = bake(output);
+            System.out.printf("Baked %s: %.1f MiB in %d ms%n", output, bytes / 1048576.0,
+                    (System.nanoTime() - start) / 1_000_000);
+            status = 0;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not bake " + output + ": " + e);
+            e.printStackTrace();
+        }
+        // Decoding started the toolkit, whose render thread never ends on its own
+        System.exit(status);
+    }
+
+    /**
+     * Bakes the bundle to {@code output}, replacing it.
+     * @return bundle size in bytes
+     */
+    public static long bake(Path output) throws IOException {
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+        Map<String, int[]> meta = new LinkedHashMap<>(); // kind, width, height
+        Map<String, Long> stamps = new LinkedHashMap<>(); // source resource fingerprint
+
+        List<AssetManager.ImageSpec> images = new ArrayList<>(Renderer.coreImages());
+        // Straight from the JSON resources (never from a bundle baked by an earlier build), every
+        // level file there is, up to the first gap as in the game
+        Set<Integer> numbers = LevelLoader.listLevelNumbers();
+        List<LevelIndex.Entry> levelEntries = new ArrayList<>();
+        for (int n = 1; numbers.contains(n) && AssetBaker.class.getResource(AssetBundle.levelKey(n)) != null; n++) {
+            LevelData level = LevelLoader.loadLevelJson(n);
+            if (level == null) break; // the index, like the game, stops at the first unreadable level
+            levelEntries.add(LevelIndex.entryFor(n, level));
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            LevelCodec.write(level, new DataOutputStream(encoded));
+            String key = AssetBundle.levelKey(n);
+            payloads.put(key, encoded.toByteArray());
+            meta.put(key, new int[]{AssetBundle.KIND_LEVEL, 0, 0});
+            stamps.put(key, AssetBundle.stamp(AssetBaker.class.getResource(key)));
+            if (level.getBackgroundImage() != null) {
+                images.add(GameManager.levelBackground(level.getBackgroundImage()));
+            }
+        }
+
+        ByteArrayOutputStream encodedIndex = new ByteArrayOutputStream();
+        LevelCodec.writeIndex(new LevelIndex(levelEntries), new DataOutputStream(encodedIndex));
+        payloads.put(AssetBundle.LEVEL_INDEX_KEY, encodedIndex.toByteArray());
+        meta.put(AssetBundle.LEVEL_INDEX_KEY, new int[]{AssetBundle.KIND_LEVEL_INDEX, 0, 0});
+
+        for (AssetManager.ImageSpec spec : images) {
+            String key = spec.key();
+            if (payloads.containsKey(key)) continue;
+            Image image = AssetManager.decode(spec.getPath(), spec.getWidth(), spec.getHeight());
+            if (image == null) continue; // missing stays missing; the game reports it once
+            int w = (int) image.getWidth();
+            int h = (int) image.getHeight();
+            byte[] pixels = new byte[w * h * 4];
+            image.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getByteBgraPreInstance(), pixels, 0, w * 4);
+            payloads.put(key, pixels);
+            meta.put(key, new int[]{AssetBundle.KIND_IMAGE, w, h});
+            stamps.put(key, AssetBundle.stamp(AssetBaker.class.getResource(spec.getPath())));
+        }
+        return write(output, payloads, meta, stamps);
+    }
+
+    // Ghi tệp: đầu tệp (magic, phiên bản, số mục, độ dài chỉ mục), chỉ mục, rồi dữ liệu liền nhau
+    private static long write(Path output, Map<String, byte[]> payloads, Map<String, int[]> meta,
+                              Map<String, Long> stamps) throws IOException {
+        // Index entries have a fixed size once the keys are known, so offsets can be computed first
+        int indexLength = 0;
+        for (String key : payloads.keySet()) {
+            indexLength += 1 + 2 + key.getBytes(StandardCharsets.UTF_8).length + 24;
+        }
+        int offset = 20 + indexLength;
+
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream(indexLength);
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        for (Map.Entry<String, byte[]> e : payloads.entrySet()) {
+            int[] m = meta.get(e.getKey());
+            index.writeByte(m[0]);
+            index.writeUTF(e.getKey());
+            index.writeInt(offset);
+            index.writeInt(e.getValue().length);
+            index.writeInt(m[1]);
+            index.writeInt(m[2]);
+            index.writeLong(stamps.getOrDefault(e.getKey(), 0L));
+            offset += e.getValue().length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(20);
+        header.putInt(AssetBundle.MAGIC).putInt(AssetBundle.FORMAT).putInt(LevelCodec.VERSION)
+                .putInt(payloads.size()).putInt(indexBytes.size());
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            out.write(header.array());
+            indexBytes.writeTo(out);
+            for (byte[] payload : payloads.values()) out.write(payload);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+        return offset;
+    }
+}
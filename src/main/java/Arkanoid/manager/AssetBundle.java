@@ -0,0 +1,275 @@
+package Arkanoid.manager;
+
+import Arkanoid.level.LevelCodec;
+import Arkanoid.level.LevelData;
+import Arkanoid.level.LevelIndex;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * Read side of the asset bundle baked at build time by {@link AssetBaker}: images already decoded
+ * and scaled to their draw size, stored as the toolkit's native premultiplied BGRA pixels, and
+ * levels and the {@link LevelIndex} in {@link LevelCodec} form, behind one index.
+ *
+ * The file is memory-mapped, so opening it reads only the index; an image costs one copy of its
+ * pixels into a {@link WritableImage} and a level one binary read. Inside a jar, where a resource
+ * cannot be mapped, it is read into memory once instead.
+ *
+ * Every asset is stamped with the size and CRC-32 of the resource it was baked from, which a jar
+ * records exactly (unlike modification times, which it rounds).
+ * An asset whose resource has changed since (e.g. a level edited and run from an IDE without the
+ * Maven build) is treated as not in the bundle and loaded the usual way, as is anything missing,
+ * so a stale or missing bundle only costs start-up time.
+ *
+ * Disabled with {@code -Darkanoid.assetBundle=off}, e.g. to compare start-up times.
+ */
+public final class AssetBundle {
+    /** Classpath location the build writes the bundle to. */
+    public static final String RESOURCE = "/assets.bundle";
+    /** System property; {@code off} ignores the bundle. */
+    public static final String PROPERTY = "arkanoid.assetBundle";
+
+    static final int MAGIC = 0x41524B42; // "ARKB"
+    static final int FORMAT = 3;
+    static final byte KIND_IMAGE = 1;
+    static final byte KIND_LEVEL = 2;
+    static final byte KIND_LEVEL_INDEX = 3;
+    /** Key of the level index. */
+    static final String LEVEL_INDEX_KEY = "/levels/index";
+
+    private static AssetBundle defaultBundle;
+    private static boolean defaultLoaded;
+
+    /** Where one asset lives in the data section. */
+    private static final class Entry {
+        final byte kind;
+        final int offset;
+        final int length;
+        final int width;
+        final int height;
+        final long stamp; // see stamp()
+
+        Entry(byte kind, int offset, int length, int width, int height, long stamp) {
+            this.kind = kind;
+            this.offset = offset;
+            this.length = length;
+            this.width = width;
+            this.height = height;
+            this.stamp = stamp;
+        }
+    }
+
+    private final ByteBuffer data;
+    private final boolean mapped;
+    private final Map<String, Entry> index;
+    private final Function<String, URL> resources; // finds the sources assets are checked against
+
+    private AssetBundle(ByteBuffer data, boolean mapped, Map<String, Entry> index, Function<String, URL> resources) {
+        this.data = data;
+        this.mapped = mapped;
+        this.index = index;
+        this.resources = resources;
+    }
+
+    /** Maps a bundle file read-only. */
+    public static AssetBundle open(Path file) throws IOException {
+        return open(file, AssetBundle.class::getResource);
+    }
+
+    /** @param resources resolves an absolute resource path, e.g. against another class path (tests) */
+    static AssetBundle open(Path file, Function<String, URL> resources) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), true, resources);
+        }
+    }
+
+    /**
+     * Opens a bundle from a URL: mapped if it is a file, else (inside a jar) read into memory once.
+     * @param resources resolves an absolute resource path, e.g. against another class path (tests)
+     */
+    static AssetBundle load(URL url, Function<String, URL> resources) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            return open(Paths.get(url.toURI()), resources);
+        }
+        try (InputStream in = url.openStream()) {
+            byte[] bytes = in.readAllBytes();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            return parse(buffer, false, resources);
+        }
+    }
+
+    /**
+     * @return the bundle on the classpath, or null if there is none, it is disabled by
+     *         {@link #PROPERTY}, or it was baked by an incompatible version
+     */
+    public static synchronized AssetBundle getDefault() {
+        if (defaultLoaded) return defaultBundle;
+        defaultLoaded = true;
+        if ("off".equalsIgnoreCase(System.getProperty(PROPERTY, "").trim())) return null;
+        URL url = AssetBundle.class.getResource(RESOURCE);
+        if (url == null) return null;
+        try {
+            defaultBundle = load(url, AssetBundle.class::getResource);
+        } catch (Exception e) {
+            System.err.println("Ignoring asset bundle " + url + ": " + e.getMessage());
+        }
+        return defaultBundle;
+    }
+
+    // Đọc phần chỉ mục ở đầu tệp; phần dữ liệu chỉ được chạm tới khi lấy từng tài nguyên
+    private static AssetBundle parse(ByteBuffer buffer, boolean mapped, Function<String, URL> resources)
+            throws IOException {
+        if (buffer.remaining() < 20 || buffer.getInt(0) != MAGIC) throw new IOException("not an asset bundle");
+        int format = buffer.getInt(4);
+        int levelFormat = buffer.getInt(8);
+        if (format != FORMAT || levelFormat != LevelCodec.VERSION) {
+            throw new IOException("baked with format " + format + "/" + levelFormat + ", rebuild to refresh it");
+        }
+        int count = buffer.getInt(12);
+        int indexLength = buffer.getInt(16);
+        byte[] header = new byte[indexLength];
+        buffer.get(20, header);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(header));
+        Map<String, Entry> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            byte kind = in.readByte();
+            String key = in.readUTF();
+            index.put(key, new Entry(kind, in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readLong()));
+        }
+        return new AssetBundle(buffer, mapped, index, resources);
+    }
+
+    /**
+     * Fingerprint of a resource as the bundle records it: size and CRC-32 of its content. Inside a
+     * jar both come from the jar's directory; a file is read once to checksum it.
+     * @return 0 if the resource is missing or its location gives neither
+     */
+    // Dấu vân tay của tài nguyên nguồn: kích thước và CRC-32 nội dung, 0 nếu không xác định được
+    static long stamp(URL url) {
+        if (url == null) return 0;
+        try {
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection jar) {
+                JarEntry entry = jar.getJarEntry();
+                if (entry.getCrc() != -1 && entry.getSize() != -1) return stamp(entry.getSize(), entry.getCrc());
+            }
+            byte[] bytes;
+            if ("file".equals(url.getProtocol())) {
+                bytes = Files.readAllBytes(Paths.get(url.toURI()));
+            } else {
+                try (InputStream in = connection.getInputStream()) {
+                    bytes = in.readAllBytes();
+                }
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            return stamp(bytes.length, crc.getValue());
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static long stamp(long size, long crc) {
+        return size << 32 | crc;
+    }
+
+    // Mục còn khớp với tài nguyên nguồn; mục lỗi thời coi như không có trong bundle
+    private Entry current(String key, byte kind, String source) {
+        Entry entry = index.get(key);
+        if (entry == null || entry.kind != kind) return null;
+        return entry.stamp == stamp(resources.apply(source)) ? entry : null;
+    }
+
+    /** @return the baked image for an {@link AssetManager#key} (path at a draw size), or null. */
+    public Image image(String key) {
+        int at = key.lastIndexOf('@');
+        Entry entry = current(key, KIND_IMAGE, at >= 0 ? key.substring(0, at) : key);
+        if (entry == null) return null;
+        WritableImage image = new WritableImage(entry.width, entry.height);
+        image.getPixelWriter().setPixels(0, 0, entry.width, entry.height, PixelFormat.getByteBgraPreInstance(),
+                data.slice(entry.offset, entry.length), entry.width * 4);
+        return image;
+    }
+
+    /** @return key of a level in the bundle, the same path as its JSON resource. */
+    public static String levelKey(int levelNumber) {
+        return "/levels/level" + levelNumber + ".json";
+    }
+
+    /** @return true if the bundle holds the given 1-based level, baked from its current JSON. */
+    public boolean hasLevel(int levelNumber) {
+        String key = levelKey(levelNumber);
+        return current(key, KIND_LEVEL, key) != null;
+    }
+
+    /** @return the baked level, or null if it is not in the bundle or its JSON changed since. */
+    public LevelData level(int levelNumber) throws IOException {
+        String key = levelKey(levelNumber);
+        Entry entry = current(key, KIND_LEVEL, key);
+        if (entry == null) return null;
+        byte[] bytes = new byte[entry.length];
+        data.get(entry.offset, bytes);
+        return LevelCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /** @return number of baked levels counting from 1 up to the first gap. */
+    public int levelCount() {
+        int count = 0;
+        while (hasLevel(count + 1)) count++;
+        return count;
+    }
+
+    /**
+     * @return the baked level index, or null if the bundle has none, it cannot be read or one of
+     *         its levels has changed since it was baked. Levels added after it are not detected
+     *         here (see {@link LevelIndex#load()}).
+     */
+    public LevelIndex levelIndex() {
+        Entry entry = index.get(LEVEL_INDEX_KEY);
+        if (entry == null || entry.kind != KIND_LEVEL_INDEX) return null;
+        byte[] bytes = new byte[entry.length];
+        data.get(entry.offset, bytes);
+        LevelIndex levels;
+        try {
+            levels = LevelCodec.readIndex(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            System.err.println("Bad baked level index: " + e.getMessage());
+            return null;
+        }
+        for (LevelIndex.Entry level : levels.getEntries()) {
+            if (!hasLevel(level.getNumber())) return null;
+        }
+        return levels;
+    }
+
+    /** @return assets in the index. */
+    public int size() { return index.size(); }
+
+    /** @return total bundle size in bytes. */
+    public long getByteSize() { return data.capacity(); }
+
+    /** @return true if the bundle is a mapped file rather than a copy in memory. */
+    public boolean isMapped() { return mapped; }
+}
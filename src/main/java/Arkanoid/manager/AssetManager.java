@@ -0,0 +1,311 @@
+package Arkanoid.manager;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single owner of every decoded image. Images are decoded on a small background pool, at the size
+ * they are drawn at when one is given (the decoder scales, so no full-size copy is kept), and the
+ * game thread only ever gets a finished image or null.
+ *
+ * Assets are pinned by named scopes: {@link #CORE_SCOPE} for sprites used everywhere and one scope
+ * per level for its background. Released assets stay cached for reuse until the total decoded size
+ * exceeds the budget, then the least recently used unpinned ones are evicted. Missing resources
+ * are remembered too, so a bad path is looked up once rather than every frame. Images baked into
+ * the {@link AssetBundle} at build time are copied from it instead of decoded.
+ */
+public class AssetManager {
+    /** Scope of assets needed by every level; never released. */
+    public static final String CORE_SCOPE = "core";
+    /** System property with the budget in MiB, e.g. {@code -Darkanoid.assetBudgetMb=32}. */
+    public static final String BUDGET_PROPERTY = "arkanoid.assetBudgetMb";
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private static AssetManager instance;
+
+    /** One cached (or loading) image. */
+    private static final class Entry {
+        final String key;
+        final CompletableFuture<Image> future;
+        Image image;      // null while loading or if missing
+        boolean missing;
+        long bytes;
+        int refs;
+
+        Entry(String key, CompletableFuture<Image> future) {
+            this.key = key;
+            this.future = future;
+        }
+    }
+
+    /** An image at the size it is drawn at (0 x 0 = natural size), e.g. for {@link #retain}. */
+    public static final class ImageSpec {
+        private final String path;
+        private final int width;
+        private final int height;
+
+        public ImageSpec(String path, int width, int height) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getPath() { return path; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+        public String key() { return AssetManager.key(path, width, height); }
+    }
+
+    /** What {@link #report()} lists for one asset. */
+    public static final class Info {
+        private final String key;
+        private final long bytes;
+        private final int refs;
+        private final boolean loaded;
+
+        Info(String key, long bytes, int refs, boolean loaded) {
+            this.key = key;
+            this.bytes = bytes;
+            this.refs = refs;
+            this.loaded = loaded;
+        }
+
+        public String getKey() { return key; }
+        public long getBytes() { return bytes; }
+        public int getRefs() { return refs; }
+        public boolean isLoaded() { return loaded; }
+    }
+
+    private final ExecutorService decoders;
+    private final AssetBundle bundle; // baked images, or null
+    // Access order: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<String>> scopes = new HashMap<>();
+    private long budgetBytes;
+    private long bytesHeld;
+    private long evictions;
+    private long bundleHits;
+
+    AssetManager(long budgetBytes, int decodeThreads) {
+        this(budgetBytes, decodeThreads, null);
+    }
+
+    /** @param bundle baked images tried before decoding, or null */
+    AssetManager(long budgetBytes, int decodeThreads, AssetBundle bundle) {
+        this.budgetBytes = budgetBytes;
+        this.bundle = bundle;
+        AtomicInteger threadId = new AtomicInteger();
+        this.decoders = Executors.newFixedThreadPool(decodeThreads, r -> {
+            Thread t = new Thread(r, "asset-decoder-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** @return singleton instance, budget from {@link #BUDGET_PROPERTY}. */
+    public static synchronized AssetManager getInstance() {
+        if (instance == null) {
+            long budget = DEFAULT_BUDGET_BYTES;
+            String value = System.getProperty(BUDGET_PROPERTY);
+            if (value != null) {
+                try {
+                    budget = Long.parseLong(value.trim()) * 1024 * 1024;
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid asset budget '" + value + "', using default");
+                }
+            }
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            instance = new AssetManager(budget, threads, AssetBundle.getDefault());
+        }
+        return instance;
+    }
+
+    /** @return cache key of a resource decoded at the given size (0 x 0 = natural size). */
+    public static String key(String path, int width, int height) {
+        return width <= 0 || height <= 0 ? path : path + "@" + width + "x" + height;
+    }
+
+    /** Starts decoding a classpath image at its natural size, if not cached or loading already. */
+    public CompletableFuture<Image> load(String path) {
+        return load(path, 0, 0);
+    }
+
+    /**
+     * Starts decoding a classpath image scaled to width x height (smoothly, ignoring its aspect
+     * ratio), if not cached or loading already.
+     *
+     * @return completes with the image, or null if the resource is missing or broken
+     */
+    public synchronized CompletableFuture<Image> load(String path, int width, int height) {
+        String key = key(path, width, height);
+        Entry entry = entries.get(key);
+        if (entry != null) return entry.future;
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        Entry created = new Entry(key, future);
+        entries.put(key, created);
+        decoders.execute(() -> {
+            Image baked = bundle != null ? bundle.image(key) : null;
+            Image image = baked != null ? baked : decode(path, width, height);
+            synchronized (this) {
+                if (baked != null) bundleHits++;
+                if (entries.get(key) == created) {
+                    created.image = image;
+                    created.missing = image == null;
+                    created.bytes = sizeOf(image);
+                    bytesHeld += created.bytes;
+                    evictOverBudget();
+                }
+            }
+            future.complete(image);
+        });
+        return future;
+    }
+
+    /** @return the image if decoded, else null (starting the decode). Never blocks. */
+    public Image get(String path) {
+        return get(path, 0, 0);
+    }
+
+    /** @see #get(String) */
+    public synchronized Image get(String path, int width, int height) {
+        Entry entry = entries.get(key(path, width, height)); // also marks it recently used
+        if (entry == null) {
+            load(path, width, height);
+            return null;
+        }
+        return entry.image;
+    }
+
+    /** @return true if the image is decoded or known to be missing, so {@link #get} will not change. */
+    public synchronized boolean isSettled(String path, int width, int height) {
+        Entry entry = entries.get(key(path, width, height));
+        return entry != null && entry.future.isDone();
+    }
+
+    /**
+     * Pins an asset to a scope (starting its decode) until {@link #release} of that scope. An asset
+     * pinned by several scopes stays until the last one releases it; retaining it twice in the same
+     * scope counts once.
+     */
+    public synchronized CompletableFuture<Image> retain(String scope, String path, int width, int height) {
+        CompletableFuture<Image> future = load(path, width, height);
+        String key = key(path, width, height);
+        if (scopes.computeIfAbsent(scope, s -> new LinkedHashSet<>()).add(key)) {
+            entries.get(key).refs++;
+        }
+        return future;
+    }
+
+    /** Unpins everything the scope retained; the assets stay cached until evicted. */
+    public synchronized void release(String scope) {
+        Set<String> keys = scopes.remove(scope);
+        if (keys == null) return;
+        for (String key : keys) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.refs > 0) entry.refs--;
+        }
+        evictOverBudget();
+    }
+
+    /** @return scope name for a level's assets. */
+    public static String levelScope(int levelNumber) {
+        return "level-" + levelNumber;
+    }
+
+    /**
+     * Combines the given loads, e.g. start-up assets that must be ready before the first frame.
+     * @return completes once all of them have; {@code join()} it to wait
+     */
+    public static CompletableFuture<Void> awaitAll(Collection<? extends CompletableFuture<?>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new));
+    }
+
+    // Bỏ các ảnh không được giữ, dùng lâu nhất trước, cho tới khi về dưới ngân sách
+    private void evictOverBudget() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytesHeld > budgetBytes && it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.refs > 0 || !entry.future.isDone()) continue;
+            bytesHeld -= entry.bytes;
+            evictions++;
+            it.remove();
+        }
+    }
+
+    /** Decodes a classpath image, scaled if a size is given; null (and a message) if it fails. */
+    static Image decode(String path, int width, int height) {
+        try (InputStream stream = AssetManager.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                System.err.println("Image not found: " + path);
+                return null;
+            }
+            Image image = width > 0 && height > 0
+                    ? new Image(stream, width, height, false, true)
+                    : new Image(stream);
+            if (image.isError()) {
+                System.err.println("Could not decode " + path + ": " + image.getException());
+                return null;
+            }
+            return image;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return image == null ? 0 : (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    public synchronized long getBudgetBytes() { return budgetBytes; }
+
+    /** Sets the budget and evicts down to it right away. */
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evictOverBudget();
+    }
+
+    /** @return decoded bytes currently cached (4 bytes per pixel). */
+    public synchronized long getBytesHeld() { return bytesHeld; }
+
+    /** @return entries dropped to stay within the budget. */
+    public synchronized long getEvictions() { return evictions; }
+
+    /** @return images copied from the baked bundle instead of decoded. */
+    public synchronized long getBundleHits() { return bundleHits; }
+
+    /** @return every cached asset, least recently used first. */
+    public synchronized List<Info> report() {
+        List<Info> infos = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            infos.add(new Info(entry.key, entry.bytes, entry.refs, entry.image != null));
+        }
+        return infos;
+    }
+
+    /** @return {@link #report()} as text, one asset per line plus a total. */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (Info info : report()) {
+            sb.append(String.format("%-48s %9.1f KiB  refs %d%s%n", info.getKey(), info.getBytes() / 1024.0,
+                    info.getRefs(), info.isLoaded() ? "" : "  (missing or loading)"));
+        }
+        sb.append(String.format("total %.1f of %.1f MiB, %d evicted, %d from bundle%n", getBytesHeld() / 1048576.0,
+                getBudgetBytes() / 1048576.0, getEvictions(), getBundleHits()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Brick;
+import Arkanoid.model.PolygonBrick;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bounding-volume hierarchy over free-form {@link PolygonBrick}s, which do not fit the
+ * {@link BrickGrid} lattice. Built once per level load with a median split on the longest
+ * axis, stored in flat arrays, and refit bottom-up (no rebuild) when moving shapes change
+ * their bounds. Queries use a fixed stack and do not allocate.
+ */
+public class BrickBvh {
+    private static final int LEAF_SIZE = 2;
+
+    private PolygonBrick[] items = new PolygonBrick[0];
+    private int itemCount;
+    private boolean hasMoving;
+
+    // Node i: bounds, first child (right child = right[i]; -1 for leaves), leaf item range
+    private double[] minX = new double[0];
+    private double[] minY = new double[0];
+    private double[] maxX = new double[0];
+    private double[] maxY = new double[0];
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] start = new int[0];
+    private int[] count = new int[0];
+    private int nodeCount;
+
+    private final int[] stack = new int[64];
+    private final double[] normal = new double[2];
+
+    /** Rebuilds the hierarchy from scratch (level load/reset). */
+    public void build(List<PolygonBrick> bricks) {
+        itemCount = bricks.size();
+        items = bricks.toArray(new PolygonBrick[0]);
+        hasMoving = false;
+        for (PolygonBrick brick : items) {
+            if (brick.isMoving()) hasMoving = true;
+        }
+
+        int capacity = Math.max(1, 2 * itemCount);
+        if (minX.length < capacity) {
+            minX = new double[capacity];
+            minY = new double[capacity];
+            maxX = new double[capacity];
+            maxY = new double[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            start = new int[capacity];
+            count = new int[capacity];
+        }
+        nodeCount = 0;
+        if (itemCount > 0) buildNode(0, itemCount);
+    }
+
+    /** Drops every shape. */
+    public void clear() {
+        items = new PolygonBrick[0];
+        itemCount = 0;
+        nodeCount = 0;
+        hasMoving = false;
+    }
+
+    // Children are always created after their parent, so a reverse sweep refits bottom-up
+    private int buildNode(int from, int n) {
+        int node = nodeCount++;
+        start[node] = from;
+        count[node] = n;
+        left[node] = -1;
+        right[node] = -1;
+        computeLeafBounds(node);
+        if (n <= LEAF_SIZE) return node;
+
+        boolean splitX = (maxX[node] - minX[node]) >= (maxY[node] - minY[node]);
+        Comparator<PolygonBrick> byCentre = splitX
+                ? Comparator.comparingDouble(Brick::getCenterX)
+                : Comparator.comparingDouble(Brick::getCenterY);
+        Arrays.sort(items, from, from + n, byCentre);
+
+        int half = n / 2;
+        left[node] = buildNode(from, half);
+        right[node] = buildNode(from + half, n - half);
+        return node;
+    }
+
+    private void computeLeafBounds(int node) {
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (int i = start[node], end = start[node] + count[node]; i < end; i++) {
+            PolygonBrick b = items[i];
+            x0 = Math.min(x0, b.getX());
+            y0 = Math.min(y0, b.getY());
+            x1 = Math.max(x1, b.getX() + b.getWidth());
+            y1 = Math.max(y1, b.getY() + b.getHeight());
+        }
+        minX[node] = x0;
+        minY[node] = y0;
+        maxX[node] = x1;
+        maxY[node] = y1;
+    }
+
+    /** Refits node bounds bottom-up after moving shapes changed position. O(nodes). */
+    public void refit() {
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            if (left[node] < 0) {
+                computeLeafBounds(node);
+            } else {
+                int l = left[node];
+                int r = right[node];
+                minX[node] = Math.min(minX[l], minX[r]);
+                minY[node] = Math.min(minY[l], minY[r]);
+                maxX[node] = Math.max(maxX[l], maxX[r]);
+                maxY[node] = Math.max(maxY[l], maxY[r]);
+            }
+        }
+    }
+
+    /** Appends live shapes whose bounds overlap the rectangle to {@code out}. */
+    public void query(double x, double y, double w, double h, List<Brick> out) {
+        if (nodeCount == 0) return;
+        int sp = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int node = stack[--sp];
+            if (minX[node] >= x + w || maxX[node] <= x || minY[node] >= y + h || maxY[node] <= y) continue;
+            if (left[node] < 0) {
+                for (int i = start[node], end = start[node] + count[node]; i < end; i++) {
+                    PolygonBrick b = items[i];
+                    if (!b.isDestroyed()
+                            && b.getX() < x + w && b.getX() + b.getWidth() > x
+                            && b.getY() < y + h && b.getY() + b.getHeight() > y) {
+                        out.add(b);
+                    }
+                }
+            } else {
+                stack[sp++] = left[node];
+                stack[sp++] = right[node];
+            }
+        }
+    }
+
+    /**
+     * Closest shape hit by a (thick) ray within hit's current distance; updates hit if closer.
+     * Direction must be normalized.
+     */
+    public boolean raycast(double ox, double oy, double dx, double dy, double radius,
+                           GridRaycaster.RayHit hit) {
+        if (nodeCount == 0) return false;
+        boolean found = false;
+        int sp = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int node = stack[--sp];
+            if (!rayHitsBox(node, ox, oy, dx, dy, radius, hit.getDistance())) continue;
+            if (left[node] < 0) {
+                for (int i = start[node], end = start[node] + count[node]; i < end; i++) {
+                    PolygonBrick b = items[i];
+                    if (b.isDestroyed()) continue;
+                    double t = b.raycast(ox, oy, dx, dy, radius, normal);
+                    if (t >= 0 && t < hit.getDistance()) {
+                        hit.set(b, t, normal[0], normal[1]);
+                        found = true;
+                    }
+                }
+            } else {
+                stack[sp++] = left[node];
+                stack[sp++] = right[node];
+            }
+        }
+        return found;
+    }
+
+    private boolean rayHitsBox(int node, double ox, double oy, double dx, double dy, double radius, double maxT) {
+        double tMin = 0;
+        double tMax = maxT;
+        double lo = minX[node] - radius, hi = maxX[node] + radius;
+        if (dx == 0) {
+            if (ox < lo || ox > hi) return false;
+        } else {
+            double a = (lo - ox) / dx, b = (hi - ox) / dx;
+            tMin = Math.max(tMin, Math.min(a, b));
+            tMax = Math.min(tMax, Math.max(a, b));
+        }
+        lo = minY[node] - radius;
+        hi = maxY[node] + radius;
+        if (dy == 0) {
+            if (oy < lo || oy > hi) return false;
+        } else {
+            double a = (lo - oy) / dy, b = (hi - oy) / dy;
+            tMin = Math.max(tMin, Math.min(a, b));
+            tMax = Math.min(tMax, Math.max(a, b));
+        }
+        return tMin <= tMax;
+    }
+
+    /** @return true if no shapes are indexed. */
+    public boolean isEmpty() { return itemCount == 0; }
+    /** @return true if any indexed shape moves and {@link #refit()} is needed each tick. */
+    public boolean hasMovingBricks() { return hasMoving; }
+    /** @return number of nodes (for diagnostics/tests). */
+    public int getNodeCount() { return nodeCount; }
+}
@@ -0,0 +1,163 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Brick;
+import Arkanoid.model.MovingBrick;
+import Arkanoid.util.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid index over the brick lattice defined by {@code Constants.BRICK_*}.
+ * Static bricks are bucketed by the cells their bounds overlap; moving bricks are kept
+ * in a separate short list and bounds-tested on every query, so they never need re-bucketing.
+ */
+public class BrickGrid {
+    public static final double CELL_WIDTH = Constants.BRICK_WIDTH + Constants.BRICK_PADDING;
+    public static final double CELL_HEIGHT = Constants.BRICK_HEIGHT + Constants.BRICK_PADDING;
+    public static final double ORIGIN_X = Constants.BRICK_OFFSET_X;
+    public static final double ORIGIN_Y = Constants.BRICK_OFFSET_Y;
+
+    private int cols;
+    private int rows;
+    private List<Brick>[] cells;
+    private final List<Brick> movingBricks = new ArrayList<>();
+
+    public BrickGrid() {
+        this(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+    }
+
+    public BrickGrid(double worldWidth, double worldHeight) {
+        resize(worldWidth, worldHeight);
+    }
+
+    /**
+     * Re-dimensions the grid for a world of the given size. Cells are only reallocated when the
+     * column or row count changes; either way the index ends up empty.
+     */
+    public void resize(double worldWidth, double worldHeight) {
+        int newCols = Math.max(1, (int) Math.ceil((worldWidth - ORIGIN_X) / CELL_WIDTH));
+        int newRows = Math.max(1, (int) Math.ceil((worldHeight - ORIGIN_Y) / CELL_HEIGHT));
+        if (cells != null && newCols == cols && newRows == rows) {
+            clear();
+            return;
+        }
+        cols = newCols;
+        rows = newRows;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Brick>[] fresh = new List[cols * rows];
+        cells = fresh;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new ArrayList<>(2);
+        }
+        movingBricks.clear();
+    }
+
+    /** Clears the index and re-inserts every live brick from the given list. */
+    public void rebuild(List<Brick> bricks) {
+        clear();
+        for (Brick brick : bricks) {
+            add(brick);
+        }
+    }
+
+    /** Removes every brick from the index. */
+    public void clear() {
+        for (List<Brick> cell : cells) {
+            cell.clear();
+        }
+        movingBricks.clear();
+    }
+
+    /** Inserts a brick; destroyed bricks are ignored. */
+    public void add(Brick brick) {
+        if (brick.isDestroyed()) return;
+        if (brick instanceof MovingBrick) {
+            movingBricks.add(brick);
+            return;
+        }
+        int c0 = colOf(brick.getX());
+        int c1 = colOf(brick.getX() + brick.getWidth());
+        int r0 = rowOf(brick.getY());
+        int r1 = rowOf(brick.getY() + brick.getHeight());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                cells[r * cols + c].add(brick);
+            }
+        }
+    }
+
+    /** Removes a brick (e.g., after it was destroyed). */
+    public void remove(Brick brick) {
+        if (brick instanceof MovingBrick) {
+            movingBricks.remove(brick);
+            return;
+        }
+        int c0 = colOf(brick.getX());
+        int c1 = colOf(brick.getX() + brick.getWidth());
+        int r0 = rowOf(brick.getY());
+        int r1 = rowOf(brick.getY() + brick.getHeight());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                cells[r * cols + c].remove(brick);
+            }
+        }
+    }
+
+    /**
+     * Appends every live brick whose bounds overlap the given rectangle to {@code out}.
+     * Does not allocate; {@code out} is not cleared first.
+     */
+    public void query(double x, double y, double w, double h, List<Brick> out) {
+        int c0 = colOf(x);
+        int c1 = colOf(x + w);
+        int r0 = rowOf(y);
+        int r1 = rowOf(y + h);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                List<Brick> cell = cells[r * cols + c];
+                for (int i = 0; i < cell.size(); i++) {
+                    Brick brick = cell.get(i);
+                    if (overlaps(brick, x, y, w, h) && !out.contains(brick)) {
+                        out.add(brick);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < movingBricks.size(); i++) {
+            Brick brick = movingBricks.get(i);
+            if (overlaps(brick, x, y, w, h)) out.add(brick);
+        }
+    }
+
+    /** Bricks in a single lattice cell (static bricks only). */
+    public List<Brick> cellAt(int col, int row) {
+        return cells[row * cols + col];
+    }
+
+    /** Moving bricks tracked outside the cell buckets. */
+    public List<Brick> getMovingBricks() {
+        return movingBricks;
+    }
+
+    /** Column index for a world x, clamped to the grid. */
+    public int colOf(double x) {
+        int c = (int) Math.floor((x - ORIGIN_X) / CELL_WIDTH);
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+
+    /** Row index for a world y, clamped to the grid. */
+    public int rowOf(double y) {
+        int r = (int) Math.floor((y - ORIGIN_Y) / CELL_HEIGHT);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    private static boolean overlaps(Brick b, double x, double y, double w, double h) {
+        return !b.isDestroyed()
+                && b.getX() < x + w && b.getX() + b.getWidth() > x
+                && b.getY() < y + h && b.getY() + b.getHeight() > y;
+    }
+}
@@ -0,0 +1,81 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Ball;
+import Arkanoid.model.Paddle;
+import Arkanoid.model.World;
+import Arkanoid.util.Constants;
+
+import java.util.List;
+
+/**
+ * Window-sized view onto the world. It eases towards the action (the lowest moving ball, or the
+ * paddle while every ball is stuck) and is clamped to the world edges, so on a window-sized level
+ * it never leaves the origin. Renderers draw only what intersects {@link #intersects}.
+ */
+public class Camera {
+    // Fraction of the remaining distance covered per second (exponential ease)
+    private static final double FOLLOW_RATE = 6.0;
+
+    private final double viewWidth;
+    private final double viewHeight;
+    private double worldWidth;
+    private double worldHeight;
+    private double x;
+    private double y;
+
+    public Camera() {
+        this(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+    }
+
+    public Camera(double viewWidth, double viewHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = viewWidth;
+        this.worldHeight = viewHeight;
+    }
+
+    /** Sets the area the view is clamped to. */
+    public void setWorld(World world) {
+        this.worldWidth = world.getWidth();
+        this.worldHeight = world.getHeight();
+        clamp();
+    }
+
+    /** Moves the view a step towards the action. */
+    public void follow(List<Ball> balls, Paddle paddle, double deltaTime) {
+        Ball target = null;
+        for (Ball ball : balls) {
+            if (!ball.isStuck() && (target == null || ball.getY() > target.getY())) target = ball;
+        }
+        double tx = target != null ? target.getCenterX() : paddle.getCenterX();
+        double ty = target != null ? target.getCenterY() : paddle.getY();
+        double k = 1 - Math.exp(-FOLLOW_RATE * deltaTime);
+        x += (tx - viewWidth / 2 - x) * k;
+        y += (ty - viewHeight / 2 - y) * k;
+        clamp();
+    }
+
+    /** Centres the view on a point immediately (level start). */
+    public void centerOn(double cx, double cy) {
+        x = cx - viewWidth / 2;
+        y = cy - viewHeight / 2;
+        clamp();
+    }
+
+    private void clamp() {
+        x = Math.max(0, Math.min(worldWidth - viewWidth, x));
+        y = Math.max(0, Math.min(worldHeight - viewHeight, y));
+    }
+
+    /** @return true if the rectangle (world coordinates) is at least partly in view. */
+    public boolean intersects(double rx, double ry, double rw, double rh) {
+        return rx < x + viewWidth && rx + rw > x && ry < y + viewHeight && ry + rh > y;
+    }
+
+    /** @return left edge of the view in world coordinates. */
+    public double getX() { return x; }
+    /** @return top edge of the view in world coordinates. */
+    public double getY() { return y; }
+    public double getViewWidth() { return viewWidth; }
+    public double getViewHeight() { return viewHeight; }
+}
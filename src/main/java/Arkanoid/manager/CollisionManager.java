@@ -2,21 +2,44 @@ package Arkanoid.manager;
 
 import Arkanoid.model.Ball;
 import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
 import Arkanoid.model.Paddle;
+import Arkanoid.model.PolygonBrick;
 import Arkanoid.model.PowerUps;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
 /**
  * Detects and resolves collisions between the ball, paddle and bricks.
- * Updates ball directions and applies brick hit logic.
+ * Updates ball directions and reports touched bricks so the caller can apply hit logic.
  */
 public class CollisionManager {
     private static final double EPSILON = 0.1; // small offset to avoid re-colliding next frame
+    private static final int TOI_BISECTIONS = 8; // refines a polygon contact to 1/256 of a sub-step
+
+    // Reused per-tick buffers so contact resolution does not allocate
+    private final List<Brick> candidates = new ArrayList<>();
+    private Brick[] contactBricks = new Brick[16];
+    private double[] contactTimes = new double[16];
+    private boolean[] contactAxisX = new boolean[16];
+    private int contactCount;
+
+    // Polygon contacts (time of impact, ball centre there, normal + depth), resolved earliest first
+    private PolygonBrick[] polyBricks = new PolygonBrick[8];
+    private double[] polyTimes = new double[8];
+    private double[] polyCx = new double[8];
+    private double[] polyCy = new double[8];
+    private double[] polyNx = new double[8];
+    private double[] polyNy = new double[8];
+    private double[] polyDepth = new double[8];
+    private int polyCount;
+    private final double[] circleContact = new double[3];
 
     // Xử lý va chạm bóng - paddle: nảy lên, chỉnh góc theo vị trí va chạm, đặt bóng ngay trên paddle
-    public void checkBallPaddleCollision(Ball ball, Paddle paddle) {
+    public boolean checkBallPaddleCollision(Ball ball, Paddle paddle) {
         if (ball.intersects(paddle) && ball.getVelocityY() > 0) {
             ball.reverseY();
 
@@ -32,57 +55,331 @@ public class CollisionManager {
             // Keep smoothed position in sync if available
             ball.setSmoothY(newY);
             Arkanoid.audio.SoundManager.getInstance().playSound("effect_paddle");
+            return true;
         }
+        return false;
     }
 
-    // Xử lý va chạm bóng - gạch bằng AABB; trả về gạch trúng để áp dụng điểm/sát thương
-    public Brick checkBallBrickCollision(Ball ball, List<Brick> bricks) {
-        for (Brick brick : bricks) {
-            if (!brick.isDestroyed() && ball.intersects(brick)) {
-                // Compute centers and overlaps
-                double dx = ball.getCenterX() - brick.getCenterX();
-                double dy = ball.getCenterY() - brick.getCenterY();
-
-                double halfW = (ball.getWidth() / 2.0) + (brick.getWidth() / 2.0);
-                double halfH = (ball.getHeight() / 2.0) + (brick.getHeight() / 2.0);
-
-                double overlapX = halfW - Math.abs(dx);
-                double overlapY = halfH - Math.abs(dy);
-
-                if (overlapX < overlapY) {
-                    // Resolve horizontally (left/right)
-                    if (dx > 0) {
-                        // Ball is to the right of brick -> push to the right side
-                        double newX = brick.getX() + brick.getWidth() + EPSILON;
-                        ball.setX(newX);
-                        ball.setSmoothX(newX);
-                    } else {
-                        // Ball is to the left of brick -> push to the left side
-                        double newX = brick.getX() - ball.getWidth() - EPSILON;
-                        ball.setX(newX);
-                        ball.setSmoothX(newX);
-                    }
-                    ball.reverseX();
-                } else {
-                    // Resolve vertically (top/bottom)
-                    if (dy > 0) {
-                        // Ball is below brick -> push below
-                        double newY = brick.getY() + brick.getHeight() + EPSILON;
-                        ball.setY(newY);
-                        ball.setSmoothY(newY);
-                    } else {
-                        // Ball is above brick -> push above
-                        double newY = brick.getY() - ball.getHeight() - EPSILON;
-                        ball.setY(newY);
-                        ball.setSmoothY(newY);
-                    }
-                    ball.reverseY();
+    /**
+     * Collects every brick the ball touched during its last move (swept from its previous
+     * position) and resolves them in time-of-impact order. Touched bricks are appended to
+     * {@code hits}; the caller applies damage and scoring.
+     * <p>
+     * The earliest contact always bounces the ball. Later contacts are kept only if the ball
+     * still touches them after that bounce (e.g., the seam between two neighbouring bricks).
+     * A fireball pierces every breakable brick on its path and only bounces off the first
+     * unbreakable one. Candidates come from the {@link BrickGrid}, never a full brick scan.
+     */
+    public void resolveBallBrickContacts(Ball ball, BrickGrid grid, List<Brick> hits) {
+        double w = ball.getWidth();
+        double h = ball.getHeight();
+        double x0 = ball.getPrevX();
+        double y0 = ball.getPrevY();
+        double x1 = ball.getX();
+        double y1 = ball.getY();
+
+        candidates.clear();
+        grid.query(Math.min(x0, x1), Math.min(y0, y1), Math.abs(x1 - x0) + w, Math.abs(y1 - y0) + h, candidates);
+
+        contactCount = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            sweep(candidates.get(i), x0, y0, x1, y1, w, h);
+        }
+        if (contactCount == 0) return;
+        sortContacts();
+
+        if (ball.isFireball()) {
+            for (int i = 0; i < contactCount; i++) {
+                Brick brick = contactBricks[i];
+                if (brick.getType() == BrickType.UNBREAKABLE) {
+                    // Path ends here: bounce and drop everything behind it
+                    pushOut(ball, brick, contactAxisX[i], x0, y0);
+                    hits.add(brick);
+                    return;
                 }
+                hits.add(brick);
+            }
+            return;
+        }
 
-                return brick;
+        pushOut(ball, contactBricks[0], contactAxisX[0], x0, y0);
+        hits.add(contactBricks[0]);
+        for (int i = 1; i < contactCount; i++) {
+            Brick brick = contactBricks[i];
+            if (isTouching(ball, brick, 2 * EPSILON)) {
+                pushOut(ball, brick, contactAxisX[i], x0, y0);
+                hits.add(brick);
             }
         }
-        return null;
+    }
+
+    /**
+     * Resolves the ball against free-form {@link PolygonBrick}s found through the BVH.
+     * The ball's move is swept in sub-steps no longer than its radius, so a fast ball cannot
+     * skip over a thin or rotated shape, and each contact is refined to the moment the circle
+     * first touches the outline. Contacts are resolved in time-of-impact order: the earliest
+     * one puts the ball back where it touched and bounces it, later ones only count if they
+     * still overlap after that. Fireballs pierce breakable shapes as with lattice bricks.
+     */
+    public void resolveBallPolygonContacts(Ball ball, BrickBvh bvh, List<Brick> hits) {
+        if (bvh.isEmpty()) return;
+        double x0 = ball.getPrevX();
+        double y0 = ball.getPrevY();
+        double x1 = ball.getX();
+        double y1 = ball.getY();
+        candidates.clear();
+        bvh.query(Math.min(x0, x1), Math.min(y0, y1),
+                Math.abs(x1 - x0) + ball.getWidth(), Math.abs(y1 - y0) + ball.getHeight(), candidates);
+        if (candidates.isEmpty()) return;
+
+        double r = ball.getRadius();
+        polyCount = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            sweepCircle((PolygonBrick) candidates.get(i), x0 + r, y0 + r, x1 - x0, y1 - y0, r);
+        }
+        if (polyCount == 0) return;
+        sortPolyContacts();
+
+        if (ball.isFireball()) {
+            for (int i = 0; i < polyCount; i++) {
+                PolygonBrick brick = polyBricks[i];
+                hits.add(brick);
+                if (brick.getType() == BrickType.UNBREAKABLE) {
+                    moveCentreTo(ball, polyCx[i], polyCy[i]);
+                    pushOutAlong(ball, polyNx[i], polyNy[i], polyDepth[i]);
+                    return;
+                }
+            }
+            return;
+        }
+
+        moveCentreTo(ball, polyCx[0], polyCy[0]);
+        pushOutAlong(ball, polyNx[0], polyNy[0], polyDepth[0]);
+        hits.add(polyBricks[0]);
+        for (int i = 1; i < polyCount; i++) {
+            PolygonBrick brick = polyBricks[i];
+            if (brick.collideCircle(ball.getCenterX(), ball.getCenterY(), r + EPSILON, circleContact)) {
+                pushOutAlong(ball, circleContact[0], circleContact[1], circleContact[2] - EPSILON);
+                hits.add(brick);
+            }
+        }
+    }
+
+    // Lấy mẫu quãng đường theo bước không dài hơn bán kính, rồi chia đôi để tìm lúc chạm đầu tiên
+    private void sweepCircle(PolygonBrick brick, double cx0, double cy0, double dx, double dy, double r) {
+        if (brick.collideCircle(cx0, cy0, r, circleContact)) {
+            addPolyContact(brick, 0, cx0, cy0);
+            return;
+        }
+        int steps = Math.max(1, (int) Math.ceil(Math.sqrt(dx * dx + dy * dy) / r));
+        double hit = -1;
+        for (int i = 1; i <= steps && hit < 0; i++) {
+            double t = (double) i / steps;
+            if (brick.collideCircle(cx0 + dx * t, cy0 + dy * t, r, circleContact)) hit = t;
+        }
+        if (hit < 0) return;
+
+        double lo = hit - 1.0 / steps;
+        double hi = hit;
+        for (int k = 0; k < TOI_BISECTIONS; k++) {
+            double mid = (lo + hi) / 2.0;
+            if (brick.collideCircle(cx0 + dx * mid, cy0 + dy * mid, r, circleContact)) hi = mid;
+            else lo = mid;
+        }
+        brick.collideCircle(cx0 + dx * hi, cy0 + dy * hi, r, circleContact);
+        addPolyContact(brick, hi, cx0 + dx * hi, cy0 + dy * hi);
+    }
+
+    // Ghi một va chạm đa giác; pháp tuyến và độ lún lấy từ circleContact
+    private void addPolyContact(PolygonBrick brick, double time, double cx, double cy) {
+        if (polyCount == polyBricks.length) {
+            polyBricks = Arrays.copyOf(polyBricks, polyCount * 2);
+            polyTimes = Arrays.copyOf(polyTimes, polyCount * 2);
+            polyCx = Arrays.copyOf(polyCx, polyCount * 2);
+            polyCy = Arrays.copyOf(polyCy, polyCount * 2);
+            polyNx = Arrays.copyOf(polyNx, polyCount * 2);
+            polyNy = Arrays.copyOf(polyNy, polyCount * 2);
+            polyDepth = Arrays.copyOf(polyDepth, polyCount * 2);
+        }
+        polyBricks[polyCount] = brick;
+        polyTimes[polyCount] = time;
+        polyCx[polyCount] = cx;
+        polyCy[polyCount] = cy;
+        polyNx[polyCount] = circleContact[0];
+        polyNy[polyCount] = circleContact[1];
+        polyDepth[polyCount] = circleContact[2];
+        polyCount++;
+    }
+
+    // Insertion sort by time of impact
+    private void sortPolyContacts() {
+        for (int i = 1; i < polyCount; i++) {
+            PolygonBrick brick = polyBricks[i];
+            double time = polyTimes[i], cx = polyCx[i], cy = polyCy[i];
+            double nx = polyNx[i], ny = polyNy[i], depth = polyDepth[i];
+            int j = i - 1;
+            while (j >= 0 && polyTimes[j] > time) {
+                polyBricks[j + 1] = polyBricks[j];
+                polyTimes[j + 1] = polyTimes[j];
+                polyCx[j + 1] = polyCx[j];
+                polyCy[j + 1] = polyCy[j];
+                polyNx[j + 1] = polyNx[j];
+                polyNy[j + 1] = polyNy[j];
+                polyDepth[j + 1] = polyDepth[j];
+                j--;
+            }
+            polyBricks[j + 1] = brick;
+            polyTimes[j + 1] = time;
+            polyCx[j + 1] = cx;
+            polyCy[j + 1] = cy;
+            polyNx[j + 1] = nx;
+            polyNy[j + 1] = ny;
+            polyDepth[j + 1] = depth;
+        }
+    }
+
+    // Đặt tâm bóng về vị trí lúc chạm (cả vị trí mượt)
+    private static void moveCentreTo(Ball ball, double cx, double cy) {
+        double newX = cx - ball.getRadius();
+        double newY = cy - ball.getRadius();
+        ball.setX(newX);
+        ball.setSmoothX(newX);
+        ball.setY(newY);
+        ball.setSmoothY(newY);
+    }
+
+    /** Pushes the ball out along a unit normal and reflects its velocity if moving into it. */
+    private void pushOutAlong(Ball ball, double nx, double ny, double depth) {
+        double push = depth + EPSILON;
+        double newX = ball.getX() + nx * push;
+        double newY = ball.getY() + ny * push;
+        ball.setX(newX);
+        ball.setSmoothX(newX);
+        ball.setY(newY);
+        ball.setSmoothY(newY);
+
+        double dot = ball.getVelocityX() * nx + ball.getVelocityY() * ny;
+        if (dot < 0) {
+            ball.setVelocityX(ball.getVelocityX() - 2 * dot * nx);
+            ball.setVelocityY(ball.getVelocityY() - 2 * dot * ny);
+        }
+    }
+
+    /** Swept AABB test of the ball's move against one brick; records a contact on entry. */
+    private void sweep(Brick brick, double x0, double y0, double x1, double y1, double w, double h) {
+        // Minkowski-expanded brick box in ball top-left coordinates
+        double left = brick.getX() - w;
+        double right = brick.getX() + brick.getWidth();
+        double top = brick.getY() - h;
+        double bottom = brick.getY() + brick.getHeight();
+
+        if (x0 > left && x0 < right && y0 > top && y0 < bottom) {
+            // Already overlapping at the start of the move: resolve along the shallower axis
+            double overlapX = (w + brick.getWidth()) / 2.0 - Math.abs(x1 + w / 2.0 - brick.getCenterX());
+            double overlapY = (h + brick.getHeight()) / 2.0 - Math.abs(y1 + h / 2.0 - brick.getCenterY());
+            addContact(brick, 0, overlapX < overlapY);
+            return;
+        }
+
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double enterX, exitX, enterY, exitY;
+        if (dx == 0) {
+            if (x0 <= left || x0 >= right) return;
+            enterX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        } else {
+            double a = (left - x0) / dx;
+            double b = (right - x0) / dx;
+            enterX = Math.min(a, b);
+            exitX = Math.max(a, b);
+        }
+        if (dy == 0) {
+            if (y0 <= top || y0 >= bottom) return;
+            enterY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        } else {
+            double a = (top - y0) / dy;
+            double b = (bottom - y0) / dy;
+            enterY = Math.min(a, b);
+            exitY = Math.max(a, b);
+        }
+
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        if (enter >= exit || enter < 0 || enter > 1) return;
+        addContact(brick, enter, enterX > enterY);
+    }
+
+    private void addContact(Brick brick, double time, boolean axisX) {
+        if (contactCount == contactBricks.length) {
+            contactBricks = Arrays.copyOf(contactBricks, contactCount * 2);
+            contactTimes = Arrays.copyOf(contactTimes, contactCount * 2);
+            contactAxisX = Arrays.copyOf(contactAxisX, contactCount * 2);
+        }
+        contactBricks[contactCount] = brick;
+        contactTimes[contactCount] = time;
+        contactAxisX[contactCount] = axisX;
+        contactCount++;
+    }
+
+    // Insertion sort by time of impact; contact counts per tick are tiny
+    private void sortContacts() {
+        for (int i = 1; i < contactCount; i++) {
+            Brick brick = contactBricks[i];
+            double time = contactTimes[i];
+            boolean axisX = contactAxisX[i];
+            int j = i - 1;
+            while (j >= 0 && contactTimes[j] > time) {
+                contactBricks[j + 1] = contactBricks[j];
+                contactTimes[j + 1] = contactTimes[j];
+                contactAxisX[j + 1] = contactAxisX[j];
+                j--;
+            }
+            contactBricks[j + 1] = brick;
+            contactTimes[j + 1] = time;
+            contactAxisX[j + 1] = axisX;
+        }
+    }
+
+    /**
+     * Moves the ball out of the brick on the given axis, on the side it came from, and points
+     * its velocity away from the brick. Setting the sign (instead of reversing) keeps two
+     * simultaneous contacts on the same face from cancelling each other out.
+     */
+    private void pushOut(Ball ball, Brick brick, boolean axisX, double fromX, double fromY) {
+        if (axisX) {
+            if (fromX + ball.getWidth() / 2.0 > brick.getCenterX()) {
+                double newX = brick.getX() + brick.getWidth() + EPSILON;
+                ball.setX(newX);
+                ball.setSmoothX(newX);
+                ball.setVelocityX(Math.abs(ball.getVelocityX()));
+            } else {
+                double newX = brick.getX() - ball.getWidth() - EPSILON;
+                ball.setX(newX);
+                ball.setSmoothX(newX);
+                ball.setVelocityX(-Math.abs(ball.getVelocityX()));
+            }
+        } else {
+            if (fromY + ball.getHeight() / 2.0 > brick.getCenterY()) {
+                double newY = brick.getY() + brick.getHeight() + EPSILON;
+                ball.setY(newY);
+                ball.setSmoothY(newY);
+                ball.setVelocityY(Math.abs(ball.getVelocityY()));
+            } else {
+                double newY = brick.getY() - ball.getHeight() - EPSILON;
+                ball.setY(newY);
+                ball.setSmoothY(newY);
+                ball.setVelocityY(-Math.abs(ball.getVelocityY()));
+            }
+        }
+    }
+
+    private static boolean isTouching(Ball ball, Brick brick, double margin) {
+        return ball.getX() - margin < brick.getX() + brick.getWidth()
+                && ball.getX() + ball.getWidth() + margin > brick.getX()
+                && ball.getY() - margin < brick.getY() + brick.getHeight()
+                && ball.getY() + ball.getHeight() + margin > brick.getY();
     }
 
     // Kiểm tra paddle có nhặt Power-up nào trong danh sách không
@@ -0,0 +1,104 @@
+package Arkanoid.manager;
+
+import Arkanoid.audio.SoundManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the simulation headless with a fixed seed, fixed time step and scripted input, and
+ * compares the per-tick state hashes of two runs. Use {@link #runTwice} to check that one engine
+ * is deterministic, or {@link #compare} to check that an optimized engine variant produces the
+ * same outcome as the reference one. The load governor is disabled since it reacts to timing,
+ * and audio is muted for the run.
+ */
+public final class DeterminismChecker {
+    /** Scripted input applied before each tick (paddle movement, launches, pauses...). */
+    @FunctionalInterface
+    public interface InputScript {
+        void apply(int tick, GameManager game);
+    }
+
+    /** Outcome of a comparison. */
+    public static final class Report {
+        private final int ticks;
+        private final int firstDivergentTick;
+        private final long expectedHash;
+        private final long actualHash;
+
+        Report(int ticks, int firstDivergentTick, long expectedHash, long actualHash) {
+            this.ticks = ticks;
+            this.firstDivergentTick = firstDivergentTick;
+            this.expectedHash = expectedHash;
+            this.actualHash = actualHash;
+        }
+
+        /** @return true if every tick hashed identically. */
+        public boolean isDeterministic() { return firstDivergentTick < 0; }
+        /** @return first tick whose state differs, or -1. */
+        public int getFirstDivergentTick() { return firstDivergentTick; }
+        public long getExpectedHash() { return expectedHash; }
+        public long getActualHash() { return actualHash; }
+        public int getTicks() { return ticks; }
+
+        @Override
+        public String toString() {
+            if (isDeterministic()) return "Deterministic over " + ticks + " ticks";
+            return String.format("Diverged at tick %d of %d: %016x != %016x",
+                    firstDivergentTick, ticks, expectedHash, actualHash);
+        }
+    }
+
+    private DeterminismChecker() { }
+
+    /** Runs the same engine twice with the same seed and input. */
+    public static Report runTwice(Supplier<GameManager> engine, long seed, int ticks, double dt, InputScript input) {
+        return compare(engine, engine, seed, ticks, dt, input);
+    }
+
+    /** Runs a reference and a candidate engine and reports the first tick where they diverge. */
+    public static Report compare(Supplier<GameManager> reference, Supplier<GameManager> candidate,
+                                 long seed, int ticks, double dt, InputScript input) {
+        return compare(reference, input, candidate, input, seed, ticks, dt);
+    }
+
+    /**
+     * Like {@link #compare(Supplier, Supplier, long, int, double, InputScript)}, but each run gets
+     * its own script, e.g. to check that a deliberately perturbed run is caught at the right tick.
+     */
+    public static Report compare(Supplier<GameManager> reference, InputScript referenceInput,
+                                 Supplier<GameManager> candidate, InputScript candidateInput,
+                                 long seed, int ticks, double dt) {
+        long[] expected = record(reference, seed, ticks, dt, referenceInput);
+        long[] actual = record(candidate, seed, ticks, dt, candidateInput);
+        for (int t = 0; t < ticks; t++) {
+            if (expected[t] != actual[t]) {
+                return new Report(ticks, t, expected[t], actual[t]);
+            }
+        }
+        return new Report(ticks, -1, 0, 0);
+    }
+
+    /** Plays one run and returns the state hash after every tick. */
+    public static long[] record(Supplier<GameManager> engine, long seed, int ticks, double dt, InputScript input) {
+        SoundManager sound = SoundManager.getInstance();
+        boolean wasMuted = sound.isMuted();
+        sound.setMuted(true);
+        GameManager game = engine.get();
+        long[] hashes = new long[ticks];
+        try {
+            game.getLoadGovernor().setEnabled(false);
+            game.setRandomSeed(seed);
+            game.startGame();
+            for (int t = 0; t < ticks; t++) {
+                if (input != null) input.apply(t, game);
+                game.update(dt);
+                hashes[t] = game.getStateHash();
+            }
+        } finally {
+            game.cleanup();
+            game.shutdown();
+            sound.setMuted(wasMuted);
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,332 @@
+package Arkanoid.manager;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Decides when the game loop runs a frame and measures how evenly it does so.
+ *
+ * <ul>
+ *   <li>{@link Mode#VSYNC}: one frame per JavaFX pulse ({@link AnimationTimer}), which the toolkit
+ *       ties to the display refresh.</li>
+ *   <li>{@link Mode#CAPPED}: a timing thread sleeps until shortly before each deadline, spins the
+ *       rest of the way and posts the frame to the FX thread, e.g. at 144 or 240 Hz.</li>
+ *   <li>{@link Mode#UNCAPPED}: the next frame is posted as soon as the previous one finished.</li>
+ * </ul>
+ * At most one frame is ever waiting on the FX thread; a frame that cannot start before the next
+ * deadline is counted as missed instead of queued. Intervals between frame starts are kept for the
+ * last {@link #WINDOW} frames to report the mean rate and the jitter around the target.
+ *
+ * While {@link #pause paused} no frames are delivered at all (the timing thread parks and no pulse is
+ * requested), so a frame that would only repeat the last one costs nothing until {@link #resume}.
+ *
+ * Selected with {@code -Darkanoid.pacing=vsync|uncapped|<hz>}. Above the display rate the toolkit
+ * also has to present faster, see {@link #configureToolkit}.
+ */
+public class FramePacer {
+    /** How frames are scheduled. */
+    public enum Mode { VSYNC, CAPPED, UNCAPPED }
+
+    /** System property selecting the mode, e.g. {@code -Darkanoid.pacing=144}. */
+    public static final String PROPERTY = "arkanoid.pacing";
+    /** Frames whose intervals are kept for the statistics. */
+    public static final int WINDOW = 600;
+    /** The timing thread stops sleeping this long before a deadline and spins (sleep overshoot). */
+    static final long SPIN_NANOS = 1_500_000L;
+
+    private final Mode mode;
+    private final long periodNanos; // 0 unless CAPPED
+    private final LongConsumer frame;
+    private final Executor fxExecutor;
+
+    private AnimationTimer timer;
+    private volatile Thread thread;
+    private volatile boolean running;
+    private volatile boolean paused;
+    private boolean resumed; // FX thread: next frame starts a new interval series
+    private final AtomicBoolean framePending = new AtomicBoolean();
+    private final AtomicLong pendingMissed = new AtomicLong(); // counted by the timing thread
+
+    // Statistics, FX thread only
+    private final long[] intervals = new long[WINDOW];
+    private long frames;
+    private long intervalsRecorded;
+    private long lastIntervalNanos;
+    private long lastStartNanos;
+    private long missed;
+    private long maxLatenessNanos;
+
+    /**
+     * @param hz target rate for CAPPED (ignored otherwise)
+     * @param frame runs one frame on the FX thread, given its start time in {@link System#nanoTime}
+     */
+    public FramePacer(Mode mode, double hz, LongConsumer frame) {
+        this(mode, hz, frame, Platform::runLater);
+    }
+
+    /** @param fxExecutor runs posted frames on the FX thread (replaceable for tests). */
+    FramePacer(Mode mode, double hz, LongConsumer frame, Executor fxExecutor) {
+        if (mode == Mode.CAPPED && !(hz > 0)) throw new IllegalArgumentException("CAPPED needs a rate, got " + hz);
+        this.mode = mode;
+        this.periodNanos = mode == Mode.CAPPED ? Math.round(1e9 / hz) : 0L;
+        this.frame = frame;
+        this.fxExecutor = fxExecutor;
+    }
+
+    /** @return the pacer named by {@link #PROPERTY}, or VSYNC if unset or unknown. */
+    public static FramePacer fromSystemProperty(LongConsumer frame) {
+        String value = System.getProperty(PROPERTY, "vsync").trim().toLowerCase();
+        switch (value) {
+            case "vsync" -> {
+                return new FramePacer(Mode.VSYNC, 0, frame);
+            }
+            case "uncapped", "0" -> {
+                return new FramePacer(Mode.UNCAPPED, 0, frame);
+            }
+            default -> {
+                try {
+                    return new FramePacer(Mode.CAPPED, Double.parseDouble(value), frame);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Unknown frame pacing '" + value + "', using vsync");
+                    return new FramePacer(Mode.VSYNC, 0, frame);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lets the toolkit present faster than its default 60 Hz pulse when {@link #PROPERTY} asks for
+     * it. Has to run before the JavaFX toolkit starts; explicit {@code -D} settings win.
+     */
+    public static void configureToolkit() {
+        String value = System.getProperty(PROPERTY, "vsync").trim().toLowerCase();
+        if (value.equals("vsync")) return;
+        if (value.equals("uncapped") || value.equals("0")) {
+            setIfAbsent("javafx.animation.fullspeed", "true");
+        } else {
+            try {
+                setIfAbsent("javafx.animation.framerate", Long.toString(Math.round(Double.parseDouble(value))));
+            } catch (NumberFormatException e) {
+                return;
+            }
+        }
+        setIfAbsent("prism.vsync", "false");
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) System.setProperty(key, value);
+    }
+
+    /** Starts delivering frames. Call on the FX thread. */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        if (mode == Mode.VSYNC) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    runFrame(now, now);
+                }
+            };
+            timer.start();
+            return;
+        }
+        thread = new Thread(this::schedule, "frame-pacer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Stops delivering frames and waits for the timing thread to end, so nothing is posted after
+     * this returns; a frame already posted may still run.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+        Thread t = thread;
+        if (t != null) {
+            thread = null;
+            LockSupport.unpark(t);
+            if (t != Thread.currentThread()) {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops delivering frames until {@link #resume()}, keeping the last frame on screen. Call on the
+     * FX thread, typically from inside a frame.
+     */
+    public synchronized void pause() {
+        if (!running || paused) return;
+        paused = true;
+        if (timer != null) timer.stop();
+    }
+
+    /** Delivers frames again after {@link #pause()}; the idle gap is left out of the statistics. */
+    public synchronized void resume() {
+        if (!running || !paused) return;
+        paused = false;
+        resumed = true;
+        if (timer != null) timer.start();
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    /** @return true while paused by {@link #pause()}. */
+    public boolean isPaused() { return paused; }
+
+    // Luồng định thời: ngủ tới gần hạn, quay vòng phần còn lại rồi đẩy khung hình sang luồng FX
+    private void schedule() {
+        long deadline = System.nanoTime();
+        while (isCurrent()) {
+            if (paused) {
+                while (isCurrent() && paused) LockSupport.park(this);
+                deadline = System.nanoTime(); // start a fresh schedule, don't count the gap as missed
+            }
+            if (mode == Mode.CAPPED) {
+                deadline += periodNanos;
+                waitUntil(deadline);
+            }
+            // Previous frame still waiting or running: wait for it rather than queue another
+            while (isCurrent() && framePending.get()) {
+                LockSupport.parkNanos(100_000L);
+            }
+            if (!isCurrent()) return;
+            long now = System.nanoTime();
+            if (mode == Mode.CAPPED && now - deadline >= periodNanos) {
+                // A whole period or more behind: skip the lost deadlines instead of catching up
+                long lost = (now - deadline) / periodNanos;
+                pendingMissed.addAndGet(lost);
+                deadline += lost * periodNanos;
+            }
+            long scheduled = mode == Mode.CAPPED ? deadline : now;
+            framePending.set(true);
+            fxExecutor.execute(() -> {
+                try {
+                    if (running && !paused) runFrame(System.nanoTime(), scheduled);
+                } finally {
+                    framePending.set(false);
+                    Thread t = thread;
+                    if (t != null) LockSupport.unpark(t);
+                }
+            });
+        }
+    }
+
+    // Luồng định thời cũ (sau stop(), kể cả khi đã start() lại) phải tự kết thúc
+    private boolean isCurrent() {
+        return running && thread == Thread.currentThread();
+    }
+
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (isCurrent() && (remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_NANOS);
+        }
+        while (isCurrent() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void runFrame(long start, long scheduled) {
+        if (resumed || frames == 0) {
+            resumed = false;
+            lastIntervalNanos = 0;
+        } else {
+            lastIntervalNanos = start - lastStartNanos;
+            intervals[(int) (intervalsRecorded++ % WINDOW)] = lastIntervalNanos;
+        }
+        lastStartNanos = start;
+        frames++;
+        missed += pendingMissed.getAndSet(0);
+        maxLatenessNanos = Math.max(maxLatenessNanos, start - scheduled);
+        frame.accept(start);
+    }
+
+    public Mode getMode() { return mode; }
+
+    /** @return target frame interval, or 0 when the rate is not fixed by the pacer. */
+    public long getPeriodNanos() { return periodNanos; }
+
+    /** @return frames delivered since start. */
+    public long getFrameCount() { return frames; }
+
+    /** @return deadlines skipped because a frame was still running (CAPPED only). */
+    public long getMissedDeadlines() { return missed; }
+
+    /** @return worst delay between a deadline and the frame actually starting. */
+    public long getMaxLatenessNanos() { return maxLatenessNanos; }
+
+    /** @return interval between the last two frame starts, or 0 for the first frame after a start or resume. */
+    public long getLastIntervalNanos() { return lastIntervalNanos; }
+
+    private int intervalCount() {
+        return (int) Math.min(WINDOW, intervalsRecorded);
+    }
+
+    /** @return mean interval between frame starts over the window. */
+    public double getMeanIntervalNanos() {
+        int n = intervalCount();
+        if (n == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += intervals[i];
+        return (double) sum / n;
+    }
+
+    /** @return frames per second over the window. */
+    public double getFps() {
+        double mean = getMeanIntervalNanos();
+        return mean == 0 ? 0 : 1e9 / mean;
+    }
+
+    /**
+     * @return RMS deviation of the intervals from the target period (CAPPED) or from their mean
+     *         (other modes), the usual jitter figure.
+     */
+    public double getJitterNanos() {
+        int n = intervalCount();
+        if (n == 0) return 0;
+        double target = periodNanos > 0 ? periodNanos : getMeanIntervalNanos();
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            double d = intervals[i] - target;
+            sum += d * d;
+        }
+        return Math.sqrt(sum / n);
+    }
+
+    /** @return the given quantile of the intervals in the window, in nanoseconds. */
+    public long percentileIntervalNanos(double quantile) {
+        int n = intervalCount();
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(intervals, n);
+        Arrays.sort(sorted);
+        return sorted[Math.min(n - 1, (int) (quantile * n))];
+    }
+
+    /** @return one line for logs and the profiler overlay. */
+    public String describe() {
+        String target = switch (mode) {
+            case VSYNC -> "vsync";
+            case CAPPED -> String.format("%.0f Hz cap", 1e9 / periodNanos);
+            case UNCAPPED -> "uncapped";
+        };
+        return String.format("%s  %.1f fps  jitter %.2f ms  p99 %.2f ms  missed %d", target, getFps(),
+                getJitterNanos() / 1e6, percentileIntervalNanos(0.99) / 1e6, missed);
+    }
+}
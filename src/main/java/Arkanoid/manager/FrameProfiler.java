@@ -0,0 +1,179 @@
+package Arkanoid.manager;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Per-phase frame timer. Callers bracket a phase with {@link #begin()} / {@link #end}; while
+ * disabled, begin returns 0 without reading the clock and end returns immediately, so the
+ * instrumentation costs one branch per phase. While enabled, each phase keeps the raw per-frame
+ * samples of the last {@link #WINDOW} frames and a rolling histogram over them for p50/p99/max.
+ */
+public class FrameProfiler {
+    /** Measured phases, in the order they run during a frame. */
+    public enum Phase {
+        PADDLE("paddle"),
+        BRICKS("bricks"),
+        BALLS("balls+collide"),
+        POWER_UPS("power-ups"),
+        BULLETS("bullets"),
+        PARTICLES("particles"),
+        UPDATE("update total"),
+        RENDER_BACKGROUND("r.background"),
+        RENDER_BRICKS("r.bricks"),
+        RENDER_ENTITIES("r.entities"),
+        RENDER_HUD("r.hud"),
+        RENDER("render total"),
+        FRAME_INTERVAL("frame interval"); // start to start, recorded by the game loop
+
+        private final String label;
+
+        Phase(String label) { this.label = label; }
+
+        /** @return short label for the overlay and CSV header. */
+        public String getLabel() { return label; }
+    }
+
+    /** Frames kept per phase (10 s at 60 FPS). */
+    public static final int WINDOW = 600;
+    /** Histogram resolution; samples past the last bucket are counted in it. */
+    static final long BUCKET_NANOS = 10_000L;
+    static final int BUCKETS = 2_000;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private boolean enabled;
+    private final long[][] samples = new long[PHASES.length][WINDOW];
+    private final int[][] histogram = new int[PHASES.length][BUCKETS];
+    private long frame; // frames closed since reset
+    private int slot;   // slot of the frame being measured
+
+    /** @return whether samples are being recorded. */
+    public boolean isEnabled() { return enabled; }
+
+    /** Enabling starts from an empty window. */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) reset();
+        this.enabled = enabled;
+    }
+
+    /** Switches the profiler on or off (bound to a debug key). */
+    public void toggle() {
+        setEnabled(!enabled);
+    }
+
+    /** @return a start timestamp, or 0 when disabled. */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Adds the time since {@code start} to the phase for the current frame. */
+    public void end(Phase phase, long start) {
+        if (start == 0L || !enabled) return;
+        samples[phase.ordinal()][slot] += System.nanoTime() - start;
+    }
+
+    /** Adds an externally measured duration to the phase for the current frame. */
+    public void record(Phase phase, long nanos) {
+        if (!enabled) return;
+        samples[phase.ordinal()][slot] += nanos;
+    }
+
+    /** Closes the current frame: folds its samples into the histograms and evicts the oldest frame. */
+    public void endFrame() {
+        if (!enabled) return;
+        for (int p = 0; p < PHASES.length; p++) {
+            histogram[p][bucket(samples[p][slot])]++;
+        }
+        frame++;
+        slot = (int) (frame % WINDOW);
+        if (frame >= WINDOW) {
+            for (int p = 0; p < PHASES.length; p++) {
+                histogram[p][bucket(samples[p][slot])]--;
+                samples[p][slot] = 0L;
+            }
+        }
+    }
+
+    /** Forgets every sample. */
+    public void reset() {
+        for (int p = 0; p < PHASES.length; p++) {
+            java.util.Arrays.fill(samples[p], 0L);
+            java.util.Arrays.fill(histogram[p], 0);
+        }
+        frame = 0;
+        slot = 0;
+    }
+
+    /** @return number of closed frames in the window. */
+    public int getSampleCount() {
+        return (int) Math.min(frame, WINDOW - 1);
+    }
+
+    /** @return total frames closed since the profiler was enabled. */
+    public long getFrameCount() { return frame; }
+
+    /**
+     * @param quantile in [0, 1], e.g. 0.5 or 0.99
+     * @return upper edge of the histogram bucket holding that quantile, in nanoseconds
+     */
+    public long percentile(Phase phase, double quantile) {
+        int count = getSampleCount();
+        if (count == 0) return 0L;
+        int target = Math.max(1, (int) Math.ceil(quantile * count));
+        int[] h = histogram[phase.ordinal()];
+        int seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += h[b];
+            if (seen >= target) return (b + 1) * BUCKET_NANOS;
+        }
+        return BUCKETS * BUCKET_NANOS;
+    }
+
+    /** @return exact maximum over the window, in nanoseconds. */
+    public long max(Phase phase) {
+        long[] s = samples[phase.ordinal()];
+        long max = 0L;
+        for (int i = 0; i < WINDOW; i++) {
+            if (i != slot && s[i] > max) max = s[i];
+        }
+        return max;
+    }
+
+    /** Writes the raw per-frame samples (ns), oldest first, one row per frame. */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("frame");
+        for (Phase phase : PHASES) {
+            out.write(',');
+            out.write(phase.name().toLowerCase());
+        }
+        out.write('\n');
+        int count = getSampleCount();
+        long first = frame - count;
+        for (long f = first; f < frame; f++) {
+            int s = (int) (f % WINDOW);
+            out.write(Long.toString(f));
+            for (int p = 0; p < PHASES.length; p++) {
+                out.write(',');
+                out.write(Long.toString(samples[p][s]));
+            }
+            out.write('\n');
+        }
+    }
+
+    /** Dumps the window to a CSV file and returns its path. */
+    public Path dumpCsv(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeCsv(out);
+        }
+        return file;
+    }
+
+    private static int bucket(long nanos) {
+        long b = nanos / BUCKET_NANOS;
+        return b >= BUCKETS ? BUCKETS - 1 : (int) b;
+    }
+}
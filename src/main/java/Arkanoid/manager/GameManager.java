@@ -1,12 +1,15 @@
 package Arkanoid.manager;
 
 import Arkanoid.level.Level;
+import Arkanoid.level.LevelIndex;
 import Arkanoid.level.LevelManager;
 import Arkanoid.model.*;
 import Arkanoid.util.Constants;
 import Arkanoid.audio.SoundManager;
+import javafx.scene.image.Image;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -24,8 +27,44 @@ public class GameManager {
     private List<PowerUps> powerUps;
     private List<Bullet> bullets;
     private CollisionManager collisionManager;
+    private final BrickGrid brickGrid = new BrickGrid();
+    private final BrickBvh brickBvh = new BrickBvh();
+    private final GridRaycaster raycaster = new GridRaycaster(brickGrid, brickBvh);
+    private final GridRaycaster.RayHit rayHit = new GridRaycaster.RayHit();
+    // Play area sized to the level's bricks, and the window-sized view that scrolls over it
+    private final World world = new World();
+    private final Camera camera = new Camera();
+    // Moving bricks farther than this from every ball are not simulated this tick
+    private static final double ACTIVE_MARGIN_X = Constants.WINDOW_WIDTH;
+    private static final double ACTIVE_MARGIN_Y = Constants.WINDOW_HEIGHT;
+    // Breakable bricks still standing; the level is complete at zero (no per-tick scan)
+    private int breakableRemaining;
+    // Bricks touched by one ball this tick (reused)
+    private final List<Brick> brickHits = new ArrayList<>();
     private ScoreManager scoreManager;
     private Random random;
+    // Sheds optional work (extra balls, duplicate drops, effects, render detail) when frames run long
+    private final LoadGovernor loadGovernor = new LoadGovernor();
+    private final FrameProfiler profiler = new FrameProfiler();
+    // Cosmetic particles: debris, bounce sparks, rocket exhaust
+    private final ParticleSystem particles = new ParticleSystem();
+    private static final int DEBRIS_PER_BRICK = 14;
+    private static final int SPARKS_PER_BOUNCE = 6;
+    // Vệt chuyển động sau bóng (bật/tắt bằng phím T)
+    private final BallTrails ballTrails = new BallTrails();
+    private boolean trailsEnabled = true;
+    // Canvas-only effects (particles, trails, laser flash, aim preview); off for backend benchmarks
+    private boolean effectsEnabled = true;
+    // Per-tick state hash (Zobrist for bricks) for determinism checks
+    private final StateHasher stateHasher = new StateHasher();
+    // Bricks hit/destroyed since the renderer last consumed them, and a version bumped on full rebuilds
+    private static final int MAX_CHANGED_BRICKS = 256;
+    private final List<Brick> changedBricks = new ArrayList<>();
+    private int brickLayoutVersion = 0;
+    // Bricks that move every tick (MovingBrick, oscillating PolygonBrick); drawn per frame
+    private final List<Brick> movingBricks = new ArrayList<>();
+    // Simulation clock in ms; advances only while PLAYING so timed power-ups are tick-driven
+    private double gameTimeMillis = 0;
 
     // Level Management
     private LevelManager levelManager;
@@ -37,18 +76,31 @@ public class GameManager {
     private double bulletSpawnAccumulator = 0;
     private static final double BULLET_SPAWN_INTERVAL = 0.6; // seconds (slower fire rate)
 
+    // Aim preview: predicted path of the first ball (x,y pairs), recomputed each tick when enabled
+    private boolean aimPreviewEnabled = false;
+    private final double[] aimPreviewPoints = new double[2 * (Constants.AIM_PREVIEW_BOUNCES + 2)];
+    private int aimPreviewCount = 0;
+
+    // LASER beam flash (visual only; the brick is destroyed instantly)
+    private double laserBeamX;
+    private double laserBeamTopY;
+    private double laserFlashTime = 0;
+
     // Thread scheduler (single instance, reused)
     private final ScheduledExecutorService scheduler;
 
     // Track scheduled task for later cancellation
     private ScheduledFuture<?> stageStartTask;
+    private int retainedLevel = -1; // level whose assets are pinned in the AssetManager
+    private int preloadedLevel = -1; // level predicted to start next, see preloadLevel
+    private CompletableFuture<Void> preloadTask = CompletableFuture.completedFuture(null);
 
     public GameManager() {
         this.currentState = GameState.MENU;
         this.collisionManager = new CollisionManager();
         this.scoreManager = new ScoreManager();
         this.random = new Random();
-        this.activePowerUps = new HashMap<>();
+        this.activePowerUps = new EnumMap<>(PowerUpType.class);
 
         // Initialize scheduler once
         this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
@@ -59,17 +111,14 @@ public class GameManager {
 
         // Initialize Level Manager
         this.levelManager = new LevelManager();
-        int detected = Arkanoid.level.LevelLoader.countAvailableLevels(50);
-        if (detected <= 0) detected = 3;
-        this.levelManager.loadLevels(detected);
+        this.levelManager.loadIndex(LevelIndex.load(), 3);
 
-        // Load sounds
-        SoundManager.getInstance().loadDefaultSounds();
+        // Sounds are loaded by the application (in parallel with this), see Main
         initializeGame();
     }
 
     private void initializeGame() {
-        paddle = new Paddle();
+        paddle = new Paddle(world);
         balls = new ArrayList<>();
         balls.add(new Ball(paddle));
         bricks = new ArrayList<>();
@@ -81,10 +130,12 @@ public class GameManager {
 
     private void loadCurrentLevel() {
         currentLevel = levelManager.getCurrentLevel();
+        levelManager.pin(currentLevel);
 
         if (currentLevel != null) {
             bricks.clear();
             bricks.addAll(currentLevel.getBricks());
+            rebuildBrickIndex();
 
             try {
                 double levelBallSpeed = currentLevel.getBallSpeed();
@@ -125,6 +176,7 @@ public class GameManager {
                 bricks.add(brick);
             }
         }
+        rebuildBrickIndex();
     }
 
     private BrickType determineBrickType(int row, int level) {
@@ -138,19 +190,27 @@ public class GameManager {
 
     public void update(double deltaTime) {
         if (currentState != GameState.PLAYING) return;
+        long tickStart = System.nanoTime();
+        gameTimeMillis += deltaTime * 1000.0;
 
         // Cập nhật paddle theo thời gian (điều khiển trái/phải)
+        long phaseStart = profiler.begin();
         paddle.update(deltaTime);
+        profiler.end(FrameProfiler.Phase.PADDLE, phaseStart);
 
-        for (Brick brick : bricks) {
-            brick.update(deltaTime);
-        }
+        phaseStart = profiler.begin();
+        updateMovingBricks(deltaTime);
+        profiler.end(FrameProfiler.Phase.BRICKS, phaseStart);
 
         // Logic xử lý va chạm vật lý giữa bóng, gạch, tường, paddle
+        phaseStart = profiler.begin();
         Iterator<Ball> ballIterator = balls.iterator();
         while (ballIterator.hasNext()) {
             Ball ball = ballIterator.next();
+            double vxBefore = ball.getVelocityX();
+            double vyBefore = ball.getVelocityY();
             ball.update(deltaTime);
+            emitWallSparks(ball, vxBefore, vyBefore);
 
             if (ball.isOutOfBounds()) {
                 ballIterator.remove();
@@ -166,19 +226,23 @@ public class GameManager {
                     } else {
                         resetBall();
                     }
+                    break; // danh sách bóng vừa được thay mới, dừng duyệt iterator cũ
                 }
             } else {
                 checkCollisions(ball);
             }
         }
+        if (trailsEnabled && effectsEnabled) ballTrails.record(balls);
+        profiler.end(FrameProfiler.Phase.BALLS, phaseStart);
 
         // Rơi và nhặt Power-up (va chạm với paddle)
+        phaseStart = profiler.begin();
         Iterator<PowerUps> powerUpIterator = powerUps.iterator();
         while (powerUpIterator.hasNext()) {
             PowerUps powerUp = powerUpIterator.next();
             powerUp.update();
 
-            if (powerUp.isOutOfBounds()) {
+            if (powerUp.isOutOfBounds(world.getHeight())) {
                 powerUpIterator.remove();
                 continue;
             }
@@ -193,58 +257,187 @@ public class GameManager {
 
         // Thời gian hiệu lực của Power-up (tự hủy khi hết hạn)
         updateActivePowerUps();
+        profiler.end(FrameProfiler.Phase.POWER_UPS, phaseStart);
 
         // Update bullets and handle collisions
         // Đạn bắn ra khi Power-up BULLET đang hoạt động
+        phaseStart = profiler.begin();
         updateBullets(deltaTime);
+        profiler.end(FrameProfiler.Phase.BULLETS, phaseStart);
+
+        // Ngân sách hạt giảm theo mức quá tải của governor
+        phaseStart = profiler.begin();
+        particles.setBudget(effectsEnabled ? ParticleSystem.CAPACITY >> loadGovernor.getLevel() : 0);
+        particles.update(deltaTime);
+        profiler.end(FrameProfiler.Phase.PARTICLES, phaseStart);
+
+        if (laserFlashTime > 0) laserFlashTime -= deltaTime;
+        updateAimPreview();
 
         if (isLevelComplete()) {
             currentState = GameState.LEVEL_COMPLETE;
+            // Chuẩn bị sẵn màn kế tiếp trong lúc màn hình hoàn thành đang hiện
+            preloadLevel(levelManager.getCurrentLevelNumber() + 1);
+        }
+        camera.follow(balls, paddle, deltaTime);
+        stateHasher.endTick(paddle, balls, powerUps, movingBricks, bullets, activePowerUps, gameTimeMillis,
+                scoreManager.getScore(), scoreManager.getLives(), currentState.ordinal());
+        long tickNanos = System.nanoTime() - tickStart;
+        loadGovernor.recordUpdate(tickNanos);
+        profiler.record(FrameProfiler.Phase.UPDATE, tickNanos);
+    }
+
+    // Chỉ mô phỏng gạch di động gần bóng; gạch ở xa đứng yên tới khi có bóng lại gần
+    private void updateMovingBricks(double deltaTime) {
+        if (movingBricks.isEmpty() || balls.isEmpty()) return;
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (Ball ball : balls) {
+            minX = Math.min(minX, ball.getX());
+            minY = Math.min(minY, ball.getY());
+            maxX = Math.max(maxX, ball.getX() + ball.getWidth());
+            maxY = Math.max(maxY, ball.getY() + ball.getHeight());
+        }
+        minX -= ACTIVE_MARGIN_X;
+        maxX += ACTIVE_MARGIN_X;
+        minY -= ACTIVE_MARGIN_Y;
+        maxY += ACTIVE_MARGIN_Y;
+        for (int i = 0; i < movingBricks.size(); i++) {
+            Brick brick = movingBricks.get(i);
+            if (brick.isDestroyed()) continue;
+            if (brick.getX() < maxX && brick.getX() + brick.getWidth() > minX
+                    && brick.getY() < maxY && brick.getY() + brick.getHeight() > minY) {
+                brick.update(deltaTime);
+            }
+        }
+        if (brickBvh.hasMovingBricks()) {
+            brickBvh.refit();
         }
     }
 
     // Kiểm tra và xử lý va chạm giữa bóng với paddle và gạch
     private void checkCollisions(Ball ball) {
-        collisionManager.checkBallPaddleCollision(ball, paddle);
+        if (collisionManager.checkBallPaddleCollision(ball, paddle)) {
+            particles.sparks(ball.getCenterX(), ball.getY() + ball.getHeight(), 0, -1, SPARKS_PER_BOUNCE);
+        }
 
-        Brick hitBrick = collisionManager.checkBallBrickCollision(ball, bricks);
-        if (hitBrick != null) {
-            boolean destroyed = hitBrick.hit();
+        brickHits.clear();
+        collisionManager.resolveBallBrickContacts(ball, brickGrid, brickHits);
+        collisionManager.resolveBallPolygonContacts(ball, brickBvh, brickHits);
+        for (int i = 0; i < brickHits.size(); i++) {
+            Brick hitBrick = brickHits.get(i);
+            boolean destroyed = ball.isFireball() ? hitBrick.destroy() : hitBrick.hit();
+            markBrickChanged(hitBrick);
             if (destroyed) {
-                scoreManager.addScore(hitBrick.getScore());
-                SoundManager.getInstance().playSound("effect_brick");
-                SoundManager.getInstance().playSound("effect_score");
+                onBrickDestroyed(hitBrick, true);
+            } else {
+                particles.sparks(ball.getCenterX(), ball.getCenterY(), 0, Math.signum(ball.getVelocityY()), SPARKS_PER_BOUNCE);
+            }
+        }
+    }
 
-                if (random.nextInt(100) < 40) {
-                    spawnPowerUp(hitBrick.getCenterX(), hitBrick.getCenterY());
-                }
+    // Tia lửa khi bóng bật tường: vận tốc đổi dấu trong ball.update (chỉ xử lý tường)
+    private void emitWallSparks(Ball ball, double vxBefore, double vyBefore) {
+        if (vxBefore * ball.getVelocityX() < 0) {
+            double x = ball.getVelocityX() > 0 ? ball.getX() : ball.getX() + ball.getWidth();
+            particles.sparks(x, ball.getCenterY(), Math.signum(ball.getVelocityX()), 0, SPARKS_PER_BOUNCE);
+        }
+        if (vyBefore * ball.getVelocityY() < 0) {
+            particles.sparks(ball.getCenterX(), ball.getY(), 0, 1, SPARKS_PER_BOUNCE);
+        }
+    }
+
+    // Cộng điểm, phát âm thanh, có thể rơi Power-up và gỡ gạch khỏi danh sách/chỉ mục
+    private void onBrickDestroyed(Brick brick, boolean canDropPowerUp) {
+        scoreManager.addScore(brick.getScore());
+        particles.burst(brick, DEBRIS_PER_BRICK);
+        SoundManager.getInstance().playSound("effect_brick");
+        SoundManager.getInstance().playSound("effect_score");
+
+        if (canDropPowerUp && random.nextInt(100) < 40) {
+            spawnPowerUp(brick.getCenterX(), brick.getCenterY());
+        }
 
-                bricks.remove(hitBrick);
+        bricks.remove(brick);
+        if (brick.getType() != BrickType.UNBREAKABLE) breakableRemaining--;
+        if (!(brick instanceof PolygonBrick)) {
+            brickGrid.remove(brick); // shapes stay in the BVH; destroyed ones are skipped
+        }
+    }
+
+    // Ghi nhận gạch đổi trạng thái: cập nhật hash và báo cho renderer vẽ lại vùng đó
+    private void markBrickChanged(Brick brick) {
+        stateHasher.onBrickChanged(brick);
+        if (changedBricks.size() >= MAX_CHANGED_BRICKS) {
+            // Renderer không tiêu thụ kịp (hoặc không có): yêu cầu vẽ lại toàn bộ
+            changedBricks.clear();
+            brickLayoutVersion++;
+        }
+        changedBricks.add(brick);
+    }
+
+    // Dựng lại chỉ mục va chạm: gạch lưới vào BrickGrid, gạch đa giác tự do vào BVH.
+    // Kích thước thế giới theo gạch của level; paddle và camera đặt lại theo đó
+    private void rebuildBrickIndex() {
+        world.fit(bricks);
+        brickGrid.resize(world.getWidth(), world.getHeight());
+        raycaster.setBounds(world.getWidth(), world.getPaddleY());
+        camera.setWorld(world);
+        if (paddle != null) {
+            paddle.reset();
+            for (Ball ball : balls) {
+                if (ball.isStuck()) ball.update(0); // bóng chờ phóng theo paddle tới vị trí mới
             }
+            camera.centerOn(paddle.getCenterX(), paddle.getY());
         }
+        breakableRemaining = 0;
+        particles.clear();
+        ballTrails.clear();
+        movingBricks.clear();
+        changedBricks.clear();
+        brickLayoutVersion++;
+        List<PolygonBrick> shapes = new ArrayList<>();
+        for (Brick brick : bricks) {
+            if (!brick.isDestroyed() && brick.getType() != BrickType.UNBREAKABLE) breakableRemaining++;
+            if (brick instanceof MovingBrick || (brick instanceof PolygonBrick p && p.isMoving())) {
+                movingBricks.add(brick);
+            }
+            if (brick instanceof PolygonBrick shape) {
+                shapes.add(shape);
+            } else {
+                brickGrid.add(brick);
+            }
+        }
+        brickBvh.build(shapes);
+        stateHasher.reset(bricks);
     }
 
     // Tạo Power-up với tỉ lệ xuất hiện có trọng số
     private void spawnPowerUp(double x, double y) {
         int roll = random.nextInt(100); // 0..99
         PowerUpType type;
-        if (roll < 30) {
-            type = PowerUpType.BULLET; // 0-29 (30%)
+        if (roll < 25) {
+            type = PowerUpType.BULLET; // 0-24 (25%)
+        } else if (roll < 30) {
+            type = PowerUpType.LASER; // 25-29 (5%)
         } else if (roll < 60) {
             type = PowerUpType.MULTI_BALL; // 30-59 (30%)
         } else if (roll < 75) {
             type = PowerUpType.EXPAND_PADDLE; // 60-74 (15%)
         } else if (roll < 90) {
             type = PowerUpType.SHRINK_PADDLE; // 75-89 (15%)
+        } else if (roll < 95) {
+            type = PowerUpType.SPEED_UP_BALL; // 90-94 (5%)
         } else {
-            type = PowerUpType.SPEED_UP_BALL; // 90-99 (10%)
+            type = PowerUpType.FIREBALL; // 95-99 (5%)
         }
+        if (!loadGovernor.admitPowerUp(type, powerUps)) return; // gộp khi đang quá tải
         powerUps.add(new PowerUps(x, y, type));
     }
 
     // Kích hoạt hiệu ứng Power-up và đặt thời gian hết hạn
     private void applyPowerUp(PowerUpType type) {
-        double now = System.currentTimeMillis();
+        double now = gameTimeMillis;
 
         switch (type) {
             case EXPAND_PADDLE:
@@ -269,6 +462,72 @@ public class GameManager {
             case BULLET:
                 activePowerUps.put(type, now + Constants.POWERUP_DURATION);
                 break;
+
+            case FIREBALL:
+                for (Ball b : balls) b.setFireball(true);
+                activePowerUps.put(type, now + Constants.POWERUP_DURATION);
+                break;
+
+            case LASER:
+                fireLaser();
+                break;
+        }
+    }
+
+    // Bắn tia laser thẳng lên từ giữa paddle, phá viên gạch đầu tiên trúng phải
+    private void fireLaser() {
+        laserBeamX = paddle.getCenterX();
+        laserBeamTopY = 0;
+        laserFlashTime = effectsEnabled ? Constants.LASER_FLASH_DURATION : 0;
+
+        if (raycaster.cast(laserBeamX, paddle.getY(), 0, -1, 0, paddle.getY(), rayHit)) {
+            Brick target = rayHit.getBrick();
+            laserBeamTopY = paddle.getY() - rayHit.getDistance();
+            if (target.destroy()) {
+                markBrickChanged(target);
+                onBrickDestroyed(target, false);
+            }
+        }
+    }
+
+    // Tính đường đi dự đoán của bóng đầu tiên (chỉ khi bật aim preview)
+    private void updateAimPreview() {
+        aimPreviewCount = 0;
+        if (!aimPreviewEnabled || !effectsEnabled || balls.isEmpty()) return;
+
+        Ball ball = balls.get(0);
+        double dx = ball.isStuck() ? 0 : ball.getVelocityX();
+        double dy = ball.isStuck() ? -1 : ball.getVelocityY();
+        aimPreviewCount = raycaster.tracePath(
+                ball.getCenterX(), ball.getCenterY(), dx, dy, ball.getRadius(),
+                Constants.AIM_PREVIEW_BOUNCES, Constants.AIM_PREVIEW_LENGTH,
+                aimPreviewPoints, rayHit);
+    }
+
+    /** Toggles the aim-preview line. */
+    public void toggleAimPreview() {
+        aimPreviewEnabled = !aimPreviewEnabled;
+        aimPreviewCount = 0;
+    }
+
+    /** Toggles the motion trails behind balls. */
+    public void toggleTrails() {
+        trailsEnabled = !trailsEnabled;
+        ballTrails.clear();
+    }
+
+    /**
+     * Turns the canvas-only effects (particles, trails, laser flash, aim preview) on or off without
+     * touching the simulation. The scene-graph backend never draws them, so backend comparisons
+     * switch them off for every run.
+     */
+    public void setEffectsEnabled(boolean enabled) {
+        effectsEnabled = enabled;
+        if (!enabled) {
+            particles.clear();
+            ballTrails.clear();
+            aimPreviewCount = 0;
+            laserFlashTime = 0;
         }
     }
 
@@ -290,6 +549,7 @@ public class GameManager {
             double centerAngle = ref.isStuck() ? Math.toRadians(-90) : Math.atan2(ref.getVelocityY(), ref.getVelocityX());
             double[] offsets = new double[] { Math.toRadians(20), Math.toRadians(-20) };
             for (double off : offsets) {
+                if (!loadGovernor.allowExtraBall(balls.size())) return;
                 Ball nb = new Ball(paddle);
                 nb.setBaseSpeed(base);
                 nb.setX(spawnX);
@@ -300,6 +560,7 @@ public class GameManager {
                 double ang = centerAngle + off;
                 nb.setVelocityX(base * Math.cos(ang));
                 nb.setVelocityY(base * Math.sin(ang));
+                nb.setFireball(ref.isFireball());
                 balls.add(nb);
             }
         }
@@ -307,7 +568,7 @@ public class GameManager {
 
     // Duyệt và vô hiệu hóa Power-up đã hết hạn
     private void updateActivePowerUps() {
-        double now = System.currentTimeMillis();
+        double now = gameTimeMillis;
         Iterator<Map.Entry<PowerUpType, Double>> iterator = activePowerUps.entrySet().iterator();
 
         while (iterator.hasNext()) {
@@ -322,7 +583,7 @@ public class GameManager {
     // Kiểm tra trạng thái hoạt động của Power-up BULLET
     private boolean isBulletActive() {
         Double until = activePowerUps.get(PowerUpType.BULLET);
-        return until != null && System.currentTimeMillis() <= until;
+        return until != null && gameTimeMillis <= until;
     }
 
     // Cập nhật bắn đạn theo chu kỳ khi BULLET đang hoạt động và xử lý va chạm với gạch
@@ -345,14 +606,22 @@ public class GameManager {
         while (it.hasNext()) {
             Bullet bullet = it.next();
             bullet.update(deltaTime);
-            if (bullet.isOutOfBounds()) {
+            particles.exhaust(bullet);
+            if (bullet.isOutOfBounds(world.getHeight())) {
                 it.remove();
                 continue;
             }
 
+            brickHits.clear();
+            brickGrid.query(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight(), brickHits);
+            brickBvh.query(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight(), brickHits);
             Brick hit = null;
-            for (Brick brick : bricks) {
-                if (!brick.isDestroyed() && bullet.intersects(brick)) { hit = brick; break; }
+            for (int i = 0; i < brickHits.size() && hit == null; i++) {
+                Brick candidate = brickHits.get(i);
+                if (!(candidate instanceof PolygonBrick shape)
+                        || shape.overlapsRect(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight())) {
+                    hit = candidate;
+                }
             }
             if (hit != null) {
                 if (hit.getType() == BrickType.UNBREAKABLE) {
@@ -360,11 +629,9 @@ public class GameManager {
                     continue;
                 }
                 boolean destroyed = hit.hit();
+                markBrickChanged(hit);
                 if (destroyed) {
-                    scoreManager.addScore(hit.getScore());
-                    SoundManager.getInstance().playSound("effect_brick");
-                    SoundManager.getInstance().playSound("effect_score");
-                    bricks.remove(hit);
+                    onBrickDestroyed(hit, false);
                 }
                 it.remove();
             }
@@ -386,6 +653,10 @@ public class GameManager {
             case BULLET:
                 // Stop spawning; existing bullets will clear naturally
                 break;
+
+            case FIREBALL:
+                for (Ball b : balls) b.setFireball(false);
+                break;
             default:
                 break;
         }
@@ -393,14 +664,7 @@ public class GameManager {
 
     // Kiểm tra điều kiện hoàn thành level (không còn gạch phá được)
     private boolean isLevelComplete() {
-        if (currentLevel != null) return currentLevel.isCompleted();
-
-        for (Brick brick : bricks) {
-            if (!brick.isDestroyed() && brick.getType() != BrickType.UNBREAKABLE) {
-                return false;
-            }
-        }
-        return true;
+        return breakableRemaining <= 0;
     }
 
     public void startGame() {
@@ -444,6 +708,7 @@ public class GameManager {
     private void resetLevel() {
         if (levelManager != null) {
             currentLevel = levelManager.getCurrentLevel();
+            levelManager.pin(currentLevel);
         }
 
         paddle.reset();
@@ -462,22 +727,85 @@ public class GameManager {
 
         if (currentLevel != null) {
             currentLevel.reset();
+            retainLevelAssets();
             bricks.clear();
             bricks.addAll(currentLevel.getBricks());
+            rebuildBrickIndex();
             scoreManager.setLives(currentLevel.getInitialLives());
         } else {
             loadCurrentLevel();
         }
     }
 
+    // Giữ ảnh nền của màn hiện tại; ảnh của màn trước (và màn dự đoán sai) được thả,
+    // vẫn nằm trong cache tới khi bị đẩy ra
+    private void retainLevelAssets() {
+        int number = currentLevel.getLevelNumber();
+        AssetManager assets = AssetManager.getInstance();
+        if (preloadedLevel >= 0 && preloadedLevel != number) {
+            assets.release(AssetManager.levelScope(preloadedLevel));
+        }
+        preloadedLevel = -1;
+        if (number == retainedLevel) return;
+        if (retainedLevel >= 0) assets.release(AssetManager.levelScope(retainedLevel));
+        retainedLevel = number;
+        retainBackground(number, currentLevel.getBackgroundImage());
+    }
+
+    private CompletableFuture<Image> retainBackground(int levelNumber, String background) {
+        if (background == null) return CompletableFuture.completedFuture(null);
+        AssetManager.ImageSpec spec = levelBackground(background);
+        return AssetManager.getInstance().retain(AssetManager.levelScope(levelNumber), spec.getPath(),
+                spec.getWidth(), spec.getHeight());
+    }
+
+    /** @return a level background at the size it is drawn at (the window), as retained and baked. */
+    public static AssetManager.ImageSpec levelBackground(String path) {
+        return new AssetManager.ImageSpec(path, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+    }
+
+    /**
+     * Prepares the level the player is likely to start next: its background is decoded at window
+     * size and the level is read and its bricks built off the FX thread, so {@link #nextLevel()} or
+     * {@link #selectLevel(int)} only swaps them in. Only the latest prediction is kept pinned.
+     *
+     * @param levelNumber 1-based; out of range is ignored
+     * @return completes when the level is ready (also when ignored)
+     */
+    public CompletableFuture<Void> preloadLevel(int levelNumber) {
+        LevelIndex.Entry info = levelManager.getLevelInfo(levelNumber);
+        if (info == null) return CompletableFuture.completedFuture(null);
+        if (levelNumber == preloadedLevel && !preloadTask.isDone()) return preloadTask;
+        if (levelNumber != preloadedLevel) {
+            if (preloadedLevel >= 0 && preloadedLevel != retainedLevel) {
+                AssetManager.getInstance().release(AssetManager.levelScope(preloadedLevel));
+            }
+            preloadedLevel = levelNumber;
+        }
+        // The background is known from the index; the level itself is read with its bricks
+        CompletableFuture<Image> background = retainBackground(levelNumber, info.getBackgroundImage());
+        Level loaded = levelManager.getLoadedLevel(levelNumber);
+        CompletableFuture<Void> bricksReady = loaded != null && loaded.isPrepared()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> {
+                    Level level = levelManager.getLevel(levelNumber);
+                    if (!level.isPrepared()) level.prepare();
+                }, scheduler);
+        preloadTask = CompletableFuture.allOf(background, bricksReady);
+        return preloadTask;
+    }
+
     private void resetBall() {
         balls.clear();
-        balls.add(new Ball(paddle));
+        Ball ball = new Ball(paddle);
+        ball.setFireball(activePowerUps.containsKey(PowerUpType.FIREBALL));
+        balls.add(ball);
     }
 
     public void launchBall() {
         for (Ball ball : balls) {
-            if (ball.isStuck()) ball.launch();
+            // Góc ngẫu nhiên lấy từ random của GameManager để có thể tái lập theo seed
+            if (ball.isStuck()) ball.launch(-60 - random.nextDouble() * 60);
         }
     }
 
@@ -530,6 +858,12 @@ public class GameManager {
         if (bricks != null) {
             bricks.clear();
         }
+        brickGrid.clear();
+        brickBvh.clear();
+        stateHasher.clear();
+        movingBricks.clear();
+        changedBricks.clear();
+        brickLayoutVersion++;
         if (powerUps != null) {
             powerUps.clear();
         }
@@ -539,6 +873,8 @@ public class GameManager {
         if (bullets != null) {
             bullets.clear();
         }
+        particles.clear();
+        ballTrails.clear();
         try {
             SoundManager.getInstance().stopAll();
         } catch (Exception e) {
@@ -570,6 +906,37 @@ public class GameManager {
     public ScoreManager getScoreManager() { return scoreManager; }
     public LevelManager getLevelManager() { return levelManager; }
     public Level getCurrentLevel() { return currentLevel; }
+    public BrickGrid getBrickGrid() { return brickGrid; }
+    public BrickBvh getBrickBvh() { return brickBvh; }
+    public World getWorld() { return world; }
+    public Camera getCamera() { return camera; }
+    public boolean isAimPreviewEnabled() { return aimPreviewEnabled; }
+    /** Predicted path as x,y pairs; only the first {@link #getAimPreviewCount()} points are valid. */
+    public double[] getAimPreviewPoints() { return aimPreviewPoints; }
+    public int getAimPreviewCount() { return aimPreviewCount; }
+    public double getLaserFlashTime() { return laserFlashTime; }
+    public double getLaserBeamX() { return laserBeamX; }
+    public double getLaserBeamTopY() { return laserBeamTopY; }
+    public LoadGovernor getLoadGovernor() { return loadGovernor; }
+    public FrameProfiler getProfiler() { return profiler; }
+    public ParticleSystem getParticles() { return particles; }
+    public BallTrails getBallTrails() { return ballTrails; }
+    public boolean isTrailsEnabled() { return trailsEnabled && effectsEnabled; }
+    public boolean isEffectsEnabled() { return effectsEnabled; }
+    public List<Bullet> getBullets() { return bullets; }
+    /** @return bricks that move every tick (not part of any static cache). */
+    public List<Brick> getMovingBricks() { return movingBricks; }
+    /** @return bricks hit or destroyed since {@link #clearChangedBricks()}. */
+    public List<Brick> getChangedBricks() { return changedBricks; }
+    public void clearChangedBricks() { changedBricks.clear(); }
+    /** @return counter bumped whenever the brick set is rebuilt and caches must start over. */
+    public int getBrickLayoutVersion() { return brickLayoutVersion; }
+    /** @return hash of the simulation state after the last PLAYING tick. */
+    public long getStateHash() { return stateHasher.getTickHash(); }
+    public StateHasher getStateHasher() { return stateHasher; }
+
+    /** Reseeds the gameplay RNG (drops, launch angles, legacy layouts) for reproducible runs. */
+    public void setRandomSeed(long seed) { random.setSeed(seed); }
     /**
      * Sets the current game state, applying safety cleanup and audio handling.
      */
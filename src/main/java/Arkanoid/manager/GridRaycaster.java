@@ -0,0 +1,237 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Brick;
+import Arkanoid.util.Constants;
+
+import java.util.List;
+
+/**
+ * Casts rays through the {@link BrickGrid} by walking lattice cells DDA-style, so a cast only
+ * looks at the handful of cells the ray crosses instead of every brick.
+ * A ray can have a radius (the ball) which is handled by testing bricks inflated by that radius
+ * in the 3x3 neighbourhood of each visited cell; this is exact as long as the radius is smaller
+ * than a cell. Moving bricks are tested directly, and free-form shapes through the optional
+ * {@link BrickBvh}. Nothing here allocates per cast.
+ */
+public class GridRaycaster {
+    private final BrickGrid grid;
+    private final BrickBvh bvh;
+    // Walls and paddle line used by tracePath; a window-sized world until told otherwise
+    private double worldWidth = Constants.WINDOW_WIDTH;
+    private double paddleY = Constants.PADDLE_Y;
+
+    /** Result of a cast; reused by callers to avoid allocation. */
+    public static final class RayHit {
+        private Brick brick;
+        private double distance;
+        private double normalX;
+        private double normalY;
+
+        /** @return the brick that was hit, or null when the ray hit nothing. */
+        public Brick getBrick() { return brick; }
+        /** @return distance along the (normalized) ray to the contact. */
+        public double getDistance() { return distance; }
+        /** @return x of the unit surface normal at the contact. */
+        public double getNormalX() { return normalX; }
+        /** @return y of the unit surface normal at the contact. */
+        public double getNormalY() { return normalY; }
+
+        void set(Brick brick, double distance, double normalX, double normalY) {
+            this.brick = brick;
+            this.distance = distance;
+            this.normalX = normalX;
+            this.normalY = normalY;
+        }
+
+        private void reset(double maxDistance) {
+            set(null, maxDistance, 0, 0);
+        }
+    }
+
+    public GridRaycaster(BrickGrid grid) {
+        this(grid, null);
+    }
+
+    public GridRaycaster(BrickGrid grid, BrickBvh bvh) {
+        this.grid = grid;
+        this.bvh = bvh;
+    }
+
+    /** Sets the right wall and the paddle line that {@link #tracePath} reflects and stops at. */
+    public void setBounds(double worldWidth, double paddleY) {
+        this.worldWidth = worldWidth;
+        this.paddleY = paddleY;
+    }
+
+    /**
+     * Casts a ray (optionally thick) and reports the closest brick hit within maxDistance.
+     * @param radius half-thickness of the ray; 0 for a thin ray, ball radius for ball paths
+     * @return true if a brick was hit
+     */
+    public boolean cast(double ox, double oy, double dx, double dy, double radius,
+                        double maxDistance, RayHit hit) {
+        hit.reset(maxDistance);
+        double len = Math.sqrt(dx * dx + dy * dy);
+        if (len == 0) return false;
+        dx /= len;
+        dy /= len;
+
+        if (bvh != null) {
+            bvh.raycast(ox, oy, dx, dy, radius, hit);
+        }
+        List<Brick> moving = grid.getMovingBricks();
+        for (int i = 0; i < moving.size(); i++) {
+            testBrick(moving.get(i), ox, oy, dx, dy, radius, hit);
+        }
+
+        double gx = (ox - BrickGrid.ORIGIN_X) / BrickGrid.CELL_WIDTH;
+        double gy = (oy - BrickGrid.ORIGIN_Y) / BrickGrid.CELL_HEIGHT;
+        int cx = (int) Math.floor(gx);
+        int cy = (int) Math.floor(gy);
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        double tDeltaX = stepX != 0 ? BrickGrid.CELL_WIDTH / Math.abs(dx) : Double.POSITIVE_INFINITY;
+        double tDeltaY = stepY != 0 ? BrickGrid.CELL_HEIGHT / Math.abs(dy) : Double.POSITIVE_INFINITY;
+        double tMaxX = stepX > 0 ? (cx + 1 - gx) * tDeltaX : (stepX < 0 ? (gx - cx) * tDeltaX : Double.POSITIVE_INFINITY);
+        double tMaxY = stepY > 0 ? (cy + 1 - gy) * tDeltaY : (stepY < 0 ? (gy - cy) * tDeltaY : Double.POSITIVE_INFINITY);
+
+        int span = radius > 0 ? 1 : 0;
+        double tCell = 0;
+        while (tCell <= hit.distance) {
+            testCells(cx, cy, span, ox, oy, dx, dy, radius, hit);
+
+            if (tMaxX < tMaxY) {
+                tCell = tMaxX;
+                tMaxX += tDeltaX;
+                cx += stepX;
+            } else {
+                tCell = tMaxY;
+                tMaxY += tDeltaY;
+                cy += stepY;
+            }
+            // Left the lattice for good: nothing further along can be a static brick
+            if ((cx < -1 && stepX <= 0) || (cx > grid.getCols() && stepX >= 0)
+                    || (cy < -1 && stepY <= 0) || (cy > grid.getRows() && stepY >= 0)) {
+                break;
+            }
+        }
+        return hit.brick != null;
+    }
+
+    /**
+     * Traces a ball path with reflections off the side/top walls and bricks.
+     * Writes x,y pairs into {@code points} (starting with the origin) and stops at the
+     * paddle line, after maxBounces reflections, or when maxLength is used up.
+     * @return number of points written
+     */
+    public int tracePath(double ox, double oy, double dx, double dy, double radius,
+                         int maxBounces, double maxLength, double[] points, RayHit scratch) {
+        double len = Math.sqrt(dx * dx + dy * dy);
+        if (len == 0 || points.length < 2) return 0;
+        dx /= len;
+        dy /= len;
+
+        int count = 0;
+        points[count++] = ox;
+        points[count++] = oy;
+        double remaining = maxLength;
+        double minX = radius;
+        double maxX = worldWidth - radius;
+        double minY = radius;
+        double floorY = paddleY - radius;
+
+        for (int bounce = 0; bounce <= maxBounces && count + 2 <= points.length; bounce++) {
+            // Nearest wall along the ray
+            double tWall = remaining;
+            boolean wallNormalX = false;
+            boolean terminal = true;
+            if (dx < 0 && (minX - ox) / dx < tWall) { tWall = (minX - ox) / dx; wallNormalX = true; terminal = false; }
+            if (dx > 0 && (maxX - ox) / dx < tWall) { tWall = (maxX - ox) / dx; wallNormalX = true; terminal = false; }
+            if (dy < 0 && (minY - oy) / dy < tWall) { tWall = (minY - oy) / dy; wallNormalX = false; terminal = false; }
+            if (dy > 0 && (floorY - oy) / dy < tWall) { tWall = (floorY - oy) / dy; terminal = true; }
+            tWall = Math.max(0, tWall);
+
+            double t = tWall;
+            double nx = wallNormalX ? 1 : 0;
+            double ny = wallNormalX ? 0 : 1;
+            if (cast(ox, oy, dx, dy, radius, tWall, scratch)) {
+                t = scratch.getDistance();
+                nx = scratch.getNormalX();
+                ny = scratch.getNormalY();
+                terminal = false;
+            }
+
+            ox += dx * t;
+            oy += dy * t;
+            points[count++] = ox;
+            points[count++] = oy;
+            remaining -= t;
+            if (terminal || remaining <= 0) break;
+
+            // Reflect about the surface normal: d' = d - 2(d.n)n
+            double dot = dx * nx + dy * ny;
+            dx -= 2 * dot * nx;
+            dy -= 2 * dot * ny;
+        }
+        return count / 2;
+    }
+
+    private void testCells(int cx, int cy, int span, double ox, double oy, double dx, double dy,
+                           double radius, RayHit hit) {
+        int cols = grid.getCols();
+        int rows = grid.getRows();
+        for (int r = cy - span; r <= cy + span; r++) {
+            if (r < 0 || r >= rows) continue;
+            for (int c = cx - span; c <= cx + span; c++) {
+                if (c < 0 || c >= cols) continue;
+                List<Brick> cell = grid.cellAt(c, r);
+                for (int i = 0; i < cell.size(); i++) {
+                    testBrick(cell.get(i), ox, oy, dx, dy, radius, hit);
+                }
+            }
+        }
+    }
+
+    /** Slab test against the brick inflated by radius; keeps the closest entry. */
+    private static void testBrick(Brick brick, double ox, double oy, double dx, double dy,
+                                  double radius, RayHit hit) {
+        if (brick.isDestroyed()) return;
+        double left = brick.getX() - radius;
+        double right = brick.getX() + brick.getWidth() + radius;
+        double top = brick.getY() - radius;
+        double bottom = brick.getY() + brick.getHeight() + radius;
+        // Ignore boxes the origin is already inside (e.g., after a reflection off this brick)
+        if (ox > left && ox < right && oy > top && oy < bottom) return;
+
+        double enterX, exitX, enterY, exitY;
+        if (dx == 0) {
+            if (ox <= left || ox >= right) return;
+            enterX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        } else {
+            double a = (left - ox) / dx;
+            double b = (right - ox) / dx;
+            enterX = Math.min(a, b);
+            exitX = Math.max(a, b);
+        }
+        if (dy == 0) {
+            if (oy <= top || oy >= bottom) return;
+            enterY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        } else {
+            double a = (top - oy) / dy;
+            double b = (bottom - oy) / dy;
+            enterY = Math.min(a, b);
+            exitY = Math.max(a, b);
+        }
+
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        if (enter >= exit || enter < 0 || enter >= hit.distance) return;
+        if (enterX > enterY) {
+            hit.set(brick, enter, dx > 0 ? -1 : 1, 0);
+        } else {
+            hit.set(brick, enter, 0, dy > 0 ? -1 : 1);
+        }
+    }
+}
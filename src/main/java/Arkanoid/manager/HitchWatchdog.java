@@ -0,0 +1,330 @@
+package Arkanoid.manager;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that notices when the frame tick or the game update runs past its budget.
+ * While the frame is still stuck it captures the FX thread's stack, then logs it with the final
+ * duration, the GC pauses reported shortly before, entity counts and the current level to a
+ * size-bounded file (rotated once into {@code .1}).
+ *
+ * The game thread only writes a few volatile primitives per scope, so it never allocates or
+ * blocks; everything else happens on the watchdog and JMX notification threads.
+ */
+public class HitchWatchdog {
+    /** Default log size before it is rotated. */
+    public static final long DEFAULT_MAX_LOG_BYTES = 1024 * 1024;
+    /** GC notifications older than this are not attached to a hitch. */
+    private static final long GC_LOOKBACK_MILLIS = 2_000;
+    private static final int MAX_GC_EVENTS = 32;
+    private static final int MAX_STACK_FRAMES = 40;
+    /** A hitch still running after this long is logged without its final duration. */
+    private static final long GIVE_UP_NANOS = 5_000_000_000L;
+
+    /** One watched section of the frame. Written only by the game thread. */
+    public static final class Scope {
+        private final String name;
+        private final long budgetNanos;
+        private volatile long startNanos; // 0 while idle
+        private volatile long seq;
+        private volatile long endedSeq;
+        private volatile long lastDurationNanos;
+
+        // Watchdog-thread state
+        private long capturedSeq;
+        private long reportedEndSeq;
+        private Pending pending;
+
+        Scope(String name, long budgetNanos) {
+            this.name = name;
+            this.budgetNanos = budgetNanos;
+        }
+
+        /** Marks the start of the section. */
+        public void begin() {
+            seq = seq + 1; // published before the start time the watchdog reads first
+            startNanos = System.nanoTime();
+        }
+
+        /** Marks the end of the section. */
+        public void end() {
+            long start = startNanos;
+            if (start == 0) return;
+            lastDurationNanos = System.nanoTime() - start;
+            startNanos = 0;
+            endedSeq = seq;
+        }
+
+        public String getName() { return name; }
+        public long getBudgetNanos() { return budgetNanos; }
+    }
+
+    // A hitch caught in progress, waiting for its scope to end
+    private static final class Pending {
+        final long seq;
+        final long startNanos;
+        final long capturedAfterNanos;
+        final String header;
+        final StackTraceElement[] stack;
+
+        Pending(long seq, long startNanos, long capturedAfterNanos, String header, StackTraceElement[] stack) {
+            this.seq = seq;
+            this.startNanos = startNanos;
+            this.capturedAfterNanos = capturedAfterNanos;
+            this.header = header;
+            this.stack = stack;
+        }
+    }
+
+    private final Scope tick;
+    private final Scope update;
+    private final Path logFile;
+    private final long maxLogBytes;
+    private final long pollNanos;
+
+    // Published by the game thread at the start of each tick
+    private volatile Thread gameThread;
+    private volatile int balls;
+    private volatile int bricks;
+    private volatile int powerUps;
+    private volatile int bullets;
+    private volatile int level;
+    private volatile int state;
+
+    private final ArrayDeque<String> gcEvents = new ArrayDeque<>();
+    private final ArrayDeque<Long> gcEventTimes = new ArrayDeque<>();
+    private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::onGcNotification;
+
+    private volatile boolean running;
+    private Thread thread;
+    private volatile int hitchCount;
+
+    /**
+     * @param logFile where hitch records are appended
+     * @param tickBudgetNanos budget for a whole frame tick (update + render)
+     * @param updateBudgetNanos budget for {@code GameManager.update}
+     */
+    public HitchWatchdog(Path logFile, long tickBudgetNanos, long updateBudgetNanos) {
+        this(logFile, tickBudgetNanos, updateBudgetNanos, DEFAULT_MAX_LOG_BYTES);
+    }
+
+    public HitchWatchdog(Path logFile, long tickBudgetNanos, long updateBudgetNanos, long maxLogBytes) {
+        this.logFile = logFile;
+        this.maxLogBytes = maxLogBytes;
+        this.tick = new Scope("tick", tickBudgetNanos);
+        this.update = new Scope("update", updateBudgetNanos);
+        // Poll fast enough to catch the stack well inside the hitch
+        this.pollNanos = Math.max(1_000_000L, Math.min(tickBudgetNanos, updateBudgetNanos) / 4);
+    }
+
+    /** Starts the watchdog thread and subscribes to GC notifications. */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+                gcEmitters.add(emitter);
+            }
+        }
+        thread = new Thread(this::run, "hitch-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops the thread and unsubscribes; pending hitches are flushed. */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (NotificationEmitter emitter : gcEmitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (Exception ignored) {
+            }
+        }
+        gcEmitters.clear();
+    }
+
+    /** Call first thing in the frame tick, on the game thread. */
+    public void beginTick(GameManager game) {
+        if (gameThread == null) gameThread = Thread.currentThread();
+        balls = game.getBalls().size();
+        bricks = game.getBricks().size();
+        powerUps = game.getPowerUps().size();
+        bullets = game.getBullets().size();
+        level = game.getCurrentLevel() != null ? game.getCurrentLevel().getLevelNumber() : 0;
+        state = game.getCurrentState().ordinal();
+        tick.begin();
+    }
+
+    public void endTick() { tick.end(); }
+
+    /** Brackets {@code GameManager.update} on the game thread. */
+    public void beginUpdate() {
+        if (gameThread == null) gameThread = Thread.currentThread();
+        update.begin();
+    }
+
+    public void endUpdate() { update.end(); }
+
+    public Scope getTickScope() { return tick; }
+    public Scope getUpdateScope() { return update; }
+
+    /** @return hitches logged since start. */
+    public int getHitchCount() { return hitchCount; }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(pollNanos);
+            long now = System.nanoTime();
+            poll(tick, now);
+            poll(update, now);
+        }
+        flush(tick);
+        flush(update);
+    }
+
+    private void poll(Scope scope, long now) {
+        long start = scope.startNanos;
+        long seq = scope.seq;
+        // Caught in progress: grab the stack while the game thread is still stuck
+        if (scope.pending == null && start != 0 && seq != scope.capturedSeq && now - start > scope.budgetNanos) {
+            Thread target = gameThread;
+            StackTraceElement[] stack = target != null ? target.getStackTrace() : new StackTraceElement[0];
+            scope.capturedSeq = seq;
+            scope.pending = new Pending(seq, start, now - start, describeGame(), stack);
+        }
+        Pending p = scope.pending;
+        if (p != null) {
+            long ended = scope.endedSeq;
+            if (ended >= p.seq) {
+                long duration = ended == p.seq ? scope.lastDurationNanos : -1;
+                write(format(scope, p, duration));
+                scope.pending = null;
+                scope.reportedEndSeq = ended;
+            } else if (now - p.startNanos > GIVE_UP_NANOS) {
+                write(format(scope, p, -1));
+                scope.pending = null;
+            }
+            return;
+        }
+        // Too short for the poll to catch in progress: log it without a stack
+        long ended = scope.endedSeq;
+        if (ended != scope.reportedEndSeq) {
+            long duration = scope.lastDurationNanos;
+            scope.reportedEndSeq = ended;
+            if (duration > scope.budgetNanos && ended != scope.capturedSeq) {
+                scope.capturedSeq = ended;
+                write(format(scope, new Pending(ended, 0, -1, describeGame(), null), duration));
+            }
+        }
+    }
+
+    private void flush(Scope scope) {
+        if (scope.pending != null) {
+            write(format(scope, scope.pending, -1));
+            scope.pending = null;
+        }
+    }
+
+    private String describeGame() {
+        return String.format("level %d, state %s, balls %d, bricks %d, power-ups %d, bullets %d",
+                level, Arkanoid.model.GameState.values()[state], balls, bricks, powerUps, bullets);
+    }
+
+    private String format(Scope scope, Pending p, long durationNanos) {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append("=== hitch ").append(LocalDateTime.now()).append(": ").append(scope.name).append(' ');
+        sb.append(durationNanos >= 0 ? String.format("%.1f ms", durationNanos / 1e6) : "still running");
+        sb.append(String.format(" (budget %.1f ms)%n", scope.budgetNanos / 1e6));
+        sb.append("  ").append(p.header).append(System.lineSeparator());
+        appendGcEvents(sb);
+        if (p.stack != null) {
+            sb.append(String.format("  stack of %s after %.1f ms:%n",
+                    gameThread != null ? gameThread.getName() : "?", p.capturedAfterNanos / 1e6));
+            int n = Math.min(p.stack.length, MAX_STACK_FRAMES);
+            for (int i = 0; i < n; i++) {
+                sb.append("    at ").append(p.stack[i]).append(System.lineSeparator());
+            }
+            if (p.stack.length > n) sb.append("    ...").append(System.lineSeparator());
+        } else {
+            sb.append("  (ended before the stack could be captured)").append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private void appendGcEvents(StringBuilder sb) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        synchronized (gcEvents) {
+            var times = gcEventTimes.iterator();
+            boolean any = false;
+            for (String event : gcEvents) {
+                long end = times.next();
+                if (uptime - end > GC_LOOKBACK_MILLIS) continue;
+                sb.append("  gc ").append(uptime - end).append(" ms ago: ").append(event).append(System.lineSeparator());
+                any = true;
+            }
+            if (!any) sb.append("  no GC in the last ").append(GC_LOOKBACK_MILLIS).append(" ms").append(System.lineSeparator());
+        }
+    }
+
+    // JMX notification thread
+    private void onGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        String event = info.getGcName() + ", " + info.getGcAction() + " (" + info.getGcCause() + "), "
+                + info.getGcInfo().getDuration() + " ms";
+        synchronized (gcEvents) {
+            if (gcEvents.size() == MAX_GC_EVENTS) {
+                gcEvents.removeFirst();
+                gcEventTimes.removeFirst();
+            }
+            gcEvents.addLast(event);
+            gcEventTimes.addLast(info.getGcInfo().getEndTime());
+        }
+    }
+
+    // Appends a record; once the log passes its size limit it is rotated to <name>.1
+    private void write(String record) {
+        hitchCount++;
+        try {
+            if (Files.exists(logFile) && Files.size(logFile) + record.length() > maxLogBytes) {
+                Path old = logFile.resolveSibling(logFile.getFileName() + ".1");
+                Files.move(logFile, old, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (Writer out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(record);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write hitch log: " + e.getMessage());
+        }
+    }
+}
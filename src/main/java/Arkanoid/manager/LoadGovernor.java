@@ -0,0 +1,170 @@
+package Arkanoid.manager;
+
+import Arkanoid.audio.SoundManager;
+import Arkanoid.model.PowerUpType;
+import Arkanoid.model.PowerUps;
+import Arkanoid.util.Constants;
+
+import java.util.List;
+
+/**
+ * Keeps frames inside the tick budget by shedding optional work when the machine falls behind.
+ * Fed with the measured cost of {@code GameManager.update} and {@code Renderer.render} each frame,
+ * it tracks a smoothed frame cost and moves between shedding levels with hysteresis:
+ * escalate after a run of over-budget frames, step back down after a longer run with headroom.
+ * <p>
+ * Level 0 is normal play. Higher levels cap new extra balls, merge duplicate power-up drops,
+ * throttle effect polyphony and lower render detail; every decision is counted.
+ */
+public class LoadGovernor {
+    /** How much drawing the Renderer should do. */
+    public enum RenderDetail { FULL, REDUCED, MINIMAL }
+
+    public static final int MAX_LEVEL = 3;
+
+    // Per-level policy (index = shedding level)
+    private static final int[] BALL_CAP = {Integer.MAX_VALUE, 64, 32, 12};
+    private static final int[] FALLING_POWERUP_CAP = {Integer.MAX_VALUE, Integer.MAX_VALUE, 8, 4};
+    private static final int[] EFFECTS_PER_WINDOW = {Integer.MAX_VALUE, Integer.MAX_VALUE, 4, 2};
+    private static final RenderDetail[] DETAIL = {
+            RenderDetail.FULL, RenderDetail.FULL, RenderDetail.REDUCED, RenderDetail.MINIMAL
+    };
+
+    private static final double SMOOTHING = 0.1;       // EMA weight of the newest frame
+    private static final int ESCALATE_AFTER = 10;      // consecutive frames over budget
+    private static final int RELAX_AFTER = 120;        // consecutive frames with headroom
+    private static final double HEADROOM = 0.7;        // "headroom" = below 70% of budget
+
+    private long budgetNanos;
+    private boolean enabled = true;
+    private int level = 0;
+    private double smoothedNanos = 0;
+    private long pendingUpdateNanos = 0;
+    private int overStreak = 0;
+    private int headroomStreak = 0;
+
+    // Decision counters
+    private long framesMeasured;
+    private long framesOverBudget;
+    private long escalations;
+    private long relaxations;
+    private long ballsRejected;
+    private long powerUpsMerged;
+
+    public LoadGovernor() {
+        this(Constants.TICK_BUDGET_NANOS);
+    }
+
+    public LoadGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /** Records the cost of one GameManager.update call. */
+    public void recordUpdate(long nanos) {
+        pendingUpdateNanos += nanos;
+    }
+
+    /** Records the cost of one Renderer.render call; this closes the frame and re-evaluates. */
+    public void recordRender(long nanos) {
+        endFrame(pendingUpdateNanos + nanos);
+        pendingUpdateNanos = 0;
+    }
+
+    /** Feeds one whole frame cost (update + render) and adjusts the shedding level. */
+    public void endFrame(long frameNanos) {
+        framesMeasured++;
+        smoothedNanos = framesMeasured == 1 ? frameNanos : smoothedNanos + SMOOTHING * (frameNanos - smoothedNanos);
+        if (frameNanos > budgetNanos) framesOverBudget++;
+        if (!enabled) return;
+
+        if (smoothedNanos > budgetNanos) {
+            overStreak++;
+            headroomStreak = 0;
+            if (overStreak >= ESCALATE_AFTER && level < MAX_LEVEL) {
+                setLevel(level + 1);
+                escalations++;
+                overStreak = 0;
+            }
+        } else if (smoothedNanos < budgetNanos * HEADROOM) {
+            headroomStreak++;
+            overStreak = 0;
+            if (headroomStreak >= RELAX_AFTER && level > 0) {
+                setLevel(level - 1);
+                relaxations++;
+                headroomStreak = 0;
+            }
+        } else {
+            overStreak = 0;
+            headroomStreak = 0;
+        }
+    }
+
+    private void setLevel(int newLevel) {
+        level = newLevel;
+        SoundManager.getInstance().setMaxEffectsPerWindow(EFFECTS_PER_WINDOW[level]);
+    }
+
+    /**
+     * Asks whether one more extra ball (multi-ball) may be spawned.
+     * @param currentBalls balls already in play
+     */
+    public boolean allowExtraBall(int currentBalls) {
+        if (currentBalls < BALL_CAP[level]) return true;
+        ballsRejected++;
+        return false;
+    }
+
+    /**
+     * Asks whether a new power-up drop should be spawned. While shedding, a drop is merged into
+     * an identical one already falling, and the number of falling drops is capped.
+     */
+    public boolean admitPowerUp(PowerUpType type, List<PowerUps> falling) {
+        if (level == 0) return true;
+        int live = 0;
+        for (int i = 0; i < falling.size(); i++) {
+            PowerUps p = falling.get(i);
+            if (p.isCollected()) continue;
+            live++;
+            if (p.getType() == type) {
+                powerUpsMerged++;
+                return false;
+            }
+        }
+        if (live >= FALLING_POWERUP_CAP[level]) {
+            powerUpsMerged++;
+            return false;
+        }
+        return true;
+    }
+
+    /** Drops back to level 0 and restores everything that was shed. */
+    public void reset() {
+        setLevel(0);
+        overStreak = 0;
+        headroomStreak = 0;
+        smoothedNanos = 0;
+        pendingUpdateNanos = 0;
+    }
+
+    /** Enables/disables shedding (measurements continue). Disabling restores level 0. */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) reset();
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int getLevel() { return level; }
+    public RenderDetail getRenderDetail() { return DETAIL[level]; }
+    public long getBudgetNanos() { return budgetNanos; }
+    public void setBudgetNanos(long budgetNanos) { this.budgetNanos = budgetNanos; }
+    public double getSmoothedFrameNanos() { return smoothedNanos; }
+
+    // Counters
+    public long getFramesMeasured() { return framesMeasured; }
+    public long getFramesOverBudget() { return framesOverBudget; }
+    public long getEscalations() { return escalations; }
+    public long getRelaxations() { return relaxations; }
+    public long getBallsRejected() { return ballsRejected; }
+    public long getPowerUpsMerged() { return powerUpsMerged; }
+    public long getEffectsDropped() { return SoundManager.getInstance().getDroppedEffects(); }
+}
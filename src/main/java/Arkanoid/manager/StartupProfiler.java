@@ -0,0 +1,155 @@
+package Arkanoid.manager;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the application's start-up phases and times them. Background phases run in parallel on
+ * daemon threads; phases that must stay on the FX thread are timed where they run, and instant
+ * events (such as the first frame) are marked. Each phase is printed as it ends, with its start
+ * relative to JVM launch, and {@link #finish} appends one summary line per launch to a log file so
+ * start-up regressions can be followed from run to run.
+ */
+public class StartupProfiler {
+    /** One timed phase or instant event, times in milliseconds since JVM launch. */
+    public static final class Phase {
+        private final String name;
+        private final String thread;
+        private final double startMillis;
+        private final double durationMillis;
+        private final boolean failed;
+
+        Phase(String name, String thread, double startMillis, double durationMillis, boolean failed) {
+            this.name = name;
+            this.thread = thread;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+            this.failed = failed;
+        }
+
+        public String getName() { return name; }
+        public String getThread() { return thread; }
+        public double getStartMillis() { return startMillis; }
+        public double getDurationMillis() { return durationMillis; }
+        public double getEndMillis() { return startMillis + durationMillis; }
+        public boolean isFailed() { return failed; }
+    }
+
+    private final long originNanos; // System.nanoTime() at JVM launch
+    private final ExecutorService workers;
+    private final List<Phase> phases = new ArrayList<>();
+    private boolean quiet;
+
+    public StartupProfiler() {
+        this(System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L);
+    }
+
+    /** @param originNanos {@link System#nanoTime()} that counts as time zero. */
+    StartupProfiler(long originNanos) {
+        this.originNanos = originNanos;
+        AtomicInteger threadId = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "startup-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Runs a phase on its own background thread, in parallel with the others. */
+    public <T> CompletableFuture<T> background(String name, Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> timed(name, work), workers);
+    }
+
+    /** Runs a phase on the calling thread (e.g. the FX thread) and times it. */
+    public void run(String name, Runnable work) {
+        timed(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Records an instant event, such as the first frame on screen. */
+    public void mark(String name) {
+        record(new Phase(name, Thread.currentThread().getName(), millisSinceLaunch(System.nanoTime()), 0, false));
+    }
+
+    private <T> T timed(String name, Supplier<T> work) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            record(new Phase(name, Thread.currentThread().getName(), millisSinceLaunch(start),
+                    (System.nanoTime() - start) / 1e6, failed));
+        }
+    }
+
+    private void record(Phase phase) {
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        if (!quiet) System.out.println("[startup] " + format(phase));
+    }
+
+    private double millisSinceLaunch(long nanos) {
+        return (nanos - originNanos) / 1e6;
+    }
+
+    private static String format(Phase phase) {
+        if (phase.getDurationMillis() == 0 && !phase.isFailed()) {
+            return String.format("%-16s at %7.1f ms", phase.getName(), phase.getStartMillis());
+        }
+        return String.format("%-16s %7.1f ms  (%.1f-%.1f ms, %s)%s", phase.getName(), phase.getDurationMillis(),
+                phase.getStartMillis(), phase.getEndMillis(), phase.getThread(), phase.isFailed() ? "  FAILED" : "");
+    }
+
+    /** Stops printing each phase (tests). */
+    void setQuiet(boolean quiet) { this.quiet = quiet; }
+
+    /** @return phases recorded so far, in the order they ended. */
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    /** @return one line: time, then each phase as name=end ms (duration ms). */
+    public String summary() {
+        StringBuilder sb = new StringBuilder(LocalDateTime.now().withNano(0).toString());
+        for (Phase phase : getPhases()) {
+            sb.append(String.format("  %s=%.0f", phase.getName().replace(' ', '_'), phase.getEndMillis()));
+            if (phase.getDurationMillis() > 0) sb.append(String.format(" (%.0f)", phase.getDurationMillis()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Ends start-up: background threads are released and {@link #summary()} is appended to the log.
+     * Phases timed later (views built lazily) are still printed.
+     */
+    public void finish(Path log) {
+        workers.shutdown();
+        String line = summary();
+        System.out.println("[startup] " + line);
+        try {
+            Files.writeString(log, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write startup log " + log + ": " + e.getMessage());
+        }
+    }
+}
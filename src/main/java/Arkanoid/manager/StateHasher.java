@@ -0,0 +1,140 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Ball;
+import Arkanoid.model.Brick;
+import Arkanoid.model.Bullet;
+import Arkanoid.model.Paddle;
+import Arkanoid.model.PowerUpType;
+import Arkanoid.model.PowerUps;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental 64-bit hash of the simulation state, used to prove that two runs (or two engine
+ * variants) stay in lockstep. Brick durability is hashed Zobrist-style: each (brick, state) pair
+ * has a fixed key and a hit or destroy event XORs the old key out and the new key in, so the brick
+ * part costs O(1) per event instead of O(bricks) per tick. Once per tick the brick hash is mixed
+ * with quantized ball/paddle/power-up/moving-brick/bullet positions, the time left on each active
+ * power-up and the scoreboard.
+ */
+public class StateHasher {
+    /** Default position quantum: 1/256 px, coarse enough to ignore float noise below it. */
+    public static final double DEFAULT_QUANTUM = 1.0 / 256.0;
+
+    private final double scale;
+    private final Map<Brick, Integer> indexOf = new IdentityHashMap<>();
+    private int[] brickState = new int[0];
+    private long brickHash;
+    private long tickHash;
+    private long tick;
+
+    public StateHasher() {
+        this(DEFAULT_QUANTUM);
+    }
+
+    /** @param quantum position resolution in pixels; differences below it are not observed */
+    public StateHasher(double quantum) {
+        this.scale = 1.0 / quantum;
+    }
+
+    /** Starts a new level: assigns every brick a Zobrist slot and hashes its current state. */
+    public void reset(List<Brick> bricks) {
+        indexOf.clear();
+        if (brickState.length < bricks.size()) brickState = new int[bricks.size()];
+        brickHash = 0;
+        for (int i = 0; i < bricks.size(); i++) {
+            Brick brick = bricks.get(i);
+            indexOf.put(brick, i);
+            brickState[i] = stateOf(brick);
+            brickHash ^= key(i, brickState[i]);
+        }
+    }
+
+    /** Drops all tracked bricks. */
+    public void clear() {
+        indexOf.clear();
+        brickHash = 0;
+    }
+
+    /** Call after hit()/destroy() on a brick; swaps its old state key for the new one. */
+    public void onBrickChanged(Brick brick) {
+        Integer index = indexOf.get(brick);
+        if (index == null) return;
+        int i = index;
+        int state = stateOf(brick);
+        if (state == brickState[i]) return;
+        brickHash ^= key(i, brickState[i]) ^ key(i, state);
+        brickState[i] = state;
+    }
+
+    /**
+     * Folds the dynamic state into the brick hash; call once at the end of every tick.
+     * @param activePowerUps expiry time of each active power-up, on the {@code nowMillis} clock
+     */
+    public long endTick(Paddle paddle, List<Ball> balls, List<PowerUps> powerUps, List<Brick> movingBricks,
+                        List<Bullet> bullets, Map<PowerUpType, Double> activePowerUps, double nowMillis,
+                        int score, int lives, int stateOrdinal) {
+        long h = mix(brickHash ^ tick);
+        h = mix(h ^ quantize(paddle.getX()));
+        h = mix(h ^ quantize(paddle.getWidth()));
+        for (int i = 0; i < balls.size(); i++) {
+            Ball ball = balls.get(i);
+            h = mix(h ^ quantize(ball.getX()));
+            h = mix(h ^ quantize(ball.getY()));
+            h = mix(h ^ quantize(ball.getVelocityX()));
+            h = mix(h ^ quantize(ball.getVelocityY()));
+        }
+        for (int i = 0; i < powerUps.size(); i++) {
+            PowerUps p = powerUps.get(i);
+            h = mix(h ^ quantize(p.getX()) ^ ((long) p.getType().ordinal() << 56));
+            h = mix(h ^ quantize(p.getY()));
+        }
+        for (int i = 0; i < movingBricks.size(); i++) {
+            Brick brick = movingBricks.get(i);
+            h = mix(h ^ quantize(brick.getX()));
+            h = mix(h ^ quantize(brick.getY()));
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            h = mix(h ^ quantize(bullet.getX()));
+            h = mix(h ^ quantize(bullet.getY()));
+        }
+        for (Map.Entry<PowerUpType, Double> entry : activePowerUps.entrySet()) {
+            h = mix(h ^ quantize(entry.getValue() - nowMillis) ^ ((long) entry.getKey().ordinal() << 56));
+        }
+        h = mix(h ^ balls.size() ^ ((long) bullets.size() << 16) ^ ((long) stateOrdinal << 32));
+        h = mix(h ^ score ^ ((long) lives << 40));
+        tickHash = h;
+        tick++;
+        return h;
+    }
+
+    /** @return hash of the last completed tick. */
+    public long getTickHash() { return tickHash; }
+    /** @return Zobrist hash of brick durability only. */
+    public long getBrickHash() { return brickHash; }
+    /** @return number of ticks hashed since creation. */
+    public long getTickCount() { return tick; }
+
+    private long quantize(double v) {
+        return Math.round(v * scale);
+    }
+
+    private static int stateOf(Brick brick) {
+        return brick.isDestroyed() ? 0 : brick.getHitsRemaining() + 1;
+    }
+
+    // Fixed key per (slot, state); computed rather than tabled so any level size works
+    private static long key(int index, int state) {
+        return mix(((long) index << 8 | (state & 0xFF)) + 0x9E3779B97F4A7C15L);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,7 +1,7 @@
 package Arkanoid.model;
 
+import Arkanoid.renderer.DrawSurface;
 import Arkanoid.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.RadialGradient;
 import javafx.scene.paint.CycleMethod;
@@ -12,18 +12,33 @@ import javafx.scene.paint.Stop;
   * Can stick to the paddle before launch and supports speed modifiers via power-ups.
   */
  public class Ball extends MoveableObject {
+    // Paints are immutable; built once instead of on every render
+    private static final RadialGradient NORMAL_GRADIENT = new RadialGradient(
+            0, 0, 0.3, 0.3, 0.5, true, CycleMethod.NO_CYCLE,
+            new Stop(0, Color.WHITE), new Stop(1, Constants.BALL_COLOR));
+    private static final RadialGradient FIREBALL_GRADIENT = new RadialGradient(
+            0, 0, 0.3, 0.3, 0.5, true, CycleMethod.NO_CYCLE,
+            new Stop(0, Color.WHITE), new Stop(1, Constants.BALL_FIREBALL_COLOR));
+
     private final int radius;
     private boolean stuck;
     private Paddle paddle;
     private double smoothX;
     private double smoothY;
+    // Position at the start of the last update, used for swept brick collision
+    private double prevX;
+    private double prevY;
+    // FIREBALL power-up: pierces breakable bricks instead of bouncing
+    private boolean fireball;
+    // Slot in BallTrails, reused by the next ball once this one is gone
+    private int trailSlot = -1;
     // Base speed for this ball (can vary per level)
     private double baseSpeed = Constants.BALL_SPEED;
 
     public Ball(Paddle paddle) {
         super(
-                Constants.WINDOW_WIDTH / 2.0,
-                Constants.PADDLE_Y - Constants.BALL_RADIUS,
+                paddle.getWorld().getWidth() / 2.0,
+                paddle.getWorld().getPaddleY() - Constants.BALL_RADIUS,
                 Constants.BALL_RADIUS * 2,
                 Constants.BALL_RADIUS * 2,
                 Constants.BALL_SPEED
@@ -33,6 +48,8 @@ import javafx.scene.paint.Stop;
         this.paddle = paddle;
         this.smoothX = x;
         this.smoothY = y;
+        this.prevX = x;
+        this.prevY = y;
     this.baseSpeed = Constants.BALL_SPEED;
     }
 
@@ -45,12 +62,16 @@ import javafx.scene.paint.Stop;
     @Override
     /** Updates the ball movement and handles wall collision using delta time (seconds). */
     public void update(double deltaTime) {
+        prevX = smoothX;
+        prevY = smoothY;
         if (stuck) {
             // Ball sticks to paddle
             x = paddle.getCenterX() - radius;
             y = paddle.getY() - radius * 2;
             smoothX = x;
             smoothY = y;
+            prevX = x;
+            prevY = y;
         } else {
             // Smooth movement with delta time
             double speedMultiplier = deltaTime * 60.0; // 60 FPS equivalent
@@ -65,19 +86,17 @@ import javafx.scene.paint.Stop;
 
     @Override
     /** Draws the ball with a radial gradient effect. */
-    public void render(GraphicsContext gc) {
-        // Create a radial gradient for a 3D effect
-        RadialGradient gradient = new RadialGradient(
-                0, 0, 0.3, 0.3, 0.5, true, CycleMethod.NO_CYCLE,
-                new Stop(0, Color.WHITE),
-                new Stop(1, Constants.BALL_COLOR)
-        );
-
-        gc.setFill(gradient);
+    public void render(DrawSurface gc) {
+        gc.setFill(gradient(fireball));
         gc.fillOval(x, y, radius * 2, radius * 2);
     }
 
-    /** Handles collisions with window bounds; bounces and clamps position. */
+    /** @return the shared 3D-effect radial gradient (proportional, so any ball size can use it). */
+    public static RadialGradient gradient(boolean fireball) {
+        return fireball ? FIREBALL_GRADIENT : NORMAL_GRADIENT;
+    }
+
+    /** Handles collisions with the world bounds; bounces and clamps position. */
     private void checkWallCollision() {
         // Left and right walls
         if (smoothX <= 0) {
@@ -85,8 +104,9 @@ import javafx.scene.paint.Stop;
             velocityX = Math.abs(velocityX);
             Arkanoid.audio.SoundManager.getInstance().playSound("effect_wall");
         }
-        if (smoothX + radius * 2 >= Constants.WINDOW_WIDTH) {
-            smoothX = Constants.WINDOW_WIDTH - radius * 2;
+        double worldWidth = paddle.getWorld().getWidth();
+        if (smoothX + radius * 2 >= worldWidth) {
+            smoothX = worldWidth - radius * 2;
             velocityX = -Math.abs(velocityX);
             Arkanoid.audio.SoundManager.getInstance().playSound("effect_wall");
         }
@@ -106,10 +126,15 @@ import javafx.scene.paint.Stop;
      * Launches the ball from the paddle if currently stuck, with a random upward angle.
      */
     public void launch() {
+        // Launch at random angle upward
+        launch(-60 - Math.random() * 60);
+    }
+
+    /** Launches the ball from the paddle if currently stuck, at the given angle in degrees. */
+    public void launch(double angleDegrees) {
         if (stuck) {
             stuck = false;
-            // Launch at random angle upward
-            double angle = Math.toRadians(-60 - Math.random() * 60);
+            double angle = Math.toRadians(angleDegrees);
             velocityX = speed * Math.cos(angle);
             velocityY = speed * Math.sin(angle);
         }
@@ -174,9 +199,9 @@ import javafx.scene.paint.Stop;
         }
     }
 
-    /** True if the ball has fallen below the bottom of the window. */
+    /** True if the ball has fallen below the bottom of the world. */
     public boolean isOutOfBounds() {
-        return y > Constants.WINDOW_HEIGHT;
+        return y > paddle.getWorld().getHeight();
     }
 
     /** True if the ball is currently stuck to the paddle. */
@@ -194,6 +219,14 @@ import javafx.scene.paint.Stop;
         this.stuck = stuck;
     }
 
+    int getTrailSlot() {
+        return trailSlot;
+    }
+
+    void setTrailSlot(int trailSlot) {
+        this.trailSlot = trailSlot;
+    }
+
     /** Returns the smoothed X used for sub-frame integration. */
     public double getSmoothX() {
         return smoothX;
@@ -224,6 +257,26 @@ import javafx.scene.paint.Stop;
         updateVelocity();
     }
 
+    /** Returns x at the start of the last update (equals x while stuck). */
+    public double getPrevX() {
+        return prevX;
+    }
+
+    /** Returns y at the start of the last update (equals y while stuck). */
+    public double getPrevY() {
+        return prevY;
+    }
+
+    /** True while the FIREBALL power-up makes this ball pierce breakable bricks. */
+    public boolean isFireball() {
+        return fireball;
+    }
+
+    /** Enables or disables piercing (FIREBALL power-up). */
+    public void setFireball(boolean fireball) {
+        this.fireball = fireball;
+    }
+
     /** Returns the level-defined base speed. */
     public double getBaseSpeed() {
         return baseSpeed;
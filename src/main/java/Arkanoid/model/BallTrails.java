@@ -0,0 +1,184 @@
+package Arkanoid.model;
+
+import Arkanoid.renderer.DrawSurface;
+import Arkanoid.util.Constants;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineCap;
+
+import java.util.List;
+
+/**
+ * Motion trails behind balls. Every ball owns a slot in one preallocated block of fixed-size ring
+ * buffers holding its last smoothed center positions. Slots whose ball was not seen in a tick
+ * return to a free list and are handed to the next new ball, so removing and re-spawning balls
+ * (multi-ball, life lost, level change) never allocates. Rendering strokes the same segment age
+ * of every trail in one path, so the number of strokes depends on the trail length, not on the
+ * number of balls.
+ */
+public class BallTrails {
+    /** Balls that can have a trail at once; extra balls simply get none. */
+    public static final int MAX_TRAILS = 256;
+    /** Positions kept per trail. */
+    public static final int LENGTH = 10;
+
+    private static final double MAX_WIDTH = Constants.BALL_RADIUS * 1.2;
+
+    private final double[] xs = new double[MAX_TRAILS * LENGTH];
+    private final double[] ys = new double[MAX_TRAILS * LENGTH];
+    private final int[] head = new int[MAX_TRAILS];  // index of the newest point
+    private final int[] size = new int[MAX_TRAILS];
+    private final Ball[] owner = new Ball[MAX_TRAILS];
+    private final long[] seenTick = new long[MAX_TRAILS];
+    private final int[] freeSlots = new int[MAX_TRAILS];
+    private int freeCount;
+    private long tick;
+
+    // Slots in use, compacted each tick
+    private final int[] active = new int[MAX_TRAILS];
+    private int activeCount;
+
+    // One stroke color per segment age: older segments are fainter
+    private final Color[] normalColors = new Color[LENGTH];
+    private final Color[] fireColors = new Color[LENGTH];
+
+    // Bounds of every recorded point, for dirty-region tracking
+    private double minX, minY, maxX, maxY;
+
+    public BallTrails() {
+        for (int i = 0; i < MAX_TRAILS; i++) freeSlots[i] = MAX_TRAILS - 1 - i;
+        freeCount = MAX_TRAILS;
+        for (int age = 0; age < LENGTH; age++) {
+            double alpha = 0.45 * (LENGTH - age) / LENGTH;
+            normalColors[age] = fade(Constants.BALL_COLOR, alpha);
+            fireColors[age] = fade(Constants.BALL_FIREBALL_COLOR, alpha);
+        }
+    }
+
+    /** Appends each ball's current center to its trail and frees the slots of balls that are gone. */
+    public void record(List<Ball> balls) {
+        tick++;
+        for (int i = 0; i < balls.size(); i++) {
+            Ball ball = balls.get(i);
+            int slot = ball.getTrailSlot();
+            if (slot < 0 || owner[slot] != ball) {
+                slot = acquire(ball);
+                if (slot < 0) continue; // all slots taken: no trail for this ball
+            }
+            seenTick[slot] = tick;
+            int h = (head[slot] + 1) % LENGTH;
+            head[slot] = h;
+            xs[slot * LENGTH + h] = ball.getSmoothX() + ball.getRadius();
+            ys[slot * LENGTH + h] = ball.getSmoothY() + ball.getRadius();
+            if (size[slot] < LENGTH) size[slot]++;
+        }
+        releaseUnseen();
+    }
+
+    /** Frees every trail (level change). */
+    public void clear() {
+        for (int a = 0; a < activeCount; a++) release(active[a]);
+        activeCount = 0;
+    }
+
+    private int acquire(Ball ball) {
+        if (freeCount == 0) return -1;
+        int slot = freeSlots[--freeCount];
+        owner[slot] = ball;
+        size[slot] = 0;
+        head[slot] = 0;
+        ball.setTrailSlot(slot);
+        active[activeCount++] = slot;
+        return slot;
+    }
+
+    private void releaseUnseen() {
+        int kept = 0;
+        for (int a = 0; a < activeCount; a++) {
+            int slot = active[a];
+            if (seenTick[slot] == tick) {
+                active[kept++] = slot;
+            } else {
+                release(slot);
+            }
+        }
+        activeCount = kept;
+    }
+
+    private void release(int slot) {
+        if (owner[slot] != null && owner[slot].getTrailSlot() == slot) owner[slot].setTrailSlot(-1);
+        owner[slot] = null;
+        size[slot] = 0;
+        freeSlots[freeCount++] = slot;
+    }
+
+    /** @return number of balls that currently have a trail. */
+    public int getActiveCount() { return activeCount; }
+
+    /** @return slots available for new balls. */
+    public int getFreeCount() { return freeCount; }
+
+    /** @return points currently stored for the ball's trail (0 if it has none). */
+    public int getLength(Ball ball) {
+        int slot = ball.getTrailSlot();
+        return slot >= 0 && owner[slot] == ball ? size[slot] : 0;
+    }
+
+    /**
+     * Draws every trail as fading, tapering segments: one stroke per (segment age, ball kind).
+     * Updates the bounds reported by {@link #getMinX()} and friends.
+     */
+    public void render(DrawSurface gc) {
+        minX = minY = Double.MAX_VALUE;
+        maxX = maxY = -Double.MAX_VALUE;
+        if (activeCount == 0) return;
+        gc.setLineCap(StrokeLineCap.BUTT);
+        for (int age = 0; age < LENGTH - 1; age++) {
+            gc.setLineWidth(MAX_WIDTH * (LENGTH - age) / LENGTH);
+            strokeAge(gc, age, false);
+            strokeAge(gc, age, true);
+        }
+        gc.setLineCap(StrokeLineCap.SQUARE);
+    }
+
+    // Segment between the point 'age' steps old and the one before it, for every trail at once
+    private void strokeAge(DrawSurface gc, int age, boolean fireball) {
+        boolean any = false;
+        for (int a = 0; a < activeCount; a++) {
+            int slot = active[a];
+            if (size[slot] < age + 2 || owner[slot].isFireball() != fireball) continue;
+            int base = slot * LENGTH;
+            int newer = base + (head[slot] - age + LENGTH) % LENGTH;
+            int older = base + (head[slot] - age - 1 + LENGTH) % LENGTH;
+            if (!any) {
+                gc.setStroke(fireball ? fireColors[age] : normalColors[age]);
+                gc.beginPath();
+                any = true;
+            }
+            gc.moveTo(xs[newer], ys[newer]);
+            gc.lineTo(xs[older], ys[older]);
+            include(xs[newer], ys[newer]);
+            include(xs[older], ys[older]);
+        }
+        if (any) gc.stroke();
+    }
+
+    /** Bounds of the segments drawn by the last render, widened by the stroke width. */
+    public double getMinX() { return minX - MAX_WIDTH; }
+    public double getMinY() { return minY - MAX_WIDTH; }
+    public double getMaxX() { return maxX + MAX_WIDTH; }
+    public double getMaxY() { return maxY + MAX_WIDTH; }
+
+    /** @return true if the last render drew anything. */
+    public boolean hasBounds() { return maxX >= minX; }
+
+    private void include(double px, double py) {
+        if (px < minX) minX = px;
+        if (py < minY) minY = py;
+        if (px > maxX) maxX = px;
+        if (py > maxY) maxY = py;
+    }
+
+    private static Color fade(Color c, double alpha) {
+        return Color.color(c.getRed(), c.getGreen(), c.getBlue(), alpha);
+    }
+}
@@ -1,6 +1,6 @@
 package Arkanoid.model;
 
-import javafx.scene.canvas.GraphicsContext;
+import Arkanoid.renderer.DrawSurface;
 import javafx.scene.paint.Color;
 
 /**
@@ -36,7 +36,7 @@ public class Brick extends GameObject {
     }
     
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(DrawSurface gc) {
         if (destroyed) return;
 
         // Default fallback if renderer image not used
@@ -85,14 +85,33 @@ public class Brick extends GameObject {
         return false;
     }
     
+    /**
+     * Destroys this brick regardless of remaining hits (piercing FIREBALL).
+     * @return true if the brick was breakable and not already destroyed
+     */
+    public boolean destroy() {
+        if (type == BrickType.UNBREAKABLE || destroyed) {
+            return false;
+        }
+        hitsRemaining = 0;
+        destroyed = true;
+        return true;
+    }
+
     /** @return true if this brick has been destroyed. */
     public boolean isDestroyed() {
         return destroyed;
     }
 
+    /** @return hits left before the brick breaks. */
+    public int getHitsRemaining() { return hitsRemaining; }
+
     /** @return true if the brick is damaged but not destroyed (used for HARD). */
     public boolean isDamaged() { return damaged; }
     
+    /** @return current fill color (darkens after a HARD brick is damaged). */
+    public Color getColor() { return color; }
+
     /** @return the brick type controlling durability and score. */
     public BrickType getType() {
         return type;
@@ -1,7 +1,8 @@
 package Arkanoid.model;
 
+import Arkanoid.manager.AssetManager;
+import Arkanoid.renderer.DrawSurface;
 import Arkanoid.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 
@@ -11,23 +12,15 @@ public class Bullet extends MoveableObject {
     private static final double WIDTH = 24.0; // x2 size
     private static final double HEIGHT = 48.0; // x2 size
 
-    private static Image ROCKET_IMG;
+    /** Rocket sprite, decoded by the {@link AssetManager} at {@link #ROCKET_WIDTH} x {@link #ROCKET_HEIGHT}. */
+    public static final String ROCKET_IMAGE = "/images/powerup/rocket.png";
+    public static final double ROCKET_WIDTH = WIDTH;
+    public static final double ROCKET_HEIGHT = HEIGHT;
 
     public Bullet(double x, double y) {
         super(x, y, WIDTH, HEIGHT, BULLET_SPEED);
         this.velocityX = 0;
         this.velocityY = -BULLET_SPEED;
-
-        // Lazy-load rocket image once
-        if (ROCKET_IMG == null) {
-            try {
-                var stream = Bullet.class.getResourceAsStream("/images/powerup/rocket.png");
-                if (stream != null) {
-                    ROCKET_IMG = new Image(stream, WIDTH, HEIGHT, false, true);
-                    stream.close();
-                }
-            } catch (Exception ignored) {}
-        }
     }
 
     @Override
@@ -39,9 +32,10 @@ public class Bullet extends MoveableObject {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
-        if (ROCKET_IMG != null) {
-            gc.drawImage(ROCKET_IMG, x, y, width, height);
+    public void render(DrawSurface gc) {
+        Image rocket = AssetManager.getInstance().get(ROCKET_IMAGE, (int) WIDTH, (int) HEIGHT);
+        if (rocket != null) {
+            gc.drawImage(rocket, x, y, width, height);
         } else {
             gc.setFill(Color.PURPLE);
             gc.fillRect(x, y, width, height);
@@ -49,7 +43,12 @@ public class Bullet extends MoveableObject {
     }
 
     public boolean isOutOfBounds() {
-        return y + height < 0 || y > Constants.WINDOW_HEIGHT;
+        return isOutOfBounds(Constants.WINDOW_HEIGHT);
+    }
+
+    /** @return true once the rocket left a world of the given height. */
+    public boolean isOutOfBounds(double worldHeight) {
+        return y + height < 0 || y > worldHeight;
     }
 }
 
@@ -1,7 +1,7 @@
 package Arkanoid.model;
 
+import Arkanoid.renderer.DrawSurface;
 import javafx.geometry.Bounds;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.shape.Rectangle;
 
 /**
@@ -29,9 +29,9 @@ public abstract class GameObject {
      */
     public abstract void update(double deltaTime);
     /**
-     * Renders the object to the given graphics context.
+     * Renders the object to the given surface.
      */
-    public abstract void render(GraphicsContext gc);
+    public abstract void render(DrawSurface gc);
 
     /**
      * Checks whether this object overlaps the given object by comparing bounds.
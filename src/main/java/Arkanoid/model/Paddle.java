@@ -1,7 +1,7 @@
 package Arkanoid.model;
 
+import Arkanoid.renderer.DrawSurface;
 import Arkanoid.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
@@ -12,11 +12,18 @@ public class Paddle extends MoveableObject {
     private boolean movingLeft;
     private boolean movingRight;
     private double smoothX;  // For smooth interpolation
+    private final World world;
 
+    /** Paddle on a window-sized world. */
     public Paddle() {
+        this(new World());
+    }
+
+    /** Paddle on the given world; it rides the world's paddle line, centred until moved. */
+    public Paddle(World world) {
         super(
-                Constants.WINDOW_WIDTH / 2.0 - Constants.PADDLE_WIDTH / 2.0,
-                Constants.PADDLE_Y,
+                world.getWidth() / 2.0 - Constants.PADDLE_WIDTH / 2.0,
+                world.getPaddleY(),
                 Constants.PADDLE_WIDTH,
                 Constants.PADDLE_HEIGHT,
                 Constants.PADDLE_SPEED
@@ -25,6 +32,7 @@ public class Paddle extends MoveableObject {
         this.movingLeft = false;
         this.movingRight = false;
         this.smoothX = x;
+        this.world = world;
     }
 
     /**
@@ -62,8 +70,8 @@ public class Paddle extends MoveableObject {
             smoothX = 0;
             velocityX = 0;
         }
-        if (smoothX + width > Constants.WINDOW_WIDTH) {
-            smoothX = Constants.WINDOW_WIDTH - width;
+        if (smoothX + width > world.getWidth()) {
+            smoothX = world.getWidth() - width;
             velocityX = 0;
         }
 
@@ -75,7 +83,7 @@ public class Paddle extends MoveableObject {
      * Renders the paddle with a subtle highlight for depth.
      */
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(DrawSurface gc) {
         gc.setFill(Constants.PADDLE_COLOR);
         gc.fillRoundRect(x, y, width, height, 5, 5);
 
@@ -103,13 +111,18 @@ public class Paddle extends MoveableObject {
     public void reset() {
         //fix: changed order to ensure the width is reset first before calculations
         width = initialWidth;
-        x = Constants.WINDOW_WIDTH / 2.0 - width / 2.0;
-        y = Constants.PADDLE_Y;
+        x = world.getWidth() / 2.0 - width / 2.0;
+        y = world.getPaddleY();
         smoothX = x;
         velocityX = 0;
     }
 
     // Getters and setters
+    /** @return the play area this paddle (and the balls riding it) is confined to. */
+    public World getWorld() {
+        return world;
+    }
+
     /** Starts/stops moving left when held/released. */
     public void setMovingLeft(boolean movingLeft) {
         this.movingLeft = movingLeft;
@@ -0,0 +1,210 @@
+package Arkanoid.model;
+
+import Arkanoid.renderer.DrawSurface;
+import javafx.scene.paint.Color;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Short-lived visual particles (brick debris, bounce sparks, rocket exhaust) stored in
+ * preallocated parallel arrays. Dead particles are swap-removed with the last live one, spawning
+ * past the budget is dropped, and rendering sorts particles into (color, fade step) buckets so
+ * each bucket costs one fill change. Nothing is allocated per particle or per frame.
+ * Particles are cosmetic: they never touch the simulation or its random source.
+ */
+public class ParticleSystem {
+    /** Hard capacity of the arrays. */
+    public static final int CAPACITY = 4096;
+    /** Discrete fade steps; each (color, step) pair has a prebuilt paint. */
+    static final int ALPHA_STEPS = 8;
+    private static final int MAX_COLORS = 32;
+    private static final double DEBRIS_GRAVITY = 600;
+
+    private final double[] x = new double[CAPACITY];
+    private final double[] y = new double[CAPACITY];
+    private final double[] vx = new double[CAPACITY];
+    private final double[] vy = new double[CAPACITY];
+    private final double[] life = new double[CAPACITY];
+    private final double[] maxLife = new double[CAPACITY];
+    private final double[] size = new double[CAPACITY];
+    private final double[] gravity = new double[CAPACITY];
+    private final int[] color = new int[CAPACITY];
+    private int count;
+    private int budget = CAPACITY;
+    private long dropped;
+
+    // Palette: each registered color with ALPHA_STEPS faded variants
+    private final Map<Color, Integer> colorIndex = new HashMap<>();
+    private final Color[] palette = new Color[MAX_COLORS * ALPHA_STEPS];
+    private int colorCount;
+
+    // Render scratch: counting sort by palette key
+    private final int[] bucketStart = new int[MAX_COLORS * ALPHA_STEPS + 1];
+    private final int[] order = new int[CAPACITY];
+    private final int[] keys = new int[CAPACITY];
+
+    // Bounds of live particles after the last update/spawn
+    private double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+    private double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+
+    private final Random random = new Random(0x5EED);
+
+    /** Limits live particles (e.g. lowered while shedding load); extra spawns are dropped. */
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(CAPACITY, budget));
+    }
+
+    public int getBudget() { return budget; }
+    public int getCount() { return count; }
+    /** @return particles refused because the budget was full. */
+    public long getDropped() { return dropped; }
+
+    /** Debris falling from a destroyed brick, spread over its area. */
+    public void burst(Brick brick, int particles) {
+        int c = indexOf(brick.getColor());
+        for (int i = 0; i < particles; i++) {
+            double px = brick.getX() + random.nextDouble() * brick.getWidth();
+            double py = brick.getY() + random.nextDouble() * brick.getHeight();
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = 40 + random.nextDouble() * 160;
+            spawn(px, py, Math.cos(angle) * speed, Math.sin(angle) * speed - 80,
+                    0.5 + random.nextDouble() * 0.5, 2 + random.nextDouble() * 3, DEBRIS_GRAVITY, c);
+        }
+    }
+
+    /** Quick sparks where a ball bounced, thrown away from the surface along (nx, ny). */
+    public void sparks(double px, double py, double nx, double ny, int particles) {
+        int white = indexOf(Color.WHITE);
+        int yellow = indexOf(Color.GOLD);
+        for (int i = 0; i < particles; i++) {
+            double angle = Math.atan2(ny, nx) + (random.nextDouble() - 0.5) * 1.6;
+            double speed = 80 + random.nextDouble() * 180;
+            spawn(px, py, Math.cos(angle) * speed, Math.sin(angle) * speed,
+                    0.15 + random.nextDouble() * 0.2, 1.5 + random.nextDouble() * 1.5, 0, i % 2 == 0 ? white : yellow);
+        }
+    }
+
+    /** Exhaust puff trailing a rocket, emitted from its tail. */
+    public void exhaust(Bullet bullet) {
+        int c = indexOf(random.nextBoolean() ? Color.ORANGE : Color.ORANGERED);
+        double px = bullet.getX() + bullet.getWidth() / 2 + (random.nextDouble() - 0.5) * 6;
+        double py = bullet.getY() + bullet.getHeight();
+        spawn(px, py, (random.nextDouble() - 0.5) * 40, 60 + random.nextDouble() * 60,
+                0.2 + random.nextDouble() * 0.15, 2 + random.nextDouble() * 2, 0, c);
+    }
+
+    private void spawn(double px, double py, double pvx, double pvy, double lifetime, double s, double g, int c) {
+        if (count >= budget) {
+            dropped++;
+            return;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        life[i] = lifetime;
+        maxLife[i] = lifetime;
+        size[i] = s;
+        gravity[i] = g;
+        color[i] = c;
+        includeInBounds(px, py, s);
+    }
+
+    /** Advances every particle and swap-removes the expired ones. */
+    public void update(double deltaTime) {
+        minX = minY = Double.MAX_VALUE;
+        maxX = maxY = -Double.MAX_VALUE;
+        int i = 0;
+        while (i < count) {
+            life[i] -= deltaTime;
+            if (life[i] <= 0) {
+                removeAt(i);
+                continue; // the swapped-in particle is processed at the same index
+            }
+            vy[i] += gravity[i] * deltaTime;
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+            includeInBounds(x[i], y[i], size[i]);
+            i++;
+        }
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        gravity[i] = gravity[last];
+        color[i] = color[last];
+    }
+
+    /** Removes every particle (level change). */
+    public void clear() {
+        count = 0;
+        minX = minY = Double.MAX_VALUE;
+        maxX = maxY = -Double.MAX_VALUE;
+    }
+
+    /** Draws all particles in one pass, one fill change per (color, fade step) bucket. */
+    public void render(DrawSurface gc) {
+        if (count == 0) return;
+        int buckets = colorCount * ALPHA_STEPS;
+        java.util.Arrays.fill(bucketStart, 0, buckets + 1, 0);
+        for (int i = 0; i < count; i++) {
+            int step = (int) Math.ceil(life[i] / maxLife[i] * ALPHA_STEPS) - 1;
+            int key = color[i] * ALPHA_STEPS + Math.max(0, Math.min(ALPHA_STEPS - 1, step));
+            keys[i] = key;
+            bucketStart[key + 1]++;
+        }
+        for (int k = 0; k < buckets; k++) bucketStart[k + 1] += bucketStart[k];
+        for (int i = 0; i < count; i++) order[bucketStart[keys[i]]++] = i;
+        // bucketStart[k] now marks the end of bucket k
+        int start = 0;
+        for (int k = 0; k < buckets; k++) {
+            int end = bucketStart[k];
+            if (end == start) continue;
+            gc.setFill(palette[k]);
+            for (int j = start; j < end; j++) {
+                int i = order[j];
+                double s = size[i];
+                gc.fillRect(x[i] - s / 2, y[i] - s / 2, s, s);
+            }
+            start = end;
+        }
+    }
+
+    /** Bounds of the live particles, including their size; meaningless while count is 0. */
+    public double getMinX() { return minX; }
+    public double getMinY() { return minY; }
+    public double getMaxX() { return maxX; }
+    public double getMaxY() { return maxY; }
+
+    private void includeInBounds(double px, double py, double s) {
+        double h = s / 2;
+        if (px - h < minX) minX = px - h;
+        if (py - h < minY) minY = py - h;
+        if (px + h > maxX) maxX = px + h;
+        if (py + h > maxY) maxY = py + h;
+    }
+
+    // Palette slot for a color, created on first use; the last slot is reused once full
+    private int indexOf(Color c) {
+        Integer index = colorIndex.get(c);
+        if (index != null) return index;
+        if (colorCount == MAX_COLORS) return MAX_COLORS - 1;
+        int slot = colorCount++;
+        for (int step = 0; step < ALPHA_STEPS; step++) {
+            palette[slot * ALPHA_STEPS + step] = Color.color(c.getRed(), c.getGreen(), c.getBlue(),
+                    c.getOpacity() * (step + 1) / ALPHA_STEPS);
+        }
+        colorIndex.put(c, slot);
+        return slot;
+    }
+}
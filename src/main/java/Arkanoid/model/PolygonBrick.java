@@ -0,0 +1,302 @@
+package Arkanoid.model;
+
+import Arkanoid.renderer.DrawSurface;
+import javafx.scene.paint.Color;
+
+/**
+ * A brick with an arbitrary convex outline (e.g., a rotated rectangle or a triangle) placed
+ * freely instead of on the brick lattice. The inherited x/y/width/height hold the polygon's
+ * axis-aligned bounds so generic bounds checks keep working; exact ball collisions use the
+ * closest point on the outline (or the minimum-penetration edge when the centre is inside).
+ * Can optionally oscillate like {@link MovingBrick}.
+ */
+public class PolygonBrick extends Brick {
+    // Vertices relative to the anchor, counter-clockwise in math orientation (positive area)
+    private final double[] localX;
+    private final double[] localY;
+    // Outward unit normal of edge i (vertex i -> i+1); translation never changes them
+    private final double[] normalX;
+    private final double[] normalY;
+    private final double[] worldX;
+    private final double[] worldY;
+    private final int count;
+
+    private double anchorX;
+    private double anchorY;
+
+    // Optional oscillation (same semantics as MovingBrick)
+    private final MovingBrick.Axis axis;
+    private final double speed;
+    private final double range;
+    private final double originX;
+    private final double originY;
+    private double dir = 1.0;
+
+    public PolygonBrick(double anchorX, double anchorY, double[] xs, double[] ys, double rotationDeg,
+                        BrickType type, Color color) {
+        this(anchorX, anchorY, xs, ys, rotationDeg, type, color, null, 0, 0);
+    }
+
+    /**
+     * @param anchorX  world x the local vertices are relative to (usually the shape centre)
+     * @param xs       local vertex x coordinates (convex, any winding)
+     * @param rotationDeg rotation applied to the local vertices around the anchor
+     * @param axis     oscillation axis, or null for a static brick
+     */
+    public PolygonBrick(double anchorX, double anchorY, double[] xs, double[] ys, double rotationDeg,
+                        BrickType type, Color color, MovingBrick.Axis axis, double speed, double range) {
+        super(anchorX, anchorY, 0, 0, type, color);
+        if (xs.length != ys.length || xs.length < 3) {
+            throw new IllegalArgumentException("Polygon brick needs at least 3 vertices");
+        }
+        this.count = xs.length;
+        this.localX = new double[count];
+        this.localY = new double[count];
+        this.normalX = new double[count];
+        this.normalY = new double[count];
+        this.worldX = new double[count];
+        this.worldY = new double[count];
+
+        double cos = Math.cos(Math.toRadians(rotationDeg));
+        double sin = Math.sin(Math.toRadians(rotationDeg));
+        double area = 0;
+        for (int i = 0; i < count; i++) {
+            localX[i] = xs[i] * cos - ys[i] * sin;
+            localY[i] = xs[i] * sin + ys[i] * cos;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = (i + 1) % count;
+            area += localX[i] * localY[j] - localX[j] * localY[i];
+        }
+        if (area < 0) reverse(localX, localY);
+
+        for (int i = 0; i < count; i++) {
+            int j = (i + 1) % count;
+            double ex = localX[j] - localX[i];
+            double ey = localY[j] - localY[i];
+            double len = Math.sqrt(ex * ex + ey * ey);
+            normalX[i] = ey / len;
+            normalY[i] = -ex / len;
+        }
+
+        this.axis = axis;
+        this.speed = Math.max(0, speed);
+        this.range = Math.max(0, range);
+        this.originX = anchorX;
+        this.originY = anchorY;
+        moveAnchorTo(anchorX, anchorY);
+    }
+
+    /** Convenience factory for a (possibly rotated) rectangle centred on (cx, cy). */
+    public static PolygonBrick rectangle(double cx, double cy, double w, double h, double rotationDeg,
+                                         BrickType type, Color color, MovingBrick.Axis axis,
+                                         double speed, double range) {
+        double hw = w / 2.0;
+        double hh = h / 2.0;
+        return new PolygonBrick(cx, cy,
+                new double[] {-hw, hw, hw, -hw},
+                new double[] {-hh, -hh, hh, hh},
+                rotationDeg, type, color, axis, speed, range);
+    }
+
+    private static void reverse(double[] xs, double[] ys) {
+        for (int i = 0, j = xs.length - 1; i < j; i++, j--) {
+            double tx = xs[i]; xs[i] = xs[j]; xs[j] = tx;
+            double ty = ys[i]; ys[i] = ys[j]; ys[j] = ty;
+        }
+    }
+
+    /** Moves the shape so its anchor sits at (ax, ay) and refreshes world vertices and bounds. */
+    private void moveAnchorTo(double ax, double ay) {
+        anchorX = ax;
+        anchorY = ay;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            worldX[i] = ax + localX[i];
+            worldY[i] = ay + localY[i];
+            minX = Math.min(minX, worldX[i]);
+            minY = Math.min(minY, worldY[i]);
+            maxX = Math.max(maxX, worldX[i]);
+            maxY = Math.max(maxY, worldY[i]);
+        }
+        x = minX;
+        y = minY;
+        width = maxX - minX;
+        height = maxY - minY;
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        if (axis == null || speed <= 0 || range <= 0) return;
+
+        double step = speed * deltaTime * dir;
+        double nextX = anchorX;
+        double nextY = anchorY;
+        if (axis == MovingBrick.Axis.HORIZONTAL) {
+            if (Math.abs(anchorX + step - originX) > range) dir *= -1;
+            nextX = anchorX + speed * deltaTime * dir;
+        } else {
+            if (Math.abs(anchorY + step - originY) > range) dir *= -1;
+            nextY = anchorY + speed * deltaTime * dir;
+        }
+        moveAnchorTo(nextX, nextY);
+    }
+
+    /** @return true if this brick moves and its bounds must be refit every tick. */
+    public boolean isMoving() {
+        return axis != null && speed > 0 && range > 0;
+    }
+
+    /** Translates the shape so its bounds start at x. */
+    @Override
+    public void setX(double x) {
+        moveAnchorTo(anchorX + (x - this.x), anchorY);
+    }
+
+    /** Translates the shape so its bounds start at y. */
+    @Override
+    public void setY(double y) {
+        moveAnchorTo(anchorX, anchorY + (y - this.y));
+    }
+
+    /**
+     * Circle vs convex polygon using the closest point on the outline; when the centre is
+     * inside, falls back to the edge of minimum penetration (SAT over the edge normals).
+     * @param out receives {normalX, normalY, depth} pointing from the polygon towards the circle
+     * @return true if the circle overlaps the polygon
+     */
+    public boolean collideCircle(double cx, double cy, double r, double[] out) {
+        boolean inside = true;
+        double bestDistSq = Double.POSITIVE_INFINITY;
+        double bestPx = 0, bestPy = 0;
+        double minPen = Double.POSITIVE_INFINITY;
+        int minPenEdge = 0;
+
+        for (int i = 0; i < count; i++) {
+            int j = (i + 1) % count;
+            double ax = worldX[i], ay = worldY[i];
+            double sep = (cx - ax) * normalX[i] + (cy - ay) * normalY[i];
+            if (sep > 0) inside = false;
+            if (-sep < minPen) {
+                minPen = -sep;
+                minPenEdge = i;
+            }
+
+            double ex = worldX[j] - ax;
+            double ey = worldY[j] - ay;
+            double t = ((cx - ax) * ex + (cy - ay) * ey) / (ex * ex + ey * ey);
+            t = Math.max(0, Math.min(1, t));
+            double px = ax + ex * t;
+            double py = ay + ey * t;
+            double dSq = (cx - px) * (cx - px) + (cy - py) * (cy - py);
+            if (dSq < bestDistSq) {
+                bestDistSq = dSq;
+                bestPx = px;
+                bestPy = py;
+            }
+        }
+
+        if (inside) {
+            out[0] = normalX[minPenEdge];
+            out[1] = normalY[minPenEdge];
+            out[2] = r + minPen;
+            return true;
+        }
+        if (bestDistSq >= r * r) return false;
+
+        double dist = Math.sqrt(bestDistSq);
+        if (dist == 0) {
+            out[0] = normalX[minPenEdge];
+            out[1] = normalY[minPenEdge];
+        } else {
+            out[0] = (cx - bestPx) / dist;
+            out[1] = (cy - bestPy) / dist;
+        }
+        out[2] = r - dist;
+        return true;
+    }
+
+    /**
+     * Ray vs polygon (Cyrus-Beck). Edges are pushed outward by radius for thick rays, which
+     * is exact along edges and slightly generous at corners.
+     * @param outNormal receives the entry edge normal
+     * @return distance along the (unit) direction, or -1 on miss / origin inside
+     */
+    public double raycast(double ox, double oy, double dx, double dy, double radius, double[] outNormal) {
+        double tEnter = Double.NEGATIVE_INFINITY;
+        double tExit = Double.POSITIVE_INFINITY;
+        int enterEdge = -1;
+        for (int i = 0; i < count; i++) {
+            double dist = (ox - worldX[i]) * normalX[i] + (oy - worldY[i]) * normalY[i] - radius;
+            double denom = dx * normalX[i] + dy * normalY[i];
+            if (denom == 0) {
+                if (dist > 0) return -1;
+                continue;
+            }
+            double t = -dist / denom;
+            if (denom < 0) {
+                if (t > tEnter) {
+                    tEnter = t;
+                    enterEdge = i;
+                }
+            } else if (t < tExit) {
+                tExit = t;
+            }
+        }
+        if (enterEdge < 0 || tEnter > tExit || tEnter < 0) return -1;
+        outNormal[0] = normalX[enterEdge];
+        outNormal[1] = normalY[enterEdge];
+        return tEnter;
+    }
+
+    /**
+     * Largest signed distance from the point to the edge lines: negative inside the shape
+     * (its magnitude is the distance to the nearest edge), positive outside.
+     */
+    public double edgeSeparation(double px, double py) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double sep = (px - worldX[i]) * normalX[i] + (py - worldY[i]) * normalY[i];
+            if (sep > max) max = sep;
+        }
+        return max;
+    }
+
+    /** Separating-axis test against an axis-aligned rectangle (bullets, pickups). */
+    public boolean overlapsRect(double rx, double ry, double rw, double rh) {
+        if (rx >= x + width || rx + rw <= x || ry >= y + height || ry + rh <= y) return false;
+        for (int i = 0; i < count; i++) {
+            double nx = normalX[i], ny = normalY[i];
+            double edge = worldX[i] * nx + worldY[i] * ny;
+            // Rectangle corner with the smallest projection on this outward normal
+            double cornerX = nx >= 0 ? rx : rx + rw;
+            double cornerY = ny >= 0 ? ry : ry + rh;
+            if (cornerX * nx + cornerY * ny >= edge) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void render(DrawSurface gc) {
+        if (isDestroyed()) return;
+
+        gc.setFill(getColor());
+        gc.fillPolygon(worldX, worldY, count);
+        gc.setStroke(Color.rgb(0, 0, 0, 0.5));
+        gc.setLineWidth(2);
+        gc.strokePolygon(worldX, worldY, count);
+
+        if (getType() == BrickType.UNBREAKABLE) {
+            gc.setStroke(Color.YELLOW);
+            gc.strokePolygon(worldX, worldY, count);
+        }
+    }
+
+    /** @return number of vertices. */
+    public int getVertexCount() { return count; }
+    /** @return world-space vertex x coordinates (live array, do not modify). */
+    public double[] getWorldX() { return worldX; }
+    /** @return world-space vertex y coordinates (live array, do not modify). */
+    public double[] getWorldY() { return worldY; }
+}
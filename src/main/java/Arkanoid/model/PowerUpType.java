@@ -8,5 +8,7 @@ public enum PowerUpType {
     SHRINK_PADDLE,
     SPEED_UP_BALL,
     MULTI_BALL,
-    BULLET
+    BULLET,
+    FIREBALL,
+    LASER
 }
\ No newline at end of file
@@ -1,7 +1,8 @@
 package Arkanoid.model;
 
+import Arkanoid.manager.AssetManager;
+import Arkanoid.renderer.DrawSurface;
 import Arkanoid.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
@@ -13,8 +14,6 @@ public class PowerUps extends MoveableObject {
     private PowerUpType type;
     private boolean collected;
     private double timeleft;
-    // Cache images per power-up type
-    private static java.util.Map<PowerUpType, javafx.scene.image.Image> IMAGE_CACHE;
     public PowerUps(double x, double y, PowerUpType type) {
         super(x, y, Constants.POWERUP_SIZE, Constants.POWERUP_SIZE, Constants.POWERUP_FALL_SPEED);
         this.type = type;
@@ -39,7 +38,7 @@ public class PowerUps extends MoveableObject {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(DrawSurface gc) {
         if (collected) return;
 
         // Try draw sprite image; fallback to colored circle + letter
@@ -57,38 +56,32 @@ public class PowerUps extends MoveableObject {
             gc.strokeOval(x, y, width, height);
 
             // Draw icon/letter
-            gc.setFill(Color.WHITE);
-            gc.setFont(Font.font("Arial", 12));
-            String letter = getIconLetter();
-            gc.fillText(letter, x + width / 2 - 4, y + height / 2 + 4);
+            if (gc.canDrawText()) {
+                gc.setFill(Color.WHITE);
+                gc.setFont(Font.font("Arial", 12));
+                gc.fillText(getIconLetter(), x + width / 2 - 4, y + height / 2 + 4);
+            }
         }
     }
 
     private javafx.scene.image.Image getTypeImage(PowerUpType t) {
-        if (t == null) return null;
-        if (IMAGE_CACHE == null) IMAGE_CACHE = new java.util.EnumMap<>(PowerUpType.class);
-        javafx.scene.image.Image cached = IMAGE_CACHE.get(t);
-        if (cached != null) return cached;
+        String path = imagePath(t);
+        if (path == null) return null;
+        return AssetManager.getInstance().get(path, Constants.POWERUP_SIZE, Constants.POWERUP_SIZE);
+    }
 
+    /** @return sprite resource of a power-up type, or null if it is drawn as a lettered circle. */
+    public static String imagePath(PowerUpType t) {
+        if (t == null) return null;
         String fileName = switch (t) {
             case BULLET -> "BULLET.png";
             case MULTI_BALL -> "MULTI_BALL.png";
             case EXPAND_PADDLE -> "EXPAND_PADDLE.png";
             case SHRINK_PADDLE -> "SHRINK_PADDLE.png";
             case SPEED_UP_BALL -> "SPEED_UP_BALL.png";
+            case FIREBALL, LASER -> null; // no sprite yet; drawn as a lettered circle
         };
-        String path = "/images/powerup/" + fileName;
-        try {
-            var stream = PowerUps.class.getResourceAsStream(path);
-            if (stream == null) return null;
-            // Let drawImage scale to our width/height; load at natural size
-            javafx.scene.image.Image img = new javafx.scene.image.Image(stream);
-            stream.close();
-            IMAGE_CACHE.put(t, img);
-            return img;
-        } catch (Exception ignored) {
-            return null;
-        }
+        return fileName == null ? null : "/images/powerup/" + fileName;
     }
 
     private Color getColor() {
@@ -103,6 +96,10 @@ public class PowerUps extends MoveableObject {
                 return Constants.POWERUP_MULTI_BALL_COLOR;
             case BULLET:
                 return Color.PURPLE;
+            case FIREBALL:
+                return Constants.POWERUP_FIREBALL_COLOR;
+            case LASER:
+                return Constants.POWERUP_LASER_COLOR;
             default:
                 return Color.WHITE;
         }
@@ -120,6 +117,10 @@ public class PowerUps extends MoveableObject {
                 return "M";
             case BULLET:
                 return "B";
+            case FIREBALL:
+                return "F";
+            case LASER:
+                return "L";
             default:
                 return "?";
         }
@@ -127,7 +128,12 @@ public class PowerUps extends MoveableObject {
 
     /** @return true if the power-up has fallen below the bottom of the screen. */
     public boolean isOutOfBounds() {
-        return y > Constants.WINDOW_HEIGHT;
+        return isOutOfBounds(Constants.WINDOW_HEIGHT);
+    }
+
+    /** @return true if the power-up has fallen below the bottom of a world of the given height. */
+    public boolean isOutOfBounds(double worldHeight) {
+        return y > worldHeight;
     }
 
     /** Marks this power-up as collected by the paddle. */
@@ -0,0 +1,48 @@
+package Arkanoid.model;
+
+import Arkanoid.util.Constants;
+
+import java.util.List;
+
+/**
+ * Size of the play area. It is never smaller than the window; levels whose bricks reach past the
+ * window get a larger world that the camera scrolls over. The paddle line keeps the same distance
+ * from the bottom edge as on a window-sized level.
+ */
+public class World {
+    /** Free space kept between the lowest brick and the bottom edge of a large world. */
+    public static final double BOTTOM_MARGIN = Constants.WINDOW_HEIGHT / 2.0;
+
+    private double width = Constants.WINDOW_WIDTH;
+    private double height = Constants.WINDOW_HEIGHT;
+
+    /** Sets the size, clamped to at least the window. */
+    public void resize(double width, double height) {
+        this.width = Math.max(Constants.WINDOW_WIDTH, width);
+        this.height = Math.max(Constants.WINDOW_HEIGHT, height);
+    }
+
+    /** Grows the world just enough to hold every brick (window size if they already fit). */
+    public void fit(List<Brick> bricks) {
+        double right = 0;
+        double bottom = 0;
+        for (Brick brick : bricks) {
+            right = Math.max(right, brick.getX() + brick.getWidth());
+            bottom = Math.max(bottom, brick.getY() + brick.getHeight());
+        }
+        resize(right + Constants.BRICK_PADDING, bottom + BOTTOM_MARGIN);
+    }
+
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+
+    /** @return y of the paddle, {@code WINDOW_HEIGHT - PADDLE_Y} above the bottom edge. */
+    public double getPaddleY() {
+        return height - (Constants.WINDOW_HEIGHT - Constants.PADDLE_Y);
+    }
+
+    /** @return true if the world does not fit in the window and has to be scrolled. */
+    public boolean isScrolling() {
+        return width > Constants.WINDOW_WIDTH || height > Constants.WINDOW_HEIGHT;
+    }
+}
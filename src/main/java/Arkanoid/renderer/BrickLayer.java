@@ -0,0 +1,362 @@
+package Arkanoid.renderer;
+
+import Arkanoid.manager.BrickBvh;
+import Arkanoid.manager.BrickGrid;
+import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
+import Arkanoid.model.MovingBrick;
+import Arkanoid.model.PolygonBrick;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+import javafx.scene.paint.Color;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offscreen layer holding every static brick, composited in software into a premultiplied ARGB
+ * buffer and shown with a single drawImage per frame. Only the dirty rectangles of bricks that
+ * were hit, destroyed or moved are re-rasterized (and uploaded), so the per-frame cost depends on
+ * what changed rather than on the brick count. Moving bricks are left to the Renderer.
+ * The layer covers a window of the world starting at its origin; when the camera scrolls, the
+ * pixels still in view are shifted and only the exposed strips are rasterized.
+ */
+public class BrickLayer {
+    private static final int MAX_DIRTY = 64;
+    private static final WritablePixelFormat<IntBuffer> FORMAT = PixelFormat.getIntArgbPreInstance();
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    private WritableImage image;
+    // World position of pixel (0, 0)
+    private int originX;
+    private int originY;
+
+    // Sprites by key (NORMAL, HARD, BROKEN, ...) and their copies scaled to exact brick sizes
+    private final Map<String, int[]> sprites = new HashMap<>();
+    private final Map<String, int[]> spriteSizes = new HashMap<>();
+    private final Map<String, int[]> scaledSprites = new HashMap<>();
+
+    // Pending rectangles: dirty (to re-rasterize) and redrawn (to upload), as x0,y0,x1,y1
+    private final int[] dirty = new int[MAX_DIRTY * 4];
+    private int dirtyCount;
+    private final int[] upload = new int[MAX_DIRTY * 4];
+    private int uploadCount;
+    private boolean fullDirty = true;
+    private boolean fullUpload = true;
+
+    private final List<Brick> candidates = new ArrayList<>();
+    private long redrawnPixels;
+
+    public BrickLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    /** Registers a brick sprite (key = brick type name, or BROKEN for damaged HARD bricks). */
+    public void setSprite(String key, Image image) {
+        if (image == null) return;
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        PixelReader reader = image.getPixelReader();
+        if (reader == null || w <= 0 || h <= 0) return;
+        int[] argb = new int[w * h];
+        reader.getPixels(0, 0, w, h, FORMAT, argb, 0, w);
+        setSprite(key, argb, w, h);
+    }
+
+    void setSprite(String key, int[] argbPre, int w, int h) {
+        sprites.put(key, argbPre);
+        spriteSizes.put(key, new int[] {w, h});
+        scaledSprites.clear();
+        invalidateAll();
+    }
+
+    /** @return true if the brick is drawn into this layer (not per frame). */
+    public static boolean isStatic(Brick brick) {
+        if (brick instanceof MovingBrick) return false;
+        return !(brick instanceof PolygonBrick shape) || !shape.isMoving();
+    }
+
+    /** Marks the whole layer for re-rasterization (level load/reset). */
+    public void invalidateAll() {
+        fullDirty = true;
+        dirtyCount = 0;
+    }
+
+    /** Marks a brick's bounds dirty (hit, destroyed or moved). */
+    public void invalidate(Brick brick) {
+        invalidate(brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight());
+    }
+
+    /** Marks a rectangle (world coordinates) dirty; too many pending rectangles degrade to a full redraw. */
+    public void invalidate(double x, double y, double w, double h) {
+        if (fullDirty) return;
+        x -= originX;
+        y -= originY;
+        addDirty(Math.max(0, (int) Math.floor(x) - 1), Math.max(0, (int) Math.floor(y) - 1),
+                Math.min(width, (int) Math.ceil(x + w) + 1), Math.min(height, (int) Math.ceil(y + h) + 1));
+    }
+
+    /**
+     * Moves the layer's window so that pixel (0, 0) shows world point (x, y). Pixels that stay in
+     * view are shifted in place; only the newly exposed strips are marked dirty.
+     */
+    public void scrollTo(int x, int y) {
+        int dx = x - originX;
+        int dy = y - originY;
+        if (dx == 0 && dy == 0) return;
+        originX = x;
+        originY = y;
+        if (fullDirty) return;
+        if (dirtyCount > 0 || Math.abs(dx) >= width || Math.abs(dy) >= height) {
+            invalidateAll();
+            return;
+        }
+        // Pixel (px, py) takes the value of old pixel (px + dx, py + dy); rows in copy-safe order
+        int x0 = Math.max(0, -dx);
+        int x1 = Math.min(width, width - dx);
+        if (dy >= 0) {
+            for (int py = 0; py < height - dy; py++) {
+                System.arraycopy(pixels, (py + dy) * width + x0 + dx, pixels, py * width + x0, x1 - x0);
+            }
+        } else {
+            for (int py = height - 1; py >= -dy; py--) {
+                System.arraycopy(pixels, (py + dy) * width + x0 + dx, pixels, py * width + x0, x1 - x0);
+            }
+        }
+        if (dx > 0) addDirty(width - dx, 0, width, height);
+        if (dx < 0) addDirty(0, 0, -dx, height);
+        if (dy > 0) addDirty(0, height - dy, width, height);
+        if (dy < 0) addDirty(0, 0, width, -dy);
+        fullUpload = true;
+    }
+
+    private void addDirty(int x0, int y0, int x1, int y1) {
+        if (x0 >= x1 || y0 >= y1) return;
+        if (dirtyCount == MAX_DIRTY) {
+            invalidateAll();
+            return;
+        }
+        int i = dirtyCount++ * 4;
+        dirty[i] = x0;
+        dirty[i + 1] = y0;
+        dirty[i + 2] = x1;
+        dirty[i + 3] = y1;
+    }
+
+    /**
+     * Re-rasterizes pending dirty rectangles from the bricks currently in the indexes.
+     * @return true if any pixels changed
+     */
+    public boolean redraw(BrickGrid grid, BrickBvh bvh) {
+        if (fullDirty) {
+            fullDirty = false;
+            dirtyCount = 0;
+            uploadCount = 0;
+            fullUpload = true;
+            redrawRect(0, 0, width, height, grid, bvh);
+            return true;
+        }
+        if (dirtyCount == 0) return false;
+        for (int r = 0; r < dirtyCount; r++) {
+            int i = r * 4;
+            redrawRect(dirty[i], dirty[i + 1], dirty[i + 2], dirty[i + 3], grid, bvh);
+            if (!fullUpload) {
+                if (uploadCount == MAX_DIRTY) {
+                    fullUpload = true;
+                } else {
+                    System.arraycopy(dirty, i, upload, uploadCount++ * 4, 4);
+                }
+            }
+        }
+        dirtyCount = 0;
+        return true;
+    }
+
+    /** @return the layer image with every redrawn region uploaded. Requires the FX toolkit. */
+    public Image getImage() {
+        if (image == null) {
+            image = new WritableImage(width, height);
+            fullUpload = true;
+        }
+        if (fullUpload) {
+            image.getPixelWriter().setPixels(0, 0, width, height, FORMAT, pixels, 0, width);
+        } else {
+            for (int r = 0; r < uploadCount; r++) {
+                int i = r * 4;
+                int x0 = upload[i], y0 = upload[i + 1];
+                image.getPixelWriter().setPixels(x0, y0, upload[i + 2] - x0, upload[i + 3] - y0,
+                        FORMAT, pixels, y0 * width + x0, width);
+            }
+        }
+        fullUpload = false;
+        uploadCount = 0;
+        return image;
+    }
+
+    private void redrawRect(int x0, int y0, int x1, int y1, BrickGrid grid, BrickBvh bvh) {
+        for (int y = y0; y < y1; y++) {
+            java.util.Arrays.fill(pixels, y * width + x0, y * width + x1, 0);
+        }
+        redrawnPixels += (long) (x1 - x0) * (y1 - y0);
+
+        candidates.clear();
+        grid.query(x0 + originX, y0 + originY, x1 - x0, y1 - y0, candidates);
+        if (bvh != null) bvh.query(x0 + originX, y0 + originY, x1 - x0, y1 - y0, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Brick brick = candidates.get(i);
+            if (brick.isDestroyed() || !isStatic(brick)) continue;
+            if (brick instanceof PolygonBrick shape) {
+                drawPolygon(shape, x0, y0, x1, y1);
+            } else {
+                drawRectBrick(brick, x0, y0, x1, y1);
+            }
+        }
+    }
+
+    private void drawRectBrick(Brick brick, int cx0, int cy0, int cx1, int cy1) {
+        int bx = (int) Math.round(brick.getX()) - originX;
+        int by = (int) Math.round(brick.getY()) - originY;
+        int bw = (int) Math.round(brick.getWidth());
+        int bh = (int) Math.round(brick.getHeight());
+        if (bw <= 0 || bh <= 0) return;
+        int x0 = Math.max(cx0, bx), y0 = Math.max(cy0, by);
+        int x1 = Math.min(cx1, bx + bw), y1 = Math.min(cy1, by + bh);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        int[] sprite = scaledSprite(spriteKey(brick), bw, bh);
+        if (sprite != null) {
+            for (int y = y0; y < y1; y++) {
+                int src = (y - by) * bw + (x0 - bx);
+                int dst = y * width + x0;
+                for (int x = x0; x < x1; x++) {
+                    pixels[dst] = over(sprite[src++], pixels[dst]);
+                    dst++;
+                }
+            }
+            return;
+        }
+        // No sprite: flat fill with a lighter top half, like Brick.render
+        int fill = premultiply(brick.getColor());
+        int highlight = over(premultiply(Color.rgb(255, 255, 255, 0.3)), fill);
+        for (int y = y0; y < y1; y++) {
+            int c = y - by < bh / 2 ? highlight : fill;
+            int dst = y * width + x0;
+            for (int x = x0; x < x1; x++) {
+                pixels[dst] = over(c, pixels[dst]);
+                dst++;
+            }
+        }
+    }
+
+    private void drawPolygon(PolygonBrick shape, int cx0, int cy0, int cx1, int cy1) {
+        int x0 = Math.max(cx0, (int) Math.floor(shape.getX()) - originX);
+        int y0 = Math.max(cy0, (int) Math.floor(shape.getY()) - originY);
+        int x1 = Math.min(cx1, (int) Math.ceil(shape.getX() + shape.getWidth()) - originX);
+        int y1 = Math.min(cy1, (int) Math.ceil(shape.getY() + shape.getHeight()) - originY);
+        int fill = premultiply(shape.getColor());
+        int edge = shape.getType() == BrickType.UNBREAKABLE
+                ? premultiply(Color.YELLOW)
+                : over(premultiply(Color.rgb(0, 0, 0, 0.5)), fill);
+        for (int y = y0; y < y1; y++) {
+            int dst = y * width + x0;
+            for (int x = x0; x < x1; x++, dst++) {
+                double sep = shape.edgeSeparation(x + originX + 0.5, y + originY + 0.5);
+                if (sep > 0) continue;
+                pixels[dst] = over(sep > -2 ? edge : fill, pixels[dst]);
+            }
+        }
+    }
+
+    private static String spriteKey(Brick brick) {
+        if (brick.getType() == BrickType.HARD && brick.isDamaged()) return "BROKEN";
+        return brick.getType().name();
+    }
+
+    // Sprite resampled (bilinear, premultiplied) to exactly w x h; cached per size
+    private int[] scaledSprite(String key, int w, int h) {
+        int[] src = sprites.get(key);
+        if (src == null) return null;
+        String sizedKey = key + '@' + w + 'x' + h;
+        int[] cached = scaledSprites.get(sizedKey);
+        if (cached != null) return cached;
+
+        int[] size = spriteSizes.get(key);
+        int sw = size[0], sh = size[1];
+        int[] out = new int[w * h];
+        for (int y = 0; y < h; y++) {
+            double fy = Math.max(0, (y + 0.5) * sh / h - 0.5);
+            int y0 = Math.min(sh - 1, (int) fy);
+            int y1 = Math.min(sh - 1, y0 + 1);
+            double ty = fy - y0;
+            for (int x = 0; x < w; x++) {
+                double fx = Math.max(0, (x + 0.5) * sw / w - 0.5);
+                int x0 = Math.min(sw - 1, (int) fx);
+                int x1 = Math.min(sw - 1, x0 + 1);
+                double tx = fx - x0;
+                out[y * w + x] = bilinear(src[y0 * sw + x0], src[y0 * sw + x1],
+                        src[y1 * sw + x0], src[y1 * sw + x1], tx, ty);
+            }
+        }
+        scaledSprites.put(sizedKey, out);
+        return out;
+    }
+
+    private static int bilinear(int c00, int c10, int c01, int c11, double tx, double ty) {
+        int result = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            double top = ((c00 >>> shift) & 0xFF) * (1 - tx) + ((c10 >>> shift) & 0xFF) * tx;
+            double bottom = ((c01 >>> shift) & 0xFF) * (1 - tx) + ((c11 >>> shift) & 0xFF) * tx;
+            int v = (int) Math.round(top * (1 - ty) + bottom * ty);
+            result |= (Math.min(255, v) << shift);
+        }
+        return result;
+    }
+
+    // Porter-Duff "source over" on premultiplied ARGB
+    static int over(int src, int dst) {
+        int sa = src >>> 24;
+        if (sa == 255 || dst == 0) return src;
+        if (sa == 0) return dst;
+        int inv = 255 - sa;
+        int a = sa + ((dst >>> 24) * inv + 127) / 255;
+        int r = ((src >> 16) & 0xFF) + (((dst >> 16) & 0xFF) * inv + 127) / 255;
+        int g = ((src >> 8) & 0xFF) + (((dst >> 8) & 0xFF) * inv + 127) / 255;
+        int b = (src & 0xFF) + ((dst & 0xFF) * inv + 127) / 255;
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    static int premultiply(Color color) {
+        double a = color.getOpacity();
+        int ai = (int) Math.round(a * 255);
+        int r = (int) Math.round(color.getRed() * a * 255);
+        int g = (int) Math.round(color.getGreen() * a * 255);
+        int b = (int) Math.round(color.getBlue() * a * 255);
+        return ai << 24 | r << 16 | g << 8 | b;
+    }
+
+    /** @return premultiplied ARGB pixel of the software buffer. */
+    int pixelAt(int x, int y) { return pixels[y * width + x]; }
+
+    /** @return the software buffer itself, for compositing without the FX toolkit. */
+    int[] pixels() { return pixels; }
+
+    int getWidth() { return width; }
+    /** @return world x shown at the layer's left edge. */
+    public int getOriginX() { return originX; }
+    /** @return world y shown at the layer's top edge. */
+    public int getOriginY() { return originY; }
+    int getHeight() { return height; }
+
+    /** @return total pixels re-rasterized so far (diagnostics). */
+    public long getRedrawnPixels() { return redrawnPixels; }
+}
@@ -0,0 +1,63 @@
+package Arkanoid.renderer;
+
+
+/**
+ * Rectangles drawn on a layer during the current frame, so the next frame can clear exactly
+ * those instead of the whole canvas. Too many rectangles collapse into one full clear.
+ */
+class DirtyRegions {
+    private static final int MAX_REGIONS = 256;
+    // Covers anti-aliased edges and stroke widths around the logical bounds
+    private static final double PAD = 2;
+
+    private final double width;
+    private final double height;
+    private final double[] rects = new double[MAX_REGIONS * 4];
+    private int count;
+    private boolean overflow;
+
+    DirtyRegions(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Records a rectangle drawn this frame. */
+    void add(double x, double y, double w, double h) {
+        if (overflow) return;
+        if (count == MAX_REGIONS) {
+            overflow = true;
+            return;
+        }
+        int i = count++ * 4;
+        rects[i] = x - PAD;
+        rects[i + 1] = y - PAD;
+        rects[i + 2] = w + 2 * PAD;
+        rects[i + 3] = h + 2 * PAD;
+    }
+
+    /** Clears everything recorded since the last call and starts recording a new frame. */
+    void clear(DrawSurface gc) {
+        if (overflow) {
+            gc.clearRect(0, 0, width, height);
+        } else {
+            for (int r = 0; r < count; r++) {
+                int i = r * 4;
+                gc.clearRect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+            }
+        }
+        count = 0;
+        overflow = false;
+    }
+
+    /** Forgets recorded rectangles after the caller wiped the layer itself. */
+    void reset() {
+        count = 0;
+        overflow = false;
+    }
+
+    /** @return rectangles recorded this frame (0 after an overflow). */
+    int size() { return overflow ? 0 : count; }
+
+    /** @return true if this frame touched too many regions and the next clear is a full one. */
+    boolean isOverflowed() { return overflow; }
+}
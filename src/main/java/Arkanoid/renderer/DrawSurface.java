@@ -0,0 +1,65 @@
+package Arkanoid.renderer;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * The drawing operations the game needs, named after their {@code GraphicsContext} counterparts
+ * so drawing code reads the same on every backend. {@link FxSurface} draws to a JavaFX canvas;
+ * {@link PixelSurface} rasterizes into an {@code int[]} without the FX toolkit, for headless
+ * benchmarks and image-comparison tests.
+ */
+public interface DrawSurface {
+    double getWidth();
+    double getHeight();
+
+    void setFill(Paint paint);
+    void setStroke(Paint paint);
+    void setLineWidth(double width);
+    void setLineCap(StrokeLineCap cap);
+    void setLineDashes(double... dashes);
+    void setGlobalAlpha(double alpha);
+    /** Offsets every later draw (and clear) by (x, y); not cumulative, (0, 0) turns it off. */
+    void setTranslation(double x, double y);
+
+    void clearRect(double x, double y, double w, double h);
+    void fillRect(double x, double y, double w, double h);
+    void fillRoundRect(double x, double y, double w, double h, double arcWidth, double arcHeight);
+    void strokeRoundRect(double x, double y, double w, double h, double arcWidth, double arcHeight);
+    void fillOval(double x, double y, double w, double h);
+    void strokeOval(double x, double y, double w, double h);
+    void strokeLine(double x1, double y1, double x2, double y2);
+    void fillPolygon(double[] xs, double[] ys, int n);
+    void strokePolygon(double[] xs, double[] ys, int n);
+
+    void beginPath();
+    void moveTo(double x, double y);
+    void lineTo(double x, double y);
+    void stroke();
+
+    void drawImage(Image image, double x, double y);
+    void drawImage(Image image, double x, double y, double w, double h);
+    void drawImage(Image image, double sx, double sy, double sw, double sh,
+                   double dx, double dy, double dw, double dh);
+
+    /** @return false if this backend cannot lay out text; callers then skip text entirely. */
+    boolean canDrawText();
+    void setFont(Font font);
+    void setTextAlign(TextAlignment align);
+    void fillText(String text, double x, double y);
+
+    /** Draws the software brick layer at (x, y). */
+    void drawLayer(BrickLayer layer, double x, double y);
+
+    /** @return an offscreen surface of the same backend, drawable with {@link #drawSurface}. */
+    DrawSurface createOffscreen(double width, double height);
+
+    /** Draws an offscreen surface created by {@link #createOffscreen}. */
+    void drawSurface(DrawSurface source, double x, double y);
+
+    /** Shows or hides the surface if it is a stacked layer; ignored otherwise. */
+    default void setVisible(boolean visible) { }
+}
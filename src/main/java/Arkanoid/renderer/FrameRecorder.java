@@ -0,0 +1,312 @@
+package Arkanoid.renderer;
+
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records gameplay to an image sequence or a raw video file.
+ *
+ * The game thread only copies each frame's pixels into one of a fixed pool of buffers and hands it
+ * to a small worker pool behind a bounded queue; encoding and disk writes happen on the workers.
+ * When the writers fall behind (no free buffer, or the queue is full) the frame is dropped and
+ * counted instead of blocking the game thread, so a slow disk costs frames in the recording, never
+ * frames on screen.
+ */
+public class FrameRecorder {
+    /** System property choosing the output, {@code png} (default) or {@code raw}. */
+    public static final String FORMAT_PROPERTY = "arkanoid.capture";
+    public static final int DEFAULT_POOL_SIZE = 8;
+    public static final int DEFAULT_WORKERS = 2;
+
+    /** Where accepted frames end up. Called from the worker threads, possibly concurrently. */
+    public interface Sink extends Closeable {
+        /**
+         * @param index 0-based number of the frame among the accepted ones (gap-free)
+         * @param argb  packed ARGB pixels, row-major; only valid during the call
+         */
+        void write(long index, int[] argb, int width, int height) throws IOException;
+    }
+
+    private final int width;
+    private final int height;
+    private final Sink sink;
+    private final ArrayBlockingQueue<int[]> freeBuffers;
+    private final ThreadPoolExecutor workers;
+
+    // Snapshot target reused across frames (FX thread only)
+    private WritableImage snapshot;
+    private SnapshotParameters snapshotParameters;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long accepted; // game thread only
+    private volatile boolean stopped;
+
+    public FrameRecorder(int width, int height, Sink sink) {
+        this(width, height, sink, DEFAULT_POOL_SIZE, DEFAULT_WORKERS);
+    }
+
+    /**
+     * @param poolSize frame buffers kept around; frames queued or being written each hold one
+     * @param workerCount threads encoding and writing frames
+     */
+    public FrameRecorder(int width, int height, Sink sink, int poolSize, int workerCount) {
+        this.width = width;
+        this.height = height;
+        this.sink = sink;
+        this.freeBuffers = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) freeBuffers.add(new int[width * height]);
+        AtomicInteger threadId = new AtomicInteger();
+        // Queue never holds more frames than there are buffers left after the busy workers
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, poolSize - workerCount)), r -> {
+                    Thread t = new Thread(r, "frame-recorder-" + threadId.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Opens a {@link Sink}; see {@link #deferred(Opener)}. */
+    public interface Opener {
+        Sink open() throws IOException;
+    }
+
+    /**
+     * @return a recorder writing to {@code dir} in the format named by {@link #FORMAT_PROPERTY}. Only
+     *         the frame buffers are set up here; the folder and output file are created on a worker.
+     */
+    public static FrameRecorder create(Path dir, int width, int height) {
+        boolean raw = "raw".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY, "png").trim());
+        Sink sink = deferred(() -> {
+            Files.createDirectories(dir);
+            return raw ? rawVideo(dir.resolve("capture.bgra"), width, height) : imageSequence(dir);
+        });
+        return new FrameRecorder(width, height, sink);
+    }
+
+    /**
+     * Snapshots {@code node} (all of its layers, composited) and submits the pixels. FX thread only.
+     *
+     * @return false if the frame was dropped
+     */
+    public boolean capture(Node node) {
+        if (stopped) return false;
+        int[] buffer = freeBuffers.poll();
+        if (buffer == null) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (snapshot == null) {
+            snapshot = new WritableImage(width, height);
+            snapshotParameters = new SnapshotParameters();
+            snapshotParameters.setFill(Color.BLACK);
+        }
+        node.snapshot(snapshotParameters, snapshot);
+        snapshot.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), buffer, 0, width);
+        return enqueue(buffer);
+    }
+
+    /**
+     * Submits a frame that is already in memory, e.g. a {@link PixelSurface}. The pixels are copied,
+     * so the caller may reuse {@code argb} as soon as this returns.
+     *
+     * @return false if the frame was dropped
+     */
+    public boolean submit(int[] argb) {
+        if (stopped) return false;
+        int[] buffer = freeBuffers.poll();
+        if (buffer == null) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        System.arraycopy(argb, 0, buffer, 0, buffer.length);
+        return enqueue(buffer);
+    }
+
+    private boolean enqueue(int[] buffer) {
+        long index = accepted;
+        try {
+            workers.execute(() -> writeFrame(index, buffer));
+        } catch (RejectedExecutionException e) {
+            freeBuffers.offer(buffer);
+            dropped.incrementAndGet();
+            return false;
+        }
+        accepted++;
+        return true;
+    }
+
+    // Chạy trên luồng worker: mã hóa, ghi đĩa rồi trả bộ đệm về pool
+    private void writeFrame(long index, int[] buffer) {
+        try {
+            sink.write(index, buffer, width, height);
+            written.incrementAndGet();
+        } catch (IOException e) {
+            if (failed.getAndIncrement() == 0) {
+                System.err.println("Frame capture write failed: " + e.getMessage());
+            }
+        } finally {
+            freeBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Stops accepting frames. Queued frames are still written and the sink is closed on a background
+     * thread, so this never blocks the caller.
+     *
+     * @return completes once every queued frame has been written and the sink closed
+     */
+    public CompletableFuture<Void> stop() {
+        stopped = true;
+        workers.shutdown();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                sink.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                System.err.println("Could not close frame capture: " + e.getMessage());
+            }
+        });
+    }
+
+    public boolean isStopped() { return stopped; }
+    /** @return frames handed to the workers. */
+    public long getAcceptedFrames() { return accepted; }
+    /** @return frames the sink has finished writing. */
+    public long getWrittenFrames() { return written.get(); }
+    /** @return frames skipped because the writers were behind. */
+    public long getDroppedFrames() { return dropped.get(); }
+    /** @return accepted frames whose write failed. */
+    public long getFailedFrames() { return failed.get(); }
+
+    /**
+     * One PNG per frame, {@code frame-000000.png}, {@code frame-000001.png}, ... Written with the
+     * fastest deflate level: the files are bigger, but the workers keep up with far more frames.
+     */
+    public static Sink imageSequence(Path dir) {
+        // Each worker keeps its own image and writer
+        ThreadLocal<BufferedImage> images = new ThreadLocal<>();
+        ThreadLocal<ImageWriter> writers = ThreadLocal.withInitial(() -> ImageIO.getImageWritersByFormatName("png").next());
+        return new Sink() {
+            @Override
+            public void write(long index, int[] argb, int w, int h) throws IOException {
+                BufferedImage image = images.get();
+                if (image == null || image.getWidth() != w || image.getHeight() != h) {
+                    image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+                    images.set(image);
+                }
+                image.setRGB(0, 0, w, h, argb, 0, w);
+                ImageWriter writer = writers.get();
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.85f); // deflate level 1 (quality q gives level 9 * (1 - q))
+                Path file = dir.resolve(String.format("frame-%06d.png", index));
+                Files.deleteIfExists(file);
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+                    writer.setOutput(out);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } finally {
+                    writer.reset();
+                }
+            }
+
+            @Override
+            public void close() { }
+        };
+    }
+
+    /**
+     * A sink that is opened by the first write, or by {@link Sink#close()} if no frame got that far,
+     * so opening files never runs on the thread that creates the recorder. If opening fails, that
+     * write and every later one fail with the same error.
+     */
+    public static Sink deferred(Opener opener) {
+        return new Sink() {
+            private Sink sink;
+            private IOException failure;
+
+            // Mở sink đúng một lần, dù nhiều worker cùng gọi
+            private synchronized Sink open() throws IOException {
+                if (sink == null && failure == null) {
+                    try {
+                        sink = opener.open();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                if (failure != null) throw failure;
+                return sink;
+            }
+
+            @Override
+            public void write(long index, int[] argb, int w, int h) throws IOException {
+                open().write(index, argb, w, h);
+            }
+
+            @Override
+            public void close() throws IOException {
+                open().close();
+            }
+        };
+    }
+
+    /**
+     * Headerless BGRA frames back to back, at {@code index * frameBytes}, so workers can write out
+     * of order. Play or encode it with e.g.
+     * {@code ffmpeg -f rawvideo -pixel_format bgra -video_size 860x650 -framerate 60 -i capture.bgra out.mp4}.
+     */
+    public static Sink rawVideo(Path file, int width, int height) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        long frameBytes = (long) width * height * 4;
+        ThreadLocal<ByteBuffer> bytes = ThreadLocal.withInitial(
+                () -> ByteBuffer.allocateDirect((int) frameBytes).order(ByteOrder.LITTLE_ENDIAN));
+        return new Sink() {
+            @Override
+            public void write(long index, int[] argb, int w, int h) throws IOException {
+                ByteBuffer buffer = bytes.get();
+                buffer.clear();
+                IntBuffer ints = buffer.asIntBuffer(); // little-endian ARGB ints are B, G, R, A bytes
+                ints.put(argb, 0, w * h);
+                long position = index * frameBytes;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+}
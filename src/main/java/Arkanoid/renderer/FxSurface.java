@@ -0,0 +1,167 @@
+package Arkanoid.renderer;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * {@link DrawSurface} over a JavaFX canvas. Offscreen surfaces are snapshotted into a reused
+ * image the first time they are drawn after a change, so a cached layer costs one drawImage
+ * while it stays the same.
+ */
+public class FxSurface implements DrawSurface {
+    private final GraphicsContext gc;
+    // Offscreen use: image of the canvas as of the last snapshot
+    private boolean dirty = true;
+    private WritableImage snapshot;
+    private SnapshotParameters snapshotParams;
+
+    public FxSurface(GraphicsContext gc) {
+        this.gc = gc;
+    }
+
+    /** @return the wrapped context. */
+    public GraphicsContext getGraphicsContext() { return gc; }
+
+    @Override public double getWidth() { return gc.getCanvas().getWidth(); }
+    @Override public double getHeight() { return gc.getCanvas().getHeight(); }
+
+    @Override public void setFill(Paint paint) { gc.setFill(paint); }
+    @Override public void setStroke(Paint paint) { gc.setStroke(paint); }
+    @Override public void setLineWidth(double width) { gc.setLineWidth(width); }
+    @Override public void setLineCap(StrokeLineCap cap) { gc.setLineCap(cap); }
+    @Override public void setLineDashes(double... dashes) { gc.setLineDashes(dashes); }
+    @Override public void setGlobalAlpha(double alpha) { gc.setGlobalAlpha(alpha); }
+    @Override public void setTranslation(double x, double y) { gc.setTransform(1, 0, 0, 1, x, y); }
+
+    @Override
+    public void clearRect(double x, double y, double w, double h) {
+        dirty = true;
+        gc.clearRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        dirty = true;
+        gc.fillRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double w, double h, double arcWidth, double arcHeight) {
+        dirty = true;
+        gc.fillRoundRect(x, y, w, h, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double w, double h, double arcWidth, double arcHeight) {
+        dirty = true;
+        gc.strokeRoundRect(x, y, w, h, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double w, double h) {
+        dirty = true;
+        gc.fillOval(x, y, w, h);
+    }
+
+    @Override
+    public void strokeOval(double x, double y, double w, double h) {
+        dirty = true;
+        gc.strokeOval(x, y, w, h);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        dirty = true;
+        gc.strokeLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillPolygon(double[] xs, double[] ys, int n) {
+        dirty = true;
+        gc.fillPolygon(xs, ys, n);
+    }
+
+    @Override
+    public void strokePolygon(double[] xs, double[] ys, int n) {
+        dirty = true;
+        gc.strokePolygon(xs, ys, n);
+    }
+
+    @Override public void beginPath() { gc.beginPath(); }
+    @Override public void moveTo(double x, double y) { gc.moveTo(x, y); }
+    @Override public void lineTo(double x, double y) { gc.lineTo(x, y); }
+
+    @Override
+    public void stroke() {
+        dirty = true;
+        gc.stroke();
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        dirty = true;
+        gc.drawImage(image, x, y);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        dirty = true;
+        gc.drawImage(image, x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        dirty = true;
+        gc.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+    @Override public boolean canDrawText() { return true; }
+    @Override public void setFont(Font font) { gc.setFont(font); }
+    @Override public void setTextAlign(TextAlignment align) { gc.setTextAlign(align); }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        dirty = true;
+        gc.fillText(text, x, y);
+    }
+
+    @Override
+    public void drawLayer(BrickLayer layer, double x, double y) {
+        dirty = true;
+        gc.drawImage(layer.getImage(), x, y);
+    }
+
+    @Override
+    public DrawSurface createOffscreen(double width, double height) {
+        return new FxSurface(new Canvas(width, height).getGraphicsContext2D());
+    }
+
+    @Override
+    public void drawSurface(DrawSurface source, double x, double y) {
+        FxSurface src = (FxSurface) source;
+        if (src.dirty || src.snapshot == null) {
+            if (src.snapshotParams == null) {
+                src.snapshotParams = new SnapshotParameters();
+                src.snapshotParams.setFill(Color.TRANSPARENT);
+            }
+            src.snapshot = src.gc.getCanvas().snapshot(src.snapshotParams, src.snapshot);
+            src.dirty = false;
+        }
+        dirty = true;
+        gc.drawImage(src.snapshot, x, y);
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        if (gc.getCanvas() != null) gc.getCanvas().setVisible(visible);
+    }
+}
@@ -0,0 +1,46 @@
+package Arkanoid.renderer;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Recycles scene-graph nodes of one kind inside one group. Released nodes stay attached and are
+ * only hidden, so reusing them never touches the group's child list; new nodes are created only
+ * when the pool runs dry.
+ */
+final class NodePool<T extends Node> {
+    private final Group parent;
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private int created;
+
+    NodePool(Group parent, Supplier<T> factory) {
+        this.parent = parent;
+        this.factory = factory;
+    }
+
+    T acquire() {
+        T node = free.pollLast();
+        if (node == null) {
+            node = factory.get();
+            parent.getChildren().add(node);
+            created++;
+        }
+        node.setVisible(true);
+        return node;
+    }
+
+    void release(T node) {
+        node.setVisible(false);
+        free.addLast(node);
+    }
+
+    /** @return nodes ever created by this pool. */
+    int getCreated() { return created; }
+
+    /** @return hidden nodes waiting for reuse. */
+    int getFree() { return free.size(); }
+}
@@ -0,0 +1,398 @@
+package Arkanoid.renderer;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritablePixelFormat;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * {@link DrawSurface} that rasterizes into a premultiplied ARGB {@code int[]} and never touches
+ * the FX toolkit, so frames can be rendered in tests and benchmarks without a window. Coverage is
+ * decided by pixel centers (no anti-aliasing), gradients are flattened to their last stop, round
+ * rect corners are square, images are sampled nearest-neighbour and text is not drawn.
+ */
+public class PixelSurface implements DrawSurface {
+    private static final WritablePixelFormat<IntBuffer> FORMAT = PixelFormat.getIntArgbPreInstance();
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    private Paint fillPaint = Color.BLACK;
+    private Paint strokePaint = Color.BLACK;
+    private double globalAlpha = 1.0;
+    private double lineWidth = 1.0;
+    // Resolved premultiplied colors, refreshed when a paint or the alpha changes
+    private int fill = 0xFF000000;
+    private int stroke = 0xFF000000;
+    // Translation applied to every draw and clear
+    private double tx, ty;
+
+    // Current path as segments x0,y0,x1,y1
+    private double[] path = new double[64];
+    private int pathLength;
+    private double pathX, pathY;
+
+    // Polygon scanline scratch
+    private double[] crossings = new double[16];
+
+    // Decoded pixels per image; images are treated as immutable once drawn
+    private final Map<Image, int[]> imagePixels = new WeakHashMap<>();
+
+    public PixelSurface(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    /** @return the premultiplied ARGB buffer, row-major. */
+    public int[] getPixels() { return pixels; }
+
+    /** @return premultiplied ARGB value of one pixel. */
+    public int getArgb(int x, int y) { return pixels[y * width + x]; }
+
+    @Override public double getWidth() { return width; }
+    @Override public double getHeight() { return height; }
+
+    @Override
+    public void setFill(Paint paint) {
+        fillPaint = paint;
+        fill = resolve(paint, globalAlpha);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        strokePaint = paint;
+        stroke = resolve(paint, globalAlpha);
+    }
+
+    @Override
+    public void setGlobalAlpha(double alpha) {
+        globalAlpha = Math.max(0, Math.min(1, alpha));
+        fill = resolve(fillPaint, globalAlpha);
+        stroke = resolve(strokePaint, globalAlpha);
+    }
+
+    @Override
+    public void setTranslation(double x, double y) {
+        tx = x;
+        ty = y;
+    }
+
+    @Override public void setLineWidth(double width) { lineWidth = width; }
+    @Override public void setLineCap(StrokeLineCap cap) { }
+    @Override public void setLineDashes(double... dashes) { }
+
+    @Override
+    public void clearRect(double x, double y, double w, double h) {
+        x += tx;
+        y += ty;
+        int x0 = clampX(lo(x)), x1 = clampX(lo(x + w));
+        int y0 = clampY(lo(y)), y1 = clampY(lo(y + h));
+        for (int py = y0; py < y1; py++) Arrays.fill(pixels, py * width + x0, py * width + x1, 0);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        fillBox(x, y, w, h, fill);
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double w, double h, double arcWidth, double arcHeight) {
+        fillBox(x, y, w, h, fill);
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double w, double h, double arcWidth, double arcHeight) {
+        double half = lineWidth / 2;
+        fillBox(x - half, y - half, w + lineWidth, lineWidth, stroke);
+        fillBox(x - half, y + h - half, w + lineWidth, lineWidth, stroke);
+        fillBox(x - half, y + half, lineWidth, h - lineWidth, stroke);
+        fillBox(x + w - half, y + half, lineWidth, h - lineWidth, stroke);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double w, double h) {
+        if (w <= 0 || h <= 0) return;
+        x += tx;
+        y += ty;
+        double cx = x + w / 2, cy = y + h / 2, rx = w / 2, ry = h / 2;
+        int y0 = clampY(lo(y)), y1 = clampY(lo(y + h));
+        for (int py = y0; py < y1; py++) {
+            double dy = (py + 0.5 - cy) / ry;
+            if (dy * dy > 1) continue;
+            double half = rx * Math.sqrt(1 - dy * dy);
+            span(py, lo(cx - half), lo(cx + half), fill);
+        }
+    }
+
+    @Override
+    public void strokeOval(double x, double y, double w, double h) {
+        if (w <= 0 || h <= 0) return;
+        x += tx;
+        y += ty;
+        double cx = x + w / 2, cy = y + h / 2, rx = w / 2, ry = h / 2;
+        double half = Math.max(0.5, lineWidth / 2);
+        double r = Math.min(rx, ry);
+        int x0 = clampX(lo(x - half)), x1 = clampX(lo(x + w + half));
+        int y0 = clampY(lo(y - half)), y1 = clampY(lo(y + h + half));
+        for (int py = y0; py < y1; py++) {
+            double dy = (py + 0.5 - cy) / ry;
+            int row = py * width;
+            for (int px = x0; px < x1; px++) {
+                double dx = (px + 0.5 - cx) / rx;
+                double d = Math.sqrt(dx * dx + dy * dy);
+                if (Math.abs(d - 1) * r <= half) pixels[row + px] = BrickLayer.over(stroke, pixels[row + px]);
+            }
+        }
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        x1 += tx;
+        y1 += ty;
+        x2 += tx;
+        y2 += ty;
+        double half = Math.max(0.5, lineWidth / 2);
+        int px0 = clampX(lo(Math.min(x1, x2) - half)), px1 = clampX(lo(Math.max(x1, x2) + half));
+        int py0 = clampY(lo(Math.min(y1, y2) - half)), py1 = clampY(lo(Math.max(y1, y2) + half));
+        double dx = x2 - x1, dy = y2 - y1;
+        double lengthSq = dx * dx + dy * dy;
+        double halfSq = half * half;
+        for (int py = py0; py < py1; py++) {
+            double cy = py + 0.5;
+            int row = py * width;
+            for (int px = px0; px < px1; px++) {
+                double cx = px + 0.5;
+                double t = lengthSq == 0 ? 0 : ((cx - x1) * dx + (cy - y1) * dy) / lengthSq;
+                t = Math.max(0, Math.min(1, t));
+                double ex = x1 + t * dx - cx, ey = y1 + t * dy - cy;
+                if (ex * ex + ey * ey <= halfSq) pixels[row + px] = BrickLayer.over(stroke, pixels[row + px]);
+            }
+        }
+    }
+
+    @Override
+    public void fillPolygon(double[] xs, double[] ys, int n) {
+        if (n < 3) return;
+        double minY = ys[0], maxY = ys[0];
+        for (int i = 1; i < n; i++) {
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        minY += ty;
+        maxY += ty;
+        if (crossings.length < n) crossings = new double[n];
+        int y0 = clampY(lo(minY)), y1 = clampY(lo(maxY));
+        for (int py = y0; py < y1; py++) {
+            double cy = py + 0.5 - ty; // scanline in polygon space
+            int count = 0;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double ya = ys[j], yb = ys[i];
+                if ((ya <= cy) != (yb <= cy)) {
+                    double t = (cy - ya) / (yb - ya);
+                    double cx = xs[j] + t * (xs[i] - xs[j]) + tx;
+                    // Insertion keeps the handful of crossings sorted
+                    int k = count++;
+                    while (k > 0 && crossings[k - 1] > cx) {
+                        crossings[k] = crossings[k - 1];
+                        k--;
+                    }
+                    crossings[k] = cx;
+                }
+            }
+            for (int k = 0; k + 1 < count; k += 2) span(py, lo(crossings[k]), lo(crossings[k + 1]), fill);
+        }
+    }
+
+    @Override
+    public void strokePolygon(double[] xs, double[] ys, int n) {
+        for (int i = 0, j = n - 1; i < n; j = i++) strokeLine(xs[j], ys[j], xs[i], ys[i]);
+    }
+
+    @Override
+    public void beginPath() {
+        pathLength = 0;
+    }
+
+    @Override
+    public void moveTo(double x, double y) {
+        pathX = x;
+        pathY = y;
+    }
+
+    @Override
+    public void lineTo(double x, double y) {
+        if (pathLength + 4 > path.length) path = Arrays.copyOf(path, path.length * 2);
+        path[pathLength++] = pathX;
+        path[pathLength++] = pathY;
+        path[pathLength++] = x;
+        path[pathLength++] = y;
+        pathX = x;
+        pathY = y;
+    }
+
+    @Override
+    public void stroke() {
+        for (int i = 0; i < pathLength; i += 4) strokeLine(path[i], path[i + 1], path[i + 2], path[i + 3]);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        if (image == null) return;
+        drawImage(image, 0, 0, image.getWidth(), image.getHeight(), x, y, image.getWidth(), image.getHeight());
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        if (image == null) return;
+        drawImage(image, 0, 0, image.getWidth(), image.getHeight(), x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        if (image == null || dw <= 0 || dh <= 0) return;
+        dx += tx;
+        dy += ty;
+        int iw = (int) image.getWidth(), ih = (int) image.getHeight();
+        int[] src = pixelsOf(image, iw, ih);
+        if (src == null) return;
+        int alpha = (int) Math.round(globalAlpha * 255);
+        int x0 = clampX(lo(dx)), x1 = clampX(lo(dx + dw));
+        int y0 = clampY(lo(dy)), y1 = clampY(lo(dy + dh));
+        double stepX = sw / dw;
+        double startX = sx + (x0 + 0.5 - dx) * stepX;
+        for (int py = y0; py < y1; py++) {
+            int iy = (int) (sy + (py + 0.5 - dy) * sh / dh);
+            if (iy < 0 || iy >= ih) continue;
+            int row = py * width;
+            double fx = startX;
+            for (int px = x0; px < x1; px++, fx += stepX) {
+                int ix = (int) fx;
+                if (ix < 0 || ix >= iw) continue;
+                int c = src[iy * iw + ix];
+                if (alpha < 255) c = scale(c, alpha);
+                if (c != 0) pixels[row + px] = BrickLayer.over(c, pixels[row + px]);
+            }
+        }
+    }
+
+    @Override public boolean canDrawText() { return false; }
+    @Override public void setFont(Font font) { }
+    @Override public void setTextAlign(TextAlignment align) { }
+    @Override public void fillText(String text, double x, double y) { }
+
+    @Override
+    public void drawLayer(BrickLayer layer, double x, double y) {
+        blit(layer.pixels(), layer.getWidth(), layer.getHeight(), (int) Math.round(x + tx), (int) Math.round(y + ty));
+    }
+
+    @Override
+    public DrawSurface createOffscreen(double width, double height) {
+        return new PixelSurface((int) Math.ceil(width), (int) Math.ceil(height));
+    }
+
+    @Override
+    public void drawSurface(DrawSurface source, double x, double y) {
+        PixelSurface src = (PixelSurface) source;
+        blit(src.pixels, src.width, src.height, (int) Math.round(x + tx), (int) Math.round(y + ty));
+    }
+
+    private void blit(int[] src, int sw, int sh, int ox, int oy) {
+        int x0 = clampX(ox), x1 = clampX(ox + sw);
+        int y0 = clampY(oy), y1 = clampY(oy + sh);
+        for (int py = y0; py < y1; py++) {
+            int s = (py - oy) * sw + (x0 - ox);
+            int d = py * width + x0;
+            for (int px = x0; px < x1; px++, s++, d++) {
+                int c = src[s];
+                if (c != 0) pixels[d] = BrickLayer.over(c, pixels[d]);
+            }
+        }
+    }
+
+    private void fillBox(double x, double y, double w, double h, int color) {
+        if (w <= 0 || h <= 0) return;
+        x += tx;
+        y += ty;
+        int x0 = lo(x), x1 = lo(x + w);
+        int y0 = clampY(lo(y)), y1 = clampY(lo(y + h));
+        for (int py = y0; py < y1; py++) span(py, x0, x1, color);
+    }
+
+    // Blends one row of pixels [x0, x1)
+    private void span(int py, int x0, int x1, int color) {
+        x0 = clampX(x0);
+        x1 = clampX(x1);
+        if (x0 >= x1 || (color >>> 24) == 0) return;
+        int row = py * width;
+        if ((color >>> 24) == 255) {
+            Arrays.fill(pixels, row + x0, row + x1, color);
+            return;
+        }
+        for (int i = row + x0; i < row + x1; i++) pixels[i] = BrickLayer.over(color, pixels[i]);
+    }
+
+    private int[] pixelsOf(Image image, int w, int h) {
+        if (w <= 0 || h <= 0) return null;
+        int[] argb = imagePixels.get(image);
+        if (argb != null) return argb;
+        PixelReader reader = image.getPixelReader();
+        if (reader == null) return null;
+        argb = new int[w * h];
+        reader.getPixels(0, 0, w, h, FORMAT, argb, 0, w);
+        imagePixels.put(image, argb);
+        return argb;
+    }
+
+    // First pixel whose center lies at or past v
+    private static int lo(double v) {
+        return (int) Math.ceil(v - 0.5);
+    }
+
+    private int clampX(int x) { return x < 0 ? 0 : Math.min(x, width); }
+    private int clampY(int y) { return y < 0 ? 0 : Math.min(y, height); }
+
+    private static int resolve(Paint paint, double alpha) {
+        Color color;
+        if (paint instanceof Color c) {
+            color = c;
+        } else if (paint instanceof LinearGradient g) {
+            color = lastStop(g.getStops());
+        } else if (paint instanceof RadialGradient g) {
+            color = lastStop(g.getStops());
+        } else {
+            color = Color.BLACK;
+        }
+        return scale(BrickLayer.premultiply(color), (int) Math.round(alpha * 255));
+    }
+
+    private static Color lastStop(List<Stop> stops) {
+        return stops.isEmpty() ? Color.BLACK : stops.get(stops.size() - 1).getColor();
+    }
+
+    // Multiplies every channel of a premultiplied color by alpha/255
+    private static int scale(int c, int alpha) {
+        if (alpha >= 255) return c;
+        int a = ((c >>> 24) * alpha + 127) / 255;
+        int r = (((c >> 16) & 0xFF) * alpha + 127) / 255;
+        int g = (((c >> 8) & 0xFF) * alpha + 127) / 255;
+        int b = ((c & 0xFF) * alpha + 127) / 255;
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+}
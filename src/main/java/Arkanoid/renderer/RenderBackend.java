@@ -0,0 +1,24 @@
+package Arkanoid.renderer;
+
+/** How the playfield is drawn. */
+public enum RenderBackend {
+    /** Immediate mode: stacked canvases repainted by {@link Renderer}. */
+    CANVAS,
+    /** Retained mode: pooled nodes kept in sync by {@link SceneGraphRenderer}. */
+    SCENE_GRAPH;
+
+    /** System property selecting the backend, e.g. {@code -Darkanoid.renderer=scene_graph}. */
+    public static final String PROPERTY = "arkanoid.renderer";
+
+    /** @return the backend named by {@link #PROPERTY}, or CANVAS if unset or unknown. */
+    public static RenderBackend fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null) return CANVAS;
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown renderer '" + value + "', using CANVAS");
+            return CANVAS;
+        }
+    }
+}
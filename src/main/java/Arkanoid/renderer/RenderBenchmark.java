@@ -0,0 +1,233 @@
+package Arkanoid.renderer;
+
+import Arkanoid.audio.SoundManager;
+import Arkanoid.level.Level;
+import Arkanoid.level.LevelLoader;
+import Arkanoid.manager.GameManager;
+import Arkanoid.model.Ball;
+import Arkanoid.model.Brick;
+import Arkanoid.model.GameState;
+import Arkanoid.util.Constants;
+import Arkanoid.view.GameView;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.WritableImage;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Offscreen render benchmark. Replays a recorded session (fixed seed, fixed time step, paddle
+ * following the first ball) on every level and times only the rendering of each frame, so the
+ * same frames can be compared across backends.
+ *
+ * <pre>
+ * java Arkanoid.renderer.RenderBenchmark [frames] [--entities N] [--grid N] [--fx | --compare]
+ * </pre>
+ * Without {@code --fx} frames are rasterized by {@link PixelSurface} and no toolkit is started;
+ * with it they are drawn to an unattached canvas and snapshotted, which forces rasterization.
+ * {@code --compare} runs the full game view with each {@link RenderBackend} at 100, 1,000 and
+ * 5,000 entities, snapshotting the scene every frame. The scene-graph backend does not draw the
+ * canvas-only effects, so they are switched off for both backends to keep the runs like-for-like.
+ * {@code --entities} tops the frame up with extra balls until bricks, balls, power-ups and bullets
+ * add up to N (moving entities are the worst case for both backends).
+ * {@code --grid N} also plays a generated N x N brick level (e.g. 200), far larger than the window:
+ * with camera culling its frame time should stay close to that of the regular levels.
+ */
+public final class RenderBenchmark {
+    private static final double DT = 1.0 / 60.0;
+    private static final int WARMUP_FRAMES = 120;
+    private static final int[] COMPARE_ENTITIES = {100, 1_000, 5_000};
+
+    /** Draws one frame of the game with the backend under test (and presents it, if needed). */
+    @FunctionalInterface
+    public interface Frame {
+        void render(GameManager game);
+    }
+
+    /** Frame times of one run. */
+    public static final class Result {
+        private final long[] sorted;
+        private final long total;
+
+        Result(long[] samples) {
+            this.sorted = samples.clone();
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long s : samples) sum += s;
+            this.total = sum;
+        }
+
+        public int getFrames() { return sorted.length; }
+        public double getFps() { return total == 0 ? 0 : sorted.length * 1e9 / total; }
+        public double getMeanMillis() { return sorted.length == 0 ? 0 : total / 1e6 / sorted.length; }
+        public double getPercentileMillis(double q) {
+            if (sorted.length == 0) return 0;
+            return sorted[Math.min(sorted.length - 1, (int) (q * sorted.length))] / 1e6;
+        }
+        public double getMaxMillis() { return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6; }
+    }
+
+    private RenderBenchmark() { }
+
+    /**
+     * Plays {@code frames} frames of a level after a short warm-up and times the backend's frame
+     * for each. The backend is created for the run's game.
+     */
+    public static Result run(Function<GameManager, Frame> backend, int level, int frames, long seed, int entities) {
+        return run(backend, game -> level, frames, seed, entities);
+    }
+
+    /** Same as above, on a generated rows x cols level. */
+    public static Result runGrid(Function<GameManager, Frame> backend, int size, int frames, long seed, int entities) {
+        return run(backend, game -> game.getLevelManager().addLevel(
+                new Level(LevelLoader.createGridLevel(0, size + "x" + size, size, size))), frames, seed, entities);
+    }
+
+    private static Result run(Function<GameManager, Frame> backend, ToIntFunction<GameManager> levelSetup,
+                              int frames, long seed, int entities) {
+        SoundManager sound = SoundManager.getInstance();
+        boolean wasMuted = sound.isMuted();
+        sound.setMuted(true);
+        GameManager game = new GameManager();
+        Random random = new Random(seed);
+        long[] samples = new long[frames];
+        try {
+            Frame target = backend.apply(game);
+            game.getLoadGovernor().setEnabled(false);
+            game.setRandomSeed(seed);
+            game.getLevelManager().unlockAllLevels();
+            int level = levelSetup.applyAsInt(game);
+            game.selectLevel(level);
+            game.launchBall();
+            for (int f = -WARMUP_FRAMES; f < frames; f++) {
+                if (game.getCurrentState() != GameState.PLAYING) {
+                    game.selectLevel(level);
+                    game.launchBall();
+                }
+                for (int missing = entities - entityCount(game); missing > 0; missing--) {
+                    Ball ball = new Ball(game.getPaddle());
+                    ball.launch(-30 - random.nextDouble() * 120);
+                    game.getBalls().add(ball);
+                }
+                Ball first = game.getBalls().get(0);
+                game.getPaddle().setX(first.getCenterX() - game.getPaddle().getWidth() / 2);
+                game.update(DT);
+
+                long start = System.nanoTime();
+                target.render(game);
+                if (f >= 0) samples[f] = System.nanoTime() - start;
+            }
+        } finally {
+            game.cleanup();
+            game.shutdown();
+            sound.setMuted(wasMuted);
+        }
+        return new Result(samples);
+    }
+
+    /** @return live bricks plus balls, falling power-ups and bullets. */
+    public static int entityCount(GameManager game) {
+        int bricks = 0;
+        for (Brick brick : game.getBricks()) {
+            if (!brick.isDestroyed()) bricks++;
+        }
+        return bricks + game.getBalls().size() + game.getPowerUps().size() + game.getBullets().size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int frames = 600;
+        int entities = 0;
+        int grid = 0;
+        boolean fx = false;
+        boolean compare = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--fx" -> fx = true;
+                case "--compare" -> compare = true;
+                case "--entities" -> entities = Integer.parseInt(args[++i]);
+                case "--grid" -> grid = Integer.parseInt(args[++i]);
+                default -> frames = Integer.parseInt(args[i]);
+            }
+        }
+        int frameCount = frames;
+        int entityCount = entities;
+        int gridSize = grid;
+        if (!fx && !compare) {
+            printLevels("pixel", frameCount, entityCount, gridSize, game -> {
+                Renderer renderer = new Renderer(
+                        new PixelSurface(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT));
+                return renderer::render;
+            });
+            return;
+        }
+        boolean backends = compare;
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                if (backends) {
+                    compareBackends(frameCount);
+                } else {
+                    printLevels("fx-canvas", frameCount, entityCount, gridSize, game -> {
+                        Canvas canvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+                        WritableImage image = snapshotTarget();
+                        Renderer renderer = new Renderer(canvas.getGraphicsContext2D());
+                        return g -> {
+                            renderer.render(g);
+                            canvas.snapshot(null, image);
+                        };
+                    });
+                }
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void printLevels(String backend, int frames, int entities, int grid,
+                                    Function<GameManager, Frame> target) {
+        GameManager probe = new GameManager();
+        int levels = probe.getLevelManager().getTotalLevels();
+        probe.shutdown();
+        System.out.printf("backend %s, %d frames per level, %d entities%n", backend, frames, entities);
+        System.out.printf("%-6s %9s %9s %9s %9s %9s%n", "level", "fps", "mean ms", "p50", "p99", "max");
+        for (int level = 1; level <= levels; level++) {
+            print(Integer.toString(level), run(target, level, frames, 1L, entities));
+        }
+        if (grid > 0) print(grid + "x" + grid, runGrid(target, grid, frames, 1L, entities));
+    }
+
+    private static void compareBackends(int frames) {
+        System.out.printf("game view + scene snapshot, level 1, %d frames, "
+                + "effects off for both backends (particles, trails, laser, aim preview)%n", frames);
+        System.out.printf("%-18s %9s %9s %9s %9s %9s%n", "entities/backend", "fps", "mean ms", "p50", "p99", "max");
+        for (int entities : COMPARE_ENTITIES) {
+            for (RenderBackend backend : RenderBackend.values()) {
+                Result r = run(game -> {
+                    game.setEffectsEnabled(false);
+                    GameView view = new GameView(game, backend);
+                    WritableImage image = snapshotTarget();
+                    return g -> {
+                        view.render(g);
+                        view.getScene().snapshot(image);
+                    };
+                }, 1, frames, 1L, entities);
+                print(entities + " " + backend.name().toLowerCase(), r);
+            }
+        }
+    }
+
+    private static WritableImage snapshotTarget() {
+        return new WritableImage(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+    }
+
+    private static void print(String label, Result r) {
+        System.out.printf("%-18s %9.1f %9.3f %9.3f %9.3f %9.3f%n", label, r.getFps(), r.getMeanMillis(),
+                r.getPercentileMillis(0.5), r.getPercentileMillis(0.99), r.getMaxMillis());
+    }
+}
@@ -1,429 +1,749 @@
 package Arkanoid.renderer;
 
 import Arkanoid.level.Level;
+import Arkanoid.manager.AssetManager;
+import Arkanoid.manager.Camera;
+import Arkanoid.manager.FrameProfiler;
 import Arkanoid.manager.GameManager;
+import Arkanoid.manager.LoadGovernor;
 import Arkanoid.manager.ScoreManager;
 import Arkanoid.model.*;
 import Arkanoid.util.Constants;
+import javafx.application.Platform;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.canvas.Canvas;
 
-import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Renders the entire game based on the current GameState.
- * Uses cached and pre-scaled resources for performance.
+ * Images come from the {@link AssetManager}, decoded at their draw size; small sprites are baked
+ * into a {@link SpriteAtlas} once.
+ * The playfield is drawn through the game's {@link Camera}: bricks come from a viewport query of
+ * the spatial indexes and entities outside the view are skipped, so the cost follows what is on
+ * screen rather than the size of the level.
  */
 public class Renderer {
-    private final GraphicsContext gc;
+    /** Height of the HUD strip (score box, level title, hearts) at the top of the screen. */
+    public static final double HUD_HEIGHT = 48;
+
+    // Layers, back to front; in single-surface mode they are all the same surface
+    private final DrawSurface bgGc;
+    private final DrawSurface brickGc;
+    private final DrawSurface gc; // dynamic entities
+    private final DrawSurface hudGc; // HUD strip
+    private final DrawSurface overlayGc; // pause / game over / level complete
+    private final boolean layered;
+    private final boolean playfield; // false when another backend draws bricks and entities
+
+    // Layered mode: what each layer currently shows, so it is only repainted on change
+    private boolean backgroundValid = false;
+    private boolean bricksValid = false;
+    private boolean gameLayersCleared = true;
+    // Screen-space rectangles drawn on the entity layer, cleared next frame
+    private final DirtyRegions entityRegions = new DirtyRegions(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+    // Camera offset of the last playfield frame (whole pixels, so the brick layer stays aligned)
+    private int viewX = 0;
+    private int viewY = 0;
+    private final List<Brick> visibleBricks = new ArrayList<>();
+    private boolean hudValid = false;
+    private Level hudLevel = null;
+    private int hudScore = -1;
+    private int hudLives = -1;
+    private GameState overlayState = null;
+    private int overlayScore = -1;
+
+    /** Fonts are resolved once, on first use (Font.font needs a running toolkit). */
+    private static final class Fonts {
+        static final Font HUD = Font.font("Arial", Constants.UI_FONT_SIZE);
+        static final Font SMALL = Font.font("Arial", 20);
+        static final Font MEDIUM = Font.font("Arial", 28);
+        static final Font LARGE = Font.font("Arial", 30);
+        static final Font PAUSED = Font.font("Arial", 48);
+        static final Font TITLE = Font.font("Arial", 60);
+        static final Font MONO = Font.font("Monospaced", 12);
+    }
 
-    // Static cache to avoid reloading images for each Renderer instance
-    private static Map<String, Image> cachedBrickImages = null;
-    private static Image cachedDefaultBackground = null;
-    private static WritableImage cachedDefaultScaledBg = null;
+    // Profiler overlay: text rebuilt a few times per second, not every frame
+    private static final int PROFILER_REFRESH_FRAMES = 30;
+    private static final double PROFILER_LINE_HEIGHT = 14;
+    private static final Color PROFILER_PANEL_COLOR = Color.rgb(0, 0, 0, 0.6);
+    private final String[] profilerLines = new String[FrameProfiler.Phase.values().length + 3];
+    private long profilerRefreshFrame = -1;
+
+    // Images come from the AssetManager, decoded at the size they are drawn at
+    private static final String DEFAULT_BACKGROUND = "/images/level/space.png";
+    private static final String HEART_IMAGE = "/images/powerup/heart.png";
+    private static final String[][] BRICK_IMAGES = {
+            {"NORMAL", "/images/bricks/brick_normal.png"},
+            {"HARD", "/images/bricks/brick_hard.png"},
+            {"UNBREAKABLE", "/images/bricks/brick_unbreakable.png"},
+            {"BROKEN", "/images/bricks/brick_broken.png"},
+    };
+    private static final int BG_WIDTH = Constants.WINDOW_WIDTH;
+    private static final int BG_HEIGHT = Constants.WINDOW_HEIGHT;
+
+    private final AssetManager assets = AssetManager.getInstance();
+    private final Map<String, Image> brickImages = new HashMap<>();
+    private final Image defaultBackground;
+    private final Image heartImage;
+    private Image currentBackground; // shown on the background layer
+
+    // Small sprites pre-rasterized at their draw size; regions resolved once per Renderer
+    private static final double HEART_SIZE = 22;
+    private static SpriteAtlas cachedAtlas = null;
+    private final SpriteAtlas atlas;
+    private final SpriteAtlas.Region ballRegion;
+    private final SpriteAtlas.Region fireballRegion;
+    private final SpriteAtlas.Region[] brickRegions = new SpriteAtlas.Region[BrickType.values().length];
+    private final SpriteAtlas.Region brokenRegion;
+    private final SpriteAtlas.Region[] powerUpRegions = new SpriteAtlas.Region[PowerUpType.values().length];
+    private final SpriteAtlas.Region rocketRegion;
+    private final SpriteAtlas.Region heartRegion;
+    private final SpriteAtlas.Region dimHeartRegion;
+
+    // Static bricks pre-composited offscreen; only dirty rectangles are re-rasterized
+    private final BrickLayer brickLayer = new BrickLayer(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+    private int brickLayerVersion = -1;
+
+    // Aim preview style (dash array kept static: setLineDashes is called every frame)
+    private static final Color AIM_PREVIEW_COLOR = Color.rgb(255, 255, 255, 0.6);
+    private static final double[] AIM_PREVIEW_DASHES = {8, 6};
 
-    // Cache for level backgrounds (key = backgroundPath)
-    private static final Map<String, Image> cachedLevelBackgrounds = new HashMap<>();
-    private static final Map<String, WritableImage> cachedScaledLevelBgs = new HashMap<>();
+    /**
+     * Single-canvas mode on a JavaFX canvas. Must be used from the FX thread, since the HUD and
+     * overlay caches are baked with snapshots.
+     */
+    public Renderer(GraphicsContext gc) {
+        this(new FxSurface(gc));
+    }
 
-    private final Map<String, Image> brickImages;
-    private final Image defaultBackgroundImage;
-    private final WritableImage defaultScaledBackground;
+    /**
+     * Single-surface mode: every frame is fully repainted into one surface. The HUD and overlays
+     * are still only laid out when they change, on offscreen surfaces of the same backend; in
+     * between they cost one copy each. With a {@link PixelSurface} this runs without the toolkit.
+     */
+    public Renderer(DrawSurface surface) {
+        this(surface, surface, surface,
+                surface.createOffscreen(Constants.WINDOW_WIDTH, HUD_HEIGHT),
+                surface.createOffscreen(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT),
+                false);
+    }
 
-    // Current level background reference
-    private String currentBgPath = null;
-    private WritableImage currentScaledBg = null;
+    /**
+     * Layered mode: one context per stacked canvas (back to front). Background, bricks, HUD and
+     * overlays are repainted only when they change; the entity layer clears only what it drew
+     * last frame. The HUD canvas only needs to be {@link #HUD_HEIGHT} tall, and the overlay
+     * canvas is hidden while no overlay is shown so it costs nothing to composite.
+     */
+    public Renderer(GraphicsContext background, GraphicsContext bricks, GraphicsContext entities,
+                    GraphicsContext hud, GraphicsContext overlay) {
+        this(new FxSurface(background), new FxSurface(bricks), new FxSurface(entities),
+                new FxSurface(hud), new FxSurface(overlay), true);
+    }
 
-    // Cached heart image for lives UI
-    private static Image cachedHeartImage = null;
+    /**
+     * Layered mode without a playfield: only the background, HUD and overlays are drawn, for a
+     * backend that shows bricks and entities itself (see {@link SceneGraphRenderer}).
+     */
+    public Renderer(GraphicsContext background, GraphicsContext hud, GraphicsContext overlay) {
+        this(new FxSurface(background), null, null, new FxSurface(hud), new FxSurface(overlay), true);
+    }
 
-    public Renderer(GraphicsContext gc) {
-        this.gc = gc;
-
-        // Cache brick images
-        if (cachedBrickImages == null) {
-            cachedBrickImages = new HashMap<>();
-            cachedBrickImages.put("NORMAL", loadImage("/images/bricks/brick_normal.png"));
-            cachedBrickImages.put("HARD", loadImage("/images/bricks/brick_hard.png"));
-            cachedBrickImages.put("UNBREAKABLE", loadImage("/images/bricks/brick_unbreakable.png"));
-            cachedBrickImages.put("BROKEN", loadImage("/images/bricks/brick_broken.png"));
-        }
-        this.brickImages = cachedBrickImages;
-
-        // Load default background only once
-        if (cachedDefaultBackground == null) {
-            cachedDefaultBackground = loadImage("/images/level/space.png");
-            if (cachedDefaultBackground != null) {
-                cachedDefaultScaledBg = prescaleBackground(cachedDefaultBackground);
+    /**
+     * @return every image pinned in {@link AssetManager#CORE_SCOPE}, at the size it is drawn at;
+     *         the build bakes exactly these into the asset bundle
+     */
+    public static List<AssetManager.ImageSpec> coreImages() {
+        List<AssetManager.ImageSpec> specs = new ArrayList<>();
+        for (String[] brick : BRICK_IMAGES) {
+            specs.add(new AssetManager.ImageSpec(brick[1], 0, 0));
+        }
+        specs.add(new AssetManager.ImageSpec(DEFAULT_BACKGROUND, BG_WIDTH, BG_HEIGHT));
+        specs.add(new AssetManager.ImageSpec(HEART_IMAGE, (int) HEART_SIZE, (int) HEART_SIZE));
+        for (PowerUpType type : PowerUpType.values()) {
+            String path = PowerUps.imagePath(type);
+            if (path != null) {
+                specs.add(new AssetManager.ImageSpec(path, Constants.POWERUP_SIZE, Constants.POWERUP_SIZE));
             }
         }
-        this.defaultBackgroundImage = cachedDefaultBackground;
-        this.defaultScaledBackground = cachedDefaultScaledBg;
+        specs.add(new AssetManager.ImageSpec(Bullet.ROCKET_IMAGE, (int) Bullet.ROCKET_WIDTH, (int) Bullet.ROCKET_HEIGHT));
+        return specs;
+    }
+
+    /**
+     * Starts decoding (or copying from the asset bundle) every {@link #coreImages()} sprite and pins
+     * it for good. Returns at once; a renderer waits for them when it is created.
+     */
+    public static CompletableFuture<Void> preloadCoreImages() {
+        AssetManager assets = AssetManager.getInstance();
+        List<CompletableFuture<Image>> core = new ArrayList<>();
+        for (AssetManager.ImageSpec spec : coreImages()) {
+            core.add(assets.retain(AssetManager.CORE_SCOPE, spec.getPath(), spec.getWidth(), spec.getHeight()));
+        }
+        return AssetManager.awaitAll(core);
+    }
 
-        // Start with default background
-        this.currentScaledBg = cachedDefaultScaledBg;
+    private Renderer(DrawSurface background, DrawSurface bricks, DrawSurface entities,
+                     DrawSurface hud, DrawSurface overlay, boolean layered) {
+        this.bgGc = background;
+        this.brickGc = bricks;
+        this.gc = entities;
+        this.hudGc = hud;
+        this.overlayGc = overlay;
+        this.layered = layered;
+        this.playfield = entities != null;
+
+        // Ảnh dùng ở mọi màn: giải mã song song trên luồng nền, chờ xong một lần trước khi dựng atlas
+        preloadCoreImages().join();
+
+        for (String[] brick : BRICK_IMAGES) {
+            Image image = assets.get(brick[1]);
+            if (image != null) brickImages.put(brick[0], image);
+        }
+        for (Map.Entry<String, Image> e : brickImages.entrySet()) {
+            brickLayer.setSprite(e.getKey(), e.getValue());
+        }
+        this.defaultBackground = assets.get(DEFAULT_BACKGROUND, BG_WIDTH, BG_HEIGHT);
+        this.currentBackground = defaultBackground;
+        this.heartImage = assets.get(HEART_IMAGE, (int) HEART_SIZE, (int) HEART_SIZE);
 
-        // Load heart image once for UI
-        if (cachedHeartImage == null) {
-            cachedHeartImage = loadImage("/images/powerup/heart.png");
+        if (cachedAtlas == null) {
+            cachedAtlas = buildAtlas();
+        }
+        this.atlas = cachedAtlas;
+        this.ballRegion = region("BALL");
+        this.fireballRegion = region("FIREBALL");
+        for (BrickType type : BrickType.values()) {
+            brickRegions[type.ordinal()] = region("BRICK_" + type.name());
+        }
+        this.brokenRegion = region("BRICK_BROKEN");
+        for (PowerUpType type : PowerUpType.values()) {
+            powerUpRegions[type.ordinal()] = region("POWERUP_" + type.name());
         }
+        this.rocketRegion = region("ROCKET");
+        this.heartRegion = region("HEART");
+        this.dimHeartRegion = region("HEART_DIM");
     }
 
     /**
-     * Pre-scales the background image to window size for faster draws.
+     * Rasterizes ball gradients, brick variants, power-up icons, the rocket and the hearts once at
+     * their exact draw sizes. Off the FX thread (e.g. a {@link PixelSurface} renderer) there is no
+     * atlas and every sprite falls back to its scaled draw.
      */
-    private WritableImage prescaleBackground(Image original) {
-        if (original == null) return null;
-
+    private SpriteAtlas buildAtlas() {
+        if (!Platform.isFxApplicationThread()) return null;
         try {
-            double targetWidth = Constants.WINDOW_WIDTH;
-            double targetHeight = Constants.WINDOW_HEIGHT;
-
-            if (Math.abs(original.getWidth() - targetWidth) < 1 &&
-                    Math.abs(original.getHeight() - targetHeight) < 1) {
-                return null; // Dùng ảnh gốc luôn
+            SpriteAtlas.Builder builder = new SpriteAtlas.Builder();
+            int d = Constants.BALL_RADIUS * 2;
+            builder.add("BALL", d, d, g -> {
+                g.setFill(Ball.gradient(false));
+                g.fillOval(0, 0, d, d);
+            });
+            builder.add("FIREBALL", d, d, g -> {
+                g.setFill(Ball.gradient(true));
+                g.fillOval(0, 0, d, d);
+            });
+            for (Map.Entry<String, Image> e : brickImages.entrySet()) {
+                builder.addImage("BRICK_" + e.getKey(), e.getValue(), Constants.BRICK_WIDTH, Constants.BRICK_HEIGHT);
             }
-
-            Canvas tempCanvas = new Canvas(targetWidth, targetHeight);
-            GraphicsContext tempGc = tempCanvas.getGraphicsContext2D();
-            tempGc.drawImage(original, 0, 0, targetWidth, targetHeight);
-
-            WritableImage scaled = new WritableImage((int)targetWidth, (int)targetHeight);
-            SnapshotParameters params = new SnapshotParameters();
-            params.setFill(Color.TRANSPARENT);
-            tempCanvas.snapshot(params, scaled);
-
-            return scaled;
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            for (PowerUpType type : PowerUpType.values()) {
+                PowerUps icon = new PowerUps(0, 0, type);
+                builder.add("POWERUP_" + type.name(), Constants.POWERUP_SIZE, Constants.POWERUP_SIZE, icon::render);
+            }
+            Bullet rocket = new Bullet(0, 0);
+            builder.add("ROCKET", (int) rocket.getWidth(), (int) rocket.getHeight(), rocket::render);
+            int heart = (int) HEART_SIZE;
+            builder.add("HEART", heart, heart, g -> drawHeart(g, 0, 0, 1.0));
+            builder.add("HEART_DIM", heart, heart, g -> drawHeart(g, 0, 0, 0.25));
+            return builder.build();
+        } catch (IllegalStateException e) {
+            return null; // not on the FX application thread
         }
     }
 
-    private Image loadImage(String path) {
-        try {
-            InputStream stream = getClass().getResourceAsStream(path);
-            if (stream == null) {
-                return null;
-            }
+    private SpriteAtlas.Region region(String key) {
+        return atlas != null ? atlas.get(key) : null;
+    }
 
-            // ✅ Load với smooth=false để tiết kiệm bộ nhớ
-            Image img = new Image(stream, 0, 0, true, false);
-            stream.close(); // ✅ Đóng stream sau khi load
+    /** @return the shared sprite atlas, or null off the FX thread. */
+    SpriteAtlas getAtlas() { return atlas; }
 
-            return img;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+    private void drawHeart(DrawSurface g, double x, double y, double alpha) {
+        if (heartImage != null) {
+            g.setGlobalAlpha(alpha);
+            g.drawImage(heartImage, x, y, HEART_SIZE, HEART_SIZE);
+            g.setGlobalAlpha(1.0);
+        } else {
+            g.setFill(Color.color(1, 0.2, 0.3, alpha));
+            g.fillOval(x, y, HEART_SIZE, HEART_SIZE);
         }
     }
 
+    /** Draws a sprite from the atlas, or returns false so the caller uses its scaled fallback. */
+    private boolean drawSprite(SpriteAtlas.Region region, double x, double y, double w, double h) {
+        return atlas != null && atlas.draw(gc, region, x, y, w, h);
+    }
+
     /**
-     * Renders a frame based on the game state and ensures backgrounds are cached.
+     * Renders a frame based on the game state.
      */
     public void render(GameManager gameManager) {
+        long renderStart = System.nanoTime();
+        FrameProfiler profiler = gameManager.getProfiler();
         GameState state = gameManager.getCurrentState();
 
-        // Xác định background cần sử dụng theo level/state
-        String desiredBgPath = null;
+        // Xác định background cần sử dụng theo level/state; ảnh nền mặc định cho tới khi giải mã xong
         Level currentLevel = gameManager.getCurrentLevel();
-
-        if (currentLevel != null && state == GameState.PLAYING) {
-            desiredBgPath = currentLevel.getBackgroundImage();
+        Image desiredBg = null;
+        if (currentLevel != null && state == GameState.PLAYING && currentLevel.getBackgroundImage() != null) {
+            desiredBg = assets.get(currentLevel.getBackgroundImage(), BG_WIDTH, BG_HEIGHT);
         }
-
-        if (!isSameBackground(desiredBgPath, currentBgPath)) {
-            loadLevelBackground(desiredBgPath);
+        if (desiredBg == null) desiredBg = defaultBackground;
+        if (desiredBg != currentBackground) {
+            currentBackground = desiredBg;
+            backgroundValid = false;
         }
 
-        // Vẽ nền đã cache để tối ưu hiệu năng
-        drawBackground();
+        // Vẽ nền đã cache; ở chế độ nhiều lớp chỉ vẽ lại khi nền thay đổi
+        long phaseStart = profiler.begin();
+        if (!layered || !backgroundValid) {
+            drawBackground();
+            backgroundValid = true;
+        }
+        profiler.end(FrameProfiler.Phase.RENDER_BACKGROUND, phaseStart);
 
         switch (state) {
-            case MENU -> { /* keep only background */ }
-            case PLAYING, PAUSED -> {
-                // Vẽ gameplay: gạch, paddle, bóng, power-up, đạn, UI
-                renderGame(gameManager);
-                if (state == GameState.PAUSED) renderPauseOverlay();
-            }
-            case GAME_OVER -> {
-                // Vẫn vẽ gameplay làm nền, sau đó phủ lớp Game Over
-                renderGame(gameManager);
-                renderGameOver(gameManager.getScoreManager());
-            }
-            case LEVEL_COMPLETE -> {
-                // Vẽ gameplay làm nền, sau đó phủ lớp Level Complete
-                renderGame(gameManager);
-                renderLevelComplete(gameManager);
+            case MENU -> clearGameLayers(); // keep only background
+            case PLAYING, PAUSED, GAME_OVER, LEVEL_COMPLETE -> {
+                // Vẽ gameplay: gạch, paddle, bóng, power-up, đạn; sau đó UI và lớp phủ theo trạng thái
+                gameLayersCleared = false;
+                if (playfield) renderGame(gameManager, profiler);
+                phaseStart = profiler.begin();
+                renderHud(gameManager, state);
+                profiler.end(FrameProfiler.Phase.RENDER_HUD, phaseStart);
+                if (playfield && profiler.isEnabled()) renderProfiler(gameManager, profiler);
             }
         }
+        long renderNanos = System.nanoTime() - renderStart;
+        gameManager.getLoadGovernor().recordRender(renderNanos);
+        profiler.record(FrameProfiler.Phase.RENDER, renderNanos);
+        profiler.endFrame();
     }
 
-    private boolean isSameBackground(String path1, String path2) {
-        if (path1 == null && path2 == null) return true;
-        if (path1 == null || path2 == null) return false;
-        return path1.equals(path2);
+    /** Draws the current background, already decoded at window size. */
+    private void drawBackground() {
+        if (currentBackground != null) {
+            bgGc.drawImage(currentBackground, 0, 0);
+        } else {
+            bgGc.setFill(Constants.BACKGROUND_COLOR);
+            bgGc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        }
     }
 
-    private void loadLevelBackground(String backgroundPath) {
-        if (backgroundPath == null || backgroundPath.trim().isEmpty()) {
-            currentBgPath = null;
-            currentScaledBg = defaultScaledBackground;
-            return;
+    // Chế độ nhiều lớp: xóa gạch/thực thể/HUD một lần khi rời màn chơi
+    private void clearGameLayers() {
+        if (!layered || gameLayersCleared) return;
+        if (playfield) {
+            brickGc.clearRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            gc.clearRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
         }
+        hudGc.clearRect(0, 0, Constants.WINDOW_WIDTH, HUD_HEIGHT);
+        showOverlay(null);
+        entityRegions.reset();
+        bricksValid = false;
+        hudValid = false;
+        gameLayersCleared = true;
+    }
 
-        if (cachedScaledLevelBgs.containsKey(backgroundPath)) {
-            currentBgPath = backgroundPath;
-            currentScaledBg = cachedScaledLevelBgs.get(backgroundPath);
-            return;
+    /** Records an entity's bounds (world coordinates) so the next layered frame clears just that area. */
+    private void touch(double x, double y, double w, double h) {
+        if (layered) entityRegions.add(x - viewX, y - viewY, w, h);
+    }
+
+    private void renderGame(GameManager gameManager, FrameProfiler profiler) {
+        LoadGovernor.RenderDetail detail = gameManager.getLoadGovernor().getRenderDetail();
+        Camera camera = gameManager.getCamera();
+        int camX = (int) Math.round(camera.getX());
+        int camY = (int) Math.round(camera.getY());
+        boolean scrolled = camX != viewX || camY != viewY;
+        viewX = camX;
+        viewY = camY;
+
+        long phaseStart = profiler.begin();
+        boolean bricksChanged = syncBrickLayer(gameManager);
+        if (!layered) {
+            gc.drawLayer(brickLayer, 0, 0);
+        } else if (bricksChanged || !bricksValid) {
+            brickGc.clearRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            brickGc.drawLayer(brickLayer, 0, 0);
+            bricksValid = true;
+        }
+        profiler.end(FrameProfiler.Phase.RENDER_BRICKS, phaseStart);
+
+        // Lớp thực thể: chỉ xóa những vùng đã vẽ ở khung hình trước (xóa hết khi camera di chuyển)
+        phaseStart = profiler.begin();
+        if (layered && scrolled) {
+            gc.clearRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            entityRegions.reset();
+        } else if (layered) {
+            entityRegions.clear(gc);
+        }
+        gc.setTranslation(-camX, -camY);
+
+        // Chỉ gạch di động trong khung nhìn được vẽ lại mỗi khung hình (truy vấn qua chỉ mục không gian)
+        visibleBricks.clear();
+        gameManager.getBrickGrid().query(camX, camY, camera.getViewWidth(), camera.getViewHeight(), visibleBricks);
+        gameManager.getBrickBvh().query(camX, camY, camera.getViewWidth(), camera.getViewHeight(), visibleBricks);
+        for (int i = 0; i < visibleBricks.size(); i++) {
+            Brick brick = visibleBricks.get(i);
+            if (brick.isDestroyed() || BrickLayer.isStatic(brick)) continue;
+            drawBrick(brick, detail);
+            touch(brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight());
         }
 
-        try {
-            Image originalBg = cachedLevelBackgrounds.get(backgroundPath);
-            if (originalBg == null) {
-                originalBg = loadImage(backgroundPath);
-                if (originalBg != null) {
-                    cachedLevelBackgrounds.put(backgroundPath, originalBg);
-                }
+        // Hạt: một lượt vẽ gộp, bỏ qua khi quá tải nặng hoặc ngoài khung nhìn
+        ParticleSystem particles = gameManager.getParticles();
+        if (particles.getCount() > 0 && detail != LoadGovernor.RenderDetail.MINIMAL
+                && camera.intersects(particles.getMinX(), particles.getMinY(),
+                        particles.getMaxX() - particles.getMinX(), particles.getMaxY() - particles.getMinY())) {
+            particles.render(gc);
+            touch(particles.getMinX(), particles.getMinY(),
+                    particles.getMaxX() - particles.getMinX(), particles.getMaxY() - particles.getMinY());
+        }
+
+        for (PowerUps powerUp : gameManager.getPowerUps()) {
+            if (powerUp.isCollected()
+                    || !camera.intersects(powerUp.getX(), powerUp.getY(), powerUp.getWidth(), powerUp.getHeight())) {
+                continue;
+            }
+            if (!drawSprite(powerUpRegions[powerUp.getType().ordinal()],
+                    powerUp.getX(), powerUp.getY(), powerUp.getWidth(), powerUp.getHeight())) {
+                powerUp.render(gc);
             }
+            touch(powerUp.getX(), powerUp.getY(), powerUp.getWidth(), powerUp.getHeight());
+        }
 
-            if (originalBg != null) {
-                WritableImage scaledBg = prescaleBackground(originalBg);
-                cachedScaledLevelBgs.put(backgroundPath, scaledBg);
+        // Vệt bóng vẽ dưới bóng; tắt khi đang giảm tải
+        if (gameManager.isTrailsEnabled() && detail == LoadGovernor.RenderDetail.FULL) {
+            BallTrails trails = gameManager.getBallTrails();
+            if (trails.hasBounds() && camera.intersects(trails.getMinX(), trails.getMinY(),
+                    trails.getMaxX() - trails.getMinX(), trails.getMaxY() - trails.getMinY())) {
+                trails.render(gc);
+                touch(trails.getMinX(), trails.getMinY(),
+                        trails.getMaxX() - trails.getMinX(), trails.getMaxY() - trails.getMinY());
+            }
+        }
 
-                currentBgPath = backgroundPath;
-                currentScaledBg = scaledBg;
+        Paddle paddle = gameManager.getPaddle();
+        if (camera.intersects(paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight())) {
+            paddle.render(gc);
+            touch(paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight());
+        }
+        for (Ball ball : gameManager.getBalls()) {
+            double size = ball.getRadius() * 2;
+            if (!camera.intersects(ball.getX(), ball.getY(), size, size)) continue;
+            if (detail == LoadGovernor.RenderDetail.FULL) {
+                if (!drawSprite(ball.isFireball() ? fireballRegion : ballRegion, ball.getX(), ball.getY(), size, size)) {
+                    ball.render(gc);
+                }
             } else {
-                currentBgPath = null;
-                currentScaledBg = defaultScaledBackground;
+                // Flat fill: no per-ball gradient while shedding load
+                gc.setFill(ball.isFireball() ? Constants.BALL_FIREBALL_COLOR : Constants.BALL_COLOR);
+                gc.fillOval(ball.getX(), ball.getY(), ball.getRadius() * 2, ball.getRadius() * 2);
             }
+            touch(ball.getX(), ball.getY(), ball.getRadius() * 2, ball.getRadius() * 2);
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            currentBgPath = null;
-            currentScaledBg = defaultScaledBackground;
+        for (Bullet bullet : gameManager.getBullets()) {
+            if (!camera.intersects(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight())) continue;
+            if (!drawSprite(rocketRegion, bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight())) {
+                bullet.render(gc);
+            }
+            touch(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight());
         }
+
+        renderLaser(gameManager);
+        renderAimPreview(gameManager);
+        gc.setTranslation(0, 0);
+        profiler.end(FrameProfiler.Phase.RENDER_ENTITIES, phaseStart);
     }
 
-    /** Draws background from cache when possible. */
-    private void drawBackground() {
-        if (currentScaledBg != null) {
-            gc.drawImage(currentScaledBg, 0, 0);
-        } else if (currentBgPath != null) {
-            Image original = cachedLevelBackgrounds.get(currentBgPath);
-            if (original != null) {
-                gc.drawImage(original, 0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-            } else {
-                drawDefaultBackground();
+    /** Debug panel with per-phase p50/p99/max over the profiler window and entity counts. */
+    private void renderProfiler(GameManager gameManager, FrameProfiler profiler) {
+        long frame = profiler.getFrameCount();
+        if (profilerRefreshFrame < 0 || frame < profilerRefreshFrame
+                || frame - profilerRefreshFrame >= PROFILER_REFRESH_FRAMES) {
+            profilerRefreshFrame = frame;
+            int line = 0;
+            profilerLines[line++] = String.format("%-14s %6s %6s %6s  (ms, %d frames)",
+                    "phase", "p50", "p99", "max", profiler.getSampleCount());
+            for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+                profilerLines[line++] = String.format("%-14s %6.2f %6.2f %6.2f", phase.getLabel(),
+                        profiler.percentile(phase, 0.5) / 1e6, profiler.percentile(phase, 0.99) / 1e6,
+                        profiler.max(phase) / 1e6);
             }
-        } else {
-            drawDefaultBackground();
+            profilerLines[line++] = String.format("balls %d  bricks %d  power-ups %d  bullets %d",
+                    gameManager.getBalls().size(), gameManager.getBricks().size(),
+                    gameManager.getPowerUps().size(), gameManager.getBullets().size());
+            profilerLines[line] = "F3 hide  F4 dump CSV";
         }
-    }
 
-    private void drawDefaultBackground() {
-        if (defaultScaledBackground != null) {
-            gc.drawImage(defaultScaledBackground, 0, 0);
-        } else if (defaultBackgroundImage != null) {
-            gc.drawImage(defaultBackgroundImage, 0, 0,
-                    Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        } else {
-            gc.setFill(Constants.BACKGROUND_COLOR);
-            gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        double x = 10;
+        double y = HUD_HEIGHT + 6;
+        double w = 330;
+        double h = profilerLines.length * PROFILER_LINE_HEIGHT + 8;
+        gc.setFill(PROFILER_PANEL_COLOR);
+        gc.fillRect(x, y, w, h);
+        if (layered) entityRegions.add(x, y, w, h); // screen space, not world
+        if (!gc.canDrawText()) return;
+        gc.setFill(Color.LIME);
+        gc.setFont(Fonts.MONO);
+        gc.setTextAlign(TextAlignment.LEFT);
+        for (int i = 0; i < profilerLines.length; i++) {
+            gc.fillText(profilerLines[i], x + 6, y + (i + 1) * PROFILER_LINE_HEIGHT);
         }
     }
 
-    private void renderGame(GameManager gameManager) {
-        for (Brick brick : gameManager.getBricks()) {
-            if (brick.isDestroyed()) continue; // do not draw destroyed bricks
-            String type = brick.getType().name();
-            Image img;
-            if (brick.getType() == BrickType.HARD && brick instanceof Brick) {
-                // Use broken sprite if HARD has been damaged
-                if (((Brick) brick).isDamaged()) {
-                    img = brickImages.get("BROKEN");
-                } else {
-                    img = brickImages.get("HARD");
-                }
-            } else {
-                img = brickImages.get(type);
-            }
-            if (img != null) {
-                gc.drawImage(img, brick.getX(), brick.getY(),
-                        brick.getWidth(), brick.getHeight());
-            } else {
-                brick.render(gc);
+    /**
+     * Draws the HUD and the state overlay. Text is only laid out when the score, lives, level or
+     * state shown changed: in layered mode the HUD and overlay canvases simply keep their pixels,
+     * in single-surface mode their offscreen surfaces are copied again.
+     */
+    private void renderHud(GameManager gameManager, GameState state) {
+        ScoreManager sm = gameManager.getScoreManager();
+        Level level = gameManager.getCurrentLevel();
+
+        if (!hudValid || level != hudLevel || sm.getScore() != hudScore || sm.getLives() != hudLives) {
+            hudLevel = level;
+            hudScore = sm.getScore();
+            hudLives = sm.getLives();
+            hudValid = true;
+            hudGc.clearRect(0, 0, Constants.WINDOW_WIDTH, HUD_HEIGHT);
+            renderUI(gameManager);
+        }
+        if (!layered) gc.drawSurface(hudGc, 0, 0);
+
+        GameState shown = state == GameState.PLAYING ? null : state;
+        if (shown != overlayState || (shown != null && sm.getScore() != overlayScore)) {
+            overlayScore = sm.getScore();
+            showOverlay(shown);
+            if (shown != null) {
+                overlayGc.clearRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+                renderOverlay(gameManager, state);
             }
         }
+        if (!layered && shown != null) gc.drawSurface(overlayGc, 0, 0);
+    }
 
-        for (PowerUps powerUp : gameManager.getPowerUps()) {
-            powerUp.render(gc);
+    // Vẫn vẽ gameplay làm nền, sau đó phủ lớp Pause / Game Over / Level Complete
+    private void renderOverlay(GameManager gameManager, GameState state) {
+        switch (state) {
+            case PAUSED -> renderPauseOverlay();
+            case GAME_OVER -> renderGameOver(gameManager.getScoreManager());
+            case LEVEL_COMPLETE -> renderLevelComplete(gameManager);
+            default -> { }
         }
+    }
 
-        gameManager.getPaddle().render(gc);
-        for (Ball ball : gameManager.getBalls()) {
-            ball.render(gc);
+    // Lớp phủ ẩn khi không dùng để không tốn chi phí kết hợp ảnh
+    private void showOverlay(GameState state) {
+        overlayState = state;
+        if (layered) overlayGc.setVisible(state != null);
+    }
+
+    /**
+     * Brings the static brick layer up to date: scrolled to the camera, full rebuild on a new brick
+     * set, else dirty rects.
+     */
+    private boolean syncBrickLayer(GameManager gameManager) {
+        brickLayer.scrollTo(viewX, viewY);
+        if (brickLayerVersion != gameManager.getBrickLayoutVersion()) {
+            brickLayerVersion = gameManager.getBrickLayoutVersion();
+            brickLayer.invalidateAll();
+        } else {
+            java.util.List<Brick> changed = gameManager.getChangedBricks();
+            for (int i = 0; i < changed.size(); i++) {
+                brickLayer.invalidate(changed.get(i));
+            }
         }
+        gameManager.clearChangedBricks();
+        return brickLayer.redraw(gameManager.getBrickGrid(), gameManager.getBrickBvh());
+    }
 
-        // Render bullets if present via reflection of a getter (not exposed): draw from manager state indirectly
-        try {
-            java.lang.reflect.Method m = gameManager.getClass().getDeclaredMethod("getPowerUps");
-        } catch (Exception ignored) {}
+    private void drawBrick(Brick brick, LoadGovernor.RenderDetail detail) {
+        if (detail == LoadGovernor.RenderDetail.MINIMAL && !(brick instanceof PolygonBrick)) {
+            // Quá tải: bỏ sprite co giãn, tô màu phẳng
+            gc.setFill(brick.getColor());
+            gc.fillRect(brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight());
+            return;
+        }
+        if (brick instanceof PolygonBrick) {
+            brick.render(gc); // free-form outline; sprites are lattice-sized rectangles
+            return;
+        }
+        SpriteAtlas.Region sprite = brick.getType() == BrickType.HARD && brick.isDamaged()
+                ? brokenRegion : brickRegions[brick.getType().ordinal()];
+        if (drawSprite(sprite, brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight())) {
+            return;
+        }
+        String type = brick.getType().name();
+        Image img;
+        if (brick.getType() == BrickType.HARD && brick.isDamaged()) {
+            img = brickImages.get("BROKEN"); // Use broken sprite if HARD has been damaged
+        } else {
+            img = brickImages.get(type);
+        }
+        if (img != null) {
+            gc.drawImage(img, brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight());
+        } else {
+            brick.render(gc);
+        }
+    }
 
-        // Best-effort: bullets rendered by checking a known field via reflection
-        try {
-            java.lang.reflect.Field f = gameManager.getClass().getDeclaredField("bullets");
-            f.setAccessible(true);
-            Object list = f.get(gameManager);
-            if (list instanceof java.util.List<?> l) {
-                for (Object o : l) {
-                    if (o instanceof Arkanoid.model.Bullet b) {
-                        b.render(gc);
-                    }
-                }
-            }
-        } catch (Exception ignored) {}
+    /** Draws the predicted ball path as a dashed polyline when aim preview is on. */
+    private void renderAimPreview(GameManager gameManager) {
+        int count = gameManager.getAimPreviewCount();
+        if (count < 2) return;
+        double[] pts = gameManager.getAimPreviewPoints();
+
+        gc.setStroke(AIM_PREVIEW_COLOR);
+        gc.setLineWidth(2);
+        gc.setLineDashes(AIM_PREVIEW_DASHES);
+        gc.beginPath();
+        gc.moveTo(pts[0], pts[1]);
+        for (int i = 1; i < count; i++) {
+            gc.lineTo(pts[2 * i], pts[2 * i + 1]);
+        }
+        gc.stroke();
+        gc.setLineDashes(null);
+        for (int i = 1; i < count; i++) {
+            double x0 = pts[2 * i - 2], y0 = pts[2 * i - 1], x1 = pts[2 * i], y1 = pts[2 * i + 1];
+            touch(Math.min(x0, x1), Math.min(y0, y1), Math.abs(x1 - x0), Math.abs(y1 - y0));
+        }
+    }
 
-        renderUI(gameManager);
+    /** Draws the short-lived LASER beam from the paddle to the brick it destroyed. */
+    private void renderLaser(GameManager gameManager) {
+        double flash = gameManager.getLaserFlashTime();
+        if (flash <= 0) return;
+
+        double alpha = Math.min(1.0, flash / Constants.LASER_FLASH_DURATION);
+        double x = gameManager.getLaserBeamX();
+        gc.setGlobalAlpha(alpha);
+        gc.setStroke(Constants.POWERUP_LASER_COLOR);
+        gc.setLineWidth(4);
+        gc.strokeLine(x, gameManager.getPaddle().getY(), x, gameManager.getLaserBeamTopY());
+        gc.setGlobalAlpha(1.0);
+        touch(x - 2, gameManager.getLaserBeamTopY(), 4, gameManager.getPaddle().getY() - gameManager.getLaserBeamTopY());
     }
 
     private void renderUI(GameManager gameManager) {
         ScoreManager scoreManager = gameManager.getScoreManager();
         Level currentLevel = gameManager.getCurrentLevel();
 
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", Constants.UI_FONT_SIZE));
-
         // Draw framed score box at top-left
         double boxX = 10;
         double boxY = 8;
         double boxW = 180;
         double boxH = 34;
-        gc.setFill(Color.rgb(0, 0, 0, 0.4));
-        gc.fillRoundRect(boxX, boxY, boxW, boxH, 8, 8);
-        gc.setStroke(Color.WHITE);
-        gc.setLineWidth(2);
-        gc.strokeRoundRect(boxX, boxY, boxW, boxH, 8, 8);
-        gc.setTextAlign(TextAlignment.LEFT);
-        gc.setFill(Color.WHITE); // ensure text is visible after dark box fill
-        gc.fillText("Score: " + scoreManager.getScore(), boxX + 10, boxY + 23);
-
-        gc.setTextAlign(TextAlignment.CENTER);
-        if (currentLevel != null) {
-            gc.fillText(currentLevel.getLevelName() + " (" +
-                            currentLevel.getLevelNumber() + "/" +
-                            gameManager.getLevelManager().getTotalLevels() + ")",
-                    Constants.WINDOW_WIDTH / 2.0, 25);
+        hudGc.setFill(Color.rgb(0, 0, 0, 0.4));
+        hudGc.fillRoundRect(boxX, boxY, boxW, boxH, 8, 8);
+        hudGc.setStroke(Color.WHITE);
+        hudGc.setLineWidth(2);
+        hudGc.strokeRoundRect(boxX, boxY, boxW, boxH, 8, 8);
+        if (hudGc.canDrawText()) {
+            hudGc.setFont(Fonts.HUD);
+            hudGc.setTextAlign(TextAlignment.LEFT);
+            hudGc.setFill(Color.WHITE); // ensure text is visible after dark box fill
+            hudGc.fillText("Score: " + scoreManager.getScore(), boxX + 10, boxY + 23);
+
+            hudGc.setTextAlign(TextAlignment.CENTER);
+            if (currentLevel != null) {
+                hudGc.fillText(currentLevel.getLevelName() + " (" +
+                                currentLevel.getLevelNumber() + "/" +
+                                gameManager.getLevelManager().getTotalLevels() + ")",
+                        Constants.WINDOW_WIDTH / 2.0, 25);
+            }
         }
 
         // Draw hearts for lives (3 icons), top-right
         int maxHearts = 3;
         int lives = Math.max(0, Math.min(maxHearts, scoreManager.getLives()));
-        double heartSize = 22;
+        double heartSize = HEART_SIZE;
         double spacing = 8;
         double startX = Constants.WINDOW_WIDTH - 10 - (maxHearts * heartSize + (maxHearts - 1) * spacing);
         double y = 8;
         for (int i = 0; i < maxHearts; i++) {
             double x = startX + i * (heartSize + spacing);
-            double alpha = (i < lives) ? 1.0 : 0.25;
-            if (cachedHeartImage != null) {
-                gc.setGlobalAlpha(alpha);
-                gc.drawImage(cachedHeartImage, x, y, heartSize, heartSize);
-                gc.setGlobalAlpha(1.0);
-            } else {
-                gc.setFill(Color.color(1, 0.2, 0.3, alpha));
-                gc.fillOval(x, y, heartSize, heartSize);
+            SpriteAtlas.Region heart = i < lives ? heartRegion : dimHeartRegion;
+            if (atlas == null || !atlas.draw(hudGc, heart, x, y, heartSize, heartSize)) {
+                drawHeart(hudGc, x, y, (i < lives) ? 1.0 : 0.25);
             }
         }
     }
 
-    private void renderMenu() {
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 60));
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.fillText("ARKANOID", Constants.WINDOW_WIDTH / 2.0, 150);
-
-        gc.setFont(Font.font("Arial", 30));
-        gc.fillText("Press SPACE to Start", Constants.WINDOW_WIDTH / 2.0, 250);
-
-        gc.setFill(Color.CYAN);
-        gc.setFont(Font.font("Arial", 26));
-        gc.fillText("Press L for Level Selection", Constants.WINDOW_WIDTH / 2.0, 300);
-
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 20));
-        gc.fillText("Controls:", Constants.WINDOW_WIDTH / 2.0, 360);
-        gc.setFont(Font.font("Arial", 16));
-        gc.fillText("LEFT/RIGHT or A/D - Move Paddle", Constants.WINDOW_WIDTH / 2.0, 390);
-        gc.fillText("SPACE - Launch Ball", Constants.WINDOW_WIDTH / 2.0, 415);
-        gc.fillText("P - Pause Game", Constants.WINDOW_WIDTH / 2.0, 440);
-        gc.fillText("ESC - Return to Menu", Constants.WINDOW_WIDTH / 2.0, 465);
-    }
-
     private void renderPauseOverlay() {
-        gc.setFill(Color.rgb(0, 0, 0, 0.7));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 48));
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.fillText("PAUSED", Constants.WINDOW_WIDTH / 2.0, Constants.WINDOW_HEIGHT / 2.0 - 20);
-        gc.setFont(Font.font("Arial", 20));
-        gc.fillText("Press P to Resume", Constants.WINDOW_WIDTH / 2.0, Constants.WINDOW_HEIGHT / 2.0 + 30);
-        gc.fillText("Press ESC for Menu", Constants.WINDOW_WIDTH / 2.0, Constants.WINDOW_HEIGHT / 2.0 + 60);
+        overlayGc.setFill(Color.rgb(0, 0, 0, 0.7));
+        overlayGc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        if (!overlayGc.canDrawText()) return;
+
+        overlayGc.setFill(Color.WHITE);
+        overlayGc.setFont(Fonts.PAUSED);
+        overlayGc.setTextAlign(TextAlignment.CENTER);
+        overlayGc.fillText("PAUSED", Constants.WINDOW_WIDTH / 2.0, Constants.WINDOW_HEIGHT / 2.0 - 20);
+        overlayGc.setFont(Fonts.SMALL);
+        overlayGc.fillText("Press P to Resume", Constants.WINDOW_WIDTH / 2.0, Constants.WINDOW_HEIGHT / 2.0 + 30);
+        overlayGc.fillText("Press ESC for Menu", Constants.WINDOW_WIDTH / 2.0, Constants.WINDOW_HEIGHT / 2.0 + 60);
     }
 
     private void renderGameOver(ScoreManager scoreManager) {
-        gc.setFill(Color.rgb(0, 0, 0, 0.8));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        gc.setFill(Color.RED);
-        gc.setFont(Font.font("Arial", 60));
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.fillText("GAME OVER", Constants.WINDOW_WIDTH / 2.0, 250);
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 30));
-        gc.fillText("Final Score: " + scoreManager.getScore(), Constants.WINDOW_WIDTH / 2.0, 320);
-        gc.fillText("High Score: " + scoreManager.getHighScore(), Constants.WINDOW_WIDTH / 2.0, 360);
-        gc.setFont(Font.font("Arial", 20));
-        gc.fillText("Press SPACE to Try Again", Constants.WINDOW_WIDTH / 2.0, 420);
-        gc.fillText("Press ESC for Menu", Constants.WINDOW_WIDTH / 2.0, 450);
+        overlayGc.setFill(Color.rgb(0, 0, 0, 0.8));
+        overlayGc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        if (!overlayGc.canDrawText()) return;
+        overlayGc.setFill(Color.RED);
+        overlayGc.setFont(Fonts.TITLE);
+        overlayGc.setTextAlign(TextAlignment.CENTER);
+        overlayGc.fillText("GAME OVER", Constants.WINDOW_WIDTH / 2.0, 250);
+        overlayGc.setFill(Color.WHITE);
+        overlayGc.setFont(Fonts.LARGE);
+        overlayGc.fillText("Final Score: " + scoreManager.getScore(), Constants.WINDOW_WIDTH / 2.0, 320);
+        overlayGc.fillText("High Score: " + scoreManager.getHighScore(), Constants.WINDOW_WIDTH / 2.0, 360);
+        overlayGc.setFont(Fonts.SMALL);
+        overlayGc.fillText("Press SPACE to Try Again", Constants.WINDOW_WIDTH / 2.0, 420);
+        overlayGc.fillText("Press ESC for Menu", Constants.WINDOW_WIDTH / 2.0, 450);
     }
 
     private void renderLevelComplete(GameManager gameManager) {
         ScoreManager scoreManager = gameManager.getScoreManager();
         Level currentLevel = gameManager.getCurrentLevel();
 
-        gc.setFill(Color.rgb(0, 0, 0, 0.8));
-        gc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        gc.setFill(Color.GOLD);
-        gc.setFont(Font.font("Arial", 60));
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.fillText("LEVEL COMPLETE!", Constants.WINDOW_WIDTH / 2.0, 220);
-        gc.setFill(Color.LIGHTGREEN);
-        gc.setFont(Font.font("Arial", 30));
+        overlayGc.setFill(Color.rgb(0, 0, 0, 0.8));
+        overlayGc.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        if (!overlayGc.canDrawText()) return;
+        overlayGc.setFill(Color.GOLD);
+        overlayGc.setFont(Fonts.TITLE);
+        overlayGc.setTextAlign(TextAlignment.CENTER);
+        overlayGc.fillText("LEVEL COMPLETE!", Constants.WINDOW_WIDTH / 2.0, 220);
+        overlayGc.setFill(Color.LIGHTGREEN);
+        overlayGc.setFont(Fonts.LARGE);
         if (currentLevel != null) {
-            gc.fillText(currentLevel.getLevelName(), Constants.WINDOW_WIDTH / 2.0, 270);
+            overlayGc.fillText(currentLevel.getLevelName(), Constants.WINDOW_WIDTH / 2.0, 270);
         }
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", 28));
-        gc.fillText("Score: " + scoreManager.getScore(), Constants.WINDOW_WIDTH / 2.0, 330);
+        overlayGc.setFill(Color.WHITE);
+        overlayGc.setFont(Fonts.MEDIUM);
+        overlayGc.fillText("Score: " + scoreManager.getScore(), Constants.WINDOW_WIDTH / 2.0, 330);
     }
 
-    /** Clears static caches (call on application shutdown if needed). */
+    /** Drops the shared sprite atlas; decoded images are owned by the {@link AssetManager}. */
     public static void clearCache() {
-        cachedBrickImages = null;
-        cachedDefaultBackground = null;
-        cachedDefaultScaledBg = null;
-        cachedLevelBackgrounds.clear();
-        cachedScaledLevelBgs.clear();
+        cachedAtlas = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,432 @@
+package Arkanoid.renderer;
+
+import Arkanoid.manager.BrickGrid;
+import Arkanoid.manager.Camera;
+import Arkanoid.manager.FrameProfiler;
+import Arkanoid.manager.GameManager;
+import Arkanoid.model.*;
+import Arkanoid.util.Constants;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retained-mode alternative to drawing the playfield on canvases. Every brick, ball, power-up and
+ * bullet is bound to a pooled node: an {@link ImageView} showing its region of the shared sprite
+ * atlas, or a plain {@link Rectangle} / {@link Polygon} when there is no sprite. Node properties
+ * are only written when the entity's position, size or look changed; static bricks are only
+ * revisited when the game reports them changed. Nodes of vanished entities go back to their pool
+ * hidden, so the scene graph stops growing once the busiest frame has been seen.
+ * Only what the camera can see is bound: static bricks of the lattice cells under the view (found
+ * through the brick indexes, rebound when the view crosses a cell) and entities inside it; the
+ * playfield content is then shifted by the camera offset.
+ * The background, HUD and overlays are still drawn on canvases by a playfield-less
+ * {@link Renderer}; canvas-only effects (particles, trails, laser, aim preview) are not shown.
+ */
+public class SceneGraphRenderer {
+    private static final int VIEW = 0;
+    private static final int RECT = 1;
+    private static final int POLY = 2;
+    private static final Color POLYGON_STROKE = Color.rgb(0, 0, 0, 0.5);
+    private static final Color HIGHLIGHT = Color.rgb(255, 255, 255, 0.3);
+
+    /** One z-ordered group with its node pools. */
+    private static final class Layer {
+        final Group group = new Group();
+        final NodePool<ImageView> views;
+        final NodePool<Rectangle> rects;
+        final NodePool<Polygon> polys;
+
+        Layer(javafx.scene.image.Image atlasImage) {
+            views = new NodePool<>(group, () -> {
+                ImageView view = new ImageView(atlasImage);
+                view.setSmooth(false);
+                return view;
+            });
+            rects = new NodePool<>(group, Rectangle::new);
+            polys = new NodePool<>(group, Polygon::new);
+        }
+    }
+
+    /** Binding between an entity and its node, with the last values written to the node. */
+    private static final class Sprite {
+        Object owner;
+        Layer layer;
+        Node node;
+        int kind;
+        boolean fixed; // static brick: kept until the game reports it changed
+        int index;     // position in its live list
+        long frame;
+        double x, y, w, h;
+        Object look;   // atlas region or fallback color currently shown
+    }
+
+    private final Renderer canvasRenderer;
+    private final SpriteAtlas atlas;
+    private final Pane playfield = new Pane();
+    private final Group content;
+    private final Layer bricks;
+    private final Layer powerUps;
+    private final Layer balls;
+    private final Layer bullets;
+    private final Rectangle paddleBody = new Rectangle();
+    private final Rectangle paddleHighlight = new Rectangle();
+
+    private final Map<Object, Sprite> sprites = new IdentityHashMap<>();
+    private final List<Sprite> staticSprites = new ArrayList<>();
+    private final List<Sprite> dynamicSprites = new ArrayList<>();
+    private final ArrayDeque<Sprite> spareSprites = new ArrayDeque<>();
+    private final Map<SpriteAtlas.Region, Rectangle2D> viewports = new IdentityHashMap<>();
+    private long frame;
+    private int brickLayoutVersion = -1;
+    // Lattice cells whose static bricks are bound: c0, r0, c1, r1 (inclusive)
+    private final int[] boundCells = {-1, -1, -1, -1};
+    private boolean staticRebound;
+    private final List<Brick> visibleBricks = new ArrayList<>();
+
+    private final SpriteAtlas.Region ballRegion;
+    private final SpriteAtlas.Region fireballRegion;
+    private final SpriteAtlas.Region[] brickRegions = new SpriteAtlas.Region[BrickType.values().length];
+    private final SpriteAtlas.Region brokenRegion;
+    private final SpriteAtlas.Region[] powerUpRegions = new SpriteAtlas.Region[PowerUpType.values().length];
+    private final SpriteAtlas.Region rocketRegion;
+
+    /** Canvases for the layers still drawn in immediate mode, back to front around the playfield. */
+    public SceneGraphRenderer(GraphicsContext background, GraphicsContext hud, GraphicsContext overlay) {
+        this.canvasRenderer = new Renderer(background, hud, overlay);
+        this.atlas = canvasRenderer.getAtlas();
+        javafx.scene.image.Image atlasImage = atlas != null ? atlas.getImage() : null;
+        bricks = new Layer(atlasImage);
+        powerUps = new Layer(atlasImage);
+        balls = new Layer(atlasImage);
+        bullets = new Layer(atlasImage);
+
+        ballRegion = region("BALL");
+        fireballRegion = region("FIREBALL");
+        for (BrickType type : BrickType.values()) {
+            brickRegions[type.ordinal()] = region("BRICK_" + type.name());
+        }
+        brokenRegion = region("BRICK_BROKEN");
+        for (PowerUpType type : PowerUpType.values()) {
+            powerUpRegions[type.ordinal()] = region("POWERUP_" + type.name());
+        }
+        rocketRegion = region("ROCKET");
+
+        paddleBody.setFill(Constants.PADDLE_COLOR);
+        paddleBody.setArcWidth(5);
+        paddleBody.setArcHeight(5);
+        paddleHighlight.setFill(HIGHLIGHT);
+        paddleHighlight.setArcWidth(5);
+        paddleHighlight.setArcHeight(5);
+        Group paddle = new Group(paddleBody, paddleHighlight);
+
+        content = new Group(bricks.group, powerUps.group, paddle, balls.group, bullets.group);
+        playfield.getChildren().add(content);
+        playfield.setMouseTransparent(true);
+        playfield.setPrefSize(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        playfield.setVisible(false);
+    }
+
+    private SpriteAtlas.Region region(String key) {
+        return atlas != null ? atlas.get(key) : null;
+    }
+
+    /** @return the node holding bricks and entities; stack it between background and HUD. */
+    public Pane getPlayfield() { return playfield; }
+
+    /** Brings the playfield nodes up to date, then draws background, HUD and overlays. */
+    public void render(GameManager gameManager) {
+        boolean show = gameManager.getCurrentState() != GameState.MENU;
+        if (playfield.isVisible() != show) playfield.setVisible(show);
+        if (show) {
+            FrameProfiler profiler = gameManager.getProfiler();
+            frame++;
+            long phaseStart = profiler.begin();
+            syncBricks(gameManager);
+            profiler.end(FrameProfiler.Phase.RENDER_BRICKS, phaseStart);
+            phaseStart = profiler.begin();
+            syncEntities(gameManager);
+            if (staticRebound) sweepStatic();
+            Camera camera = gameManager.getCamera();
+            double tx = -Math.round(camera.getX());
+            double ty = -Math.round(camera.getY());
+            if (content.getTranslateX() != tx) content.setTranslateX(tx);
+            if (content.getTranslateY() != ty) content.setTranslateY(ty);
+            profiler.end(FrameProfiler.Phase.RENDER_ENTITIES, phaseStart);
+        }
+        canvasRenderer.render(gameManager);
+    }
+
+    // Gạch tĩnh: gắn lại khi đổi bố cục hoặc khung nhìn sang ô lưới khác, còn lại chỉ cập nhật gạch vừa thay đổi
+    private void syncBricks(GameManager gameManager) {
+        Camera camera = gameManager.getCamera();
+        BrickGrid grid = gameManager.getBrickGrid();
+        int c0 = grid.colOf(camera.getX());
+        int r0 = grid.rowOf(camera.getY());
+        int c1 = grid.colOf(camera.getX() + camera.getViewWidth());
+        int r1 = grid.rowOf(camera.getY() + camera.getViewHeight());
+        boolean layoutChanged = brickLayoutVersion != gameManager.getBrickLayoutVersion();
+        staticRebound = layoutChanged || c0 != boundCells[0] || r0 != boundCells[1]
+                || c1 != boundCells[2] || r1 != boundCells[3];
+        double x = BrickGrid.ORIGIN_X + c0 * BrickGrid.CELL_WIDTH;
+        double y = BrickGrid.ORIGIN_Y + r0 * BrickGrid.CELL_HEIGHT;
+        double w = (c1 - c0 + 1) * BrickGrid.CELL_WIDTH;
+        double h = (r1 - r0 + 1) * BrickGrid.CELL_HEIGHT;
+        if (staticRebound) {
+            brickLayoutVersion = gameManager.getBrickLayoutVersion();
+            boundCells[0] = c0;
+            boundCells[1] = r0;
+            boundCells[2] = c1;
+            boundCells[3] = r1;
+            if (layoutChanged) {
+                for (int i = staticSprites.size() - 1; i >= 0; i--) free(staticSprites.get(i));
+            }
+            // Edge cells also hold bricks outside the lattice: extend the query to the world edges
+            if (c0 == 0) { w += x; x = 0; }
+            if (r0 == 0) { h += y; y = 0; }
+            if (c1 == grid.getCols() - 1) w = gameManager.getWorld().getWidth() - x;
+            if (r1 == grid.getRows() - 1) h = gameManager.getWorld().getHeight() - y;
+            visibleBricks.clear();
+            grid.query(x, y, w, h, visibleBricks);
+            gameManager.getBrickBvh().query(x, y, w, h, visibleBricks);
+            for (int i = 0; i < visibleBricks.size(); i++) {
+                Brick brick = visibleBricks.get(i);
+                if (!brick.isDestroyed() && BrickLayer.isStatic(brick)) bindBrick(brick, true);
+            }
+        } else {
+            List<Brick> changed = gameManager.getChangedBricks();
+            for (int i = 0; i < changed.size(); i++) {
+                Brick brick = changed.get(i);
+                if (!BrickLayer.isStatic(brick)) continue;
+                if (brick.isDestroyed()) {
+                    Sprite sprite = sprites.get(brick);
+                    if (sprite != null) free(sprite);
+                } else if (sprites.containsKey(brick)) {
+                    bindBrick(brick, true);
+                }
+            }
+        }
+        gameManager.clearChangedBricks();
+    }
+
+    // Trả nút của gạch tĩnh không còn trong khung nhìn về pool
+    private void sweepStatic() {
+        for (int i = staticSprites.size() - 1; i >= 0; i--) {
+            Sprite sprite = staticSprites.get(i);
+            if (sprite.frame != frame) free(sprite);
+        }
+    }
+
+    // Thực thể động: gắn nút cho từng đối tượng, trả nút của đối tượng biến mất về pool
+    private void syncEntities(GameManager gameManager) {
+        Camera camera = gameManager.getCamera();
+        for (Brick brick : gameManager.getMovingBricks()) {
+            if (!brick.isDestroyed() && !BrickLayer.isStatic(brick)
+                    && camera.intersects(brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight())) {
+                bindBrick(brick, false);
+            }
+        }
+        for (PowerUps powerUp : gameManager.getPowerUps()) {
+            if (powerUp.isCollected()
+                    || !camera.intersects(powerUp.getX(), powerUp.getY(), powerUp.getWidth(), powerUp.getHeight())) {
+                continue;
+            }
+            bind(powerUp, powerUps, powerUpRegions[powerUp.getType().ordinal()], Color.WHITE, false,
+                    powerUp.getX(), powerUp.getY(), powerUp.getWidth(), powerUp.getHeight(), powerUp.getWidth());
+        }
+        Paddle paddle = gameManager.getPaddle();
+        if (paddleBody.getX() != paddle.getX() || paddleBody.getWidth() != paddle.getWidth()
+                || paddleBody.getY() != paddle.getY()) {
+            setBounds(paddleBody, paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight());
+            setBounds(paddleHighlight, paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight() / 2);
+        }
+        for (Ball ball : gameManager.getBalls()) {
+            double size = ball.getRadius() * 2;
+            if (!camera.intersects(ball.getX(), ball.getY(), size, size)) continue;
+            boolean fire = ball.isFireball();
+            bind(ball, balls, fire ? fireballRegion : ballRegion,
+                    fire ? Constants.BALL_FIREBALL_COLOR : Constants.BALL_COLOR, false,
+                    ball.getX(), ball.getY(), size, size, size);
+        }
+        for (Bullet bullet : gameManager.getBullets()) {
+            if (!camera.intersects(bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight())) continue;
+            bind(bullet, bullets, rocketRegion, Color.ORANGE, false,
+                    bullet.getX(), bullet.getY(), bullet.getWidth(), bullet.getHeight(), 0);
+        }
+        // Walk backwards: free() moves the last sprite into the freed slot
+        for (int i = dynamicSprites.size() - 1; i >= 0; i--) {
+            Sprite sprite = dynamicSprites.get(i);
+            if (sprite.frame != frame) free(sprite);
+        }
+    }
+
+    private void bindBrick(Brick brick, boolean fixed) {
+        if (brick instanceof PolygonBrick polygon) {
+            bindPolygon(polygon, fixed);
+            return;
+        }
+        SpriteAtlas.Region region = brick.getType() == BrickType.HARD && brick.isDamaged()
+                ? brokenRegion : brickRegions[brick.getType().ordinal()];
+        bind(brick, bricks, region, brick.getColor(), fixed,
+                brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight(), 6);
+    }
+
+    /** Writes only what changed since the node was last updated. */
+    private void bind(Object owner, Layer layer, SpriteAtlas.Region region, Color fallback, boolean fixed,
+                      double x, double y, double w, double h, double arc) {
+        int kind = region != null ? VIEW : RECT;
+        Sprite sprite = sprites.get(owner);
+        if (sprite != null && sprite.kind != kind) {
+            free(sprite);
+            sprite = null;
+        }
+        if (sprite == null) sprite = attach(owner, layer, kind, fixed);
+        sprite.frame = frame;
+
+        Object look = region != null ? region : fallback;
+        if (look != sprite.look) {
+            sprite.look = look;
+            if (kind == VIEW) {
+                ((ImageView) sprite.node).setViewport(viewport(region));
+            } else {
+                Rectangle rect = (Rectangle) sprite.node;
+                rect.setFill(fallback);
+                rect.setArcWidth(arc);
+                rect.setArcHeight(arc);
+            }
+        }
+        if (x != sprite.x || y != sprite.y) {
+            sprite.node.setLayoutX(x);
+            sprite.node.setLayoutY(y);
+            sprite.x = x;
+            sprite.y = y;
+        }
+        if (w != sprite.w || h != sprite.h) {
+            if (kind == VIEW) {
+                ((ImageView) sprite.node).setFitWidth(w);
+                ((ImageView) sprite.node).setFitHeight(h);
+            } else {
+                ((Rectangle) sprite.node).setWidth(w);
+                ((Rectangle) sprite.node).setHeight(h);
+            }
+            sprite.w = w;
+            sprite.h = h;
+        }
+    }
+
+    // Đỉnh được ghi một lần theo góc trên trái của khung bao; gạch di động chỉ cần dời layout
+    private void bindPolygon(PolygonBrick brick, boolean fixed) {
+        Sprite sprite = sprites.get(brick);
+        if (sprite == null) {
+            sprite = attach(brick, bricks, POLY, fixed);
+            Polygon polygon = (Polygon) sprite.node;
+            double[] xs = brick.getWorldX();
+            double[] ys = brick.getWorldY();
+            polygon.getPoints().clear();
+            for (int i = 0; i < brick.getVertexCount(); i++) {
+                polygon.getPoints().addAll(xs[i] - brick.getX(), ys[i] - brick.getY());
+            }
+            polygon.setStrokeWidth(2);
+        }
+        sprite.frame = frame;
+        if (brick.getX() != sprite.x || brick.getY() != sprite.y) {
+            sprite.node.setLayoutX(brick.getX());
+            sprite.node.setLayoutY(brick.getY());
+            sprite.x = brick.getX();
+            sprite.y = brick.getY();
+        }
+        Color color = brick.getColor();
+        if (color != sprite.look) {
+            sprite.look = color;
+            Polygon polygon = (Polygon) sprite.node;
+            polygon.setFill(color);
+            polygon.setStroke(brick.getType() == BrickType.UNBREAKABLE ? Color.YELLOW : POLYGON_STROKE);
+        }
+    }
+
+    private Sprite attach(Object owner, Layer layer, int kind, boolean fixed) {
+        Sprite sprite = spareSprites.pollLast();
+        if (sprite == null) sprite = new Sprite();
+        sprite.owner = owner;
+        sprite.layer = layer;
+        sprite.kind = kind;
+        sprite.fixed = fixed;
+        sprite.node = switch (kind) {
+            case VIEW -> layer.views.acquire();
+            case RECT -> layer.rects.acquire();
+            default -> layer.polys.acquire();
+        };
+        sprite.x = sprite.y = sprite.w = sprite.h = Double.NaN;
+        sprite.look = null;
+        List<Sprite> list = fixed ? staticSprites : dynamicSprites;
+        sprite.index = list.size();
+        list.add(sprite);
+        sprites.put(owner, sprite);
+        return sprite;
+    }
+
+    private void free(Sprite sprite) {
+        switch (sprite.kind) {
+            case VIEW -> sprite.layer.views.release((ImageView) sprite.node);
+            case RECT -> sprite.layer.rects.release((Rectangle) sprite.node);
+            default -> sprite.layer.polys.release((Polygon) sprite.node);
+        }
+        sprites.remove(sprite.owner);
+        List<Sprite> list = sprite.fixed ? staticSprites : dynamicSprites;
+        Sprite last = list.remove(list.size() - 1);
+        if (last != sprite) {
+            list.set(sprite.index, last);
+            last.index = sprite.index;
+        }
+        sprite.owner = null;
+        sprite.node = null;
+        sprite.look = null;
+        spareSprites.addLast(sprite);
+    }
+
+    private Rectangle2D viewport(SpriteAtlas.Region region) {
+        Rectangle2D viewport = viewports.get(region);
+        if (viewport == null) {
+            viewport = new Rectangle2D(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+            viewports.put(region, viewport);
+        }
+        return viewport;
+    }
+
+    private static void setBounds(Rectangle rect, double x, double y, double w, double h) {
+        rect.setX(x);
+        rect.setY(y);
+        rect.setWidth(w);
+        rect.setHeight(h);
+    }
+
+    /** @return entities currently bound to a node. */
+    public int getBoundCount() { return sprites.size(); }
+
+    /** @return the node currently showing an entity, or null (tests). */
+    Node getNode(Object owner) {
+        Sprite sprite = sprites.get(owner);
+        return sprite != null ? sprite.node : null;
+    }
+
+    /** @return nodes ever created across all pools (bound or waiting for reuse). */
+    public int getNodeCount() {
+        int count = 0;
+        for (Layer layer : new Layer[] {bricks, powerUps, balls, bullets}) {
+            count += layer.views.getCreated() + layer.rects.getCreated() + layer.polys.getCreated();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,169 @@
+package Arkanoid.renderer;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One image holding every small sprite already rasterized at the exact size it is drawn at
+ * (ball gradients, brick variants, power-up icons, rocket, hearts). Drawing a sprite is a single
+ * unscaled source-rectangle copy from the shared image: no gradient or paint is created per frame
+ * and nothing is resampled, so hundreds of balls cost hundreds of cheap blits.
+ */
+public final class SpriteAtlas {
+    /** Transparent gap around each sprite so smoothing at sub-pixel positions never bleeds. */
+    static final int PADDING = 2;
+    /** Width the shelves are packed into. */
+    static final int MAX_WIDTH = 512;
+
+    /** Location of one sprite inside the atlas image. */
+    public static final class Region {
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+
+        Region(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+
+    /** Collects sprites and rasterizes them once. Must run on the FX thread. */
+    public static final class Builder {
+        private final List<String> keys = new ArrayList<>();
+        private final List<int[]> sizes = new ArrayList<>();
+        private final List<Consumer<DrawSurface>> painters = new ArrayList<>();
+
+        /**
+         * Adds a sprite of the given size; the painter draws it with its top-left corner at (0, 0)
+         * and is called exactly once.
+         */
+        public Builder add(String key, int width, int height, Consumer<DrawSurface> painter) {
+            keys.add(key);
+            sizes.add(new int[] {width, height});
+            painters.add(painter);
+            return this;
+        }
+
+        /** Adds an image scaled once to the given size; skipped if the image is missing. */
+        public Builder addImage(String key, Image image, int width, int height) {
+            if (image == null) return this;
+            return add(key, width, height, g -> g.drawImage(image, 0, 0, width, height));
+        }
+
+        /** Packs and rasterizes every sprite into one image. */
+        public SpriteAtlas build() {
+            int n = keys.size();
+            int[] w = new int[n];
+            int[] h = new int[n];
+            for (int i = 0; i < n; i++) {
+                w[i] = sizes.get(i)[0];
+                h[i] = sizes.get(i)[1];
+            }
+            int[] outX = new int[n];
+            int[] outY = new int[n];
+            int height = pack(w, h, MAX_WIDTH, outX, outY);
+
+            Map<String, Region> regions = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                regions.put(keys.get(i), new Region(outX[i], outY[i], w[i], h[i]));
+            }
+            if (n == 0) return new SpriteAtlas(null, regions);
+
+            Canvas canvas = new Canvas(MAX_WIDTH, height);
+            GraphicsContext g = canvas.getGraphicsContext2D();
+            FxSurface surface = new FxSurface(g);
+            for (int i = 0; i < n; i++) {
+                g.save();
+                g.beginPath();
+                g.rect(outX[i], outY[i], w[i], h[i]);
+                g.clip();
+                g.translate(outX[i], outY[i]);
+                painters.get(i).accept(surface);
+                g.restore();
+            }
+            SnapshotParameters params = new SnapshotParameters();
+            params.setFill(Color.TRANSPARENT);
+            WritableImage image = canvas.snapshot(params, new WritableImage(MAX_WIDTH, height));
+            return new SpriteAtlas(image, regions);
+        }
+    }
+
+    private final Image image;
+    private final Map<String, Region> regions;
+
+    private SpriteAtlas(Image image, Map<String, Region> regions) {
+        this.image = image;
+        this.regions = regions;
+    }
+
+    /** @return the sprite's region, or null if it was never added. Resolve once, not per draw. */
+    public Region get(String key) {
+        return regions.get(key);
+    }
+
+    /** @return the shared atlas image. */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Copies a sprite unscaled to (x, y). Returns false without drawing if the region is missing
+     * or was baked at a different size than requested, so the caller can fall back to scaling.
+     */
+    public boolean draw(DrawSurface gc, Region region, double x, double y, double width, double height) {
+        if (region == null || image == null) return false;
+        if (Math.abs(region.width - width) > 0.5 || Math.abs(region.height - height) > 0.5) return false;
+        gc.drawImage(image, region.x, region.y, region.width, region.height, x, y, region.width, region.height);
+        return true;
+    }
+
+    /**
+     * Shelf packing, tallest first: fills rows left to right, opening a new row when the next
+     * sprite no longer fits. Writes each sprite's position and returns the total height.
+     */
+    static int pack(int[] widths, int[] heights, int maxWidth, int[] outX, int[] outY) {
+        int n = widths.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        java.util.Arrays.sort(order, (a, b) -> heights[b] != heights[a]
+                ? Integer.compare(heights[b], heights[a]) : Integer.compare(a, b));
+
+        int x = PADDING;
+        int y = PADDING;
+        int rowHeight = 0;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            if (widths[i] + 2 * PADDING > maxWidth) {
+                throw new IllegalArgumentException("Sprite wider than atlas: " + widths[i]);
+            }
+            if (x + widths[i] + PADDING > maxWidth) {
+                x = PADDING;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            outX[i] = x;
+            outY[i] = y;
+            x += widths[i] + PADDING;
+            rowHeight = Math.max(rowHeight, heights[i]);
+        }
+        return Math.max(1, y + rowHeight + PADDING);
+    }
+}
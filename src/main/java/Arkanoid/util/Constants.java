@@ -24,6 +24,7 @@ public class Constants {
     public static final int BALL_RADIUS = 12;
     public static final double BALL_SPEED = 6.5;
     public static final Color BALL_COLOR = Color.WHITE;
+    public static final Color BALL_FIREBALL_COLOR = Color.ORANGERED;
 
     // Bricks
     public static final int BRICK_WIDTH = 80;
@@ -59,12 +60,27 @@ public class Constants {
     public static final Color POWERUP_SHRINK_COLOR = Color.RED;
     public static final Color POWERUP_SPEED_UP_COLOR = Color.PINK;
     public static final Color POWERUP_MULTI_BALL_COLOR = Color.BLUE;
+    public static final Color POWERUP_FIREBALL_COLOR = Color.ORANGERED;
+    public static final Color POWERUP_LASER_COLOR = Color.LIME;
+    public static final double LASER_FLASH_DURATION = 0.15; // seconds the beam stays visible
     public static final double POWERUP_DURATION = 10000;
 
+    // Aim preview
+    public static final int AIM_PREVIEW_BOUNCES = 3;
+    public static final double AIM_PREVIEW_LENGTH = 1500; // pixels along the path
+
     // Game settings
     public static final int INITIAL_LIVES = 3;
     public static final int FPS = 60;
     public static final long FRAME_TIME = 1000000000 / FPS;
+    // Update + render budget per frame before the LoadGovernor starts shedding work
+    public static final long TICK_BUDGET_NANOS = FRAME_TIME * 3 / 4;
+    // Hitch watchdog: a frame tick over two frames or an update over one frame gets logged
+    public static final long HITCH_TICK_BUDGET_NANOS = FRAME_TIME * 2;
+    public static final long HITCH_UPDATE_BUDGET_NANOS = FRAME_TIME;
+    public static final String HITCH_LOG_FILE = "hitches.log";
+    // One line per launch with the time of every start-up phase
+    public static final String STARTUP_LOG_FILE = "startup.log";
 
     // Scoring
     public static final int SCORE_PER_BRICK = 10;
@@ -1,10 +1,15 @@
 package Arkanoid.util;
 
+import Arkanoid.manager.FrameProfiler;
 import Arkanoid.manager.GameManager;
 import Arkanoid.model.GameState;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * Centralizes keyboard input handling and routes actions by current {@link GameState}.
  * Exposes a callback for showing the Start Menu.
@@ -12,6 +17,7 @@ import javafx.scene.input.KeyEvent;
 public class InputHandler {
     private final GameManager gameManager;
     private Runnable onShowStartMenu; // Callback to show Start Menu UI
+    private Runnable onToggleRecording; // Callback to start/stop gameplay capture
 
     public InputHandler(GameManager gameManager) {
         this.gameManager = gameManager;
@@ -21,6 +27,9 @@ public class InputHandler {
         KeyCode code = event.getCode();
         GameState state = gameManager.getCurrentState();
 
+        // Phím debug dùng được ở mọi trạng thái
+        if (handleDebugInput(code)) return;
+
         switch (state) {
             case MENU -> handleMenuInput(code);
             case PLAYING -> handlePlayingInput(code, true);
@@ -36,6 +45,32 @@ public class InputHandler {
         }
     }
 
+    // F3: bật/tắt bảng đo thời gian khung hình; F4: ghi mẫu thô ra CSV; F9: bật/tắt quay gameplay
+    private boolean handleDebugInput(KeyCode code) {
+        switch (code) {
+            case F3 -> gameManager.getProfiler().toggle();
+            case F4 -> dumpProfile();
+            case F9 -> {
+                if (onToggleRecording != null) onToggleRecording.run();
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void dumpProfile() {
+        FrameProfiler profiler = gameManager.getProfiler();
+        if (!profiler.isEnabled()) return;
+        try {
+            Path file = profiler.dumpCsv(Paths.get("profile-" + System.currentTimeMillis() + ".csv"));
+            System.out.println("Frame profile written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write frame profile: " + e.getMessage());
+        }
+    }
+
     // Xử lý phím trong trạng thái MENU
     private void handleMenuInput(KeyCode code) {
         switch (code) {
@@ -57,6 +92,12 @@ public class InputHandler {
             case P -> {
                 if (pressed) gameManager.pauseGame();
             }
+            case V -> {
+                if (pressed) gameManager.toggleAimPreview();
+            }
+            case T -> {
+                if (pressed) gameManager.toggleTrails();
+            }
             case ESCAPE -> {
                 if (pressed) {
                     // ESC: return to Start Menu
@@ -117,4 +158,9 @@ public class InputHandler {
     public void setOnShowStartMenu(Runnable callback) {
         this.onShowStartMenu = callback;
     }
+
+    /** Sets callback to start or stop recording gameplay (F9). */
+    public void setOnToggleRecording(Runnable callback) {
+        this.onToggleRecording = callback;
+    }
 }
@@ -1,14 +1,16 @@
 package Arkanoid.view;
 
 import Arkanoid.manager.GameManager;
+import Arkanoid.renderer.FrameRecorder;
+import Arkanoid.renderer.RenderBackend;
 import Arkanoid.renderer.Renderer;
+import Arkanoid.renderer.SceneGraphRenderer;
 import Arkanoid.util.Constants;
 import Arkanoid.util.InputHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
@@ -17,34 +19,74 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.paint.Color;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
 /**
- * Owns the JavaFX Scene and Canvas, binds input handlers, and provides inline overlays.
+ * Owns the JavaFX Scene and the stacked layer Canvases, binds input handlers, and provides inline overlays.
+ * With the scene-graph backend the brick and entity canvases are replaced by a node playfield.
+ * The layers are drawn at the fixed internal resolution and scaled to the window by a {@link ScaledViewport}.
  */
 public class GameView {
     private Scene scene;
-    private Canvas canvas;
-    private GraphicsContext gc;
-    private Renderer renderer;
+    // Layers back to front: static background, bricks, dynamic entities, HUD strip, state overlay
+    private Canvas backgroundCanvas;
+    private Canvas brickCanvas;
+    private Canvas entityCanvas;
+    private Canvas hudCanvas;
+    private Canvas overlayCanvas;
+    private Renderer renderer; // canvas backend
+    private SceneGraphRenderer sceneGraphRenderer; // scene-graph backend
     private InputHandler inputHandler;
     private StackPane root;
+    private ScaledViewport viewport; // scales root to the window
+    private FrameRecorder recorder; // non-null while recording (F9)
 
     // Overlay for inline dialogs (e.g., Game Over name input)
     private StackPane overlay;
 
+    /** Uses the backend selected by the {@link RenderBackend#PROPERTY} system property. */
     public GameView(GameManager gameManager) {
-        // Create canvas
-        canvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        gc = canvas.getGraphicsContext2D();
+        this(gameManager, RenderBackend.fromSystemProperty());
+    }
+
+    public GameView(GameManager gameManager, RenderBackend backend) {
+        // Create layer canvases; each one is repainted only when its content changes
+        backgroundCanvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        hudCanvas = new Canvas(Constants.WINDOW_WIDTH, Renderer.HUD_HEIGHT);
+        overlayCanvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        overlayCanvas.setVisible(false);
 
         // Create renderer
-        renderer = new Renderer(gc);
+        if (backend == RenderBackend.SCENE_GRAPH) {
+            sceneGraphRenderer = new SceneGraphRenderer(
+                    backgroundCanvas.getGraphicsContext2D(),
+                    hudCanvas.getGraphicsContext2D(),
+                    overlayCanvas.getGraphicsContext2D());
+            root = new StackPane(backgroundCanvas, sceneGraphRenderer.getPlayfield(), hudCanvas, overlayCanvas);
+        } else {
+            brickCanvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            entityCanvas = new Canvas(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            renderer = new Renderer(
+                    backgroundCanvas.getGraphicsContext2D(),
+                    brickCanvas.getGraphicsContext2D(),
+                    entityCanvas.getGraphicsContext2D(),
+                    hudCanvas.getGraphicsContext2D(),
+                    overlayCanvas.getGraphicsContext2D());
+            root = new StackPane(backgroundCanvas, brickCanvas, entityCanvas, hudCanvas, overlayCanvas);
+        }
 
         // Create input handler
         inputHandler = new InputHandler(gameManager);
 
         // Create scene
-        root = new StackPane(canvas);
-        scene = new Scene(root, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        StackPane.setAlignment(hudCanvas, Pos.TOP_LEFT);
+        // Layers stay at the internal resolution; the window only changes the final scale
+        root.setMinSize(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        root.setMaxSize(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        viewport = new ScaledViewport(root, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        scene = new Scene(viewport, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, Color.BLACK);
 
         // Make root focusable to receive input
         root.setFocusTraversable(true);
@@ -52,19 +94,62 @@ public class GameView {
         // Set up input handling
         scene.setOnKeyPressed(inputHandler::handleKeyPressed);
         scene.setOnKeyReleased(inputHandler::handleKeyReleased);
+        inputHandler.setOnToggleRecording(this::toggleRecording);
     }
 
     /** Renders one frame using the internal Renderer. */
     // Vẽ một khung hình mới dựa trên trạng thái game hiện tại
     public void render(GameManager gameManager) {
-        renderer.render(gameManager);
+        if (sceneGraphRenderer != null) {
+            sceneGraphRenderer.render(gameManager);
+        } else {
+            renderer.render(gameManager);
+        }
+        if (recorder != null) {
+            recorder.capture(root);
+        }
     }
 
-    /** @return the JavaFX Scene that hosts the Canvas and input handlers. */
+    /**
+     * Starts recording every rendered frame to a new {@code captures/} folder, or stops the current
+     * recording. Files are written in the background, see {@link FrameRecorder}.
+     */
+    // Bật/tắt quay gameplay; không bao giờ chờ ghi đĩa trên luồng FX
+    public void toggleRecording() {
+        if (recorder == null) {
+            Path dir = Paths.get("captures", "capture-" + System.currentTimeMillis());
+            recorder = FrameRecorder.create(dir, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+            System.out.println("Recording gameplay to " + dir.toAbsolutePath());
+            return;
+        }
+        stopRecording();
+    }
+
+    /** Stops recording, if active. @return completes once the recording is fully on disk. */
+    public CompletableFuture<Void> stopRecording() {
+        if (recorder == null) return CompletableFuture.completedFuture(null);
+        FrameRecorder finished = recorder;
+        recorder = null;
+        return finished.stop().thenRun(() -> System.out.printf(
+                "Recording finished: %d frames written, %d dropped, %d failed%n",
+                finished.getWrittenFrames(), finished.getDroppedFrames(), finished.getFailedFrames()));
+    }
+
+    /** @return true while frames are being recorded. */
+    public boolean isRecording() {
+        return recorder != null;
+    }
+
+    /** @return the JavaFX Scene that hosts the layer Canvases and input handlers. */
     public Scene getScene() {
         return scene;
     }
 
+    /** @return the region scaling the game layers to the window. */
+    public ScaledViewport getViewport() {
+        return viewport;
+    }
+
     /** @return the InputHandler so callers can set callbacks. */
     public InputHandler getInputHandler() {
         return inputHandler;
@@ -84,6 +169,7 @@ public class GameView {
             scene.setOnKeyPressed(null);
             scene.setOnKeyReleased(null);
         }
+        stopRecording();
     }
 
     // Inline Styled Overlay (similar look to StartMenuView)
@@ -0,0 +1,68 @@
+package Arkanoid.view;
+
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
+
+/**
+ * Window-filling region that shows fixed-size content scaled uniformly to fit, centred with black
+ * bars. The content (the game's layer canvases) keeps its internal resolution, so everything it
+ * draws and caches is sized once; a resize or fullscreen switch only changes one {@link Scale}
+ * applied when the scene is composited, and the per-frame drawing cost does not depend on the
+ * window or monitor size.
+ */
+public class ScaledViewport extends Region {
+    private final Parent content;
+    private final Group holder; // carries the scale, so the content itself stays untransformed
+    private final double contentWidth;
+    private final double contentHeight;
+    private final Scale scale = new Scale(1, 1, 0, 0);
+    private final Rectangle clip = new Rectangle();
+
+    public ScaledViewport(Parent content, double contentWidth, double contentHeight) {
+        this.content = content;
+        this.contentWidth = contentWidth;
+        this.contentHeight = contentHeight;
+        this.holder = new Group(content);
+        holder.getTransforms().add(scale);
+        getChildren().add(holder);
+        setBackground(Background.fill(Color.BLACK));
+        setClip(clip); // content never draws over the bars
+        setPrefSize(contentWidth, contentHeight);
+    }
+
+    /** @return the uniform scale that fits {@code content} into {@code width} x {@code height}. */
+    public static double fitScale(double width, double height, double contentWidth, double contentHeight) {
+        if (width <= 0 || height <= 0) return 1;
+        return Math.min(width / contentWidth, height / contentHeight);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double w = getWidth();
+        double h = getHeight();
+        double s = fitScale(w, h, contentWidth, contentHeight);
+        if (scale.getX() != s) {
+            scale.setX(s);
+            scale.setY(s);
+        }
+        content.resize(contentWidth, contentHeight);
+        holder.relocate((w - contentWidth * s) / 2, (h - contentHeight * s) / 2);
+        clip.setWidth(w);
+        clip.setHeight(h);
+    }
+
+    /** @return current content-to-window scale. */
+    public double getScale() {
+        return scale.getX();
+    }
+
+    /** @return the scaled content; its own snapshots are taken at the internal resolution. */
+    public Parent getContent() {
+        return content;
+    }
+}
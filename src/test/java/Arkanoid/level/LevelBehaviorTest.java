@@ -2,6 +2,7 @@ package Arkanoid.level;
 
 import Arkanoid.model.Brick;
 import Arkanoid.model.BrickType;
+import Arkanoid.model.PolygonBrick;
 import Arkanoid.util.Constants;
 import org.junit.jupiter.api.Test;
 
@@ -88,6 +89,29 @@ public class LevelBehaviorTest {
         assertFalse(level.isCompleted());
     }
 
+    @Test
+    void testPrepareBuildsBricksInBackgroundForNextReset() throws Exception {
+        Level level = new Level(makeSampleLevelData());
+        level.initialize();
+        List<Brick> playing = new ArrayList<>(level.getBricks());
+        playing.get(0).hit();
+
+        Thread worker = new Thread(level::prepare);
+        worker.start();
+        worker.join();
+        assertTrue(level.isPrepared());
+        assertEquals(playing, level.getBricks(), "bricks in play are untouched until reset");
+
+        level.reset();
+        assertFalse(level.isPrepared(), "prepared bricks are used once");
+        assertEquals(3, level.getBricks().size());
+        assertEquals(2, level.getRemainingBricks());
+        for (Brick brick : level.getBricks()) {
+            assertFalse(playing.contains(brick));
+            assertFalse(brick.isDestroyed());
+        }
+    }
+
     @Test
     void testDefaultLevelFallback_whenNoBrickData() {
         LevelData ld = new LevelData();
@@ -118,4 +142,31 @@ public class LevelBehaviorTest {
         assertEquals(99, level.getLevelNumber());
         assertEquals("JUnit Level", level.getLevelName());
     }
+
+    @Test
+    void testFreeformBricksBecomePolygonBricks() {
+        LevelData ld = makeSampleLevelData();
+        LevelData.BrickData rotated = new LevelData.BrickData(0, 0, "NORMAL", "#00FF00");
+        rotated.setX(200.0);
+        rotated.setY(300.0);
+        rotated.setRotation(90.0);
+        LevelData.BrickData triangle = new LevelData.BrickData(0, 0, "HARD", "#00FF00");
+        triangle.setPolygon(List.of(new double[] {-10, 10}, new double[] {10, 10}, new double[] {0, -10}));
+        ld.getBricks().add(rotated);
+        ld.getBricks().add(triangle);
+
+        Level level = new Level(ld);
+        level.initialize();
+
+        assertEquals(5, level.getBricks().size());
+        Brick bar = level.getBricks().get(3);
+        assertInstanceOf(PolygonBrick.class, bar);
+        assertEquals(Constants.BRICK_HEIGHT, bar.getWidth(), 1e-9);
+        assertEquals(200.0, bar.getCenterX(), 1e-9);
+        // Polygon without x/y is anchored on its lattice cell centre
+        Brick tri = level.getBricks().get(4);
+        assertEquals(3, ((PolygonBrick) tri).getVertexCount());
+        assertEquals(Constants.BRICK_OFFSET_X + Constants.BRICK_WIDTH / 2.0, tri.getCenterX(), 1e-9);
+        assertFalse(level.getBricks().get(0) instanceof PolygonBrick);
+    }
 }
@@ -0,0 +1,88 @@
+package Arkanoid.level;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelCodecTest {
+
+    private static LevelData roundTrip(LevelData level) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LevelCodec.write(level, new DataOutputStream(bytes));
+        return LevelCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void testRoundTripKeepsEveryBrickField() throws IOException {
+        LevelData level = new LevelData();
+        level.setLevelNumber(7);
+        level.setName("Codec");
+        level.setBallSpeed(5.25);
+        level.setLives(2);
+        level.setBackgroundImage("/images/level/ocean.png");
+
+        List<LevelData.BrickData> bricks = new ArrayList<>();
+        bricks.add(new LevelData.BrickData(1, 2, "HARD", "#8B0000"));
+        LevelData.BrickData moving = new LevelData.BrickData(3, 4, null, null);
+        moving.setMoving(true);
+        moving.setDirection("VERTICAL");
+        moving.setSpeed(55.0);
+        moving.setRange(30.0);
+        bricks.add(moving);
+        LevelData.BrickData shape = new LevelData.BrickData(0, 0, "NORMAL", "#00FF00");
+        shape.setX(120.0);
+        shape.setY(80.5);
+        shape.setRotation(30.0);
+        shape.setPolygon(List.of(new double[]{-10, -5}, new double[]{10, -5}, new double[]{0, 12}));
+        bricks.add(shape);
+        level.setBricks(bricks);
+
+        LevelData read = roundTrip(level);
+        assertEquals(7, read.getLevelNumber());
+        assertEquals("Codec", read.getName());
+        assertEquals(5.25, read.getBallSpeed());
+        assertEquals(2, read.getLives());
+        assertEquals("/images/level/ocean.png", read.getBackgroundImage());
+        assertEquals(3, read.getBricks().size());
+
+        LevelData.BrickData hard = read.getBricks().get(0);
+        assertEquals(1, hard.getRow());
+        assertEquals(2, hard.getCol());
+        assertEquals("HARD", hard.getType());
+        assertEquals("#8B0000", hard.getColor());
+        assertFalse(hard.getMoving());
+        assertNull(hard.getPolygon());
+
+        LevelData.BrickData readMoving = read.getBricks().get(1);
+        assertNull(readMoving.getType());
+        assertTrue(readMoving.getMoving());
+        assertEquals("VERTICAL", readMoving.getDirection());
+        assertEquals(55.0, readMoving.getSpeed());
+        assertEquals(30.0, readMoving.getRange());
+
+        LevelData.BrickData readShape = read.getBricks().get(2);
+        assertTrue(readShape.isFreeform());
+        assertEquals(80.5, readShape.getY());
+        assertEquals(30.0, readShape.getRotation());
+        assertNull(readShape.getWidth());
+        assertArrayEquals(new double[]{0, 12}, readShape.getPolygon().get(2));
+    }
+
+    @Test
+    void testLevelWithoutBrickListStaysWithout() throws IOException {
+        LevelData level = new LevelData();
+        level.setName(null);
+        LevelData read = roundTrip(level);
+        assertNull(read.getBricks());
+        assertNull(read.getName());
+        assertNull(read.getBackgroundImage());
+    }
+}
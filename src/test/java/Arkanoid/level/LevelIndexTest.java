@@ -0,0 +1,51 @@
+package Arkanoid.level;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelIndexTest {
+
+    @Test
+    void testListsEveryLevelFileWithoutACap(@TempDir Path dir) throws IOException {
+        for (int n = 1; n <= 120; n++) {
+            Files.writeString(dir.resolve("level" + n + ".json"), "{}");
+        }
+        Files.writeString(dir.resolve("level0.json"), "{}");
+        Files.writeString(dir.resolve("levelx.json"), "{}");
+        Files.writeString(dir.resolve("notes.txt"), "");
+
+        SortedSet<Integer> numbers = new TreeSet<>();
+        LevelLoader.addLevelNumbers(dir, numbers);
+        assertEquals(120, numbers.size());
+        assertEquals(1, numbers.first());
+        assertEquals(120, numbers.last());
+    }
+
+    @Test
+    void testScanIndexesHundredsOfLevelsUpToTheFirstGap() {
+        Set<Integer> numbers = new TreeSet<>();
+        for (int n = 1; n <= 300; n++) numbers.add(n);
+        assertEquals(300, LevelIndex.scan(numbers, n -> LevelLoader.createSampleLevel(n, "Level " + n)).size());
+
+        numbers.remove(61);
+        LevelIndex index = LevelIndex.scan(numbers, n -> LevelLoader.createSampleLevel(n, "Level " + n));
+        assertEquals(60, index.size());
+        assertEquals("Level 60", index.get(60).getName());
+    }
+
+    @Test
+    void testListsTheShippedLevels() {
+        SortedSet<Integer> numbers = LevelLoader.listLevelNumbers();
+        for (int n = 1; n <= 5; n++) assertTrue(numbers.contains(n), "level " + n);
+        assertEquals(numbers.size(), LevelIndex.scan().size());
+    }
+}
@@ -0,0 +1,96 @@
+package Arkanoid.level;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelManagerTest {
+
+    @Test
+    void testIndexDescribesLevelsWithoutLoadingThem() {
+        LevelManager manager = new LevelManager();
+        manager.loadIndex(LevelIndex.scan(), 3);
+
+        assertTrue(manager.getTotalLevels() >= 5);
+        for (int n = 1; n <= manager.getTotalLevels(); n++) {
+            LevelData json = LevelLoader.loadLevelJson(n);
+            LevelIndex.Entry info = manager.getLevelInfo(n);
+            assertEquals(n, info.getNumber());
+            assertEquals(json.getName(), info.getName());
+            assertEquals(json.getBricks().size(), info.getBrickCount());
+            assertEquals(json.getBackgroundImage(), info.getBackgroundImage());
+        }
+        assertNull(manager.getLevelInfo(manager.getTotalLevels() + 1));
+        assertEquals(0, manager.getLoadCount(), "metadata comes from the index alone");
+        assertEquals(0, manager.getLoadedLevelCount());
+    }
+
+    @Test
+    void testCacheIsBoundedAndKeepsCurrentLevel() {
+        LevelManager manager = new LevelManager(2);
+        manager.loadIndex(LevelIndex.scan(), 3);
+        Level first = manager.getCurrentLevel();
+
+        for (int n = 2; n <= manager.getTotalLevels(); n++) {
+            manager.getLevel(n);
+            assertTrue(manager.getLoadedLevelCount() <= 2);
+        }
+        assertSame(first, manager.getCurrentLevel(), "the current level is never dropped");
+        assertSame(manager.getLevel(5), manager.getLevel(5));
+        int loads = manager.getLoadCount();
+        manager.getLevel(3);
+        assertEquals(loads + 1, manager.getLoadCount(), "a dropped level is read again");
+    }
+
+    @Test
+    void testPinnedLevelSurvivesASelectionChange() {
+        LevelManager manager = new LevelManager(1);
+        manager.loadIndex(LevelIndex.scan(), 3);
+        Level playing = manager.getCurrentLevel();
+        manager.pin(playing);
+
+        // Selection moved on, the game has not switched yet, and a preload fills the cache
+        assertTrue(manager.selectLevel(3));
+        manager.getLevel(2);
+        manager.getLevel(4);
+        assertSame(playing, manager.getLevel(1), "the level being played was dropped");
+    }
+
+    @Test
+    void testNavigationUsesTheIndexSize() {
+        LevelManager manager = new LevelManager();
+        manager.loadIndex(LevelIndex.scan(), 3);
+        int total = manager.getTotalLevels();
+
+        assertTrue(manager.selectLevel(total));
+        assertEquals(total, manager.getCurrentLevel().getLevelNumber());
+        assertFalse(manager.nextLevel());
+        assertFalse(manager.selectLevel(total + 1));
+        assertEquals(1, manager.getLoadCount(), "only the selected level was read");
+    }
+
+    @Test
+    void testEmptyIndexFallsBackToSampleLevels() {
+        LevelManager manager = new LevelManager();
+        manager.loadIndex(new LevelIndex(new ArrayList<>()), 3);
+        assertEquals(3, manager.getTotalLevels());
+        assertNotNull(manager.getLevelInfo(3));
+    }
+
+    @Test
+    void testAddedLevelIsIndexedAndKept() {
+        LevelManager manager = new LevelManager(1);
+        manager.loadIndex(LevelIndex.scan(), 3);
+        Level grid = new Level(LevelLoader.createGridLevel(0, "grid", 4, 5));
+        int number = manager.addLevel(grid);
+
+        assertEquals(manager.getTotalLevels(), number);
+        assertEquals("grid", manager.getLevelInfo(number).getName());
+        assertEquals(20, manager.getLevelInfo(number).getBrickCount());
+        manager.getLevel(1);
+        manager.getLevel(2);
+        assertSame(grid, manager.getLevel(number));
+    }
+}
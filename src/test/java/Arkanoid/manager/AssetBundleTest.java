@@ -0,0 +1,171 @@
+package Arkanoid.manager;
+
+import Arkanoid.level.LevelData;
+import Arkanoid.level.LevelIndex;
+import Arkanoid.level.LevelLoader;
+import Arkanoid.model.Bullet;
+import Arkanoid.renderer.Renderer;
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetBundleTest {
+
+    @Test
+    void testBakedImagesMatchDecodedOnes(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("assets.bundle");
+        long size = AssetBaker.bake(file);
+        assertEquals(Files.size(file), size);
+        AssetBundle bundle = AssetBundle.open(file);
+        assertTrue(bundle.isMapped());
+
+        AssetManager.ImageSpec heart = Renderer.coreImages().stream()
+                .filter(s -> s.getPath().endsWith("heart.png")).findFirst().orElseThrow();
+        Image baked = bundle.image(heart.key());
+        Image decoded = AssetManager.decode(heart.getPath(), heart.getWidth(), heart.getHeight());
+        assertNotNull(baked);
+        assertEquals(decoded.getWidth(), baked.getWidth());
+        assertEquals(decoded.getHeight(), baked.getHeight());
+        for (int y = 0; y < baked.getHeight(); y += 5) {
+            for (int x = 0; x < baked.getWidth(); x += 5) {
+                assertEquals(decoded.getPixelReader().getArgb(x, y), baked.getPixelReader().getArgb(x, y),
+                        "pixel " + x + "," + y);
+            }
+        }
+        assertNull(bundle.image("/images/level/space_red.png@800x600"), "missing files are not baked");
+    }
+
+    @Test
+    void testBakedLevelsMatchTheirJson(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("assets.bundle");
+        AssetBaker.bake(file);
+        AssetBundle bundle = AssetBundle.open(file);
+
+        int levels = bundle.levelCount();
+        assertTrue(levels >= 5);
+        assertFalse(bundle.hasLevel(levels + 1));
+        for (int n = 1; n <= levels; n++) {
+            LevelData json = LevelLoader.loadLevelJson(n);
+            LevelData baked = bundle.level(n);
+            assertEquals(json.getName(), baked.getName());
+            assertEquals(json.getBallSpeed(), baked.getBallSpeed());
+            assertEquals(json.getBricks().size(), baked.getBricks().size());
+            assertEquals(json.getBricks().get(0).getColor(), baked.getBricks().get(0).getColor());
+        }
+    }
+
+    @Test
+    void testBakedLevelIndexMatchesTheLevels(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("assets.bundle");
+        AssetBaker.bake(file);
+        AssetBundle bundle = AssetBundle.open(file);
+
+        LevelIndex index = bundle.levelIndex();
+        assertNotNull(index);
+        assertEquals(bundle.levelCount(), index.size());
+        for (LevelIndex.Entry entry : index.getEntries()) {
+            LevelData json = LevelLoader.loadLevelJson(entry.getNumber());
+            assertEquals(json.getName(), entry.getName());
+            assertEquals(json.getBricks().size(), entry.getBrickCount());
+            assertEquals(json.getBackgroundImage(), entry.getBackgroundImage());
+        }
+    }
+
+    @Test
+    void testLevelsChangedSinceBakingAreNotServed(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("assets.bundle");
+        AssetBaker.bake(file);
+        AssetBundle bundle = AssetBundle.open(file);
+        assertTrue(bundle.hasLevel(2));
+        assertNotNull(bundle.levelIndex());
+
+        // As if level2.json had been edited after the bundle was baked
+        Path json = Paths.get(AssetBundleTest.class.getResource(AssetBundle.levelKey(2)).toURI());
+        byte[] original = Files.readAllBytes(json);
+        FileTime modified = Files.getLastModifiedTime(json);
+        try {
+            Files.write(json, (new String(original, StandardCharsets.UTF_8) + " ").getBytes(StandardCharsets.UTF_8));
+            assertFalse(bundle.hasLevel(2));
+            assertNull(bundle.level(2), "a stale level falls back to its JSON");
+            assertNull(bundle.levelIndex(), "a stale index is rebuilt from the level files");
+            assertTrue(bundle.hasLevel(1));
+        } finally {
+            Files.write(json, original);
+            Files.setLastModifiedTime(json, modified);
+        }
+        assertTrue(bundle.hasLevel(2));
+    }
+
+    @Test
+    void testBundleInsideAJarMatchesItsResources(@TempDir Path dir) throws Exception {
+        Path bundleFile = dir.resolve("assets.bundle");
+        AssetBaker.bake(bundleFile);
+        // Packaged like the game: resources and the bundle in one jar, times rounded by the jar
+        Path classes = Paths.get(AssetBundleTest.class.getResource(AssetBundle.levelKey(1)).toURI()).getParent().getParent();
+        Path jar = dir.resolve("game.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String folder : new String[]{"levels", "images"}) {
+                try (Stream<Path> files = Files.walk(classes.resolve(folder))) {
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                        addEntry(out, classes.relativize(file).toString().replace('\\', '/'), file);
+                    }
+                }
+            }
+            addEntry(out, "assets.bundle", bundleFile);
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            AssetBundle bundle = AssetBundle.load(loader.getResource("assets.bundle"),
+                    path -> loader.getResource(path.substring(1)));
+            assertFalse(bundle.isMapped());
+            assertTrue(bundle.hasLevel(1));
+            assertNotNull(bundle.level(1));
+            assertNotNull(bundle.levelIndex());
+            AssetManager.ImageSpec heart = Renderer.coreImages().stream()
+                    .filter(spec -> spec.getPath().contains("heart")).findFirst().orElseThrow();
+            assertNotNull(bundle.image(heart.key()));
+        }
+    }
+
+    private static void addEntry(JarOutputStream out, String name, Path file) throws IOException {
+        JarEntry entry = new JarEntry(name);
+        entry.setTime(Files.getLastModifiedTime(file).toMillis());
+        out.putNextEntry(entry);
+        Files.copy(file, out);
+        out.closeEntry();
+    }
+
+    @Test
+    void testManagerCopiesFromBundleInsteadOfDecoding(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("assets.bundle");
+        AssetBaker.bake(file);
+        AssetManager assets = new AssetManager(AssetManager.DEFAULT_BUDGET_BYTES, 1, AssetBundle.open(file));
+        AssetManager.ImageSpec rocket = new AssetManager.ImageSpec(
+                "/images/powerup/rocket.png", (int) Bullet.ROCKET_WIDTH, (int) Bullet.ROCKET_HEIGHT);
+
+        assertNotNull(assets.load(rocket.getPath(), rocket.getWidth(), rocket.getHeight()).join());
+        assertNotNull(assets.load(rocket.getPath(), 10, 10).join(), "other sizes are still decoded");
+        assertEquals(1, assets.getBundleHits());
+    }
+
+    @Test
+    void testRejectsFilesThatAreNotBundles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("broken.bundle");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> AssetBundle.open(file));
+    }
+}
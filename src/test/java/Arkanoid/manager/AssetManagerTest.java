@@ -0,0 +1,106 @@
+package Arkanoid.manager;
+
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetManagerTest {
+    private static final String BRICK = "/images/bricks/brick_hard.png";
+    private static final String HEART = "/images/powerup/heart.png";
+    private static final String SPACE = "/images/level/space.png";
+    private static final String OCEAN = "/images/level/ocean.png";
+
+    @Test
+    void testLoadsOnceAndGetNeverBlocks() {
+        AssetManager assets = new AssetManager(AssetManager.DEFAULT_BUDGET_BYTES, 1);
+        assertNull(assets.get(BRICK), "nothing decoded yet");
+        CompletableFuture<Image> future = assets.load(BRICK);
+        assertSame(future, assets.load(BRICK), "same key shares one decode");
+
+        Image image = future.join();
+        assertSame(image, assets.get(BRICK));
+        assertEquals(702, image.getWidth());
+        assertEquals(207, image.getHeight());
+        assertTrue(assets.isSettled(BRICK, 0, 0));
+    }
+
+    @Test
+    void testDecodesAtDrawSizeAndCountsBytes() {
+        AssetManager assets = new AssetManager(AssetManager.DEFAULT_BUDGET_BYTES, 1);
+        Image small = assets.load(SPACE, 80, 60).join();
+        assertEquals(80, small.getWidth());
+        assertEquals(60, small.getHeight());
+        assertEquals(80 * 60 * 4, assets.getBytesHeld());
+        assertNotSame(small, assets.load(BRICK, 24, 24).join(), "sizes are cached separately");
+        assertEquals(80 * 60 * 4 + 24 * 24 * 4, assets.getBytesHeld());
+    }
+
+    @Test
+    void testMissingImageIsRememberedAsNull() {
+        AssetManager assets = new AssetManager(AssetManager.DEFAULT_BUDGET_BYTES, 1);
+        assertNull(assets.load("/images/nope.png").join());
+        assertTrue(assets.isSettled("/images/nope.png", 0, 0));
+        assertNull(assets.get("/images/nope.png"));
+        assertEquals(0, assets.getBytesHeld());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedOverBudget() {
+        int bytes = 100 * 100 * 4;
+        AssetManager assets = new AssetManager(2L * bytes, 1);
+        assets.load(SPACE, 100, 100).join();
+        assets.load(OCEAN, 100, 100).join();
+        assets.get(SPACE, 100, 100); // ocean is now the oldest
+        assets.load(BRICK, 100, 100).join();
+
+        assertEquals(2L * bytes, assets.getBytesHeld());
+        assertEquals(1, assets.getEvictions());
+        assertNull(assets.report().stream().filter(i -> i.getKey().startsWith(OCEAN)).findAny().orElse(null));
+        assertNotNull(assets.get(SPACE, 100, 100));
+    }
+
+    @Test
+    void testPinnedAssetsSurviveUntilEveryScopeReleases() {
+        int bytes = 50 * 50 * 4;
+        AssetManager assets = new AssetManager(bytes, 1);
+        String level1 = AssetManager.levelScope(1);
+        String level2 = AssetManager.levelScope(2);
+        assets.retain(level1, SPACE, 50, 50).join();
+        assets.retain(level1, SPACE, 50, 50).join(); // same scope counts once
+        assets.retain(level2, SPACE, 50, 50).join();
+        assets.retain(level2, OCEAN, 50, 50).join();
+
+        assertEquals(2L * bytes, assets.getBytesHeld(), "pinned assets may exceed the budget");
+        assertEquals(2, refs(assets, AssetManager.key(SPACE, 50, 50)));
+
+        assets.release(level2);
+        assertEquals(1, refs(assets, AssetManager.key(SPACE, 50, 50)));
+        assertEquals(bytes, assets.getBytesHeld(), "ocean was only held by level 2");
+        assertNotNull(assets.get(SPACE, 50, 50));
+
+        assets.release(level1);
+        assets.setBudgetBytes(0);
+        assertEquals(0, assets.getBytesHeld());
+        assertTrue(assets.describe().contains("2 evicted"));
+    }
+
+    @Test
+    void testReportListsKeysAndBytes() {
+        AssetManager assets = new AssetManager(AssetManager.DEFAULT_BUDGET_BYTES, 1);
+        assets.retain(AssetManager.CORE_SCOPE, HEART, 22, 22).join();
+        List<AssetManager.Info> report = assets.report();
+        assertEquals(1, report.size());
+        assertEquals(HEART + "@22x22", report.get(0).getKey());
+        assertEquals(22 * 22 * 4, report.get(0).getBytes());
+        assertEquals(1, report.get(0).getRefs());
+        assertTrue(report.get(0).isLoaded());
+    }
+
+    private static int refs(AssetManager assets, String key) {
+        return assets.report().stream().filter(i -> i.getKey().equals(key)).findFirst().orElseThrow().getRefs();
+    }
+}
@@ -0,0 +1,139 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Ball;
+import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
+import Arkanoid.model.MovingBrick;
+import Arkanoid.model.Paddle;
+import Arkanoid.model.PolygonBrick;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrickBvhTest {
+    private final BrickBvh bvh = new BrickBvh();
+
+    private PolygonBrick bar(double cx, double cy, double rotation) {
+        return PolygonBrick.rectangle(cx, cy, 60, 18, rotation, BrickType.NORMAL, Color.RED, null, 0, 0);
+    }
+
+    @Test
+    void testQueryMatchesBruteForce() {
+        List<PolygonBrick> shapes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            shapes.add(bar(20 + (i * 37) % 820, 20 + (i * 53) % 500, i * 13));
+        }
+        bvh.build(shapes);
+        assertTrue(bvh.getNodeCount() < 2 * shapes.size());
+
+        double qx = 300, qy = 150, qw = 120, qh = 90;
+        List<Brick> found = new ArrayList<>();
+        bvh.query(qx, qy, qw, qh, found);
+
+        int expected = 0;
+        for (PolygonBrick b : shapes) {
+            if (b.getX() < qx + qw && b.getX() + b.getWidth() > qx
+                    && b.getY() < qy + qh && b.getY() + b.getHeight() > qy) {
+                expected++;
+                assertTrue(found.contains(b));
+            }
+        }
+        assertEquals(expected, found.size());
+    }
+
+    @Test
+    void testRefitTracksMovingShapes() {
+        PolygonBrick mover = PolygonBrick.rectangle(100, 100, 40, 10, 0, BrickType.NORMAL, Color.RED,
+                MovingBrick.Axis.HORIZONTAL, 100, 300);
+        bvh.build(List.of(mover, bar(600, 400, 0), bar(700, 100, 0)));
+        assertTrue(bvh.hasMovingBricks());
+
+        for (int i = 0; i < 10; i++) mover.update(0.2); // 200px to the right
+        List<Brick> found = new ArrayList<>();
+        bvh.query(280, 90, 40, 20, found);
+        assertTrue(found.isEmpty(), "Stale bounds before refit");
+
+        bvh.refit();
+        bvh.query(280, 90, 40, 20, found);
+        assertEquals(List.of(mover), found);
+    }
+
+    @Test
+    void testBallBouncesOffRotatedBrick() {
+        // 45-degree ramp; ball falling straight down onto it should be deflected sideways
+        PolygonBrick ramp = PolygonBrick.rectangle(200, 200, 120, 20, 45, BrickType.NORMAL, Color.RED, null, 0, 0);
+        bvh.build(List.of(ramp));
+
+        Ball ball = new Ball(new Paddle());
+        ball.setStuck(false);
+        ball.setSmoothX(188);
+        ball.setSmoothY(160);
+        ball.setVelocityY(6);
+        ball.update(1.0 / 60.0);
+
+        List<Brick> hits = new ArrayList<>();
+        new CollisionManager().resolveBallPolygonContacts(ball, bvh, hits);
+        assertEquals(List.of(ramp), hits);
+        assertTrue(Math.abs(ball.getVelocityX()) > 5, "Velocity should turn sideways off a 45-degree face");
+        assertEquals(6, Math.hypot(ball.getVelocityX(), ball.getVelocityY()), 1e-9);
+    }
+
+    private static Ball launch(double cx, double cy, double vx, double vy) {
+        Ball ball = new Ball(new Paddle());
+        ball.setStuck(false);
+        ball.setSmoothX(cx - ball.getRadius());
+        ball.setSmoothY(cy - ball.getRadius());
+        ball.setVelocityX(vx);
+        ball.setVelocityY(vy);
+        ball.update(1.0 / 60.0);
+        return ball;
+    }
+
+    @Test
+    void testFastBallDoesNotTunnelThroughThinRotatedBrick() {
+        PolygonBrick blade = PolygonBrick.rectangle(200, 200, 120, 4, 30, BrickType.NORMAL, Color.RED, null, 0, 0);
+        bvh.build(List.of(blade));
+
+        // Starts and ends well clear of the blade, crossing it in one tick
+        Ball ball = launch(200, 140, 0, 120);
+        List<Brick> hits = new ArrayList<>();
+        new CollisionManager().resolveBallPolygonContacts(ball, bvh, hits);
+
+        assertEquals(List.of(blade), hits);
+        assertTrue(ball.getVelocityY() < 0, "Ball should bounce back up");
+        assertTrue(blade.edgeSeparation(ball.getCenterX(), ball.getCenterY()) > 0, "Ball stays on its side");
+        assertTrue(ball.getCenterY() < 200, "Ball is put back where it touched, not past the blade");
+    }
+
+    @Test
+    void testEarliestPolygonContactWinsOverDeepestOne() {
+        PolygonBrick post = PolygonBrick.rectangle(130, 300, 4, 80, 0, BrickType.NORMAL, Color.RED, null, 0, 0);
+        PolygonBrick block = PolygonBrick.rectangle(185, 300, 40, 80, 0, BrickType.NORMAL, Color.BLUE, null, 0, 0);
+        bvh.build(List.of(post, block));
+
+        // The move ends deep inside the block, but passes the thin post first
+        Ball ball = launch(100, 300, 80, 0);
+        List<Brick> hits = new ArrayList<>();
+        new CollisionManager().resolveBallPolygonContacts(ball, bvh, hits);
+
+        assertEquals(List.of(post), hits);
+        assertEquals(-80, ball.getVelocityX(), 1e-9);
+        assertTrue(ball.getCenterX() + ball.getRadius() <= 128, "Ball rests left of the post");
+    }
+
+    @Test
+    void testRaycasterSeesShapesThroughBvh() {
+        PolygonBrick shape = bar(400, 200, 20);
+        bvh.build(List.of(shape));
+        GridRaycaster raycaster = new GridRaycaster(new BrickGrid(), bvh);
+        GridRaycaster.RayHit hit = new GridRaycaster.RayHit();
+
+        assertTrue(raycaster.cast(400, 550, 0, -1, 0, 600, hit));
+        assertSame(shape, hit.getBrick());
+        assertFalse(raycaster.cast(100, 550, 0, -1, 0, 600, hit));
+    }
+}
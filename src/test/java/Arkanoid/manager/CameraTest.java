@@ -0,0 +1,85 @@
+package Arkanoid.manager;
+
+import Arkanoid.audio.SoundManager;
+import Arkanoid.level.Level;
+import Arkanoid.level.LevelLoader;
+import Arkanoid.model.Ball;
+import Arkanoid.model.Paddle;
+import Arkanoid.model.World;
+import Arkanoid.util.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CameraTest {
+
+    @Test
+    void testWindowSizedWorldNeverScrolls() {
+        World world = new World();
+        Camera camera = new Camera();
+        camera.setWorld(world);
+        Paddle paddle = new Paddle(world);
+        List<Ball> balls = new ArrayList<>();
+        Ball ball = new Ball(paddle);
+        ball.launch(-60);
+        balls.add(ball);
+        for (int i = 0; i < 120; i++) {
+            ball.update(1.0 / 60);
+            camera.follow(balls, paddle, 1.0 / 60);
+        }
+        assertEquals(0, camera.getX());
+        assertEquals(0, camera.getY());
+        assertFalse(world.isScrolling());
+    }
+
+    @Test
+    void testFollowsLowestMovingBallAndClampsToWorld() {
+        World world = new World();
+        world.resize(4000, 3000);
+        Camera camera = new Camera();
+        camera.setWorld(world);
+        Paddle paddle = new Paddle(world);
+        Ball high = new Ball(paddle);
+        high.setX(500);
+        high.setY(200);
+        high.launch(-60);
+        Ball low = new Ball(paddle);
+        low.setX(2000);
+        low.setY(1500);
+        low.launch(-60);
+        List<Ball> balls = List.of(high, low);
+        for (int i = 0; i < 600; i++) camera.follow(balls, paddle, 1.0 / 60);
+        assertEquals(low.getCenterX() - Constants.WINDOW_WIDTH / 2, camera.getX(), 1.0);
+        assertEquals(low.getCenterY() - Constants.WINDOW_HEIGHT / 2, camera.getY(), 1.0);
+        assertTrue(camera.intersects(low.getX(), low.getY(), 1, 1));
+        assertFalse(camera.intersects(high.getX(), high.getY(), 1, 1));
+
+        camera.centerOn(world.getWidth(), world.getHeight());
+        assertEquals(world.getWidth() - Constants.WINDOW_WIDTH, camera.getX());
+        assertEquals(world.getHeight() - Constants.WINDOW_HEIGHT, camera.getY());
+    }
+
+    @Test
+    void testLargeLevelGetsLargerWorldAndCameraOnPaddle() {
+        SoundManager.getInstance().setMuted(true);
+        GameManager game = new GameManager();
+        try {
+            int level = game.getLevelManager().addLevel(new Level(LevelLoader.createGridLevel(0, "big", 60, 60)));
+            game.selectLevel(level);
+            World world = game.getWorld();
+            Paddle paddle = game.getPaddle();
+            assertTrue(world.isScrolling());
+            assertTrue(world.getWidth() > Constants.WINDOW_WIDTH);
+            assertEquals(world.getPaddleY(), paddle.getY());
+            assertTrue(game.getCamera().intersects(paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight()));
+            Ball ball = game.getBalls().get(0);
+            assertEquals(paddle.getY() - Constants.BALL_RADIUS * 2, ball.getY(), 1.0);
+        } finally {
+            game.cleanup();
+            game.shutdown();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Ball;
+import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
+import Arkanoid.model.Paddle;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollisionManagerTest {
+    private final CollisionManager collisionManager = new CollisionManager();
+    private final BrickGrid grid = new BrickGrid();
+
+    /** Places a free ball at (x, y) and moves it by (dx, dy) in one 1/60s tick. */
+    private Ball moveBall(double x, double y, double dx, double dy) {
+        Ball ball = new Ball(new Paddle());
+        ball.setStuck(false);
+        ball.setSmoothX(x);
+        ball.setSmoothY(y);
+        ball.setVelocityX(dx);
+        ball.setVelocityY(dy);
+        ball.update(1.0 / 60.0);
+        return ball;
+    }
+
+    private Brick brick(double x, double y, BrickType type) {
+        return new Brick(x, y, 80, 20, type, Color.RED);
+    }
+
+    @Test
+    void testSeamBetweenTwoBricksResolvesBoth() {
+        Brick left = brick(100, 50, BrickType.NORMAL);
+        Brick right = brick(185, 50, BrickType.NORMAL);
+        grid.rebuild(List.of(left, right));
+
+        Ball ball = moveBall(170, 75, 0, -8);
+        List<Brick> hits = new ArrayList<>();
+        collisionManager.resolveBallBrickContacts(ball, grid, hits);
+
+        assertEquals(2, hits.size(), "Both bricks touching the ball should be reported");
+        assertTrue(hits.contains(left) && hits.contains(right));
+        assertTrue(ball.getVelocityY() > 0, "Ball should bounce down exactly once");
+        assertEquals(70 + 0.1, ball.getY(), 1e-9);
+    }
+
+    @Test
+    void testFastBallDoesNotTunnelThroughBrick() {
+        Brick target = brick(100, 100, BrickType.NORMAL);
+        grid.rebuild(List.of(target));
+
+        // Moves 60px up in one tick, passing completely through the 20px brick
+        Ball ball = moveBall(120, 130, 0, -60);
+        List<Brick> hits = new ArrayList<>();
+        collisionManager.resolveBallBrickContacts(ball, grid, hits);
+
+        assertEquals(List.of(target), hits);
+        assertEquals(120 + 0.1, ball.getY(), 1e-9);
+        assertTrue(ball.getVelocityY() > 0);
+    }
+
+    @Test
+    void testEarliestContactWinsAndLaterOnesAreDropped() {
+        Brick near = brick(100, 125, BrickType.NORMAL);
+        Brick far = brick(100, 75, BrickType.NORMAL);
+        grid.rebuild(List.of(near, far));
+
+        Ball ball = moveBall(120, 150, 0, -70);
+        List<Brick> hits = new ArrayList<>();
+        collisionManager.resolveBallBrickContacts(ball, grid, hits);
+
+        assertEquals(List.of(near), hits, "Ball bounces off the first brick before reaching the second");
+    }
+
+    @Test
+    void testFireballPiercesEveryBrickOnItsPath() {
+        Brick a = brick(100, 150, BrickType.NORMAL);
+        Brick b = brick(100, 125, BrickType.HARD);
+        Brick c = brick(100, 100, BrickType.NORMAL);
+        Brick aside = brick(300, 125, BrickType.NORMAL);
+        grid.rebuild(List.of(a, b, c, aside));
+
+        Ball ball = new Ball(new Paddle());
+        ball.setFireball(true);
+        ball.setStuck(false);
+        ball.setSmoothX(120);
+        ball.setSmoothY(175);
+        ball.setVelocityY(-90);
+        ball.update(1.0 / 60.0);
+
+        List<Brick> hits = new ArrayList<>();
+        collisionManager.resolveBallBrickContacts(ball, grid, hits);
+
+        assertEquals(List.of(a, b, c), hits, "Bricks should be reported in time-of-impact order");
+        assertEquals(-90, ball.getVelocityY(), 1e-9, "Fireball keeps its course through breakable bricks");
+    }
+
+    @Test
+    void testFireballBouncesOffUnbreakable() {
+        Brick breakable = brick(100, 150, BrickType.NORMAL);
+        Brick wall = brick(100, 125, BrickType.UNBREAKABLE);
+        Brick behind = brick(100, 100, BrickType.NORMAL);
+        grid.rebuild(List.of(breakable, wall, behind));
+
+        Ball ball = new Ball(new Paddle());
+        ball.setFireball(true);
+        ball.setStuck(false);
+        ball.setSmoothX(120);
+        ball.setSmoothY(175);
+        ball.setVelocityY(-90);
+        ball.update(1.0 / 60.0);
+
+        List<Brick> hits = new ArrayList<>();
+        collisionManager.resolveBallBrickContacts(ball, grid, hits);
+
+        assertEquals(List.of(breakable, wall), hits);
+        assertTrue(ball.getVelocityY() > 0);
+        assertFalse(wall.destroy(), "Unbreakable bricks cannot be destroyed");
+    }
+
+    @Test
+    void testGridQueryOnlyReturnsOverlappingBricks() {
+        Brick a = brick(10, 50, BrickType.NORMAL);
+        Brick b = brick(95, 50, BrickType.NORMAL);
+        Brick far = brick(600, 300, BrickType.NORMAL);
+        grid.rebuild(List.of(a, b, far));
+
+        List<Brick> out = new ArrayList<>();
+        grid.query(80, 55, 30, 5, out);
+        assertEquals(List.of(a, b), out);
+
+        grid.remove(a);
+        out.clear();
+        grid.query(80, 55, 30, 5, out);
+        assertEquals(List.of(b), out);
+    }
+}
@@ -0,0 +1,57 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Ball;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeterminismCheckerTest {
+    private static final double DT = 1.0 / 60.0;
+
+    // Sweep the paddle back and forth and launch right away
+    private static final DeterminismChecker.InputScript INPUT = (tick, game) -> {
+        if (tick == 1) game.launchBall();
+        boolean left = (tick / 90) % 2 == 0;
+        game.getPaddle().setMovingLeft(left);
+        game.getPaddle().setMovingRight(!left);
+    };
+
+    @Test
+    void testSameSeedSameInputIsDeterministic() {
+        DeterminismChecker.Report report = DeterminismChecker.runTwice(GameManager::new, 42L, 600, DT, INPUT);
+        assertTrue(report.isDeterministic(), report.toString());
+    }
+
+    @Test
+    void testReportsFirstDivergentTick() {
+        // Variant that nudges every ball's velocity once at tick 200
+        DeterminismChecker.InputScript perturbed = (tick, game) -> {
+            INPUT.apply(tick, game);
+            if (tick == 200) {
+                for (Ball b : game.getBalls()) b.setVelocityX(b.getVelocityX() + 5);
+            }
+        };
+        DeterminismChecker.Report report = DeterminismChecker.compare(
+                GameManager::new, INPUT, GameManager::new, perturbed, 7L, 400, DT);
+
+        assertFalse(report.isDeterministic());
+        assertEquals(200, report.getFirstDivergentTick(), report.toString());
+        assertNotEquals(report.getExpectedHash(), report.getActualHash());
+        assertEquals(400, report.getTicks());
+    }
+
+    @Test
+    void testTurningEffectsOffLeavesTheSimulationAlone() {
+        DeterminismChecker.InputScript noEffects = (tick, game) -> {
+            INPUT.apply(tick, game);
+            assertEquals(0, game.getParticles().getCount());
+            assertFalse(game.isTrailsEnabled());
+        };
+        DeterminismChecker.Report report = DeterminismChecker.compare(GameManager::new, INPUT, () -> {
+            GameManager game = new GameManager();
+            game.setEffectsEnabled(false);
+            return game;
+        }, noEffects, 42L, 600, DT);
+        assertTrue(report.isDeterministic(), report.toString());
+    }
+}
@@ -0,0 +1,141 @@
+package Arkanoid.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FramePacerTest {
+    // Stands in for the FX thread
+    private final ExecutorService fx = Executors.newSingleThreadExecutor();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        fx.shutdownNow();
+        System.clearProperty(FramePacer.PROPERTY);
+    }
+
+    private FramePacer pacer(FramePacer.Mode mode, double hz, LongConsumer frame) {
+        return new FramePacer(mode, hz, frame, task -> {
+            maxQueued.accumulateAndGet(queued.incrementAndGet(), Math::max);
+            fx.execute(() -> {
+                queued.decrementAndGet();
+                task.run();
+            });
+        });
+    }
+
+    private void runFor(FramePacer pacer, long millis) throws InterruptedException {
+        pacer.start();
+        Thread.sleep(millis);
+        pacer.stop();
+        fx.shutdown();
+        assertTrue(fx.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCappedModeHoldsTheTargetRate() throws InterruptedException {
+        FramePacer pacer = pacer(FramePacer.Mode.CAPPED, 144, now -> { });
+        runFor(pacer, 700);
+        assertEquals(Math.round(1e9 / 144), pacer.getPeriodNanos());
+        assertEquals(144, pacer.getFps(), 144 * 0.1);
+        assertTrue(pacer.getFrameCount() > 50);
+        assertTrue(pacer.getJitterNanos() < pacer.getPeriodNanos(), pacer.describe());
+        assertEquals(1, maxQueued.get(), "at most one frame waits on the FX thread");
+    }
+
+    @Test
+    void testSlowFramesMissDeadlinesInsteadOfQueueing() throws InterruptedException {
+        FramePacer pacer = pacer(FramePacer.Mode.CAPPED, 240, now -> sleep(10));
+        runFor(pacer, 500);
+        assertTrue(pacer.getMissedDeadlines() > 0);
+        assertTrue(pacer.getFps() < 110, pacer.describe());
+        assertTrue(pacer.getMeanIntervalNanos() >= 10_000_000L);
+        assertEquals(1, maxQueued.get());
+    }
+
+    @Test
+    void testUncappedRunsFramesBackToBack() throws InterruptedException {
+        FramePacer pacer = pacer(FramePacer.Mode.UNCAPPED, 0, now -> sleep(2));
+        runFor(pacer, 400);
+        assertEquals(0, pacer.getPeriodNanos());
+        assertTrue(pacer.getFrameCount() > 40, pacer.describe());
+        assertTrue(pacer.percentileIntervalNanos(0.5) >= 2_000_000L);
+        assertEquals(0, pacer.getMissedDeadlines());
+        assertEquals(1, maxQueued.get());
+    }
+
+    @Test
+    void testPausedPacerDeliversNoFramesAndSkipsTheGap() throws InterruptedException {
+        AtomicInteger frames = new AtomicInteger();
+        FramePacer[] holder = new FramePacer[1];
+        FramePacer pacer = pacer(FramePacer.Mode.CAPPED, 120, now -> {
+            if (frames.incrementAndGet() == 5) holder[0].pause(); // e.g. the game was paused
+        });
+        holder[0] = pacer;
+        pacer.start();
+        Thread.sleep(300);
+        assertTrue(pacer.isPaused());
+        assertEquals(5, frames.get(), "no frames while paused");
+
+        fx.execute(pacer::resume);
+        Thread.sleep(100);
+        assertTrue(frames.get() > 5);
+        assertFalse(pacer.isPaused());
+        runFor(pacer, 0);
+        assertTrue(pacer.percentileIntervalNanos(1.0) < 100_000_000L, "idle gap is not an interval");
+        assertTrue(pacer.getMissedDeadlines() < 5, "idle gap is not missed deadlines");
+    }
+
+    @Test
+    void testStopEndsTheTimingThreadBeforeRestart() throws InterruptedException {
+        FramePacer pacer = pacer(FramePacer.Mode.UNCAPPED, 0, now -> { });
+        pacer.start();
+        Thread.sleep(50);
+        for (int i = 0; i < 20; i++) {
+            pacer.stop();
+            pacer.start();
+        }
+        assertEquals(1, timingThreads(), "an old timing thread outlived stop()");
+        pacer.stop();
+        assertEquals(0, timingThreads());
+        int posted = queued.get();
+        Thread.sleep(50);
+        assertEquals(posted, queued.get(), "nothing is posted after stop()");
+    }
+
+    private static long timingThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && t.getName().equals("frame-pacer"))
+                .count();
+    }
+
+    @Test
+    void testModeFromSystemProperty() {
+        assertEquals(FramePacer.Mode.VSYNC, FramePacer.fromSystemProperty(now -> { }).getMode());
+        System.setProperty(FramePacer.PROPERTY, "240");
+        FramePacer capped = FramePacer.fromSystemProperty(now -> { });
+        assertEquals(FramePacer.Mode.CAPPED, capped.getMode());
+        assertEquals(Math.round(1e9 / 240), capped.getPeriodNanos());
+        System.setProperty(FramePacer.PROPERTY, "uncapped");
+        assertEquals(FramePacer.Mode.UNCAPPED, FramePacer.fromSystemProperty(now -> { }).getMode());
+        System.setProperty(FramePacer.PROPERTY, "fast");
+        assertEquals(FramePacer.Mode.VSYNC, FramePacer.fromSystemProperty(now -> { }).getMode());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
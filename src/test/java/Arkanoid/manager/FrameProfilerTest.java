@@ -0,0 +1,66 @@
+package Arkanoid.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameProfilerTest {
+    private static final long MS = 1_000_000L;
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    @Test
+    void testDisabledRecordsNothing() {
+        assertEquals(0L, profiler.begin());
+        profiler.record(FrameProfiler.Phase.BALLS, 5 * MS);
+        profiler.endFrame();
+        assertEquals(0, profiler.getSampleCount());
+        assertEquals(0L, profiler.max(FrameProfiler.Phase.BALLS));
+    }
+
+    @Test
+    void testPercentilesAndMax() {
+        profiler.setEnabled(true);
+        for (int i = 1; i <= 100; i++) {
+            profiler.record(FrameProfiler.Phase.BALLS, i * MS / 10); // 0.1 .. 10 ms
+            profiler.endFrame();
+        }
+        assertEquals(100, profiler.getSampleCount());
+        long p50 = profiler.percentile(FrameProfiler.Phase.BALLS, 0.5);
+        long p99 = profiler.percentile(FrameProfiler.Phase.BALLS, 0.99);
+        assertTrue(Math.abs(p50 - 5 * MS) <= FrameProfiler.BUCKET_NANOS, "p50 " + p50);
+        assertTrue(Math.abs(p99 - 99 * MS / 10) <= FrameProfiler.BUCKET_NANOS, "p99 " + p99);
+        assertEquals(10 * MS, profiler.max(FrameProfiler.Phase.BALLS));
+    }
+
+    @Test
+    void testWindowEvictsOldFrames() {
+        profiler.setEnabled(true);
+        profiler.record(FrameProfiler.Phase.RENDER, 50 * MS);
+        profiler.endFrame();
+        for (int i = 0; i < FrameProfiler.WINDOW; i++) {
+            profiler.record(FrameProfiler.Phase.RENDER, MS);
+            profiler.endFrame();
+        }
+        assertEquals(FrameProfiler.WINDOW - 1, profiler.getSampleCount());
+        assertEquals(MS, profiler.max(FrameProfiler.Phase.RENDER));
+        assertEquals(MS + FrameProfiler.BUCKET_NANOS, profiler.percentile(FrameProfiler.Phase.RENDER, 0.99));
+    }
+
+    @Test
+    void testCsvHasOneRowPerFrame() throws IOException {
+        profiler.setEnabled(true);
+        for (int i = 0; i < 3; i++) {
+            profiler.record(FrameProfiler.Phase.PADDLE, 1000 + i);
+            profiler.endFrame();
+        }
+        StringWriter out = new StringWriter();
+        profiler.writeCsv(out);
+        String[] lines = out.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("frame,paddle,bricks"));
+        assertTrue(lines[3].startsWith("2,1002,"));
+    }
+}
@@ -0,0 +1,40 @@
+package Arkanoid.manager;
+
+import Arkanoid.level.Level;
+import Arkanoid.model.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameManagerPreloadTest {
+
+    @Test
+    void testPreloadedLevelIsSwappedInBySelectLevel() throws Exception {
+        GameManager game = new GameManager();
+        List<Level> levels = game.getLevelManager().getAllLevels();
+        assertTrue(levels.size() >= 2);
+
+        game.preloadLevel(2).get(5, TimeUnit.SECONDS);
+        assertTrue(levels.get(1).isPrepared());
+        assertTrue(game.preloadLevel(2).isDone(), "a ready level is not prepared twice");
+
+        game.selectLevel(2);
+        assertEquals(GameState.PLAYING, game.getCurrentState());
+        assertSame(levels.get(1), game.getCurrentLevel());
+        assertFalse(levels.get(1).isPrepared(), "the prepared bricks were taken over");
+        assertEquals(levels.get(1).getBricks().size(), game.getBricks().size());
+        game.shutdown();
+    }
+
+    @Test
+    void testOutOfRangeLevelIsIgnored() {
+        GameManager game = new GameManager();
+        int total = game.getLevelManager().getTotalLevels();
+        assertTrue(game.preloadLevel(total + 1).isDone());
+        assertTrue(game.preloadLevel(0).isDone());
+        game.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
+import Arkanoid.model.MovingBrick;
+import Arkanoid.util.Constants;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridRaycasterTest {
+    private final BrickGrid grid = new BrickGrid();
+    private final GridRaycaster raycaster = new GridRaycaster(grid);
+    private final GridRaycaster.RayHit hit = new GridRaycaster.RayHit();
+
+    private Brick brickAt(int row, int col) {
+        double x = Constants.BRICK_OFFSET_X + col * (Constants.BRICK_WIDTH + Constants.BRICK_PADDING);
+        double y = Constants.BRICK_OFFSET_Y + row * (Constants.BRICK_HEIGHT + Constants.BRICK_PADDING);
+        return new Brick(x, y, Constants.BRICK_WIDTH, Constants.BRICK_HEIGHT, BrickType.NORMAL, Color.RED);
+    }
+
+    @Test
+    void testVerticalCastHitsLowestBrickInColumn() {
+        Brick top = brickAt(0, 2);
+        Brick bottom = brickAt(5, 2);
+        Brick otherColumn = brickAt(8, 3);
+        grid.rebuild(List.of(top, bottom, otherColumn));
+
+        double x = bottom.getCenterX();
+        assertTrue(raycaster.cast(x, Constants.PADDLE_Y, 0, -1, 0, Constants.PADDLE_Y, hit));
+        assertSame(bottom, hit.getBrick());
+        assertEquals(Constants.PADDLE_Y - (bottom.getY() + bottom.getHeight()), hit.getDistance(), 1e-9);
+        assertEquals(0, hit.getNormalX(), 1e-9);
+        assertEquals(1, hit.getNormalY(), 1e-9);
+    }
+
+    @Test
+    void testCastThroughGapMissesEverything() {
+        Brick left = brickAt(3, 1);
+        Brick right = brickAt(3, 2);
+        grid.rebuild(List.of(left, right));
+
+        // Thin ray straight up through the 5px padding between the two bricks
+        double gapX = left.getX() + left.getWidth() + Constants.BRICK_PADDING / 2.0;
+        assertFalse(raycaster.cast(gapX, Constants.PADDLE_Y, 0, -1, 0, 1000, hit));
+        // A ball-thick ray along the same line clips them
+        assertTrue(raycaster.cast(gapX, Constants.PADDLE_Y, 0, -1, Constants.BALL_RADIUS, 1000, hit));
+    }
+
+    @Test
+    void testCastSeesMovingBricks() {
+        MovingBrick mover = new MovingBrick(400, 200, 80, 20, BrickType.NORMAL, Color.RED,
+                MovingBrick.Axis.HORIZONTAL, 40, 60);
+        grid.rebuild(List.of(mover));
+        mover.update(0.5); // moves 20px right without re-indexing
+
+        assertTrue(raycaster.cast(490, 500, 0, -1, 0, 1000, hit));
+        assertSame(mover, hit.getBrick());
+    }
+
+    @Test
+    void testTracePathReflectsOffSideWall() {
+        grid.rebuild(List.of());
+        double[] points = new double[10];
+        double r = Constants.BALL_RADIUS;
+
+        // 45 degrees up-left from x=100: reaches the left wall (x=r) after (100-r) units horizontally
+        int n = raycaster.tracePath(100, 400, -1, -1, r, 1, 10_000, points, hit);
+        assertTrue(n >= 2);
+        assertEquals(r, points[2], 1e-9);
+        assertEquals(400 - (100 - r), points[3], 1e-9);
+        // After the bounce the path heads right
+        assertTrue(n < 3 || points[4] > points[2]);
+    }
+
+    @Test
+    void testTracePathStopsAtPaddleLine() {
+        grid.rebuild(List.of());
+        double[] points = new double[10];
+        int n = raycaster.tracePath(300, 300, 0, 1, Constants.BALL_RADIUS, 3, 10_000, points, hit);
+        assertEquals(2, n);
+        assertEquals(Constants.PADDLE_Y - Constants.BALL_RADIUS, points[3], 1e-9);
+    }
+}
@@ -0,0 +1,81 @@
+package Arkanoid.manager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HitchWatchdogTest {
+    private static final long BUDGET = 20_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private static void waitFor(HitchWatchdog watchdog, int hitches) throws InterruptedException {
+        for (int i = 0; i < 200 && watchdog.getHitchCount() < hitches; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testCapturesStackOfStuckUpdate() throws Exception {
+        Path log = dir.resolve("hitches.log");
+        HitchWatchdog watchdog = new HitchWatchdog(log, BUDGET * 4, BUDGET);
+        watchdog.start();
+        try {
+            watchdog.beginUpdate();
+            Thread.sleep(100);
+            watchdog.endUpdate();
+            waitFor(watchdog, 1);
+        } finally {
+            watchdog.stop();
+        }
+        assertEquals(1, watchdog.getHitchCount());
+        String text = Files.readString(log);
+        assertTrue(text.contains("update"), text);
+        assertTrue(text.contains("testCapturesStackOfStuckUpdate"), text);
+        assertFalse(text.contains("still running"), text);
+    }
+
+    @Test
+    void testFastSectionsAreNotLogged() throws Exception {
+        Path log = dir.resolve("hitches.log");
+        HitchWatchdog watchdog = new HitchWatchdog(log, BUDGET, BUDGET);
+        watchdog.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                watchdog.beginUpdate();
+                watchdog.endUpdate();
+                Thread.sleep(2);
+            }
+            Thread.sleep(50);
+        } finally {
+            watchdog.stop();
+        }
+        assertEquals(0, watchdog.getHitchCount());
+        assertFalse(Files.exists(log));
+    }
+
+    @Test
+    void testLogIsRotatedWhenFull() throws Exception {
+        Path log = dir.resolve("hitches.log");
+        HitchWatchdog watchdog = new HitchWatchdog(log, BUDGET * 4, BUDGET, 200);
+        watchdog.start();
+        try {
+            for (int i = 1; i <= 2; i++) {
+                watchdog.beginUpdate();
+                Thread.sleep(60);
+                watchdog.endUpdate();
+                waitFor(watchdog, i);
+            }
+        } finally {
+            watchdog.stop();
+        }
+        assertEquals(2, watchdog.getHitchCount());
+        assertTrue(Files.exists(dir.resolve("hitches.log.1")));
+        assertTrue(Files.exists(log));
+    }
+}
@@ -0,0 +1,80 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.PowerUpType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGovernorTest {
+    private static final long BUDGET = 10_000_000L;
+    private final LoadGovernor governor = new LoadGovernor(BUDGET);
+
+    @AfterEach
+    void restoreSound() {
+        governor.reset(); // effect limit lives on the SoundManager singleton
+    }
+
+    private void frames(int n, long nanos) {
+        for (int i = 0; i < n; i++) {
+            governor.recordUpdate(nanos / 2);
+            governor.recordRender(nanos - nanos / 2);
+        }
+    }
+
+    @Test
+    void testStaysAtNormalWithinBudget() {
+        frames(500, BUDGET / 2);
+        assertEquals(0, governor.getLevel());
+        assertEquals(LoadGovernor.RenderDetail.FULL, governor.getRenderDetail());
+        assertEquals(0, governor.getEscalations());
+        assertEquals(500, governor.getFramesMeasured());
+    }
+
+    @Test
+    void testEscalatesUnderSustainedOverload() {
+        frames(200, BUDGET * 3);
+        assertEquals(LoadGovernor.MAX_LEVEL, governor.getLevel());
+        assertEquals(LoadGovernor.RenderDetail.MINIMAL, governor.getRenderDetail());
+        assertEquals(LoadGovernor.MAX_LEVEL, governor.getEscalations());
+        assertEquals(200, governor.getFramesOverBudget());
+    }
+
+    @Test
+    void testSingleSpikeDoesNotEscalate() {
+        frames(100, BUDGET / 2);
+        frames(1, BUDGET * 4);
+        frames(100, BUDGET / 2);
+        assertEquals(0, governor.getLevel());
+        assertEquals(1, governor.getFramesOverBudget());
+    }
+
+    @Test
+    void testRestoresWhenHeadroomReturns() {
+        frames(200, BUDGET * 3);
+        frames(2000, BUDGET / 4);
+        assertEquals(0, governor.getLevel());
+        assertEquals(LoadGovernor.MAX_LEVEL, governor.getRelaxations());
+        assertTrue(governor.allowExtraBall(1000));
+    }
+
+    @Test
+    void testCapsExtraBallsWhileShedding() {
+        assertTrue(governor.allowExtraBall(500));
+        frames(200, BUDGET * 3);
+        assertTrue(governor.allowExtraBall(3));
+        assertFalse(governor.allowExtraBall(500));
+        assertEquals(1, governor.getBallsRejected());
+    }
+
+    @Test
+    void testDisabledGovernorNeverSheds() {
+        governor.setEnabled(false);
+        frames(200, BUDGET * 3);
+        assertEquals(0, governor.getLevel());
+        assertEquals(200, governor.getFramesOverBudget());
+        assertTrue(governor.admitPowerUp(PowerUpType.MULTI_BALL, new ArrayList<>()));
+    }
+}
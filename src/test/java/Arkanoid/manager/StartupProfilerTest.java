@@ -0,0 +1,79 @@
+package Arkanoid.manager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupProfilerTest {
+
+    private static StartupProfiler profiler() {
+        StartupProfiler profiler = new StartupProfiler(System.nanoTime());
+        profiler.setQuiet(true);
+        return profiler;
+    }
+
+    @Test
+    void testBackgroundPhasesRunInParallelAndAreTimed() {
+        StartupProfiler profiler = profiler();
+        CompletableFuture<String> a = profiler.background("a", () -> {
+            sleep(150);
+            return "A";
+        });
+        CompletableFuture<String> b = profiler.background("b", () -> {
+            sleep(150);
+            return "B";
+        });
+        long start = System.nanoTime();
+        assertEquals("A", a.join());
+        assertEquals("B", b.join());
+        assertTrue(System.nanoTime() - start < 280_000_000L, "phases overlap");
+
+        List<StartupProfiler.Phase> phases = profiler.getPhases();
+        assertEquals(2, phases.size());
+        for (StartupProfiler.Phase phase : phases) {
+            assertTrue(phase.getDurationMillis() >= 140, phase.getName());
+            assertTrue(phase.getThread().startsWith("startup-"));
+        }
+        assertNotEquals(phases.get(0).getThread(), phases.get(1).getThread());
+    }
+
+    @Test
+    void testFailedPhaseIsRecordedAndRethrown() {
+        StartupProfiler profiler = profiler();
+        CompletableFuture<Object> broken = profiler.background("broken", () -> {
+            throw new IllegalStateException("no levels");
+        });
+        assertThrows(Exception.class, broken::join);
+        assertTrue(profiler.getPhases().get(0).isFailed());
+    }
+
+    @Test
+    void testFinishAppendsOneSummaryLinePerLaunch(@TempDir Path dir) throws IOException {
+        Path log = dir.resolve("startup.log");
+        for (int launch = 0; launch < 2; launch++) {
+            StartupProfiler profiler = profiler();
+            profiler.run("menu", () -> sleep(20));
+            profiler.mark("first frame");
+            profiler.finish(log);
+        }
+        List<String> lines = Files.readAllLines(log);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("menu="), lines.get(0));
+        assertTrue(lines.get(0).contains("first_frame="), lines.get(0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
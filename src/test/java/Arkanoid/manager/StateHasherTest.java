@@ -0,0 +1,142 @@
+package Arkanoid.manager;
+
+import Arkanoid.model.Ball;
+import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
+import Arkanoid.model.Bullet;
+import Arkanoid.model.Paddle;
+import Arkanoid.model.PowerUpType;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StateHasherTest {
+    private static final Map<PowerUpType, Double> NO_POWER_UPS = new EnumMap<>(PowerUpType.class);
+
+    private List<Brick> row() {
+        List<Brick> bricks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bricks.add(new Brick(10 + i * 85, 50, 80, 20, i == 0 ? BrickType.HARD : BrickType.NORMAL, Color.RED));
+        }
+        return bricks;
+    }
+
+    @Test
+    void testIncrementalMatchesFreshHash() {
+        List<Brick> bricks = row();
+        StateHasher incremental = new StateHasher();
+        incremental.reset(bricks);
+
+        bricks.get(0).hit();
+        incremental.onBrickChanged(bricks.get(0));
+        bricks.get(3).destroy();
+        incremental.onBrickChanged(bricks.get(3));
+
+        StateHasher fresh = new StateHasher();
+        fresh.reset(bricks);
+        assertEquals(fresh.getBrickHash(), incremental.getBrickHash());
+    }
+
+    @Test
+    void testBrickEventsChangeHash() {
+        List<Brick> bricks = row();
+        StateHasher hasher = new StateHasher();
+        hasher.reset(bricks);
+        long before = hasher.getBrickHash();
+
+        bricks.get(0).hit(); // HARD: damaged, not destroyed
+        hasher.onBrickChanged(bricks.get(0));
+        long damaged = hasher.getBrickHash();
+        assertNotEquals(before, damaged);
+
+        bricks.get(1).destroy();
+        hasher.onBrickChanged(bricks.get(1));
+        assertNotEquals(damaged, hasher.getBrickHash());
+    }
+
+    @Test
+    void testPositionsAreQuantized() {
+        Paddle paddle = new Paddle();
+        Ball ball = new Ball(paddle);
+        List<Ball> balls = List.of(ball);
+
+        StateHasher a = new StateHasher(1.0);
+        StateHasher b = new StateHasher(1.0);
+        a.reset(new ArrayList<>());
+        b.reset(new ArrayList<>());
+        ball.setX(100.0);
+        long first = a.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), NO_POWER_UPS, 0, 0, 3, 1);
+        ball.setX(100.2); // below the 1px quantum
+        assertEquals(first, b.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), NO_POWER_UPS, 0, 0, 3, 1));
+
+        ball.setX(103.0);
+        StateHasher c = new StateHasher(1.0);
+        c.reset(new ArrayList<>());
+        assertNotEquals(first, c.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), NO_POWER_UPS, 0, 0, 3, 1));
+    }
+
+    @Test
+    void testMovingBrickPositionsAreHashed() {
+        Paddle paddle = new Paddle();
+        List<Ball> balls = List.of(new Ball(paddle));
+        List<Brick> moving = row().subList(0, 1);
+
+        StateHasher a = new StateHasher(1.0);
+        a.reset(new ArrayList<>());
+        long first = a.endTick(paddle, balls, new ArrayList<>(), moving, new ArrayList<>(), NO_POWER_UPS, 0, 0, 3, 1);
+
+        moving.get(0).setY(moving.get(0).getY() + 5);
+        StateHasher b = new StateHasher(1.0);
+        b.reset(new ArrayList<>());
+        assertNotEquals(first, b.endTick(paddle, balls, new ArrayList<>(), moving, new ArrayList<>(), NO_POWER_UPS, 0, 0, 3, 1));
+    }
+
+    @Test
+    void testBulletPositionsAreHashed() {
+        Paddle paddle = new Paddle();
+        List<Ball> balls = List.of(new Ball(paddle));
+        List<Bullet> bullets = List.of(new Bullet(200, 400));
+
+        StateHasher a = new StateHasher(1.0);
+        a.reset(new ArrayList<>());
+        long first = a.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), bullets, NO_POWER_UPS, 0, 0, 3, 1);
+
+        bullets.get(0).setY(390); // same bullet count, different place
+        StateHasher b = new StateHasher(1.0);
+        b.reset(new ArrayList<>());
+        assertNotEquals(first, b.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), bullets, NO_POWER_UPS,
+                0, 0, 3, 1));
+    }
+
+    @Test
+    void testActivePowerUpTimersAreHashed() {
+        Paddle paddle = new Paddle();
+        List<Ball> balls = List.of(new Ball(paddle));
+        Map<PowerUpType, Double> active = new EnumMap<>(PowerUpType.class);
+        active.put(PowerUpType.BULLET, 5000.0);
+
+        StateHasher a = new StateHasher(1.0);
+        a.reset(new ArrayList<>());
+        long first = a.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), active,
+                1000, 0, 3, 1);
+
+        active.put(PowerUpType.BULLET, 6000.0); // picked up again: more time left
+        StateHasher b = new StateHasher(1.0);
+        b.reset(new ArrayList<>());
+        assertNotEquals(first, b.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), active,
+                1000, 0, 3, 1));
+
+        // Only the time left matters, not the absolute clock
+        StateHasher c = new StateHasher(1.0);
+        c.reset(new ArrayList<>());
+        long same = c.endTick(paddle, balls, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), active,
+                2000, 0, 3, 1);
+        assertEquals(first, same);
+    }
+}
@@ -0,0 +1,57 @@
+package Arkanoid.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BallTrailsTest {
+    private final Paddle paddle = new Paddle();
+    private final BallTrails trails = new BallTrails();
+    private final List<Ball> balls = new ArrayList<>();
+
+    @Test
+    void testTrailLengthIsCapped() {
+        Ball ball = new Ball(paddle);
+        balls.add(ball);
+        for (int i = 0; i < BallTrails.LENGTH * 3; i++) {
+            ball.setSmoothX(i);
+            trails.record(balls);
+        }
+        assertEquals(BallTrails.LENGTH, trails.getLength(ball));
+        assertEquals(1, trails.getActiveCount());
+    }
+
+    @Test
+    void testRemovedBallSlotIsReused() {
+        Ball first = new Ball(paddle);
+        balls.add(first);
+        trails.record(balls);
+        trails.record(balls);
+        int free = trails.getFreeCount();
+
+        balls.clear();
+        Ball second = new Ball(paddle);
+        balls.add(second);
+        trails.record(balls);
+
+        assertEquals(free, trails.getFreeCount());
+        assertEquals(1, trails.getActiveCount());
+        assertEquals(0, trails.getLength(first));
+        assertEquals(1, trails.getLength(second)); // fresh trail, not the old points
+    }
+
+    @Test
+    void testBallsPastCapacityGetNoTrail() {
+        for (int i = 0; i < BallTrails.MAX_TRAILS + 5; i++) balls.add(new Ball(paddle));
+        trails.record(balls);
+        assertEquals(BallTrails.MAX_TRAILS, trails.getActiveCount());
+        assertEquals(0, trails.getLength(balls.get(balls.size() - 1)));
+
+        trails.clear();
+        assertEquals(0, trails.getActiveCount());
+        assertEquals(BallTrails.MAX_TRAILS, trails.getFreeCount());
+    }
+}
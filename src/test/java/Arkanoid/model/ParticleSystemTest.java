@@ -0,0 +1,46 @@
+package Arkanoid.model;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParticleSystemTest {
+    private final ParticleSystem particles = new ParticleSystem();
+    private final Brick brick = new Brick(100, 100, 80, 20, BrickType.NORMAL, Color.RED);
+
+    @Test
+    void testBurstSpawnsAndExpires() {
+        particles.burst(brick, 20);
+        assertEquals(20, particles.getCount());
+        particles.update(0.1);
+        assertEquals(20, particles.getCount());
+        for (int i = 0; i < 20; i++) particles.update(0.1); // debris lives at most 1 s
+        assertEquals(0, particles.getCount());
+    }
+
+    @Test
+    void testSwapRemoveKeepsSurvivors() {
+        particles.sparks(0, 0, 1, 0, 10);   // 0.15 - 0.35 s
+        particles.burst(brick, 10);         // 0.5 - 1.0 s
+        particles.update(0.4);
+        assertEquals(10, particles.getCount());
+        // Survivors are the debris, still around the brick
+        assertTrue(particles.getMinX() > 20 && particles.getMaxX() < 260);
+    }
+
+    @Test
+    void testBudgetDropsExtraSpawns() {
+        particles.setBudget(8);
+        particles.burst(brick, 20);
+        assertEquals(8, particles.getCount());
+        assertEquals(12, particles.getDropped());
+    }
+
+    @Test
+    void testClearRemovesEverything() {
+        particles.burst(brick, 5);
+        particles.clear();
+        assertEquals(0, particles.getCount());
+    }
+}
@@ -0,0 +1,78 @@
+package Arkanoid.model;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PolygonBrickTest {
+    private final double[] contact = new double[3];
+
+    @Test
+    void testRotatedRectangleBounds() {
+        PolygonBrick bar = PolygonBrick.rectangle(100, 100, 80, 20, 90, BrickType.NORMAL, Color.RED, null, 0, 0);
+        // Rotated a quarter turn: 20 wide, 80 tall
+        assertEquals(90, bar.getX(), 1e-9);
+        assertEquals(60, bar.getY(), 1e-9);
+        assertEquals(20, bar.getWidth(), 1e-9);
+        assertEquals(80, bar.getHeight(), 1e-9);
+    }
+
+    @Test
+    void testCircleClosestPointOnEdge() {
+        PolygonBrick square = PolygonBrick.rectangle(0, 0, 20, 20, 0, BrickType.NORMAL, Color.RED, null, 0, 0);
+        // Circle below the bottom edge, 5px penetration
+        assertTrue(square.collideCircle(0, 17, 12, contact));
+        assertEquals(0, contact[0], 1e-9);
+        assertEquals(1, contact[1], 1e-9);
+        assertEquals(5, contact[2], 1e-9);
+
+        assertFalse(square.collideCircle(0, 23, 12, contact));
+    }
+
+    @Test
+    void testCircleNearCornerOfRotatedSquare() {
+        // Diamond: corner pointing straight down at (0, 14.14)
+        PolygonBrick diamond = PolygonBrick.rectangle(0, 0, 20, 20, 45, BrickType.NORMAL, Color.RED, null, 0, 0);
+        double corner = Math.sqrt(200);
+        assertTrue(diamond.collideCircle(0, corner + 10, 12, contact));
+        assertEquals(0, contact[0], 1e-9);
+        assertEquals(1, contact[1], 1e-9);
+        assertEquals(2, contact[2], 1e-9);
+    }
+
+    @Test
+    void testCentreInsideUsesMinimumPenetrationEdge() {
+        PolygonBrick wide = PolygonBrick.rectangle(0, 0, 100, 20, 0, BrickType.NORMAL, Color.RED, null, 0, 0);
+        assertTrue(wide.collideCircle(10, 8, 5, contact));
+        assertEquals(1, contact[1], 1e-9, "Nearest face is the bottom one");
+        assertEquals(7, contact[2], 1e-9);
+    }
+
+    @Test
+    void testRaycastAndRectOverlapOnTriangle() {
+        PolygonBrick tri = new PolygonBrick(0, 0,
+                new double[] {-20, 20, 0}, new double[] {10, 10, -20}, 0,
+                BrickType.NORMAL, Color.RED);
+        double[] normal = new double[2];
+        assertEquals(40, tri.raycast(0, 50, 0, -1, 0, normal), 1e-9);
+        assertEquals(1, normal[1], 1e-9);
+        assertEquals(-1, tri.raycast(30, 50, 0, -1, 0, normal), 1e-9);
+
+        // Box touching the triangle's bounds near a corner but outside the slanted edge
+        assertFalse(tri.overlapsRect(12, -18, 6, 6));
+        assertTrue(tri.overlapsRect(-3, -3, 6, 6));
+    }
+
+    @Test
+    void testMovingPolygonOscillates() {
+        PolygonBrick bar = PolygonBrick.rectangle(100, 100, 40, 10, 30, BrickType.NORMAL, Color.RED,
+                MovingBrick.Axis.VERTICAL, 50, 20);
+        assertTrue(bar.isMoving());
+        double startY = bar.getY();
+        bar.update(0.2);
+        assertEquals(startY + 10, bar.getY(), 1e-9);
+        for (int i = 0; i < 50; i++) bar.update(0.1);
+        assertTrue(Math.abs(bar.getY() - startY) <= 20 + 1e-9);
+    }
+}
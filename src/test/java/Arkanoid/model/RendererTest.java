@@ -1,17 +1,67 @@
 package Arkanoid.model;
 
+import Arkanoid.audio.SoundManager;
+import Arkanoid.manager.GameManager;
+import Arkanoid.renderer.PixelSurface;
+import Arkanoid.renderer.Renderer;
+import Arkanoid.util.Constants;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
- * Placeholder test to ensure test suite compiles without JavaFX/TestFX.
- * Detailed rendering is better verified via manual runs or integration tests.
+ * Renders real frames into a {@link PixelSurface}, so no JavaFX toolkit or window is needed.
+ * Text is not rasterized by that backend; shapes, sprites and overlays are.
  */
 public class RendererTest {
+    private GameManager game;
+    private PixelSurface surface;
+    private Renderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        SoundManager.getInstance().setMuted(true);
+        game = new GameManager();
+        game.getLoadGovernor().setEnabled(false);
+        game.startGame();
+        surface = new PixelSurface(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        renderer = new Renderer(surface);
+    }
+
+    @AfterEach
+    void tearDown() {
+        game.cleanup();
+        game.shutdown();
+    }
+
+    @Test
+    void testPaddleIsDrawnAtItsPosition() {
+        renderer.render(game);
+        Paddle paddle = game.getPaddle();
+        int x = (int) (paddle.getX() + paddle.getWidth() / 2);
+        int y = (int) (paddle.getY() + paddle.getHeight() * 0.75); // below the highlight
+        assertEquals(expectedArgb(Constants.PADDLE_COLOR), surface.getArgb(x, y));
+    }
 
     @Test
-    void placeholder() {
-        assertTrue(true);
+    void testPauseOverlayDarkensFrame() {
+        renderer.render(game);
+        Paddle paddle = game.getPaddle();
+        int x = (int) (paddle.getX() + paddle.getWidth() / 2);
+        int y = (int) (paddle.getY() + paddle.getHeight() * 0.75);
+        int playing = surface.getArgb(x, y);
+
+        game.pauseGame();
+        renderer.render(game);
+        int paused = surface.getArgb(x, y);
+        assertTrue((paused & 0xFF) < (playing & 0xFF) / 2, "overlay should dim the paddle");
+    }
+
+    private static int expectedArgb(Color c) {
+        return 0xFF000000 | (int) Math.round(c.getRed() * 255) << 16
+                | (int) Math.round(c.getGreen() * 255) << 8 | (int) Math.round(c.getBlue() * 255);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package Arkanoid.renderer;
+
+import Arkanoid.manager.BrickBvh;
+import Arkanoid.manager.BrickGrid;
+import Arkanoid.model.Brick;
+import Arkanoid.model.BrickType;
+import Arkanoid.model.MovingBrick;
+import Arkanoid.model.PolygonBrick;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrickLayerTest {
+    private static final int OPAQUE_RED = 0xFFFF0000;
+
+    private final BrickLayer layer = new BrickLayer(860, 600);
+    private final BrickGrid grid = new BrickGrid();
+    private final BrickBvh bvh = new BrickBvh();
+    private Brick left;
+    private Brick right;
+
+    @BeforeEach
+    void setUp() {
+        // 2x2 solid red sprite, scaled up to 80x20 by the layer
+        layer.setSprite("NORMAL", new int[] {OPAQUE_RED, OPAQUE_RED, OPAQUE_RED, OPAQUE_RED}, 2, 2);
+        left = new Brick(10, 50, 80, 20, BrickType.NORMAL, Color.BLUE);
+        right = new Brick(95, 50, 80, 20, BrickType.NORMAL, Color.BLUE);
+        grid.add(left);
+        grid.add(right);
+        layer.redraw(grid, bvh);
+    }
+
+    @Test
+    void testFullRedrawRasterizesStaticBricks() {
+        assertEquals(OPAQUE_RED, layer.pixelAt(50, 60));
+        assertEquals(OPAQUE_RED, layer.pixelAt(130, 60));
+        assertEquals(0, layer.pixelAt(92, 60)); // padding between bricks
+        assertEquals(0, layer.pixelAt(400, 400));
+    }
+
+    @Test
+    void testDestroyedBrickOnlyRedrawsItsRectangle() {
+        long before = layer.getRedrawnPixels();
+        left.destroy();
+        grid.remove(left);
+        layer.invalidate(left);
+
+        assertTrue(layer.redraw(grid, bvh));
+        assertEquals(0, layer.pixelAt(50, 60));
+        assertEquals(OPAQUE_RED, layer.pixelAt(130, 60));
+        long redrawn = layer.getRedrawnPixels() - before;
+        assertTrue(redrawn <= 82 * 22, "redrew " + redrawn + " pixels");
+        assertFalse(layer.redraw(grid, bvh), "nothing dirty on the next frame");
+    }
+
+    @Test
+    void testMovingBricksAreNotCached() {
+        MovingBrick mover = new MovingBrick(300, 200, 80, 20, BrickType.NORMAL, Color.GREEN,
+                MovingBrick.Axis.HORIZONTAL, 50, 40);
+        grid.add(mover);
+        layer.invalidateAll();
+        layer.redraw(grid, bvh);
+        assertFalse(BrickLayer.isStatic(mover));
+        assertEquals(0, layer.pixelAt(340, 210));
+    }
+
+    @Test
+    void testStaticPolygonIsRasterized() {
+        PolygonBrick diamond = PolygonBrick.rectangle(500, 300, 40, 40, 45, BrickType.NORMAL, Color.LIME,
+                null, 0, 0);
+        List<PolygonBrick> shapes = new ArrayList<>();
+        shapes.add(diamond);
+        bvh.build(shapes);
+        layer.invalidateAll();
+        layer.redraw(grid, bvh);
+
+        assertEquals(BrickLayer.premultiply(Color.LIME), layer.pixelAt(500, 300));
+        assertEquals(0, layer.pixelAt(482, 282)); // outside the rotated square, inside its AABB
+    }
+
+    @Test
+    void testScrollShiftsPixelsAndRedrawsOnlyExposedStrips() {
+        BrickGrid wide = new BrickGrid(4000, 600);
+        Brick far = new Brick(1200, 50, 80, 20, BrickType.NORMAL, Color.BLUE);
+        wide.add(left);
+        wide.add(right);
+        wide.add(far);
+        layer.invalidateAll();
+        layer.redraw(wide, bvh);
+
+        long before = layer.getRedrawnPixels();
+        layer.scrollTo(40, 0);
+        assertTrue(layer.redraw(wide, bvh));
+        assertEquals(40 * 600, layer.getRedrawnPixels() - before, "only the exposed strip is rasterized");
+        assertEquals(OPAQUE_RED, layer.pixelAt(10, 60)); // world x 50: shifted, not redrawn
+        assertEquals(0, layer.pixelAt(52, 60)); // world x 92: padding
+
+        layer.scrollTo(800, 0);
+        layer.redraw(wide, bvh);
+        assertEquals(OPAQUE_RED, layer.pixelAt(440, 60)); // world x 1240
+        assertEquals(0, layer.pixelAt(0, 60));
+    }
+
+    @Test
+    void testOverBlendsPremultiplied() {
+        int halfWhite = 0x80808080;
+        assertEquals(0xFF000000 | 0x808080, BrickLayer.over(halfWhite, 0xFF000000));
+        assertEquals(OPAQUE_RED, BrickLayer.over(OPAQUE_RED, 0xFF00FF00));
+        assertEquals(0xFF00FF00, BrickLayer.over(0, 0xFF00FF00));
+    }
+}
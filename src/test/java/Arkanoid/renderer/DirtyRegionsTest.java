@@ -0,0 +1,30 @@
+package Arkanoid.renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirtyRegionsTest {
+
+    @Test
+    void testRecordsRegionsUntilOverflow() {
+        DirtyRegions regions = new DirtyRegions(860, 600);
+        regions.add(10, 10, 16, 16);
+        regions.add(100, 500, 100, 12);
+        assertEquals(2, regions.size());
+        assertFalse(regions.isOverflowed());
+
+        for (int i = 0; i < 1000; i++) regions.add(i % 800, 300, 4, 4);
+        assertTrue(regions.isOverflowed(), "hundreds of entities collapse into one full clear");
+        assertEquals(0, regions.size());
+    }
+
+    @Test
+    void testResetStartsCleanFrame() {
+        DirtyRegions regions = new DirtyRegions(860, 600);
+        for (int i = 0; i < 1000; i++) regions.add(0, 0, 1, 1);
+        regions.reset();
+        assertFalse(regions.isOverflowed());
+        assertEquals(0, regions.size());
+    }
+}
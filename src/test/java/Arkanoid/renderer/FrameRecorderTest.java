@@ -0,0 +1,134 @@
+package Arkanoid.renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameRecorderTest {
+    private static final int W = 4;
+    private static final int H = 3;
+
+    private static int[] frame(int value) {
+        int[] argb = new int[W * H];
+        for (int i = 0; i < argb.length; i++) argb[i] = 0xFF000000 | value << 8 | i;
+        return argb;
+    }
+
+    @Test
+    void testRawVideoWritesFramesInOrderAsBgra(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("capture.bgra");
+        FrameRecorder recorder = new FrameRecorder(W, H, FrameRecorder.rawVideo(file, W, H), 4, 2);
+        for (int f = 0; f < 20; f++) {
+            while (!recorder.submit(frame(f))) Thread.onSpinWait(); // keep every frame for this test
+        }
+        recorder.stop().get();
+
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals(20 * W * H * 4, bytes.length);
+        int offset = (7 * W * H + 5) * 4; // frame 7, pixel 5
+        assertEquals(5, bytes[offset]);              // B
+        assertEquals(7, bytes[offset + 1]);          // G
+        assertEquals(0, bytes[offset + 2]);          // R
+        assertEquals((byte) 0xFF, bytes[offset + 3]); // A
+        assertEquals(20, recorder.getWrittenFrames());
+    }
+
+    @Test
+    void testDropsAndCountsFramesWhenWritersFallBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> indices = Collections.synchronizedList(new ArrayList<>());
+        FrameRecorder.Sink stalled = new FrameRecorder.Sink() {
+            @Override
+            public void write(long index, int[] argb, int width, int height) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                indices.add(index);
+            }
+
+            @Override
+            public void close() { }
+        };
+        // One frame on the worker, two in the queue, then no buffer left
+        FrameRecorder recorder = new FrameRecorder(W, H, stalled, 3, 1);
+        int kept = 0;
+        for (int f = 0; f < 10; f++) {
+            long start = System.nanoTime();
+            if (recorder.submit(frame(f))) kept++;
+            assertTrue(System.nanoTime() - start < 100_000_000L, "submit must not wait for the writer");
+        }
+        assertEquals(3, kept);
+        assertEquals(7, recorder.getDroppedFrames());
+
+        release.countDown();
+        recorder.stop().get();
+        assertEquals(3, recorder.getWrittenFrames());
+        assertEquals(List.of(0L, 1L, 2L), indices);
+        assertFalse(recorder.submit(frame(0)), "stopped recorder takes no frames");
+    }
+
+    @Test
+    void testImageSequenceWritesOnePngPerFrame(@TempDir Path dir) throws Exception {
+        FrameRecorder recorder = new FrameRecorder(W, H, FrameRecorder.imageSequence(dir), 2, 1);
+        while (!recorder.submit(frame(1))) Thread.onSpinWait();
+        while (!recorder.submit(frame(2))) Thread.onSpinWait();
+        recorder.stop().get();
+
+        BufferedImage second = read(dir.resolve("frame-000001.png"));
+        assertEquals(W, second.getWidth());
+        assertEquals(0xFF000203, second.getRGB(3, 0));
+        assertTrue(Files.exists(dir.resolve("frame-000000.png")));
+    }
+
+    @Test
+    void testCreateLeavesFileSystemWorkToTheWriters(@TempDir Path dir) throws Exception {
+        Path out = dir.resolve("captures").resolve("capture-1");
+        String previous = System.setProperty(FrameRecorder.FORMAT_PROPERTY, "raw");
+        try {
+            FrameRecorder recorder = FrameRecorder.create(out, W, H);
+            assertFalse(Files.exists(out.getParent()), "create must not touch the disk");
+
+            while (!recorder.submit(frame(3))) Thread.onSpinWait();
+            recorder.stop().get();
+            assertEquals(W * H * 4, Files.size(out.resolve("capture.bgra")));
+        } finally {
+            if (previous == null) System.clearProperty(FrameRecorder.FORMAT_PROPERTY);
+            else System.setProperty(FrameRecorder.FORMAT_PROPERTY, previous);
+        }
+    }
+
+    @Test
+    void testDeferredSinkFailsEveryWriteWhenItCannotOpen() throws Exception {
+        AtomicInteger opens = new AtomicInteger();
+        FrameRecorder.Sink sink = FrameRecorder.deferred(() -> {
+            opens.incrementAndGet();
+            throw new IOException("read-only");
+        });
+        FrameRecorder recorder = new FrameRecorder(W, H, sink, 2, 1);
+        while (!recorder.submit(frame(1))) Thread.onSpinWait();
+        while (!recorder.submit(frame(2))) Thread.onSpinWait();
+        recorder.stop().get();
+
+        assertEquals(2, recorder.getFailedFrames());
+        assertEquals(0, recorder.getWrittenFrames());
+        assertEquals(1, opens.get(), "a failed open is not retried");
+    }
+
+    private static BufferedImage read(Path file) throws IOException {
+        return ImageIO.read(file.toFile());
+    }
+}
@@ -0,0 +1,55 @@
+package Arkanoid.renderer;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PixelSurfaceTest {
+    private static final int OPAQUE_RED = 0xFFFF0000;
+    private static final int OPAQUE_BLUE = 0xFF0000FF;
+
+    private final PixelSurface surface = new PixelSurface(100, 100);
+
+    @Test
+    void testFillRectCoversPixelCentersOnly() {
+        surface.setFill(Color.RED);
+        surface.fillRect(10, 10, 20, 5);
+        assertEquals(OPAQUE_RED, surface.getArgb(10, 10));
+        assertEquals(OPAQUE_RED, surface.getArgb(29, 14));
+        assertEquals(0, surface.getArgb(30, 14));
+        assertEquals(0, surface.getArgb(10, 15));
+    }
+
+    @Test
+    void testGlobalAlphaBlendsOverDestination() {
+        surface.setFill(Color.BLUE);
+        surface.fillRect(0, 0, 10, 10);
+        surface.setGlobalAlpha(0.5);
+        surface.setFill(Color.RED);
+        surface.fillRect(0, 0, 10, 10);
+        int c = surface.getArgb(5, 5);
+        assertEquals(0xFF, c >>> 24);
+        assertEquals(128, (c >> 16) & 0xFF, 1);
+        assertEquals(127, c & 0xFF, 1);
+    }
+
+    @Test
+    void testShapesAndOffscreenComposite() {
+        surface.setFill(Color.BLUE);
+        surface.fillOval(40, 40, 20, 20);
+        assertEquals(OPAQUE_BLUE, surface.getArgb(50, 50));
+        assertEquals(0, surface.getArgb(41, 41)); // outside the circle, inside its box
+
+        surface.fillPolygon(new double[] {0, 20, 0}, new double[] {80, 80, 100}, 3);
+        assertEquals(OPAQUE_BLUE, surface.getArgb(2, 82));
+        assertEquals(0, surface.getArgb(18, 98));
+
+        DrawSurface hud = surface.createOffscreen(10, 10);
+        hud.setFill(Color.RED);
+        hud.fillRect(0, 0, 10, 10);
+        surface.drawSurface(hud, 70, 0);
+        assertEquals(OPAQUE_RED, surface.getArgb(75, 5));
+        assertEquals(0, surface.getArgb(69, 5));
+    }
+}
@@ -0,0 +1,115 @@
+package Arkanoid.renderer;
+
+import Arkanoid.audio.SoundManager;
+import Arkanoid.level.Level;
+import Arkanoid.level.LevelLoader;
+import Arkanoid.manager.GameManager;
+import Arkanoid.model.Ball;
+import Arkanoid.model.Brick;
+import Arkanoid.model.PolygonBrick;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.shape.Polygon;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SceneGraphRendererTest {
+    private GameManager game;
+    private SceneGraphRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        SoundManager.getInstance().setMuted(true);
+        game = new GameManager();
+        game.getLoadGovernor().setEnabled(false);
+        game.startGame();
+        renderer = new SceneGraphRenderer(new Canvas(10, 10).getGraphicsContext2D(),
+                new Canvas(10, 10).getGraphicsContext2D(), new Canvas(10, 10).getGraphicsContext2D());
+    }
+
+    @AfterEach
+    void tearDown() {
+        game.cleanup();
+        game.shutdown();
+    }
+
+    @Test
+    void testEveryEntityIsBoundToOneNode() {
+        renderer.render(game);
+        int bricks = 0;
+        for (Brick brick : game.getBricks()) {
+            if (!brick.isDestroyed()) bricks++;
+        }
+        int expected = bricks + game.getBalls().size() + game.getPowerUps().size() + game.getBullets().size();
+        assertEquals(expected, renderer.getBoundCount());
+        assertEquals(expected, renderer.getNodeCount());
+        assertTrue(renderer.getPlayfield().isVisible());
+    }
+
+    @Test
+    void testNodesOfRemovedEntitiesAreReused() {
+        List<Ball> balls = game.getBalls();
+        for (int i = 0; i < 20; i++) balls.add(new Ball(game.getPaddle()));
+        renderer.render(game);
+        int nodes = renderer.getNodeCount();
+        int bound = renderer.getBoundCount();
+
+        balls.subList(1, balls.size()).clear();
+        renderer.render(game);
+        assertEquals(bound - 20, renderer.getBoundCount());
+        assertEquals(nodes, renderer.getNodeCount());
+
+        for (int i = 0; i < 20; i++) balls.add(new Ball(game.getPaddle()));
+        renderer.render(game);
+        assertEquals(bound, renderer.getBoundCount());
+        assertEquals(nodes, renderer.getNodeCount(), "pooled nodes should be reused, not created");
+    }
+
+    @Test
+    void testLargeLevelBindsOnlyBricksNearTheView() {
+        int level = game.getLevelManager().addLevel(new Level(LevelLoader.createGridLevel(0, "big", 100, 100)));
+        game.selectLevel(level);
+        renderer.render(game);
+        int bricks = game.getBricks().size();
+        assertTrue(renderer.getBoundCount() < bricks / 10,
+                renderer.getBoundCount() + " nodes bound for " + bricks + " bricks");
+        assertEquals(renderer.getBoundCount(), renderer.getNodeCount());
+    }
+
+    @Test
+    void testMovingPolygonNodesFollowTheirBricks() {
+        game.selectLevel(5);
+        renderer.render(game);
+        List<PolygonBrick> shapes = new ArrayList<>();
+        List<Double> startY = new ArrayList<>();
+        for (Brick brick : game.getMovingBricks()) {
+            if (brick instanceof PolygonBrick shape && renderer.getNode(shape) != null) {
+                shapes.add(shape);
+                startY.add(shape.getY());
+            }
+        }
+        assertFalse(shapes.isEmpty(), "level 5 has moving polygon bricks in view");
+
+        for (int i = 0; i < 60; i++) {
+            game.update(1.0 / 60);
+            renderer.render(game);
+        }
+        int moved = 0;
+        for (int i = 0; i < shapes.size(); i++) {
+            PolygonBrick shape = shapes.get(i);
+            if (shape.getY() != startY.get(i)) moved++;
+            Polygon node = (Polygon) renderer.getNode(shape);
+            assertNotNull(node);
+            for (int v = 0; v < shape.getVertexCount(); v++) {
+                assertEquals(shape.getWorldX()[v], node.getLayoutX() + node.getPoints().get(2 * v), 1e-9);
+                assertEquals(shape.getWorldY()[v], node.getLayoutY() + node.getPoints().get(2 * v + 1), 1e-9);
+            }
+        }
+        assertTrue(moved > 0, "some polygon bricks should have moved");
+    }
+}
@@ -0,0 +1,49 @@
+package Arkanoid.renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpriteAtlasTest {
+
+    @Test
+    void testPackedSpritesDoNotOverlapOrTouch() {
+        int[] w = {24, 24, 80, 80, 80, 80, 40, 40, 40, 40, 40, 40, 40, 24, 22, 22};
+        int[] h = {24, 24, 20, 20, 20, 20, 40, 40, 40, 40, 40, 40, 40, 48, 22, 22};
+        int[] x = new int[w.length];
+        int[] y = new int[w.length];
+        int height = SpriteAtlas.pack(w, h, SpriteAtlas.MAX_WIDTH, x, y);
+
+        for (int i = 0; i < w.length; i++) {
+            assertTrue(x[i] >= SpriteAtlas.PADDING && y[i] >= SpriteAtlas.PADDING);
+            assertTrue(x[i] + w[i] + SpriteAtlas.PADDING <= SpriteAtlas.MAX_WIDTH);
+            assertTrue(y[i] + h[i] + SpriteAtlas.PADDING <= height);
+            for (int j = i + 1; j < w.length; j++) {
+                // Padding on both sides must stay transparent
+                boolean apart = x[i] + w[i] + SpriteAtlas.PADDING <= x[j]
+                        || x[j] + w[j] + SpriteAtlas.PADDING <= x[i]
+                        || y[i] + h[i] + SpriteAtlas.PADDING <= y[j]
+                        || y[j] + h[j] + SpriteAtlas.PADDING <= y[i];
+                assertTrue(apart, "sprites " + i + " and " + j + " overlap");
+            }
+        }
+    }
+
+    @Test
+    void testWrapsIntoRowsWhenFull() {
+        int[] w = {200, 200, 200};
+        int[] h = {10, 10, 10};
+        int[] x = new int[3];
+        int[] y = new int[3];
+        SpriteAtlas.pack(w, h, 420, x, y);
+        assertEquals(y[0], y[1]);
+        assertTrue(y[2] > y[0]);
+        assertEquals(SpriteAtlas.PADDING, x[2]);
+    }
+
+    @Test
+    void testRejectsSpriteWiderThanAtlas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SpriteAtlas.pack(new int[] {600}, new int[] {10}, 512, new int[1], new int[1]));
+    }
+}
@@ -0,0 +1,45 @@
+package Arkanoid.view;
+
+import Arkanoid.util.Constants;
+import javafx.geometry.Bounds;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.layout.StackPane;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScaledViewportTest {
+    private static final double W = Constants.WINDOW_WIDTH;
+    private static final double H = Constants.WINDOW_HEIGHT;
+
+    @Test
+    void testFitScaleKeepsAspectRatio() {
+        assertEquals(1.0, ScaledViewport.fitScale(W, H, W, H));
+        assertEquals(2.0, ScaledViewport.fitScale(W * 2, H * 3, W, H));
+        assertEquals(0.5, ScaledViewport.fitScale(W * 4, H / 2, W, H));
+        assertEquals(1.0, ScaledViewport.fitScale(0, 0, W, H), "not laid out yet");
+    }
+
+    @Test
+    void testResizeScalesContentWithoutResizingIt() {
+        Canvas canvas = new Canvas(W, H);
+        StackPane content = new StackPane(canvas);
+        ScaledViewport viewport = new ScaledViewport(content, W, H);
+
+        viewport.resize(2560, 1440);
+        viewport.layout();
+        double s = 1440 / H;
+        assertEquals(s, viewport.getScale(), 1e-9);
+        assertEquals(W, canvas.getWidth(), "internal resolution is unchanged");
+        assertEquals(W, content.getWidth());
+        Bounds shown = content.localToScene(content.getLayoutBounds());
+        assertEquals((2560 - W * s) / 2, shown.getMinX(), 1e-6, "centred with bars on the sides");
+        assertEquals(0, shown.getMinY(), 1e-6);
+        assertEquals(1440, shown.getHeight(), 1e-6);
+
+        viewport.resize(W, H);
+        viewport.layout();
+        assertEquals(1.0, viewport.getScale(), 1e-9);
+        assertEquals(0, content.localToScene(content.getLayoutBounds()).getMinX(), 1e-6);
+    }
+}